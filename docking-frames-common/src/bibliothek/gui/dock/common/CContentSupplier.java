@@ -0,0 +1,59 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+import java.awt.Component;
+
+import bibliothek.gui.dock.common.intern.DefaultCDockable;
+
+/**
+ * A {@link CContentSupplier} creates the content of a {@link DefaultCDockable} lazily. The
+ * content is only created the first time the dockable is showing, dockables that are minimized
+ * or hidden behind another tab do not hold their content. If a release delay is set with
+ * {@link DefaultCDockable#setContentReleaseDelay(int)}, the content is given back to the supplier
+ * once the dockable stayed invisible for that time, and it will be created again when required.
+ * @author Benjamin Sigg
+ * @see DefaultCDockable#setContentSupplier(CContentSupplier)
+ */
+public interface CContentSupplier {
+	/**
+	 * Creates the content of <code>dockable</code>. The result will be added to the
+	 * {@link DefaultCDockable#getContentPane() content pane}, at its center if the content pane
+	 * uses a {@link java.awt.BorderLayout}, which is the default.
+	 * @param dockable the dockable which is about to become visible
+	 * @return the new content, can be <code>null</code>
+	 */
+	public Component createContent( DefaultCDockable dockable );
+	
+	/**
+	 * Informs this supplier that <code>content</code> has been removed from <code>dockable</code>
+	 * and is no longer used. This supplier may free any resources that were associated with 
+	 * <code>content</code>.
+	 * @param dockable the dockable which no longer shows <code>content</code>
+	 * @param content a component that was created by {@link #createContent(DefaultCDockable)}
+	 */
+	public void releaseContent( DefaultCDockable dockable, Component content );
+}
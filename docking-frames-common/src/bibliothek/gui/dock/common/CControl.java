@@ -39,13 +39,14 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 import javax.swing.FocusManager;
 import javax.swing.Icon;
@@ -93,6 +94,7 @@ import bibliothek.gui.dock.common.intern.CDockFrontend;
 import bibliothek.gui.dock.common.intern.CDockable;
 import bibliothek.gui.dock.common.intern.CDockableAccess;
 import bibliothek.gui.dock.common.intern.CListenerCollection;
+import bibliothek.gui.dock.common.intern.CPlaceholderCollector;
 import bibliothek.gui.dock.common.intern.CPlaceholderStrategy;
 import bibliothek.gui.dock.common.intern.CancelDragAndDropOperation;
 import bibliothek.gui.dock.common.intern.CommonDockable;
@@ -101,6 +103,7 @@ import bibliothek.gui.dock.common.intern.CommonMultipleDockableLayout;
 import bibliothek.gui.dock.common.intern.CommonSingleDockableFactory;
 import bibliothek.gui.dock.common.intern.ControlVetoClosingListener;
 import bibliothek.gui.dock.common.intern.ControlVetoFocusListener;
+import bibliothek.gui.dock.common.intern.DefaultCControlRegister;
 import bibliothek.gui.dock.common.intern.EfficientControlFactory;
 import bibliothek.gui.dock.common.intern.MutableCControlRegister;
 import bibliothek.gui.dock.common.intern.action.CActionImportanceOrder;
@@ -143,6 +146,7 @@ import bibliothek.gui.dock.control.relocator.DefaultDockRelocator;
 import bibliothek.gui.dock.disable.DisablingStrategy;
 import bibliothek.gui.dock.displayer.SingleTabDecider;
 import bibliothek.gui.dock.dockable.DockableMovingImageFactory;
+import bibliothek.gui.dock.event.DockEventBatch;
 import bibliothek.gui.dock.event.DockRegisterAdapter;
 import bibliothek.gui.dock.event.DockableFocusEvent;
 import bibliothek.gui.dock.event.DockableFocusListener;
@@ -155,6 +159,8 @@ import bibliothek.gui.dock.facile.station.split.DefaultConflictResolver;
 import bibliothek.gui.dock.focus.DockableSelection;
 import bibliothek.gui.dock.frontend.FrontendEntry;
 import bibliothek.gui.dock.frontend.MissingDockableStrategy;
+import bibliothek.gui.dock.frontend.SettingsBlop;
+import bibliothek.gui.dock.frontend.SettingsBlopReader;
 import bibliothek.gui.dock.layout.DockSituationIgnore;
 import bibliothek.gui.dock.layout.DockableProperty;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
@@ -176,6 +182,7 @@ import bibliothek.gui.dock.station.support.PlaceholderStrategy;
 import bibliothek.gui.dock.support.mode.HistoryRewriter;
 import bibliothek.gui.dock.support.util.ApplicationResource;
 import bibliothek.gui.dock.support.util.ApplicationResourceManager;
+import bibliothek.gui.dock.support.util.DecodingApplicationResource;
 import bibliothek.gui.dock.themes.BasicTheme;
 import bibliothek.gui.dock.themes.ColorScheme;
 import bibliothek.gui.dock.themes.ThemeFactory;
@@ -338,6 +345,18 @@ public class CControl {
     /** Access to the internal methods of this control */
     private CControlAccess access = new Access();
     
+    /** removes dead placeholders and empty entries, created lazily */
+    private CPlaceholderCollector placeholderCollector;
+    
+    /** how often {@link #openBatch()} was called without a matching {@link #commitBatch()} */
+    private int batchLevel = 0;
+    
+    /** dockables added while a batch was open, {@link CControlListener#added(CControl, CDockable)} was not yet called for them */
+    private List<CDockable> batchAdded = new ArrayList<CDockable>();
+    
+    /** for each factory of {@link MultipleCDockable}s, all generated unique identifiers below this number are in use */
+    private Map<String, Integer> multipleIdHints = new HashMap<String, Integer>();
+    
     /** A strategy that can create missing {@link CStationPerspective} */
     private MissingPerspectiveStrategy missingPerspectiveStrategy = new DefaultMissingPerspectiveFactory();
 
@@ -904,7 +923,7 @@ public class CControl {
         try{
         	addMultipleDockableFactory( "", NullMultipleCDockableFactory.NULL, false );
         	
-            resources.put( "ccontrol.frontend", new ApplicationResource(){
+            resources.put( "ccontrol.frontend", new DecodingApplicationResource<SettingsBlop>(){
                 public void write( DataOutputStream out ) throws IOException {
                     Version.write( out, Version.VERSION_1_1_1 );
                     frontend.write( out );
@@ -923,6 +942,27 @@ public class CControl {
                 public void readXML( XElement element ) {
                     frontend.readXML( element.getElement( "frontend" ) );
                 }
+                public Decoder<SettingsBlop> createDecoder(){
+                	// the factories are collected now, on the EventDispatchThread. The layouts are only copied by the
+                	// decoder, the factories read them when they are applied, again on the EventDispatchThread
+                	final SettingsBlopReader reader = frontend.createBlopReader();
+                	return new Decoder<SettingsBlop>(){
+                		public SettingsBlop decode( DataInputStream in ) throws IOException{
+                			Version version = Version.read( in );
+                			version.checkCurrent();
+                			if( Version.VERSION_1_1_1.compareTo( version ) > 0 && Version.VERSION_1_0_4.compareTo( version ) <= 0 ){
+                				readWorkingAreas( in );
+                			}
+                			return reader.read( in );
+                		}
+                		public SettingsBlop decodeXML( XElement element ){
+                			return reader.readXML( element.getElement( "frontend" ) );
+                		}
+                	};
+                }
+                public void apply( SettingsBlop data ){
+                    frontend.readBlop( data, false );
+                }
             });
 
             resources.put( "ccontrol.preferences", new ApplicationResource(){
@@ -1174,6 +1214,49 @@ public class CControl {
     private CControlListener[] listeners(){
         return listeners.toArray( new CControlListener[ listeners.size() ] );
     }
+    
+    /**
+     * Calls {@link CControlListener#added(CControl, CDockable)} on all listeners, or delays the
+     * call until the current batch is {@link #commitBatch() committed}.
+     * @param dockable the new element
+     */
+    private void fireAdded( CDockable dockable ){
+    	if( batchLevel > 0 ){
+    		batchAdded.add( dockable );
+    	}
+    	else{
+    		for( CControlListener listener : listeners() )
+    			listener.added( CControl.this, dockable );
+    	}
+    }
+    
+    /**
+     * Calls {@link CControlListener#removed(CControl, CDockable)} on all listeners. Any delayed
+     * event about an added dockable is fired first, listeners always see the events in the
+     * order in which they happened.
+     * @param dockable the removed element
+     */
+    private void fireRemoved( CDockable dockable ){
+    	fireBatchAdded();
+    	for( CControlListener listener : listeners() )
+    		listener.removed( CControl.this, dockable );
+    }
+    
+    /**
+     * Fires all the events about added dockables that were delayed by the current batch.
+     */
+    private void fireBatchAdded(){
+    	if( !batchAdded.isEmpty() ){
+    		CDockable[] added = batchAdded.toArray( new CDockable[ batchAdded.size() ] );
+    		batchAdded.clear();
+    		CControlListener[] listeners = listeners();
+    		for( CControlListener listener : listeners ){
+    			for( CDockable dockable : added ){
+    				listener.added( CControl.this, dockable );
+    			}
+    		}
+    	}
+    }
 
     /**
      * Informs this {@link CControl} whether location of {@link CDockable}s that are associated with a 
@@ -1247,6 +1330,9 @@ public class CControl {
      * work correctly after this method was called.
      */
     public void destroy(){
+        if( placeholderCollector != null ){
+            placeholderCollector.stop();
+        }
         frontend.kill();
         for( DestroyHook hook : hooks )
             hook.destroy();
@@ -1417,6 +1503,31 @@ public class CControl {
         return locationManager;
     }
 
+    /**
+     * Gets the garbage collector for placeholders. The collector removes information about
+     * {@link CDockable}s which no longer exist and which the {@link #getMissingStrategy() missing strategy}
+     * does not want to keep. It can be called directly, or scheduled to run periodically.
+     * @return the collector, not <code>null</code>
+     * @see #collectPlaceholders()
+     */
+    public CPlaceholderCollector getPlaceholderCollector(){
+        if( placeholderCollector == null ){
+            placeholderCollector = new CPlaceholderCollector( access );
+        }
+        return placeholderCollector;
+    }
+
+    /**
+     * Removes dead placeholders from all stations, stored layouts and perspectives, and removes
+     * empty entries of {@link CDockable}s which are no longer needed. This is a shortcut for
+     * <code>getPlaceholderCollector().collect()</code>.
+     * @return a summary of what was removed
+     * @throws IOException if one of the stored layouts could not be re-encoded
+     */
+    public CPlaceholderCollector.Report collectPlaceholders() throws IOException{
+        return getPlaceholderCollector().collect();
+    }
+
     /**
      * Adds a destroy-hook. The hook is called when this {@link CControl} is
      * destroyed through {@link #destroy()}.
@@ -1676,6 +1787,101 @@ public class CControl {
     	return null;
     }
 
+    /**
+     * Opens a batch. Until the batch is closed by {@link #commitBatch()} the {@link DockRegister} is
+     * {@link DockRegister#setStalled(boolean) stalled}, the colors, fonts, icons and texts of the
+     * {@link DockController} are not updated, calls to {@link CControlListener#added(CControl, CDockable)}
+     * are delayed, and the {@link DockController#getEventBatch() DockEventBatch} of the controller is open. Clients should open a batch before adding or showing many {@link CDockable}s at
+     * once, and must always call {@link #commitBatch()} afterwards, ideally in a <code>finally</code> block.
+     * Batches can be nested.
+     * @see #addDockables(Collection)
+     */
+    public void openBatch(){
+    	if( batchLevel++ == 0 ){
+    		DockController controller = getController();
+    		controller.getEventBatch().open();
+    		controller.getRegister().setStalled( true );
+    		controller.getColors().lockUpdate();
+    		controller.getFonts().lockUpdate();
+    		controller.getIcons().lockUpdate();
+    		controller.getTexts().lockUpdate();
+    	}
+    }
+    
+    /**
+     * Closes a batch that was opened by {@link #openBatch()}. If this was the outermost batch, then
+     * all the delayed work is done now: the colors, fonts, icons and texts are updated once, the events
+     * collected by the {@link DockEventBatch} are delivered, the {@link DockRegister} fires its events,
+     * and all {@link CControlListener}s are informed about the {@link CDockable}s that were added.
+     * @throws IllegalStateException if no batch is open
+     */
+    public void commitBatch(){
+    	if( batchLevel <= 0 ){
+    		throw new IllegalStateException( "no batch is open" );
+    	}
+    	if( --batchLevel == 0 ){
+    		DockController controller = getController();
+    		try{
+	    		controller.getTexts().unlockUpdate();
+	    		controller.getIcons().unlockUpdate();
+	    		controller.getFonts().unlockUpdate();
+	    		controller.getColors().unlockUpdate();
+    		}
+    		finally{
+    			try{
+    				// deliver the events while the register is still stalled, listeners may delay their reaction
+    				// until the register fires its events
+    				controller.getEventBatch().close();
+    			}
+    			finally{
+    				try{
+    					controller.getRegister().setStalled( false );
+    				}
+    				finally{
+    					fireBatchAdded();
+    				}
+    			}
+    		}
+    	}
+    }
+    
+    /**
+     * Tells whether a batch is currently open.
+     * @return <code>true</code> if {@link #openBatch()} was called more often than {@link #commitBatch()}
+     */
+    public boolean isBatchOpen(){
+    	return batchLevel > 0;
+    }
+    
+    /**
+     * Adds all the elements of <code>dockables</code> to this control, this method is equivalent of
+     * calling {@link #addDockable(SingleCDockable)} or {@link #addDockable(MultipleCDockable)} for each element,
+     * but all the calls are made within one {@link #openBatch() batch}.
+     * @param dockables the new elements, each of them must either be a {@link SingleCDockable} or
+     * a {@link MultipleCDockable}
+     * @throws IllegalArgumentException if one of the elements cannot be added, the elements before
+     * the failing element remain registered
+     */
+    public void addDockables( Collection<? extends CDockable> dockables ){
+    	openBatch();
+    	try{
+    		for( CDockable dockable : dockables ){
+    			if( dockable instanceof SingleCDockable ){
+    				addDockable( (SingleCDockable)dockable );
+    			}
+    			else if( dockable instanceof MultipleCDockable ){
+    				addDockable( (MultipleCDockable)dockable );
+    			}
+    			else{
+    				throw new IllegalArgumentException( "dockable is neither a SingleCDockable nor a MultipleCDockable: " + dockable );
+    			}
+    		}
+    	}
+    	finally{
+    		commitBatch();
+    	}
+    }
+
     /**
      * Adds a dockable to this control. The dockable can be made visible afterwards. This method will do nothing
      * if <code>dockable</code> was already registered at this {@link CControl}.
@@ -1719,8 +1925,7 @@ public class CControl {
 
         register.addSingleDockable( dockable );
 
-        for( CControlListener listener : listeners() )
-            listener.added( CControl.this, dockable );
+        fireAdded( dockable );
 
         return dockable;
     }
@@ -1750,12 +1955,7 @@ public class CControl {
      * @return the element with that identifier or <code>null</code>
      */
     public SingleCDockable getSingleDockable( String id ){
-        for( SingleCDockable dockable : register.getSingleDockables() ){
-            if( dockable.getUniqueId().equals( id )){
-                return dockable;
-            }
-        }
-        return null;
+        return register.getSingleDockable( id );
     }
 
     /**
@@ -1765,10 +1965,9 @@ public class CControl {
      * otherwise
      */
     public boolean removeSingleDockable( String id ){
-        for( SingleCDockable dockable : register.getSingleDockables() ){
-            if( dockable.getUniqueId().equals( id )){
-                return removeDockable( dockable );
-            }
+        SingleCDockable dockable = register.getSingleDockable( id );
+        if( dockable != null ){
+            return removeDockable( dockable );
         }
         return false;
     }
@@ -1792,8 +1991,7 @@ public class CControl {
             register.removeSingleDockable( dockable );
             dockable.setControlAccess( null );
 
-            for( CControlListener listener : listeners() )
-                listener.removed( CControl.this, dockable );
+            fireRemoved( dockable );
 
             return true;
         }
@@ -1935,8 +2133,6 @@ public class CControl {
      * or is not registered (see {@link #addMultipleDockableFactory(String, MultipleCDockableFactory)}).
      */
     public <M extends MultipleCDockable> M addDockable( M dockable) {
-        Set<String> ids = new HashSet<String>();
-
         String factoryId;
         MultipleCDockableFactory<?, ?> factory = dockable.getFactory();
         if( factory == null ){
@@ -1949,18 +2145,14 @@ public class CControl {
         }        	
         
 
-        for( MultipleCDockable multi : register.getMultipleDockables() ){
-            if( factoryId.equals( access.getFactoryId( multi.getFactory() ))){
-                ids.add( accesses.get( multi ).getUniqueId() );
-            }
-        }
-
-        int count = 0;
+        Integer hint = multipleIdHints.get( factoryId );
+        int count = hint == null ? 0 : hint.intValue();
         String id = count + " " + factoryId;
-        while( ids.contains( register.toMultiId( id ) ) ){
+        while( findMultipleDockable( id ) != null ){
             count++;
             id = count + " " + factoryId;
         }
+        multipleIdHints.put( factoryId, count+1 );
 
         return addDockable( id, dockable );
     }
@@ -1993,14 +2185,11 @@ public class CControl {
         if( dockable.getControl() != null )
             throw new IllegalStateException( "dockable is already part of a control" );
 
-        uniqueId = register.toMultiId( uniqueId );
-
-        for( MultipleCDockable multi : register.getMultipleDockables() ){
-            String id = accesses.get( multi ).getUniqueId();
-            if( uniqueId.equals( id )){
-                throw new IllegalArgumentException( "The unique identifier is already in use: " + uniqueId );
-            }
+        if( findMultipleDockable( uniqueId ) != null ){
+            throw new IllegalArgumentException( "The unique identifier is already in use: " + register.toMultiId( uniqueId ) );
         }
+        
+        uniqueId = register.toMultiId( uniqueId );
 
         dockable.setControlAccess( access );
         accesses.get( dockable ).setUniqueId( uniqueId );
@@ -2010,8 +2199,7 @@ public class CControl {
         
         register.addMultipleDockable( dockable );
 
-        for( CControlListener listener : listeners() )
-            listener.added( CControl.this, dockable );
+        fireAdded( dockable );
 
         return dockable;
     }
@@ -2067,6 +2255,21 @@ public class CControl {
      * was found
      */
     public MultipleCDockable getMultipleDockable( String id ){
+        return findMultipleDockable( id );
+    }
+    
+    /**
+     * Searches the {@link MultipleCDockable} with unique identifier <code>id</code>. The
+     * {@link DefaultCControlRegister} knows the dockables by their identifiers, other registers
+     * are searched by visiting all their dockables.
+     * @param id the identifier to look out for, without the prefix of {@link CControlRegister#toMultiId(String)}
+     * @return the element using <code>id</code> or <code>null</code>
+     */
+    private MultipleCDockable findMultipleDockable( String id ){
+        if( register instanceof DefaultCControlRegister ){
+            return ((DefaultCControlRegister)register).getMultipleDockable( id );
+        }
+        
         id = register.toMultiId( id );
         for( MultipleCDockable dockable : register.getMultipleDockables() ){
             if( accesses.get( dockable ).getUniqueId().equals( id )){
@@ -2132,12 +2335,8 @@ public class CControl {
     private boolean shouldCreate( MultipleCDockableFactory<?, ?> factory, CommonMultipleDockableLayout layout ){
         String uniqueId = layout.getId();
 
-        String multiId = register.toMultiId( uniqueId );
-
-        for( MultipleCDockable multi : register.getMultipleDockables() ){
-            if( accesses.get( multi ).getUniqueId().equals( multiId )){
-                return false;
-            }
+        if( findMultipleDockable( uniqueId ) != null ){
+            return false;
         }
 
         String factoryId = access.getFactoryId( factory );
@@ -2154,6 +2353,7 @@ public class CControl {
             throw new NullPointerException( "dockable must not be null" );
 
         if( dockable.getControl() == this ){
+            releaseMultipleIdHint( dockable );
             dockable.setVisible( false );
             frontend.remove( dockable.intern() );
 
@@ -2161,11 +2361,37 @@ public class CControl {
 
             dockable.setControlAccess( null );
 
-            for( CControlListener listener : listeners() )
-                listener.removed( CControl.this, dockable );
+            fireRemoved( dockable );
         }
     }
 
+    /**
+     * If the unique identifier of <code>dockable</code> looks like an identifier generated by
+     * {@link #addDockable(MultipleCDockable)}, then the identifier is marked as free again.
+     * @param dockable the element that is about to be removed
+     */
+    private void releaseMultipleIdHint( MultipleCDockable dockable ){
+    	String factoryId = access.getFactoryId( dockable.getFactory() );
+    	String id = getUniqueId( dockable );
+    	if( factoryId == null || id == null || !id.endsWith( " " + factoryId )){
+    		return;
+    	}
+    	Integer hint = multipleIdHints.get( factoryId );
+    	if( hint == null ){
+    		return;
+    	}
+    	String prefix = id.substring( 0, id.length() - factoryId.length() - 1 );
+    	try{
+    		int count = Integer.parseInt( prefix );
+    		if( count >= 0 && count < hint.intValue() && String.valueOf( count ).equals( prefix )){
+    			multipleIdHints.put( factoryId, count );
+    		}
+    	}
+    	catch( NumberFormatException e ){
+    		// not a generated identifier
+    	}
+    }
+
     /**
      * Gets the number of {@link CDockable}s that are registered in this
      * {@link CControl}.
@@ -2249,14 +2475,7 @@ public class CControl {
         if( factory != null ){
             frontend.unregisterFactory( factory );
 
-            List<MultipleCDockable> toRemove = new ArrayList<MultipleCDockable>();
-            for( MultipleCDockable dockable : register.getMultipleDockables() ){
-                if( dockable.getFactory() == factory.getFactory() ){
-                    toRemove.add( dockable );
-                }
-            }
-
-            for( MultipleCDockable dockable : toRemove ){
+            for( MultipleCDockable dockable : register.listMultipleDockables( factory.getFactory() ) ){
                 removeDockable( dockable );
             }
         }
@@ -2669,6 +2888,33 @@ public class CControl {
         readXML( element );
     }
 
+    /**
+     * Reads the current and other known layouts from <code>file</code> without blocking the calling thread.
+     * The file is read and the layouts are split up on a background thread. The factories, including any
+     * {@link MultipleCDockableFactory}, are only called on the EventDispatchThread when the layout is applied.
+     * This method must be called on the EventDispatchThread, it collects the currently registered factories.
+     * Factories registered later may not be used to read the layout.<br>
+     * This is the same as calling <code>getResources().readFileAsync( file )</code>.
+     * @param file the file to read from
+     * @return a future that is done once the layout has been applied
+     * @see #read(File)
+     */
+    public Future<Void> readAsync( File file ){
+        return getResources().readFileAsync( file );
+    }
+    
+    /**
+     * Reads the current and other known layouts from the xml file <code>file</code> without blocking
+     * the calling thread. See {@link #readAsync(File)} for more details.<br>
+     * This is the same as calling <code>getResources().readXMLFileAsync( file )</code>.
+     * @param file the file to read from
+     * @return a future that is done once the layout has been applied
+     * @see #readXML(File)
+     */
+    public Future<Void> readXMLAsync( File file ){
+        return getResources().readXMLFileAsync( file );
+    }
+
     /**
      * Saves the current layout with the current name. Does nothing if there is no name for the current layout. 
      * @return the name that was used to save the layout
@@ -37,6 +37,9 @@ import bibliothek.gui.dock.common.mode.CLocationModeManager;
 import bibliothek.gui.dock.facile.mode.Location;
 import bibliothek.gui.dock.facile.mode.LocationSettingConverter;
 import bibliothek.gui.dock.frontend.Setting;
+import bibliothek.gui.dock.frontend.SettingsBlopReader;
+import bibliothek.gui.dock.layout.DockSituation;
+import bibliothek.gui.dock.layout.PropertyTransformer;
 import bibliothek.gui.dock.support.mode.ModeSettings;
 import bibliothek.util.FrameworkOnly;
 
@@ -129,6 +132,24 @@ public class CDockFrontend extends DockFrontend{
         return setting;
     }
 
+    @Override
+    protected SettingsBlopReader createBlopReader( DockSituation entrySituation, DockSituation finalSituation, PropertyTransformer properties ){
+    	// the factories of the mode manager and the converter are collected now, on the EventDispatchThread
+    	final CLocationModeManager manager = control.getLocationManager();
+    	final ModeSettings<Location, Location> prototype = manager.createSettings( new LocationSettingConverter( getController() ) );
+    	
+    	return new SettingsBlopReader( entrySituation, finalSituation, properties ){
+    		@Override
+    		protected Setting createSetting(){
+    			CSetting setting = new CSetting();
+    			ModeSettings<Location, Location> modeSettings = manager.createModeSettings( prototype.getConverter() );
+    			prototype.copyFactoriesTo( modeSettings );
+    			setting.setModes( modeSettings );
+    			return setting;
+    		}
+    	};
+    }
+
     @Override
     public Setting getSetting( boolean entry ) {
     	CLocationModeManager manager = control.getLocationManager();
@@ -0,0 +1,245 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common.intern;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+
+import javax.swing.Timer;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.MissingCDockableStrategy;
+import bibliothek.gui.dock.common.mode.CLocationModeManager;
+import bibliothek.gui.dock.station.support.PlaceholderCollector;
+import bibliothek.gui.dock.station.support.PlaceholderStrategy;
+
+/**
+ * Removes information about {@link CDockable}s that no longer exist from a {@link CControl}. A
+ * placeholder or an empty entry is considered to be alive if the {@link PlaceholderStrategy} of the
+ * {@link CControl} accepts it, this includes all the registered {@link CDockable}s and all the identifiers
+ * the {@link MissingCDockableStrategy} or a backup factory wants to keep. In one pass the collector:
+ * <ul>
+ * 	<li>removes dead placeholders from all the stations</li>
+ * 	<li>re-encodes the stored layouts and perspectives without the dead placeholders</li>
+ * 	<li>removes empty entries from the {@link CLocationModeManager} and from the {@link DockFrontend}</li>
+ * </ul>
+ * The collector can either be called by {@link #collect()}, or it can run periodically on the
+ * <code>EDT</code> after {@link #start(int)} was called. If a periodic run fails, the failure is
+ * available through {@link #getLastFailure()} and is thrown on the <code>EDT</code>, wrapped into
+ * an {@link IllegalStateException}.
+ * @author Benjamin Sigg
+ */
+public class CPlaceholderCollector {
+	/** the control whose elements are cleaned up */
+	private CControlAccess control;
+	
+	/** the timer running {@link #collect()} periodically */
+	private Timer timer;
+	
+	/** the result of the last run */
+	private Report lastReport;
+	
+	/** why the last run failed, <code>null</code> if it did not fail */
+	private IOException lastFailure;
+	
+	/**
+	 * Creates a new collector.
+	 * @param control the control whose elements are cleaned up, not <code>null</code>
+	 */
+	public CPlaceholderCollector( CControlAccess control ){
+		if( control == null ){
+			throw new IllegalArgumentException( "control must not be null" );
+		}
+		this.control = control;
+	}
+	
+	/**
+	 * Removes all the dead placeholders and empty entries in one pass. This method must be called
+	 * from the <code>EDT</code>.
+	 * @return a summary of what was removed
+	 * @throws IOException if one of the stored layouts could not be re-encoded
+	 */
+	public Report collect() throws IOException{
+		CControl owner = control.getOwner();
+		CDockFrontend frontend = owner.intern();
+		PlaceholderStrategy strategy = owner.getController().getProperties().get( PlaceholderStrategy.PLACEHOLDER_STRATEGY );
+		
+		int removedPlaceholders = 0;
+		long reclaimedBytes = 0;
+		
+		if( strategy != null ){
+			PlaceholderCollector collector = new PlaceholderCollector( strategy );
+			try{
+				collector.collect( frontend );
+			}
+			catch( IOException ex ){
+				lastFailure = ex;
+				throw ex;
+			}
+			removedPlaceholders = collector.getRemovedPlaceholders();
+			reclaimedBytes = collector.getReclaimedBytes();
+		}
+		
+		int removedEntries = 0;
+		
+		CLocationModeManager locations = control.getLocationManager();
+		for( String key : locations.listEmpty() ){
+			if( !control.shouldStore( key )){
+				locations.removeEmpty( key );
+				removedEntries++;
+			}
+		}
+		
+		for( String key : frontend.listEmpty( false )){
+			if( !control.shouldStore( key )){
+				frontend.removeEmpty( key );
+				removedEntries++;
+			}
+		}
+		
+		lastFailure = null;
+		lastReport = new Report( removedPlaceholders, removedEntries, reclaimedBytes );
+		return lastReport;
+	}
+	
+	/**
+	 * Gets the result of the last successful call to {@link #collect()}.
+	 * @return the last result, <code>null</code> if the collector did not yet run
+	 */
+	public Report getLastReport(){
+		return lastReport;
+	}
+	
+	/**
+	 * Gets the exception that was thrown by the last call to {@link #collect()}.
+	 * @return the failure of the last run, <code>null</code> if the last run was successful
+	 * or if the collector did not yet run
+	 */
+	public IOException getLastFailure(){
+		return lastFailure;
+	}
+	
+	/**
+	 * Starts calling {@link #collect()} periodically. If the collector is already running,
+	 * then its period is changed. A run that fails is remembered by {@link #getLastFailure()} and
+	 * throws an {@link IllegalStateException} on the <code>EDT</code>, the following runs still happen.
+	 * @param delay the time in milliseconds between two runs, at least <code>1</code>
+	 */
+	public void start( int delay ){
+		if( delay < 1 ){
+			throw new IllegalArgumentException( "delay must be at least 1: " + delay );
+		}
+		if( timer == null ){
+			timer = new Timer( delay, new ActionListener(){
+				public void actionPerformed( ActionEvent e ){
+					try{
+						collect();
+					}
+					catch( IOException ex ){
+						throw new IllegalStateException( "unable to collect the dead placeholders", ex );
+					}
+				}
+			});
+			timer.setRepeats( true );
+		}
+		timer.setDelay( delay );
+		timer.setInitialDelay( delay );
+		timer.restart();
+	}
+	
+	/**
+	 * Stops calling {@link #collect()} periodically.
+	 */
+	public void stop(){
+		if( timer != null ){
+			timer.stop();
+			timer = null;
+		}
+	}
+	
+	/**
+	 * Tells whether {@link #collect()} is called periodically.
+	 * @return <code>true</code> if {@link #start(int)} was called and {@link #stop()} was not
+	 */
+	public boolean isRunning(){
+		return timer != null;
+	}
+	
+	/**
+	 * Describes how much was removed by one call to {@link CPlaceholderCollector#collect()}.
+	 * @author Benjamin Sigg
+	 */
+	public static class Report{
+		private final int removedPlaceholders;
+		private final int removedEntries;
+		private final long reclaimedBytes;
+		
+		/**
+		 * Creates a new report.
+		 * @param removedPlaceholders the number of placeholders removed from stations
+		 * @param removedEntries the number of empty entries that were removed
+		 * @param reclaimedBytes how many bytes the stored layouts lost
+		 */
+		public Report( int removedPlaceholders, int removedEntries, long reclaimedBytes ){
+			this.removedPlaceholders = removedPlaceholders;
+			this.removedEntries = removedEntries;
+			this.reclaimedBytes = reclaimedBytes;
+		}
+		
+		/**
+		 * Gets the number of placeholders that were removed from the stations.
+		 * @return the number of placeholders
+		 */
+		public int getRemovedPlaceholders(){
+			return removedPlaceholders;
+		}
+		
+		/**
+		 * Gets the number of empty entries that were removed from the {@link CLocationModeManager}
+		 * and the {@link DockFrontend}.
+		 * @return the number of entries
+		 */
+		public int getRemovedEntries(){
+			return removedEntries;
+		}
+		
+		/**
+		 * Gets the number of bytes the encoded stored layouts lost.
+		 * @return the number of bytes
+		 */
+		public long getReclaimedBytes(){
+			return reclaimedBytes;
+		}
+		
+		@Override
+		public String toString(){
+			return getClass().getSimpleName() + "[removedPlaceholders=" + removedPlaceholders + 
+				", removedEntries=" + removedEntries + ", reclaimedBytes=" + reclaimedBytes + "]";
+		}
+	}
+}
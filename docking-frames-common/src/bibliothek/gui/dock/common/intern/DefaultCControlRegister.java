@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +44,8 @@ import bibliothek.gui.dock.common.MultipleCDockable;
 import bibliothek.gui.dock.common.MultipleCDockableFactory;
 import bibliothek.gui.dock.common.SingleCDockable;
 import bibliothek.gui.dock.common.SingleCDockableFactory;
+import bibliothek.gui.dock.common.event.CDockableAdapter;
+import bibliothek.gui.dock.common.event.CDockableStateListener;
 import bibliothek.gui.dock.common.mode.ExtendedMode;
 import bibliothek.gui.dock.frontend.FrontendEntry;
 
@@ -82,6 +85,38 @@ public class DefaultCControlRegister implements MutableCControlRegister {
     private List<MultipleCDockable> multiDockables = 
         new ArrayList<MultipleCDockable>();
     
+    /** all {@link SingleCDockable}s accessible through their unique identifier */
+    private Map<String, SingleCDockable> singleIndex = new HashMap<String, SingleCDockable>();
+    
+    /** all {@link MultipleCDockable}s accessible through their unique identifier */
+    private Map<String, MultipleCDockable> multiIndex = new HashMap<String, MultipleCDockable>();
+    
+    /** the identifier and factory each {@link MultipleCDockable} had when it was added */
+    private Map<MultipleCDockable, MultipleEntry> multiEntries = new HashMap<MultipleCDockable, MultipleEntry>();
+    
+    /** all {@link MultipleCDockable}s grouped by their factory */
+    private Map<MultipleCDockableFactory<?, ?>, List<MultipleCDockable>> factoryIndex =
+    	new HashMap<MultipleCDockableFactory<?,?>, List<MultipleCDockable>>();
+    
+    /** the visible {@link CDockable}s grouped by their {@link ExtendedMode} */
+    private Map<ExtendedMode, Set<CDockable>> modeIndex = new HashMap<ExtendedMode, Set<CDockable>>();
+    
+    /** the key under which each {@link CDockable} is stored in {@link #modeIndex} */
+    private Map<CDockable, ExtendedMode> modes = new HashMap<CDockable, ExtendedMode>();
+    
+    /** a listener added to all {@link CDockable}s, keeps {@link #modeIndex} up to date */
+    private CDockableStateListener modeListener = new CDockableAdapter(){
+    	@Override
+    	public void visibilityChanged( CDockable dockable ){
+    		updateMode( dockable, dockable.isVisible() ? dockable.getExtendedMode() : null );
+    	}
+    	
+    	@Override
+    	public void extendedModeChanged( CDockable dockable, ExtendedMode mode ){
+    		updateMode( dockable, dockable.isVisible() ? mode : null );
+    	}
+    };
+    
     /** the stations known  */
     private List<CStation<?>> stations = new ArrayList<CStation<?>>();
     
@@ -200,13 +235,11 @@ public class DefaultCControlRegister implements MutableCControlRegister {
      * @return the list of dockables, never <code>null</code> but might be empty
      */
     public List<MultipleCDockable> listMultipleDockables( MultipleCDockableFactory<?, ?> factory ){
-        List<MultipleCDockable> result = new ArrayList<MultipleCDockable>();
-        for( MultipleCDockable dockable : multiDockables ){
-            if( dockable.getFactory() == factory ){
-                result.add( dockable );
-            }
+        List<MultipleCDockable> result = factoryIndex.get( factory );
+        if( result == null ){
+        	return new ArrayList<MultipleCDockable>();
         }
-        return result;
+        return new ArrayList<MultipleCDockable>( result );
     }
     
     /**
@@ -216,14 +249,45 @@ public class DefaultCControlRegister implements MutableCControlRegister {
      */
     public List<CDockable> listDockablesInMode( ExtendedMode mode ){
         List<CDockable> list = new ArrayList<CDockable>();
-        for( CDockable check : dockables ){
-            if( check.isVisible() && check.getExtendedMode() == mode ){
-                list.add( check );
-            }
+        Set<CDockable> candidates = modeIndex.get( mode );
+        if( candidates != null ){
+	        for( CDockable check : candidates ){
+	            if( check.isVisible() && check.getExtendedMode() == mode ){
+	                list.add( check );
+	            }
+	        }
         }
         return list;
     }
     
+    /**
+     * Moves <code>dockable</code> into the bucket <code>mode</code> of {@link #modeIndex}.
+     * @param dockable the element whose mode or visibility changed
+     * @param mode the new mode of <code>dockable</code>, <code>null</code> if <code>dockable</code>
+     * is invisible or no longer registered
+     */
+    private void updateMode( CDockable dockable, ExtendedMode mode ){
+    	ExtendedMode old = mode == null ? modes.remove( dockable ) : modes.put( dockable, mode );
+    	if( old == mode ){
+    		return;
+    	}
+    	if( old != null ){
+    		Set<CDockable> bucket = modeIndex.get( old );
+    		bucket.remove( dockable );
+    		if( bucket.isEmpty() ){
+    			modeIndex.remove( old );
+    		}
+    	}
+    	if( mode != null ){
+    		Set<CDockable> bucket = modeIndex.get( mode );
+    		if( bucket == null ){
+    			bucket = new LinkedHashSet<CDockable>();
+    			modeIndex.put( mode, bucket );
+    		}
+    		bucket.add( dockable );
+    	}
+    }
+    
     /**
      * Gets a list of all identifiers of {@link SingleCDockable} for which
      * this control has location information within the current {@link CControl#load(String) setting}.
@@ -267,20 +331,53 @@ public class DefaultCControlRegister implements MutableCControlRegister {
     public void addMultipleDockable( MultipleCDockable dockable ) {
         dockables.add( dockable );
         multiDockables.add( dockable );
+        
+        MultipleEntry entry = new MultipleEntry( control.getUniqueId( dockable ), dockable.getFactory() );
+        multiEntries.put( dockable, entry );
+        if( entry.id != null ){
+        	multiIndex.put( entry.id, dockable );
+        }
+        List<MultipleCDockable> group = factoryIndex.get( entry.factory );
+        if( group == null ){
+        	group = new ArrayList<MultipleCDockable>();
+        	factoryIndex.put( entry.factory, group );
+        }
+        group.add( dockable );
+        
+        addModeListener( dockable );
     }
 
     public void addSingleDockable( SingleCDockable dockable ) {
         dockables.add( dockable );
         singleDockables.add( dockable );
+        singleIndex.put( dockable.getUniqueId(), dockable );
+        
+        addModeListener( dockable );
+    }
+    
+    private void addModeListener( CDockable dockable ){
+    	dockable.addCDockableStateListener( modeListener );
+    	updateMode( dockable, dockable.isVisible() ? dockable.getExtendedMode() : null );
+    }
+    
+    private void removeModeListener( CDockable dockable ){
+    	dockable.removeCDockableStateListener( modeListener );
+    	updateMode( dockable, null );
     }
     
     public SingleCDockable getSingleDockable( String id ){
-	    for( SingleCDockable dockable : singleDockables ){
-	    	if( dockable.getUniqueId().equals( id )){
-	    		return dockable;
-	    	}
-	    }
-	    return null;
+    	return singleIndex.get( id );
+    }
+    
+    /**
+     * Searches the one {@link MultipleCDockable} whose unique id equals <code>id</code>. The
+     * dockables are indexed by their unique id, hence this method does not need to visit all
+     * the dockables.
+     * @param id some id to search, without the prefix of {@link #toMultiId(String)}
+     * @return a dockable with the same id or <code>null</code>
+     */
+    public MultipleCDockable getMultipleDockable( String id ){
+    	return multiIndex.get( id );
     }
 
     public void addStation( CStation<?> station ) {
@@ -358,6 +455,22 @@ public class DefaultCControlRegister implements MutableCControlRegister {
     public boolean removeMultipleDockable( MultipleCDockable dockable ) {
         if( dockables.remove( dockable ) ){
             multiDockables.remove( dockable );
+            
+            MultipleEntry entry = multiEntries.remove( dockable );
+            if( entry != null ){
+            	if( entry.id != null && multiIndex.get( entry.id ) == dockable ){
+            		multiIndex.remove( entry.id );
+            	}
+            	List<MultipleCDockable> group = factoryIndex.get( entry.factory );
+            	if( group != null ){
+            		group.remove( dockable );
+            		if( group.isEmpty() ){
+            			factoryIndex.remove( entry.factory );
+            		}
+            	}
+            }
+            
+            removeModeListener( dockable );
             return true;
         }
         return false;
@@ -366,6 +479,11 @@ public class DefaultCControlRegister implements MutableCControlRegister {
     public boolean removeSingleDockable( SingleCDockable dockable ) {
         if( dockables.remove( dockable )){
             singleDockables.remove( dockable );
+            if( singleIndex.get( dockable.getUniqueId() ) == dockable ){
+            	singleIndex.remove( dockable.getUniqueId() );
+            }
+            
+            removeModeListener( dockable );
             return true;
         }
         return false;
@@ -401,4 +519,21 @@ public class DefaultCControlRegister implements MutableCControlRegister {
             return null;
         return factory.getFactory();
     }
+    
+    /**
+     * The unique identifier and the factory of a {@link MultipleCDockable}, as they were
+     * when the dockable was added to this register.
+     * @author Benjamin Sigg
+     */
+    private static class MultipleEntry{
+    	/** the unique identifier, without the prefix added by {@link DefaultCControlRegister#toMultiId(String)} */
+    	public final String id;
+    	/** the factory of the dockable */
+    	public final MultipleCDockableFactory<?, ?> factory;
+    	
+    	public MultipleEntry( String id, MultipleCDockableFactory<?, ?> factory ){
+    		this.id = id;
+    		this.factory = factory;
+    	}
+    }
 }
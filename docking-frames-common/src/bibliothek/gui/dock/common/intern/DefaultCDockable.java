@@ -25,15 +25,22 @@
  */
 package bibliothek.gui.dock.common.intern;
 
+import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.LayoutManager;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 
 import javax.swing.Icon;
+import javax.swing.Timer;
 
+import bibliothek.gui.dock.common.CContentSupplier;
 import bibliothek.gui.dock.common.CStation;
 import bibliothek.gui.dock.common.action.CAction;
 import bibliothek.gui.dock.common.action.CSeparator;
+import bibliothek.gui.dock.dockable.DockableStateEvent;
+import bibliothek.gui.dock.dockable.DockableStateListener;
 import bibliothek.gui.dock.dockable.IconHandling;
 import bibliothek.util.FrameworkOnly;
 
@@ -191,6 +198,18 @@ public class DefaultCDockable extends AbstractCDockable{
     /** whether this dockable can be combined with other dockables */
     private boolean stackable;
     
+    /** creates the content of this dockable lazily, can be <code>null</code> */
+    private CContentSupplier contentSupplier;
+    
+    /** the content that was created by {@link #contentSupplier}, can be <code>null</code> */
+    private Component suppliedContent;
+    
+    /** how many milliseconds invisible content is kept, a negative value means forever */
+    private int contentReleaseDelay = -1;
+    
+    /** observes {@link #intern()} and creates or releases the {@link #suppliedContent} */
+    private LazyContent lazyContent;
+    
     /**
      * Creates a new dockable
      */
@@ -223,6 +242,115 @@ public class DefaultCDockable extends AbstractCDockable{
         return intern().getContentPane();
     }
     
+    /**
+     * Sets a supplier which creates the content of this dockable lazily. The content is created
+     * the first time this dockable {@link #isShowing() is showing} and added to the
+     * {@link #getContentPane() content pane}, at its center if the content pane uses a {@link BorderLayout},
+     * which is the default. The layout of the content pane is never changed, and other components of the
+     * content pane are left alone. As long as this dockable is minimized, closed or hidden
+     * behind another tab, no content is created at all. Any content that was created by the
+     * previous supplier is removed and released.
+     * @param supplier the new supplier, can be <code>null</code>
+     * @see #setContentReleaseDelay(int)
+     */
+    public void setContentSupplier( CContentSupplier supplier ){
+    	if( contentSupplier != supplier ){
+    		releaseContent();
+    		contentSupplier = supplier;
+    		
+    		if( supplier == null ){
+    			if( lazyContent != null ){
+    				lazyContent.uninstall();
+    				lazyContent = null;
+    			}
+    		}
+    		else{
+    			if( lazyContent == null ){
+    				lazyContent = new LazyContent();
+    				lazyContent.install();
+    			}
+    			lazyContent.update();
+    		}
+    	}
+    }
+    
+    /**
+     * Gets the supplier which creates the content of this dockable lazily.
+     * @return the supplier, can be <code>null</code>
+     * @see #setContentSupplier(CContentSupplier)
+     */
+    public CContentSupplier getContentSupplier(){
+		return contentSupplier;
+	}
+    
+    /**
+     * Sets how long content that was created by the {@link #setContentSupplier(CContentSupplier) content supplier}
+     * is kept after this dockable became invisible. Once the delay is over, the content is removed and
+     * {@link CContentSupplier#releaseContent(DefaultCDockable, Component) released}, it will be created again
+     * when this dockable is showing the next time.
+     * @param delay the delay in milliseconds, <code>0</code> to release the content as soon as this dockable
+     * is invisible, a negative value to never release the content. The default value is <code>-1</code>.
+     */
+    public void setContentReleaseDelay( int delay ){
+    	this.contentReleaseDelay = delay;
+    	if( lazyContent != null ){
+    		lazyContent.update();
+    	}
+    }
+    
+    /**
+     * Tells how long content that was created lazily is kept after this dockable became invisible.
+     * @return the delay in milliseconds, a negative value means forever
+     * @see #setContentReleaseDelay(int)
+     */
+    public int getContentReleaseDelay(){
+		return contentReleaseDelay;
+	}
+    
+    /**
+     * Tells whether the {@link #setContentSupplier(CContentSupplier) content supplier} has already 
+     * created the content of this dockable.
+     * @return <code>true</code> if the content is currently created
+     */
+    public boolean isContentCreated(){
+    	return suppliedContent != null;
+    }
+    
+    /**
+     * Asks the {@link #setContentSupplier(CContentSupplier) content supplier} to create the content
+     * of this dockable, if not yet done.
+     */
+    private void createContent(){
+    	if( suppliedContent == null && contentSupplier != null ){
+    		suppliedContent = contentSupplier.createContent( this );
+    		if( suppliedContent != null ){
+    			Container pane = getContentPane();
+    			if( pane.getLayout() instanceof BorderLayout ){
+    				pane.add( suppliedContent, BorderLayout.CENTER );
+    			}
+    			else{
+    				pane.add( suppliedContent );
+    			}
+    			pane.revalidate();
+    		}
+    	}
+    }
+    
+    /**
+     * Removes the content that was created by the {@link #setContentSupplier(CContentSupplier) content supplier}
+     * and gives it back to the supplier.
+     */
+    private void releaseContent(){
+    	if( suppliedContent != null ){
+    		Component content = suppliedContent;
+    		suppliedContent = null;
+    		Container pane = getContentPane();
+    		pane.remove( content );
+    		pane.revalidate();
+    		contentSupplier.releaseContent( this, content );
+    	}
+    }
+    
     /**
      * Sets the {@link LayoutManager} of the {@link #getContentPane() content pane}.
      * @param layout the new layout manager
@@ -491,4 +619,72 @@ public class DefaultCDockable extends AbstractCDockable{
     public CStation<?> asStation(){
     	return null;
     }
+    
+    /**
+     * Creates the content of this dockable when {@link #intern()} starts showing, and
+     * releases the content when {@link #intern()} was invisible for long enough.
+     * @author Benjamin Sigg
+     */
+    private class LazyContent implements DockableStateListener, ActionListener{
+    	/** the timer that releases the content, can be <code>null</code> */
+    	private Timer timer;
+    	
+    	/**
+    	 * Starts observing the showing state of this dockable.
+    	 */
+    	public void install(){
+    		intern().addDockableStateListener( this );
+    	}
+    	
+    	/**
+    	 * Stops observing the showing state of this dockable.
+    	 */
+    	public void uninstall(){
+    		intern().removeDockableStateListener( this );
+    		if( timer != null ){
+    			timer.stop();
+    			timer = null;
+    		}
+    	}
+    	
+    	public void changed( DockableStateEvent event ){
+    		if( event.didShowingChange() || event.didHierarchyChange() ){
+    			update();
+    		}
+    	}
+    	
+    	/**
+    	 * Creates the content if this dockable is showing, otherwise schedules its release.
+    	 */
+    	public void update(){
+    		if( intern().isDockableShowing() ){
+    			if( timer != null ){
+    				timer.stop();
+    			}
+    			createContent();
+    		}
+    		else if( suppliedContent != null ){
+    			if( contentReleaseDelay == 0 ){
+    				releaseContent();
+    			}
+    			else if( contentReleaseDelay > 0 ){
+    				if( timer == null ){
+    					timer = new Timer( contentReleaseDelay, this );
+    					timer.setRepeats( false );
+    				}
+    				timer.setInitialDelay( contentReleaseDelay );
+    				timer.restart();
+    			}
+    			else if( timer != null ){
+    				timer.stop();
+    			}
+    		}
+    	}
+    	
+    	public void actionPerformed( ActionEvent e ){
+    		if( !intern().isDockableShowing() ){
+    			releaseContent();
+    		}
+    	}
+    }
 }
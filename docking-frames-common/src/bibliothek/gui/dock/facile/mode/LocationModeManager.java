@@ -656,6 +656,27 @@ public class LocationModeManager<M extends LocationMode> extends ModeManager<Loc
 		}
 	}
 	
+	/**
+	 * Tells whether a parent of <code>dockable</code> is waiting for a call to {@link #refresh(Dockable, boolean)}. 
+	 * Since a refresh is always recursive, <code>dockable</code> will then be refreshed together with its parent.
+	 * @param dockable the element to check
+	 * @return <code>true</code> if one of the parents of <code>dockable</code> is in {@link #pendingRefreshs}
+	 */
+	private boolean isAncestorPending( Dockable dockable ){
+		DockStation parent = dockable.getDockParent();
+		while( parent != null ){
+			Dockable next = parent.asDockable();
+			if( next == null ){
+				return false;
+			}
+			if( pendingRefreshs.contains( next ) ){
+				return true;
+			}
+			parent = next.getDockParent();
+		}
+		return false;
+	}
+	
 	/**
 	 * This listener registers when {@link Dockable}s enter and leave and adds or
 	 * removes a {@link DockHierarchyListener}. 
@@ -700,7 +721,9 @@ public class LocationModeManager<M extends LocationMode> extends ModeManager<Loc
 				Iterator<Dockable> iter = pendingRefreshs.iterator();
 				Dockable next = iter.next();
 				iter.remove();
-				refresh( next, true );
+				if( !isAncestorPending( next ) ){
+					refresh( next, true );
+				}
 			}
 		}
 	}
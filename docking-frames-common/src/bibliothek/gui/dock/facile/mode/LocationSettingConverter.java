@@ -25,6 +25,8 @@
  */
 package bibliothek.gui.dock.facile.mode;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -35,16 +37,20 @@ import bibliothek.gui.dock.layout.DockablePropertyFactory;
 import bibliothek.gui.dock.layout.PropertyTransformer;
 import bibliothek.gui.dock.station.flap.FlapDockProperty;
 import bibliothek.gui.dock.station.screen.ScreenDockProperty;
+import bibliothek.gui.dock.support.mode.CompactModeSettingsConverter;
 import bibliothek.gui.dock.support.mode.ModeSettingsConverter;
+import bibliothek.gui.dock.support.mode.ModeSettingsStringTable;
 import bibliothek.util.Path;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
 
 /**
- * A {@link ModeSettingsConverter} for the {@link LocationModeManager}.
+ * A {@link ModeSettingsConverter} for the {@link LocationModeManager}. In the compact format the
+ * mode, the root station and the factories of the {@link DockableProperty}s are stored in a
+ * {@link ModeSettingsStringTable}.
  * @author Benjamin Sigg
  */
-public class LocationSettingConverter implements ModeSettingsConverter<Location, Location>{
+public class LocationSettingConverter implements CompactModeSettingsConverter<Location, Location>{
     /** transformer to read or write single {@link DockableProperty}s */
     private PropertyTransformer transformer;
 
@@ -109,6 +115,60 @@ public class LocationSettingConverter implements ModeSettingsConverter<Location,
         return new Location( mode, root, location, applicationDefined );
     }
     
+    public void writeProperty( Location element, DataOutputStream out, ModeSettingsStringTable strings ) throws IOException{
+    	strings.writePath( element.getMode(), out );
+    	strings.write( element.getRoot(), out );
+    	out.writeBoolean( element.isApplicationDefined() );
+    	
+    	int count = 0;
+    	for( DockableProperty property = element.getLocation(); property != null; property = property.getSuccessor() ){
+    		count++;
+    	}
+    	ModeSettingsStringTable.writeVarInt( count, out );
+    	for( DockableProperty property = element.getLocation(); property != null; property = property.getSuccessor() ){
+    		strings.write( property.getFactoryID(), out );
+    		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    		DataOutputStream datas = new DataOutputStream( bytes );
+    		property.store( datas );
+    		datas.close();
+    		ModeSettingsStringTable.writeVarInt( bytes.size(), out );
+    		bytes.writeTo( out );
+    	}
+    }
+    
+    public Location readProperty( DataInputStream in, ModeSettingsStringTable strings ) throws IOException{
+    	Path mode = strings.readPath( in );
+    	String root = strings.read( in );
+    	boolean applicationDefined = in.readBoolean();
+    	
+    	DockableProperty base = null;
+    	DockableProperty last = null;
+    	for( int i = 0, n = ModeSettingsStringTable.readVarInt( in ); i<n; i++ ){
+    		String id = strings.read( in );
+    		DockablePropertyFactory factory = transformer.getFactory( id );
+    		if( factory == null ){
+    			throw new IOException( "Unknown factory-id: " + id );
+    		}
+    		byte[] data = new byte[ ModeSettingsStringTable.readVarInt( in ) ];
+    		in.readFully( data );
+    		
+    		DockableProperty property = factory.createProperty();
+    		DataInputStream datas = new DataInputStream( new ByteArrayInputStream( data ) );
+    		property.load( datas );
+    		datas.close();
+    		
+    		if( base == null ){
+    			base = property;
+    		}
+    		else{
+    			last.setSuccessor( property );
+    		}
+    		last = property;
+    	}
+    	
+    	return new Location( mode, root, base, applicationDefined );
+    }
+    
     private Path guessMode( DockableProperty location ){
     	if( location instanceof FlapDockProperty ){
     		return MinimizedMode.IDENTIFIER;
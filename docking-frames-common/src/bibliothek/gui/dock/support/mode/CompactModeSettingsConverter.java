@@ -0,0 +1,60 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.support.mode;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A {@link ModeSettingsConverter} that supports the compact binary format of {@link ModeSettings}. Instead
+ * of writing strings directly, the converter can use a {@link ModeSettingsStringTable} to store strings 
+ * that are repeated many times, like the identifiers of modes or of root stations.<br>
+ * Properties that were written by {@link #writeProperty(Object, DataOutputStream, ModeSettingsStringTable)}
+ * can only be read by {@link #readProperty(DataInputStream, ModeSettingsStringTable)}.
+ * @author Benjamin Sigg
+ * @param <A> the type of properties outside
+ * @param <B> the type of properties that represent the outside properties
+ */
+public interface CompactModeSettingsConverter<A,B> extends ModeSettingsConverter<A, B>{
+	/**
+	 * Writes a single property of this setting in the compact format.
+	 * @param b the property to write
+	 * @param out the stream to write into
+	 * @param strings the table to use for repeated strings
+	 * @throws IOException if an I/O-error occurs
+	 */
+	public void writeProperty( B b, DataOutputStream out, ModeSettingsStringTable strings ) throws IOException;
+	
+	/**
+	 * Reads a single property that was written by {@link #writeProperty(Object, DataOutputStream, ModeSettingsStringTable)}.
+	 * @param in the stream to read from
+	 * @param strings the table to use for repeated strings
+	 * @return the property that has been read
+	 * @throws IOException if an I/O-error occurs
+	 */
+	public B readProperty( DataInputStream in, ModeSettingsStringTable strings ) throws IOException;
+}
@@ -31,7 +31,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -91,6 +91,9 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 	/** used to change the history of {@link Dockable}s before applying a new mode */
 	private HistoryRewriter<H,M> historyRewriter;
 	
+	/** whether new {@link ModeSettings} use the compact format */
+	private boolean compactSettings = false;
+	
 	private ActionGuard guard = new ActionGuard() {
 		public boolean react( Dockable dockable ){
 			return getHandle( dockable ) != null;
@@ -887,6 +890,23 @@ public abstract class ModeManager<H, M extends Mode<H>> {
     	DockableHandle entry = entries.get( key );
     	return entry != null && entry.empty;
     }
+
+    /**
+     * Gets the keys of all the empty entries which are currently not associated with
+     * any {@link Dockable}.
+     * @return the keys, may be empty but not <code>null</code>
+     * @see #addEmpty(String)
+     * @see #removeEmpty(String)
+     */
+    public String[] listEmpty(){
+    	List<String> result = new ArrayList<String>();
+    	for( DockableHandle entry : entries.values() ){
+    		if( entry.empty && entry.dockable == null ){
+    			result.add( entry.id );
+    		}
+    	}
+    	return result.toArray( new String[ result.size() ] );
+    }
     
     /**
      * Given some {@link Dockable} on which an event was registered, searches a
@@ -1148,6 +1168,26 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 		return dockables.get( dockable );
 	}
 	
+	/**
+	 * Sets whether the {@link ModeSettings} created by {@link #createSettings(ModeSettingsConverter)} write
+	 * their data in the compact format. Older versions of the framework cannot read the compact format, 
+	 * hence it is disabled by default.
+	 * @param compactSettings whether to use the compact format
+	 * @see ModeSettings#setCompact(boolean)
+	 */
+	public void setCompactSettings( boolean compactSettings ){
+		this.compactSettings = compactSettings;
+	}
+	
+	/**
+	 * Tells whether new {@link ModeSettings} write their data in the compact format.
+	 * @return whether the compact format is used
+	 * @see #setCompactSettings(boolean)
+	 */
+	public boolean isCompactSettings(){
+		return compactSettings;
+	}
+	
 	/**
 	 * Creates a new {@link ModeSetting} which is configured to transfer data from
 	 * this {@link ModeManager} to persistent storage or the other way. The new setting
@@ -1159,6 +1199,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 	 */
 	public <B> ModeSettings<H, B> createSettings( ModeSettingsConverter<H, B> converter ){
 		ModeSettings<H, B> settings = createModeSettings( converter );
+		settings.setCompact( compactSettings );
 		for( ModeSettingFactory<H> factory : factories.values() ){
 			settings.addFactory( factory );
 		}
@@ -1176,7 +1217,9 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 	/**
 	 * Creates the empty set of settings for this {@link ModeManager}. Subclasses
 	 * may override this method to use another set of settings. This method does
-	 * not need to call {@link ModeSettings#addFactory(ModeSettingFactory)}.
+	 * not need to call {@link ModeSettings#addFactory(ModeSettingFactory)}. This method may be called
+	 * on any thread, e.g. while a layout is read in the background, hence it must not access the state
+	 * of this manager.
 	 * @param <B> the intermediate format
 	 * @param converter conversion tool from this manager's meta-data format to the
 	 * intermediate format.
@@ -1256,8 +1299,10 @@ public abstract class ModeManager<H, M extends Mode<H>> {
                     current = old;
                 
                 entry.history.clear();
-                for( Path next : settings.getHistory( i ))
+                for( Path next : settings.getHistory( i )){
+                	entry.history.remove( next );
                     entry.history.add( next );
+                }
                 
                 entry.properties = settings.getProperties( i );
                 
@@ -1379,8 +1424,11 @@ public abstract class ModeManager<H, M extends Mode<H>> {
         /** a map that stores some properties mapped to the different modes */
         public Map<Path, H> properties;
 
-        /** The modes this entry already visited. No mode is more than once in this list. */
-        private List<Path> history;
+        /** The modes this entry already visited, the most recently used mode is the last element. */
+        private LinkedHashSet<Path> history;
+        
+        /** the sources that were added to {@link #source} the last time it was updated */
+        private List<DockActionSource> sources = new ArrayList<DockActionSource>();
         
         /** if <code>true</code>, then this entry is not deleted automatically */
         private boolean empty = false;
@@ -1395,28 +1443,55 @@ public abstract class ModeManager<H, M extends Mode<H>> {
             this.id = id;
             source = new MultiDockActionSource( new LocationHint( LocationHint.ACTION_GUARD, LocationHint.RIGHT ) );
             properties = new HashMap<Path, H>();
-            history = new LinkedList<Path>();
+            history = new LinkedHashSet<Path>();
         }
         
         /**
-         * Updates the action source of this manager.
+         * Updates the action source of this manager. The source is only modified if
+         * the modes offer different {@link DockActionSource}s than the last time.
          */
         public void updateActionSource(){
         	if( dockable != null ){
-	        	source.removeAll();
 	        	M mode = getCurrentMode( dockable );
 	        	if( mode == null )
 	        		mode = getDefaultMode( dockable );
 	        	
+	        	List<DockActionSource> next = new ArrayList<DockActionSource>( modes.size() );
 	        	for( ModeHandle access : modes ){
-	        		DockActionSource next = access.mode.getActionsFor( dockable, mode );
-	        		if( next != null ){
-	        			source.add( next );
+	        		DockActionSource actions = access.mode.getActionsFor( dockable, mode );
+	        		if( actions != null ){
+	        			next.add( actions );
 	        		}
 	        	}
+	        	
+	        	if( !sameSources( next )){
+	        		sources = next;
+		        	source.removeAll();
+		        	for( DockActionSource actions : next ){
+		        		source.add( actions );
+		        	}
+	        	}
         	}
         }
         
+        /**
+         * Tells whether <code>next</code> contains the same {@link DockActionSource}s as
+         * {@link #sources}, in the same order.
+         * @param next the new sources
+         * @return <code>true</code> if nothing changed
+         */
+        private boolean sameSources( List<DockActionSource> next ){
+        	if( next.size() != sources.size() ){
+        		return false;
+        	}
+        	for( int i = 0, n = next.size(); i<n; i++ ){
+        		if( next.get( i ) != sources.get( i )){
+        			return false;
+        		}
+        	}
+        	return true;
+        }
+        
         /**
          * Stores <code>mode</code> in a stack that describes the history
          * through which this entry moved. If <code>mode</code> is already
@@ -1460,7 +1535,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
             if( history.size() < 2 )
                 return access( getDefaultMode( dockable ) );
             else
-                return getAccess( history.get( history.size()-2 ) );
+                return getAccess( getHistory( 1 ) );
         }
         
         /**
@@ -1471,7 +1546,23 @@ public abstract class ModeManager<H, M extends Mode<H>> {
             if( history.isEmpty() )
                 return null;
             else
-                return getAccess( history.get( history.size()-1 ) );
+                return getAccess( getHistory( 0 ) );
+        }
+        
+        /**
+         * Gets an element of {@link #history}, counting from the most recently used mode. The history
+         * never contains more elements than there are modes, hence iterating it is cheap.
+         * @param age how many modes to skip, 0 being the most recent mode
+         * @return the identifier of the mode
+         */
+        private Path getHistory( int age ){
+        	int index = history.size() - 1 - age;
+        	for( Path path : history ){
+        		if( index-- == 0 ){
+        			return path;
+        		}
+        	}
+        	throw new IndexOutOfBoundsException( "age: " + age );
         }
         
         /**
@@ -31,6 +31,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -52,6 +53,19 @@ import bibliothek.util.xml.XException;
  * @param <B> the independent objects used by this {@link ModeSettings} to store information
  */
 public class ModeSettings<A,B> {
+	/** marker of the compact format: a dockable has no current mode */
+	private static final byte CURRENT_NONE = 0;
+	/** marker of the compact format: the current mode of a dockable is the last entry of its history */
+	private static final byte CURRENT_LAST_HISTORY = 1;
+	/** marker of the compact format: the current mode of a dockable is stored explicitly */
+	private static final byte CURRENT_PATH = 2;
+	
+	/** 
+	 * Written instead of a version if the compact format is used. Releases that do not know the
+	 * compact format consider this version to be from the future and refuse to read it.
+	 */
+	private static final Version COMPACT_FORMAT = new Version( 1, 1, 2, "compact" );
+	
     /** the list of known {@link Dockable}s */
     private List<DockableEntry> dockables = new ArrayList<DockableEntry>();
     
@@ -64,6 +78,9 @@ public class ModeSettings<A,B> {
     /** factories for creating new {@link ModeSetting}s */
     private Map<Path, ModeSettingFactory<A>> factories = new HashMap<Path, ModeSettingFactory<A>>();
     
+    /** whether {@link #write(DataOutputStream)} uses the compact format */
+    private boolean compact = false;
+    
     /**
      * Creates a new setting
      * @param converter the converter to read and write properties
@@ -93,6 +110,18 @@ public class ModeSettings<A,B> {
     	factories.put( factory.getModeId(), factory );
     }
     
+    /**
+     * Adds all the factories of this setting to <code>settings</code>, and tells <code>settings</code>
+     * to use the same format when writing.
+     * @param settings the settings to configure, not <code>null</code>
+     */
+    public void copyFactoriesTo( ModeSettings<A, ?> settings ){
+    	for( ModeSettingFactory<A> factory : factories.values() ){
+    		settings.addFactory( factory );
+    	}
+    	settings.setCompact( compact );
+    }
+    
     /**
      * Adds a new set of properties to this setting.
      * @param id the unique identifier of this set of properties
@@ -217,12 +246,41 @@ public class ModeSettings<A,B> {
     	return modes.get( modeId );
     }
     
+    /**
+     * Sets whether {@link #write(DataOutputStream)} uses the compact format. In the compact format 
+     * repeated strings like the identifiers of modes are stored in a {@link ModeSettingsStringTable}, 
+     * numbers are stored with a variable length, and a history that is equal to the history of the 
+     * previous entry is not repeated. If the converter is a {@link CompactModeSettingsConverter}, then 
+     * the properties use the compact format as well.<br>
+     * Older versions of the framework cannot read the compact format, hence it is disabled by default.
+     * {@link #read(DataInputStream)} always understands both formats.
+     * @param compact whether to use the compact format
+     */
+    public void setCompact( boolean compact ){
+		this.compact = compact;
+	}
+    
+    /**
+     * Tells whether {@link #write(DataOutputStream)} uses the compact format.
+     * @return whether the compact format is used
+     * @see #setCompact(boolean)
+     */
+    public boolean isCompact(){
+		return compact;
+	}
+    
     /**
      * Writes all properties of this setting into <code>out</code>.
      * @param out the stream to write into
      * @throws IOException if an I/O-error occurs
+     * @see #setCompact(boolean)
      */
     public void write( DataOutputStream out ) throws IOException{
+    	if( compact ){
+    		writeCompact( out );
+    		return;
+    	}
+    	
         Version.write( out, Version.VERSION_1_0_8 );
         
         out.writeInt( dockables.size() );
@@ -264,6 +322,97 @@ public class ModeSettings<A,B> {
         }
     }
     
+    /**
+     * Writes all properties of this setting into <code>out</code> using the compact format.
+     * @param out the stream to write into
+     * @throws IOException if an I/O-error occurs
+     */
+    private void writeCompact( DataOutputStream out ) throws IOException{
+        Version.write( out, COMPACT_FORMAT );
+        
+        ModeSettingsStringTable strings = new ModeSettingsStringTable();
+        
+        ModeSettingsStringTable.writeVarInt( dockables.size(), out );
+        Path[] lastHistory = null;
+        for( DockableEntry entry : dockables ){
+            out.writeUTF( entry.id );
+            
+            if( lastHistory != null && Arrays.equals( lastHistory, entry.history )){
+            	ModeSettingsStringTable.writeVarInt( 0, out );
+            }
+            else{
+            	ModeSettingsStringTable.writeVarInt( entry.history.length+1, out );
+            	for( Path history : entry.history ){
+            		strings.writePath( history, out );
+            	}
+            }
+            lastHistory = entry.history;
+            
+            if( entry.current == null ){
+            	out.writeByte( CURRENT_NONE );
+            }
+            else if( entry.history.length > 0 && entry.current.equals( entry.history[ entry.history.length-1 ] )){
+            	out.writeByte( CURRENT_LAST_HISTORY );
+            }
+            else{
+            	out.writeByte( CURRENT_PATH );
+            	strings.writePath( entry.current, out );
+            }
+            
+            ModeSettingsStringTable.writeVarInt( entry.properties.size(), out );
+            for( Map.Entry<Path, B> next : entry.properties.entrySet() ){
+            	strings.writePath( next.getKey(), out );
+            	writeProperty( next.getValue(), out, strings );
+            }
+        }
+        
+        ModeSettingsStringTable.writeVarInt( modes.size(), out );
+        for( ModeSetting<A> mode : modes.values() ){
+        	// storing id - byte count - bytes
+        	strings.writePath( mode.getModeId(), out );
+        	
+        	ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        	DataOutputStream dout = new DataOutputStream( bout );
+        	mode.write( dout, converter );
+        	dout.close();
+        	
+        	ModeSettingsStringTable.writeVarInt( bout.size(), out );
+        	bout.writeTo( out );
+        }
+    }
+    
+    /**
+     * Writes a single property, uses the compact format if the converter supports it.
+     * @param property the property to write
+     * @param out the stream to write into
+     * @param strings the table of repeated strings
+     * @throws IOException if an I/O-error occurs
+     */
+    private void writeProperty( B property, DataOutputStream out, ModeSettingsStringTable strings ) throws IOException{
+    	if( converter instanceof CompactModeSettingsConverter ){
+    		((CompactModeSettingsConverter<A, B>)converter).writeProperty( property, out, strings );
+    	}
+    	else{
+    		converter.writeProperty( property, out );
+    	}
+    }
+    
+    /**
+     * Reads a single property that was written by {@link #writeProperty(Object, DataOutputStream, ModeSettingsStringTable)}.
+     * @param in the stream to read from
+     * @param strings the table of repeated strings
+     * @return the property
+     * @throws IOException if an I/O-error occurs
+     */
+    private B readProperty( DataInputStream in, ModeSettingsStringTable strings ) throws IOException{
+    	if( converter instanceof CompactModeSettingsConverter ){
+    		return ((CompactModeSettingsConverter<A, B>)converter).readProperty( in, strings );
+    	}
+    	else{
+    		return converter.readProperty( in );
+    	}
+    }
+    
     /**
      * Called if some setting with version &lt; 1.0.8 is found. Subclasses
      * may override this method to read and interpret the old settings. The
@@ -304,6 +453,10 @@ public class ModeSettings<A,B> {
      */
     public void read( DataInputStream in ) throws IOException{
         Version version = Version.read( in );
+        if( COMPACT_FORMAT.equals( version )){
+        	readCompact( in );
+        	return;
+        }
         version.checkCurrent();
         
         boolean version7 = Version.VERSION_1_0_7.compareTo( version ) >= 0;
@@ -367,32 +520,102 @@ public class ModeSettings<A,B> {
 	        for( int i = 0, n = in.readInt(); i<n; i++ ){
 	        	Path id = new Path( in.readUTF() );
 	        	
-	        	int count = in.readInt();
-	        	byte[] content = new byte[ count ];
-	        	
-	        	int offset = 0;
-	        	int length = count;
-	        	int read;
-	        	while( (length > 0) && ((read = in.read( content, offset, length )) > 0) ){
-	        		offset += read;
-	        		length -= read;
-	        	}
-	        	
-	        	ByteArrayInputStream bin = new ByteArrayInputStream( content );
-	        	DataInputStream din = new DataInputStream( bin );
-	        	
-	        	ModeSettingFactory<A> factory = factories.get( id );
-	        	if( factory != null ){
-	        		ModeSetting<A> setting = factory.create();
-	        		setting.read( din, converter );
-	        		din.close();
-	        		
-	        		modes.put( setting.getModeId(), setting );
-	        	}
+	        	readModeSetting( id, in.readInt(), in );
 	        }
         }
     }
     
+    /**
+     * Reads the settings of this setting which were written by {@link #write(DataOutputStream)}
+     * in the compact format.
+     * @param in the stream to read from
+     * @throws IOException if an I/O-error occurs
+     */
+    private void readCompact( DataInputStream in ) throws IOException{
+    	ModeSettingsStringTable strings = new ModeSettingsStringTable();
+    	
+    	dockables.clear();
+    	Path[] lastHistory = new Path[]{};
+    	for( int i = 0, n = ModeSettingsStringTable.readVarInt( in ); i<n; i++ ){
+    		DockableEntry entry = new DockableEntry();
+    		dockables.add( entry );
+    		entry.id = in.readUTF();
+    		
+    		int historyLength = ModeSettingsStringTable.readVarInt( in );
+    		if( historyLength == 0 ){
+    			entry.history = lastHistory.clone();
+    		}
+    		else{
+    			entry.history = new Path[ historyLength-1 ];
+    			for( int j = 0; j < entry.history.length; j++ ){
+    				entry.history[j] = strings.readPath( in );
+    			}
+    		}
+    		lastHistory = entry.history;
+    		
+    		byte current = in.readByte();
+    		switch( current ){
+    			case CURRENT_NONE:
+    				break;
+    			case CURRENT_LAST_HISTORY:
+    				if( entry.history.length == 0 ){
+    					throw new IOException( "current mode refers to an empty history" );
+    				}
+    				entry.current = entry.history[ entry.history.length-1 ];
+    				break;
+    			case CURRENT_PATH:
+    				entry.current = strings.readPath( in );
+    				break;
+    			default:
+    				throw new IOException( "unknown kind of current mode: " + current );
+    		}
+    		
+    		entry.properties = new HashMap<Path, B>();
+    		for( int j = 0, m = ModeSettingsStringTable.readVarInt( in ); j<m; j++ ){
+    			Path mode = strings.readPath( in );
+    			entry.properties.put( mode, readProperty( in, strings ) );
+    		}
+    	}
+    	
+    	modes.clear();
+    	for( int i = 0, n = ModeSettingsStringTable.readVarInt( in ); i<n; i++ ){
+    		Path id = strings.readPath( in );
+    		readModeSetting( id, ModeSettingsStringTable.readVarInt( in ), in );
+    	}
+    }
+    
+    /**
+     * Reads the {@link ModeSetting} of the mode <code>id</code>. If there is no factory
+     * for the mode, then the bytes are skipped.
+     * @param id the identifier of the mode
+     * @param count the number of bytes that belong to the setting
+     * @param in the stream to read from
+     * @throws IOException if an I/O-error occurs
+     */
+    private void readModeSetting( Path id, int count, DataInputStream in ) throws IOException{
+    	byte[] content = new byte[ count ];
+    	
+    	int offset = 0;
+    	int length = count;
+    	int read;
+    	while( (length > 0) && ((read = in.read( content, offset, length )) > 0) ){
+    		offset += read;
+    		length -= read;
+    	}
+    	
+    	ByteArrayInputStream bin = new ByteArrayInputStream( content );
+    	DataInputStream din = new DataInputStream( bin );
+    	
+    	ModeSettingFactory<A> factory = factories.get( id );
+    	if( factory != null ){
+    		ModeSetting<A> setting = factory.create();
+    		setting.read( din, converter );
+    		din.close();
+    		
+    		modes.put( setting.getModeId(), setting );
+    	}
+    }
+    
     /**
      * Writes the contents of this setting in xml format.
      * @param element the element to write into, the attributes of
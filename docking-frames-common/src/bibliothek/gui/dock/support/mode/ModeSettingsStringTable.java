@@ -0,0 +1,168 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.support.mode;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import bibliothek.util.Path;
+
+/**
+ * A table of strings used by the compact binary format of {@link ModeSettings}. The first time
+ * a string is written, the string itself is stored. Any later occurrence of the same string
+ * is replaced by its index in the table. The table is built up while writing and reading, hence
+ * the same instance must never be used for writing and reading, and a stream must be read
+ * with the exact same sequence of calls that was used to write it.<br>
+ * Indices are stored as variable length integers, see {@link #writeVarInt(int, DataOutputStream)}.
+ * @author Benjamin Sigg
+ */
+public class ModeSettingsStringTable {
+	/** the index of each string that was written */
+	private Map<String, Integer> indices = new HashMap<String, Integer>();
+	
+	/** all the strings that were read or written, ordered by their index */
+	private List<String> strings = new ArrayList<String>();
+	
+	/** the paths that were read, ordered by the index of their string */
+	private List<Path> paths = new ArrayList<Path>();
+	
+	/**
+	 * Writes <code>value</code> into <code>out</code>. 
+	 * @param value the string to write, not <code>null</code>
+	 * @param out the stream to write into
+	 * @throws IOException if <code>out</code> throws an exception
+	 */
+	public void write( String value, DataOutputStream out ) throws IOException{
+		Integer index = indices.get( value );
+		if( index == null ){
+			// a new string has the index that is equal to the size of the table
+			index = strings.size();
+			writeVarInt( index, out );
+			out.writeUTF( value );
+			indices.put( value, index );
+			strings.add( value );
+		}
+		else{
+			writeVarInt( index, out );
+		}
+	}
+	
+	/**
+	 * Reads a string that was written by {@link #write(String, DataOutputStream)}.
+	 * @param in the stream to read from
+	 * @return the string, not <code>null</code>
+	 * @throws IOException if <code>in</code> throws an exception or the data is invalid
+	 */
+	public String read( DataInputStream in ) throws IOException{
+		return strings.get( readIndex( in ) );
+	}
+	
+	/**
+	 * Reads the index of a string, and the string itself if it is new.
+	 * @param in the stream to read from
+	 * @return the index of the string in the table
+	 * @throws IOException if <code>in</code> throws an exception or the data is invalid
+	 */
+	private int readIndex( DataInputStream in ) throws IOException{
+		int index = readVarInt( in );
+		if( index == strings.size() ){
+			strings.add( in.readUTF() );
+			paths.add( null );
+		}
+		else if( index > strings.size() ){
+			throw new IOException( "invalid index of a string: " + index + ", table size is " + strings.size() );
+		}
+		return index;
+	}
+	
+	/**
+	 * Writes <code>path</code> into <code>out</code>.
+	 * @param path the path to write, not <code>null</code>
+	 * @param out the stream to write into
+	 * @throws IOException if <code>out</code> throws an exception
+	 */
+	public void writePath( Path path, DataOutputStream out ) throws IOException{
+		write( path.toString(), out );
+	}
+	
+	/**
+	 * Reads a path that was written by {@link #writePath(Path, DataOutputStream)}. Each
+	 * path is created only once, later occurrences return the same object.
+	 * @param in the stream to read from
+	 * @return the path, not <code>null</code>
+	 * @throws IOException if <code>in</code> throws an exception or the data is invalid
+	 */
+	public Path readPath( DataInputStream in ) throws IOException{
+		int index = readIndex( in );
+		Path path = paths.get( index );
+		if( path == null ){
+			path = new Path( strings.get( index ) );
+			paths.set( index, path );
+		}
+		return path;
+	}
+	
+	/**
+	 * Writes a non negative integer using 7 bits per byte, the highest bit tells whether
+	 * more bytes follow. Small values like indices into a table need only one byte.
+	 * @param value the value to write, must not be negative
+	 * @param out the stream to write into
+	 * @throws IOException if <code>out</code> throws an exception
+	 */
+	public static void writeVarInt( int value, DataOutputStream out ) throws IOException{
+		if( value < 0 ){
+			throw new IllegalArgumentException( "value must not be negative: " + value );
+		}
+		while( (value & ~0x7F) != 0 ){
+			out.writeByte( (value & 0x7F) | 0x80 );
+			value >>>= 7;
+		}
+		out.writeByte( value );
+	}
+	
+	/**
+	 * Reads an integer that was written by {@link #writeVarInt(int, DataOutputStream)}.
+	 * @param in the stream to read from
+	 * @return the value
+	 * @throws IOException if <code>in</code> throws an exception or the data is invalid
+	 */
+	public static int readVarInt( DataInputStream in ) throws IOException{
+		int value = 0;
+		for( int shift = 0; shift < 32; shift += 7 ){
+			int next = in.readUnsignedByte();
+			value |= (next & 0x7F) << shift;
+			if( (next & 0x80) == 0 ){
+				return value;
+			}
+		}
+		throw new IOException( "malformed variable length integer" );
+	}
+}
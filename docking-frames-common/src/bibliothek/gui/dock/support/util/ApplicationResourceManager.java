@@ -25,13 +25,20 @@
  */
 package bibliothek.gui.dock.support.util;
 
+import java.awt.EventQueue;
 import java.io.*;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.prefs.Preferences;
 
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XIO;
 
 /**
  * Manages a set of {@link ApplicationResource}s, can load and store the
@@ -73,15 +80,25 @@ public class ApplicationResourceManager {
         resources.put( name, resource );
         Object buffered = buffer.get( name );
         if( buffered != null ){
-            if( buffered instanceof byte[] ){
-                ByteArrayInputStream in = new ByteArrayInputStream( (byte[])buffered );
-                DataInputStream data = new DataInputStream( in );
-                resource.read( data );
-                data.close();
-            }
-            if( buffered instanceof XElement ){
-                resource.readXML( (XElement)buffered );
-            }
+            read( resource, buffered );
+        }
+    }
+    
+    /**
+     * Lets <code>resource</code> read <code>data</code>.
+     * @param resource the resource to read
+     * @param data either an array of bytes or an {@link XElement}
+     * @throws IOException if the resource cannot read <code>data</code>
+     */
+    private void read( ApplicationResource resource, Object data ) throws IOException{
+        if( data instanceof byte[] ){
+            ByteArrayInputStream in = new ByteArrayInputStream( (byte[])data );
+            DataInputStream stream = new DataInputStream( in );
+            resource.read( stream );
+            stream.close();
+        }
+        if( data instanceof XElement ){
+            resource.readXML( (XElement)data );
         }
     }
     
@@ -138,25 +155,53 @@ public class ApplicationResourceManager {
      * @throws IOException if the operation can't be completed
      */
     public void readStream( DataInputStream in ) throws IOException{
+        for( Entry entry : readEntries( in )){
+            apply( entry );
+        }
+    }
+    
+    /**
+     * Reads the raw data of all resources from <code>in</code>, does not yet call any
+     * {@link ApplicationResource}.
+     * @param in the stream to read from
+     * @return the data of the resources in the order they were read
+     * @throws IOException if the operation can't be completed
+     */
+    private List<Entry> readEntries( DataInputStream in ) throws IOException{
         Version version = Version.read( in );
         version.checkCurrent();
         
         int size = in.readInt();
+        List<Entry> entries = new ArrayList<Entry>( size );
         for( int i = 0; i < size; i++ ){
             String key = in.readUTF();
             
             int length = in.readInt();
             byte[] input = new byte[ length ];
             in.readFully( input );
-            ApplicationResource resource = resources.get( key );
-            if( resource != null ){
-                ByteArrayInputStream array = new ByteArrayInputStream( input );
-                DataInputStream data = new DataInputStream( array );
-                resource.read( data );
-                data.close();
-            }
-            else
-                buffer.put( key, input );
+            entries.add( new Entry( key, input ));
+        }
+        return entries;
+    }
+    
+    /**
+     * Gives the data of <code>entry</code> to the {@link ApplicationResource} that is
+     * currently registered with the name of the entry, or stores the data in the
+     * buffer if there is no such resource.
+     * @param entry the data to apply
+     * @throws IOException if the resource cannot read the data
+     */
+    @SuppressWarnings("unchecked")
+    private void apply( Entry entry ) throws IOException{
+        ApplicationResource resource = resources.get( entry.name );
+        if( resource == null ){
+            buffer.put( entry.name, entry.data );
+        }
+        else if( entry.decoded && resource == entry.resource ){
+            ((DecodingApplicationResource<Object>)resource).apply( entry.value );
+        }
+        else{
+            read( resource, entry.data );
         }
     }
     
@@ -197,6 +242,85 @@ public class ApplicationResourceManager {
         }
     }
     
+    /**
+     * Reads the contents of this manager from <code>file</code> without blocking the calling thread.
+     * First all {@link DecodingApplicationResource}s {@link DecodingApplicationResource#createDecoder() create}
+     * a decoder, which takes a snapshot of the state the resource needs for reading. Then the file is read
+     * and the decoders decode the data on a background thread. Afterwards the decoded data is
+     * {@link DecodingApplicationResource#apply(Object) applied}, and all other resources read their data, on
+     * the EventDispatchThread.<br>
+     * This method must be called on the EventDispatchThread. Resources and factories that are registered
+     * after this method was called may not be used to decode the data.
+     * @param file the file to read
+     * @return a future that is done once all resources have been updated, the future reports any
+     * exception that occurred while reading
+     * @see #readFile(File)
+     */
+    public Future<Void> readFileAsync( final File file ){
+        return readAsync( new Loader(){
+            public List<Entry> load() throws IOException{
+                DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file )));
+                try{
+                    return readEntries( in );
+                }
+                finally{
+                    in.close();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Reads the contents of this manager from the xml file <code>file</code> without blocking the calling
+     * thread. Parsing the file and {@link DecodingApplicationResource.Decoder#decodeXML(XElement) decoding} the data
+     * happens on a background thread, applying the data on the EventDispatchThread. See {@link #readFileAsync(File)}
+     * for more details.
+     * @param file the file to read, must be encoded in UTF-8
+     * @return a future that is done once all resources have been updated
+     * @see #readXML(XElement)
+     */
+    public Future<Void> readXMLFileAsync( final File file ){
+        return readAsync( new Loader(){
+            public List<Entry> load() throws IOException{
+                InputStream in = new BufferedInputStream( new FileInputStream( file ));
+                XElement element;
+                try{
+                    element = XIO.readUTF( in );
+                }
+                finally{
+                    in.close();
+                }
+                
+                List<Entry> entries = new ArrayList<Entry>();
+                for( XElement xresource : element.getElements( "resource" )){
+                    entries.add( new Entry( xresource.getString( "name" ), xresource ));
+                }
+                return entries;
+            }
+        });
+    }
+    
+    /**
+     * Creates the decoders of all {@link DecodingApplicationResource}s, then starts a new background thread
+     * which calls <code>loader</code> and decodes the data.
+     * @param loader the source of the raw data
+     * @return a future that is done once the data is applied on the EventDispatchThread
+     */
+    private Future<Void> readAsync( Loader loader ){
+        Map<String, Decoding> decoders = new HashMap<String, Decoding>();
+        for( Map.Entry<String, ApplicationResource> entry : resources.entrySet() ){
+            if( entry.getValue() instanceof DecodingApplicationResource<?> ){
+                DecodingApplicationResource<?> resource = (DecodingApplicationResource<?>)entry.getValue();
+                decoders.put( entry.getKey(), new Decoding( resource, resource.createDecoder() ));
+            }
+        }
+        AsyncRead read = new AsyncRead( loader, decoders );
+        Thread thread = new Thread( read, "ApplicationResourceManager: read" );
+        thread.setDaemon( true );
+        thread.start();
+        return read.future;
+    }
+    
     /**
      * Writes the contents of this manager into <code>file</code>.
      * @param file the file to write into
@@ -273,24 +397,121 @@ public class ApplicationResourceManager {
         if( array != null )
             readArray( array );
     }
+    
+    /**
+     * The raw data of one resource, and maybe the decoded data.
+     * @author Benjamin Sigg
+     */
+    private static class Entry{
+        /** the name of the resource */
+        private final String name;
+        /** the raw data, either an array of bytes or an {@link XElement} */
+        private final Object data;
+        /** the resource which decoded {@link #value} */
+        private ApplicationResource resource;
+        /** the decoded data */
+        private Object value;
+        /** whether {@link #value} is valid */
+        private boolean decoded = false;
+        
+        public Entry( String name, Object data ){
+            this.name = name;
+            this.data = data;
+        }
+    }
+    
+    /**
+     * A {@link DecodingApplicationResource} and the decoder it created.
+     * @author Benjamin Sigg
+     */
+    private static class Decoding{
+        /** the resource which created {@link #decoder} */
+        private final DecodingApplicationResource<?> resource;
+        /** the decoder with a snapshot of the state of {@link #resource} */
+        private final DecodingApplicationResource.Decoder<?> decoder;
+        
+        public Decoding( DecodingApplicationResource<?> resource, DecodingApplicationResource.Decoder<?> decoder ){
+            this.resource = resource;
+            this.decoder = decoder;
+        }
+    }
+    
+    /**
+     * Reads the raw data of a set of resources.
+     * @author Benjamin Sigg
+     */
+    private static interface Loader{
+        /**
+         * Reads the raw data, this method is called on a background thread.
+         * @return the raw data
+         * @throws IOException if the data cannot be read
+         */
+        public List<Entry> load() throws IOException;
+    }
+    
+    /**
+     * A task first running on a background thread, then on the EventDispatchThread.
+     * @author Benjamin Sigg
+     */
+    private class AsyncRead implements Runnable, Callable<Void>{
+        /** the source of the raw data */
+        private final Loader loader;
+        /** the decoders of the resources that were known when reading started */
+        private final Map<String, Decoding> decoders;
+        /** the future which executes the second phase */
+        private final FutureTask<Void> future = new FutureTask<Void>( this );
+        
+        /** the data that was read in the first phase */
+        private List<Entry> entries;
+        /** the exception that was thrown in the first phase */
+        private Exception failure;
+        
+        public AsyncRead( Loader loader, Map<String, Decoding> decoders ){
+            this.loader = loader;
+            this.decoders = decoders;
+        }
+        
+        @SuppressWarnings("unchecked")
+        public void run(){
+            try{
+                List<Entry> entries = loader.load();
+                for( Entry entry : entries ){
+                    Decoding decoding = decoders.get( entry.name );
+                    if( decoding != null ){
+                        DecodingApplicationResource.Decoder<Object> decoder = (DecodingApplicationResource.Decoder<Object>)decoding.decoder;
+                        if( entry.data instanceof byte[] ){
+                            DataInputStream in = new DataInputStream( new ByteArrayInputStream( (byte[])entry.data ));
+                            entry.value = decoder.decode( in );
+                            in.close();
+                        }
+                        else{
+                            entry.value = decoder.decodeXML( (XElement)entry.data );
+                        }
+                        entry.resource = decoding.resource;
+                        entry.decoded = true;
+                    }
+                }
+                this.entries = entries;
+            }
+            catch( Exception ex ){
+                failure = ex;
+            }
+            finally{
+                EventQueue.invokeLater( future );
+            }
+        }
+        
+        public Void call() throws Exception{
+            if( failure != null ){
+                throw failure;
+            }
+            if( entries == null ){
+                throw new IllegalStateException( "reading the resources failed" );
+            }
+            for( Entry entry : entries ){
+                apply( entry );
+            }
+            return null;
+        }
+    }
 }
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
@@ -0,0 +1,82 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.support.util;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import bibliothek.util.xml.XElement;
+
+/**
+ * An {@link ApplicationResource} whose reading can be split up in two phases: first the data is
+ * decoded by a {@link Decoder}, this may happen on any thread. Then the decoded data
+ * is {@link #apply(Object) applied}, this always happens on the EventDispatchThread. The
+ * {@link ApplicationResourceManager} uses these two phases when loading asynchronously, e.g.
+ * with {@link ApplicationResourceManager#readFileAsync(java.io.File)}.
+ * @author Benjamin Sigg
+ * @param <T> the kind of data this resource decodes
+ */
+public interface DecodingApplicationResource<T> extends ApplicationResource {
+	/**
+	 * Creates a new {@link Decoder} for reading the data of this resource. This method is called on the
+	 * EventDispatchThread before loading starts. The decoder must take a snapshot of all the state it
+	 * needs, because afterwards it is used on another thread while the EventDispatchThread may continue
+	 * to modify the resource.
+	 * @return the new decoder, not <code>null</code>
+	 */
+	public Decoder<T> createDecoder();
+	
+	/**
+	 * Applies data that was earlier read by a {@link Decoder}. This method is always called on the
+	 * EventDispatchThread.
+	 * @param data the data to apply
+	 */
+	public void apply( T data );
+	
+	/**
+	 * Decodes the data of a {@link DecodingApplicationResource} on any thread. A decoder must neither
+	 * modify nor read any state that can be modified concurrently, and must not call any client code
+	 * that expects to run on the EventDispatchThread, e.g. factories for client objects.
+	 * @author Benjamin Sigg
+	 * @param <T> the kind of data this decoder creates
+	 */
+	public static interface Decoder<T>{
+		/**
+		 * Reads the content of a resource from a stream of bytes.
+		 * @param in the stream to read from
+		 * @return the data that was read, will be given to {@link DecodingApplicationResource#apply(Object)}
+		 * @throws IOException if the operation can't be finished
+		 */
+		public T decode( DataInputStream in ) throws IOException;
+		
+		/**
+		 * Reads the content of a resource from a xml element.
+		 * @param element the element to read from
+		 * @return the data that was read, will be given to {@link DecodingApplicationResource#apply(Object)}
+		 */
+		public T decodeXML( XElement element );
+	}
+}
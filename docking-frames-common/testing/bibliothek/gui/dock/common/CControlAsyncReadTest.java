@@ -0,0 +1,175 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+import static org.junit.Assert.*;
+
+import java.awt.EventQueue;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link CControl#readAsync(File)} and {@link CControl#readXMLAsync(File)} while the
+ * EventDispatchThread keeps registering new factories.
+ * @author Benjamin Sigg
+ */
+public class CControlAsyncReadTest {
+	private static final int DOCKABLES = 40;
+	private static final int FACTORIES = 500;
+
+	@Test
+	public void testReadWhileRegistering() throws Throwable{
+		check( false );
+	}
+
+	@Test
+	public void testReadXMLWhileRegistering() throws Throwable{
+		check( true );
+	}
+
+	private void check( final boolean xml ) throws Throwable{
+		final File file = File.createTempFile( "layout", xml ? ".xml" : ".data" );
+		file.deleteOnExit();
+
+		onEventQueue( new Runnable(){
+			public void run(){
+				CControl control = new CControl();
+				try{
+					ThreadCheckingFactory factory = new ThreadCheckingFactory();
+					control.addMultipleDockableFactory( "factory", factory );
+					CGridArea area = control.createGridArea( "area" );
+					CGrid grid = new CGrid( control );
+					for( int i = 0; i < DOCKABLES; i++ ){
+						grid.add( i % 8, i / 8, 1, 1, new DefaultMultipleCDockable( factory, "Dockable " + i ) );
+					}
+					area.deploy( grid );
+					if( xml ){
+						control.writeXML( file );
+					}
+					else{
+						control.write( file );
+					}
+				}
+				catch( Exception e ){
+					throw new RuntimeException( e );
+				}
+				finally{
+					control.destroy();
+				}
+			}
+		});
+
+		final CControl control[] = new CControl[1];
+		final ThreadCheckingFactory factory = new ThreadCheckingFactory();
+		@SuppressWarnings("unchecked")
+		final Future<Void>[] future = new Future[1];
+
+		onEventQueue( new Runnable(){
+			public void run(){
+				control[0] = new CControl();
+				control[0].addMultipleDockableFactory( "factory", factory );
+				control[0].createGridArea( "area" );
+
+				future[0] = xml ? control[0].readXMLAsync( file ) : control[0].readAsync( file );
+				for( int i = 0; i < FACTORIES; i++ ){
+					control[0].addMultipleDockableFactory( "extra " + i, new ThreadCheckingFactory() );
+				}
+			}
+		});
+
+		future[0].get( 60, TimeUnit.SECONDS );
+
+		onEventQueue( new Runnable(){
+			public void run(){
+				try{
+					assertTrue( "factory called outside the EventDispatchThread", factory.onEventQueue );
+					assertEquals( DOCKABLES, control[0].getRegister().listMultipleDockables( factory ).size() );
+					for( MultipleCDockable dockable : control[0].getRegister().listMultipleDockables( factory ) ){
+						assertTrue( dockable.isVisible() );
+					}
+				}
+				finally{
+					control[0].destroy();
+				}
+			}
+		});
+	}
+
+	private void onEventQueue( final Runnable run ) throws Throwable{
+		final Throwable[] failure = new Throwable[1];
+		try{
+			EventQueue.invokeAndWait( new Runnable(){
+				public void run(){
+					try{
+						run.run();
+					}
+					catch( Throwable t ){
+						failure[0] = t;
+					}
+				}
+			});
+		}
+		catch( InvocationTargetException e ){
+			throw e.getCause();
+		}
+		if( failure[0] != null ){
+			throw failure[0];
+		}
+	}
+
+	/**
+	 * A factory remembering whether it was ever called outside the EventDispatchThread.
+	 */
+	private static class ThreadCheckingFactory extends EmptyMultipleCDockableFactory<DefaultMultipleCDockable>{
+		private volatile boolean onEventQueue = true;
+
+		private void check(){
+			if( !EventQueue.isDispatchThread() ){
+				onEventQueue = false;
+			}
+		}
+
+		@Override
+		public MultipleCDockableLayout create(){
+			check();
+			return super.create();
+		}
+
+		@Override
+		public DefaultMultipleCDockable read( MultipleCDockableLayout layout ){
+			check();
+			return super.read( layout );
+		}
+
+		public DefaultMultipleCDockable createDockable(){
+			return new DefaultMultipleCDockable( this );
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.List;
+
+import bibliothek.gui.dock.common.event.CControlListener;
+import bibliothek.gui.dock.common.intern.CDockable;
+
+/**
+ * Compares adding and showing many {@link SingleCDockable}s one by one with doing the same
+ * work inside a {@link CControl#openBatch() batch}.
+ * @author Benjamin Sigg
+ */
+public class CControlBatchBenchmark {
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 200;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				for( int round = 0; round < 3; round++ ){
+					long single = measure( count, false );
+					long batch = measure( count, true );
+					System.out.println( "round " + round + ": add and show " + count + " dockables one by one: " + single + " ms, in a batch: " + batch + " ms" );
+				}
+			}
+		});
+		System.exit( 0 );
+	}
+	
+	private static long measure( int count, boolean batch ){
+		CControl control = new CControl();
+		CGridArea area = control.createGridArea( "area" );
+		control.setDefaultLocation( area.getStationLocation() );
+		final int[] events = new int[1];
+		control.addControlListener( new CControlListener(){
+			public void added( CControl control, CDockable dockable ){
+				events[0]++;
+			}
+			public void removed( CControl control, CDockable dockable ){
+				// ignore
+			}
+			public void opened( CControl control, CDockable dockable ){
+				// ignore
+			}
+			public void closed( CControl control, CDockable dockable ){
+				// ignore
+			}
+		});
+		
+		List<SingleCDockable> dockables = new ArrayList<SingleCDockable>();
+		for( int i = 0; i < count; i++ ){
+			dockables.add( new DefaultSingleCDockable( "d" + i, "Dockable " + i ) );
+		}
+		
+		long start = System.nanoTime();
+		if( batch ){
+			control.openBatch();
+			try{
+				control.addDockables( dockables );
+				for( SingleCDockable dockable : dockables ){
+					dockable.setVisible( true );
+				}
+			}
+			finally{
+				control.commitBatch();
+			}
+		}
+		else{
+			for( SingleCDockable dockable : dockables ){
+				control.addDockable( dockable );
+				dockable.setVisible( true );
+			}
+		}
+		long time = (System.nanoTime() - start) / 1000000;
+		
+		if( events[0] != count ){
+			throw new IllegalStateException( "expected " + count + " events, but got " + events[0] );
+		}
+		if( control.getController().getRegister().getDockableCount() < count ){
+			throw new IllegalStateException( "not all dockables are shown" );
+		}
+		control.destroy();
+		return time;
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+import java.awt.EventQueue;
+import java.util.List;
+
+import bibliothek.gui.dock.common.intern.CDockable;
+import bibliothek.gui.dock.common.mode.ExtendedMode;
+
+/**
+ * Measures how long it takes to add a large number of {@link MultipleCDockable}s to a {@link CControl},
+ * to search them by their unique identifier, and to remove them again.
+ * Also checks that {@link CControlRegister#listDockablesInMode(ExtendedMode)} returns the same elements
+ * as a search through all the dockables.
+ * @author Benjamin Sigg
+ */
+public class CControlRegisterBenchmark {
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 3000;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				for( int round = 0; round < 3; round++ ){
+					measure( count, round );
+				}
+			}
+		});
+		System.exit( 0 );
+	}
+	
+	private static void measure( int count, int round ){
+		CControl control = new CControl();
+		EmptyMultipleCDockableFactory<DefaultMultipleCDockable> factory = new EmptyMultipleCDockableFactory<DefaultMultipleCDockable>(){
+			public DefaultMultipleCDockable createDockable(){
+				return new DefaultMultipleCDockable( this );
+			}
+		};
+		control.addMultipleDockableFactory( "factory", factory );
+		CGridArea area = control.createGridArea( "area" );
+		
+		long start = System.nanoTime();
+		for( int i = 0; i < count; i++ ){
+			control.addDockable( new DefaultMultipleCDockable( factory, "Dockable " + i ) );
+		}
+		long added = System.nanoTime();
+		
+		for( int i = 0; i < count; i++ ){
+			if( control.getMultipleDockable( i + " factory" ) == null ){
+				throw new IllegalStateException( "missing dockable " + i );
+			}
+		}
+		long searched = System.nanoTime();
+		
+		for( MultipleCDockable dockable : control.getRegister().listMultipleDockables( factory ) ){
+			control.removeDockable( dockable );
+		}
+		long removed = System.nanoTime();
+		
+		CGrid grid = new CGrid( control );
+		for( int i = 0; i < 100; i++ ){
+			grid.add( i % 10, i / 10, 1, 1, new DefaultMultipleCDockable( factory, "Dockable " + i ) );
+		}
+		area.deploy( grid );
+		control.save( "layout" );
+		for( int i = 0; i < 100; i += 2 ){
+			control.getMultipleDockable( i + " factory" ).setVisible( false );
+		}
+		check( control );
+		control.load( "layout" );
+		check( control );
+		
+		System.out.println( "round " + round + ": add " + count + " dockables: " + ((added - start) / 1000000) + " ms, " +
+				"search by id: " + ((searched - added) / 1000000) + " ms, " +
+				"remove: " + ((removed - searched) / 1000000) + " ms" );
+		
+		control.destroy();
+	}
+	
+	private static void check( CControl control ){
+		CControlRegister register = control.getRegister();
+		for( ExtendedMode mode : new ExtendedMode[]{ ExtendedMode.NORMALIZED, ExtendedMode.MAXIMIZED, ExtendedMode.MINIMIZED, ExtendedMode.EXTERNALIZED } ){
+			List<CDockable> list = register.listDockablesInMode( mode );
+			int expected = 0;
+			for( CDockable dockable : register.getDockables() ){
+				if( dockable.isVisible() && dockable.getExtendedMode() == mode ){
+					expected++;
+					if( !list.contains( dockable ) ){
+						throw new IllegalStateException( "missing dockable in mode " + mode );
+					}
+				}
+			}
+			if( expected != list.size() ){
+				throw new IllegalStateException( "wrong number of dockables in mode " + mode );
+			}
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+
+import bibliothek.gui.dock.common.intern.DefaultCControlRegister;
+import bibliothek.gui.dock.common.intern.EfficientControlFactory;
+import bibliothek.gui.dock.common.intern.MutableCControlRegister;
+import bibliothek.gui.dock.util.NullWindowProvider;
+
+/**
+ * Tests the search for {@link MultipleCDockable}s by their unique identifier, both with the
+ * {@link DefaultCControlRegister} and with a register implemented by a client.
+ * @author Benjamin Sigg
+ */
+public class CControlRegisterTest {
+	@Test
+	public void testDefaultRegister(){
+		check( new CControl() );
+	}
+
+	@Test
+	public void testCustomRegister(){
+		CControl control = new CControl( new NullWindowProvider(), new EfficientControlFactory(){
+			@Override
+			public MutableCControlRegister createRegister( CControl owner ){
+				return delegate( new DefaultCControlRegister( owner ) );
+			}
+		});
+		assertFalse( control.getRegister() instanceof DefaultCControlRegister );
+		check( control );
+	}
+
+	private void check( CControl control ){
+		try{
+			EmptyMultipleCDockableFactory<DefaultMultipleCDockable> factory = new EmptyMultipleCDockableFactory<DefaultMultipleCDockable>(){
+				public DefaultMultipleCDockable createDockable(){
+					return new DefaultMultipleCDockable( this );
+				}
+			};
+			control.addMultipleDockableFactory( "factory", factory );
+
+			DefaultMultipleCDockable a = control.addDockable( "a", new DefaultMultipleCDockable( factory ) );
+			DefaultMultipleCDockable b = control.addDockable( new DefaultMultipleCDockable( factory ) );
+			DefaultMultipleCDockable c = control.addDockable( new DefaultMultipleCDockable( factory ) );
+
+			assertSame( a, control.getMultipleDockable( "a" ) );
+			assertSame( b, control.getMultipleDockable( "0 factory" ) );
+			assertSame( c, control.getMultipleDockable( "1 factory" ) );
+			assertNull( control.getMultipleDockable( "2 factory" ) );
+
+			try{
+				control.addDockable( "a", new DefaultMultipleCDockable( factory ) );
+				fail( "identifier used twice" );
+			}
+			catch( IllegalArgumentException e ){
+				// expected
+			}
+
+			control.removeDockable( b );
+			assertNull( control.getMultipleDockable( "0 factory" ) );
+			assertSame( c, control.getMultipleDockable( "1 factory" ) );
+		}
+		finally{
+			control.destroy();
+		}
+	}
+
+	/**
+	 * Creates a {@link MutableCControlRegister} which is not a {@link DefaultCControlRegister}, but
+	 * forwards all calls to <code>register</code>.
+	 */
+	private MutableCControlRegister delegate( final MutableCControlRegister register ){
+		return (MutableCControlRegister)Proxy.newProxyInstance( getClass().getClassLoader(), new Class<?>[]{ MutableCControlRegister.class }, new InvocationHandler(){
+			public Object invoke( Object proxy, Method method, Object[] args ) throws Throwable{
+				if( method.getName().equals( "equals" ) && args != null && args.length == 1 ){
+					return proxy == args[0];
+				}
+				if( method.getName().equals( "hashCode" ) && args == null ){
+					return System.identityHashCode( proxy );
+				}
+				try{
+					return method.invoke( register, args );
+				}
+				catch( InvocationTargetException e ){
+					throw e.getCause();
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.GridLayout;
+import java.util.Arrays;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.common.intern.DefaultCDockable;
+import bibliothek.gui.dock.common.intern.EfficientControlFactory;
+import bibliothek.gui.dock.common.intern.station.CSplitDockStation;
+import bibliothek.gui.dock.common.intern.station.CommonDockStation;
+import bibliothek.gui.dock.common.intern.station.CommonStationDelegate;
+import bibliothek.gui.dock.util.NullWindowProvider;
+
+/**
+ * Compares the memory used by many {@link DefaultSingleCDockable}s in one stack when their content is created
+ * eagerly, and when the content is created by a {@link CContentSupplier}. Since the benchmark usually runs
+ * headless, the grid area pretends to be showing.
+ * @author Benjamin Sigg
+ */
+public class LazyContentBenchmark {
+	public static void main( String[] args ) throws Exception{
+		int count = args.length > 0 ? Integer.parseInt( args[0] ) : 500;
+		int labels = args.length > 1 ? Integer.parseInt( args[1] ) : 200;
+		
+		for( int round = 0; round < 3; round++ ){
+			measure( count, labels, false );
+			measure( count, labels, true );
+		}
+		System.exit( 0 );
+	}
+	
+	private static void measure( final int count, final int labels, final boolean lazy ) throws Exception{
+		final int[] created = new int[1];
+		final int[] released = new int[1];
+		final long[] deploy = new long[1];
+		
+		final CControl[] control = new CControl[1];
+		final DefaultSingleCDockable[] dockables = new DefaultSingleCDockable[ count ];
+		
+		onEdt( new Runnable(){
+			public void run(){
+				control[0] = new CControl( new NullWindowProvider(), new ShowingControlFactory() );
+				CGridArea area = control[0].createGridArea( "area" );
+				
+				CContentSupplier supplier = new CContentSupplier(){
+					public Component createContent( DefaultCDockable dockable ){
+						created[0]++;
+						return createHeavyContent( labels );
+					}
+					
+					public void releaseContent( DefaultCDockable dockable, Component content ){
+						released[0]++;
+					}
+				};
+				
+				for( int i = 0; i < count; i++ ){
+					if( lazy ){
+						dockables[i] = new DefaultSingleCDockable( "d" + i, "Dockable " + i );
+						dockables[i].setContentReleaseDelay( 0 );
+						dockables[i].setContentSupplier( supplier );
+					}
+					else{
+						created[0]++;
+						dockables[i] = new DefaultSingleCDockable( "d" + i, "Dockable " + i, createHeavyContent( labels ) );
+					}
+				}
+				
+				long start = System.nanoTime();
+				control[0].openBatch();
+				try{
+					CGrid grid = new CGrid( control[0] );
+					grid.add( 0, 0, 1, 1, dockables );
+					area.deploy( grid );
+				}
+				finally{
+					control[0].commitBatch();
+				}
+				deploy[0] = (System.nanoTime() - start) / 1000000;
+			}
+		});
+		
+		long memory = usedMemory();
+		int createdAfterDeploy = created[0];
+		
+		for( int i = 0; i < 10 && i < count; i++ ){
+			final int index = i;
+			onEdt( new Runnable(){
+				public void run(){
+					dockables[index].toFront();
+				}
+			});
+		}
+		
+		onEdt( new Runnable(){
+			public void run(){
+				control[0].destroy();
+				control[0] = null;
+				Arrays.fill( dockables, null );
+			}
+		});
+		memory -= usedMemory();
+		
+		System.out.println( (lazy ? "lazy " : "eager") + ": " + count + " dockables, deploy " + deploy[0] + " ms, " + 
+				(memory / 1024) + " KB retained, contents created " + createdAfterDeploy + ", after selecting 10 tabs: created " + 
+				created[0] + ", released " + released[0] );
+	}
+	
+	/**
+	 * Runs <code>run</code> on the EDT and waits until all the events that were queued by <code>run</code>
+	 * have been processed as well.
+	 * @param run the work to execute
+	 */
+	private static void onEdt( Runnable run ) throws Exception{
+		EventQueue.invokeAndWait( run );
+		for( int i = 0; i < 3; i++ ){
+			EventQueue.invokeAndWait( new Runnable(){
+				public void run(){
+					// nothing
+				}
+			});
+		}
+	}
+	
+	private static Component createHeavyContent( int labels ){
+		JPanel panel = new JPanel( new GridLayout( 0, 10 ) );
+		for( int i = 0; i < labels; i++ ){
+			panel.add( new JLabel( "label " + i ) );
+		}
+		return panel;
+	}
+	
+	private static long usedMemory(){
+		Runtime runtime = Runtime.getRuntime();
+		for( int i = 0; i < 3; i++ ){
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+	
+	/**
+	 * A factory creating {@link CSplitDockStation}s which claim to be showing even in a headless environment.
+	 */
+	private static class ShowingControlFactory extends EfficientControlFactory{
+		@Override
+		public CommonDockStation<SplitDockStation, CSplitDockStation> createSplitDockStation( CommonStationDelegate<CSplitDockStation> delegate ){
+			return new CSplitDockStation( delegate ){
+				@Override
+				public boolean isShowing(){
+					return true;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common.intern;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.CGrid;
+import bibliothek.gui.dock.common.DefaultSingleCDockable;
+import bibliothek.util.xml.XElement;
+
+/**
+ * Tests that the {@link CPlaceholderCollector} removes the placeholders of {@link CDockable}s which
+ * were removed from the stored layouts of a {@link CControl}, but keeps the placeholders of the
+ * registered {@link CDockable}s.
+ * @author Benjamin Sigg
+ */
+public class CPlaceholderCollectorTest {
+	@Test
+	public void testCollect() throws IOException{
+		CControl control = new CControl();
+		try{
+			DefaultSingleCDockable a = new DefaultSingleCDockable( "a" );
+			DefaultSingleCDockable b = new DefaultSingleCDockable( "b" );
+			DefaultSingleCDockable c = new DefaultSingleCDockable( "c" );
+
+			CGrid grid = new CGrid( control );
+			grid.add( 0, 0, 1, 1, a );
+			grid.add( 1, 0, 1, 1, b );
+			grid.add( 0, 1, 2, 1, c );
+			control.createGridArea( "area" ).deploy( grid );
+			control.save( "layout" );
+
+			c.setVisible( false );
+			control.removeDockable( b );
+
+			String before = write( control );
+			assertTrue( before.contains( placeholder( "b" ) ));
+
+			CPlaceholderCollector.Report report = control.collectPlaceholders();
+			assertSame( report, control.getPlaceholderCollector().getLastReport() );
+			assertNull( control.getPlaceholderCollector().getLastFailure() );
+			assertTrue( report.getReclaimedBytes() > 0 );
+
+			String after = write( control );
+			assertFalse( after.contains( placeholder( "b" ) ));
+			assertTrue( after.contains( placeholder( "a" ) ));
+			assertTrue( after.contains( placeholder( "c" ) ));
+
+			// the cleaned layout can still be applied
+			control.load( "layout" );
+			assertTrue( a.isVisible() );
+			assertTrue( c.isVisible() );
+		}
+		finally{
+			control.destroy();
+		}
+	}
+
+	private String placeholder( String id ){
+		return "<placeholder>dock.single." + id + "</placeholder>";
+	}
+
+	private String write( CControl control ){
+		XElement element = new XElement( "control" );
+		control.writeXML( element );
+		return element.toString();
+	}
+}
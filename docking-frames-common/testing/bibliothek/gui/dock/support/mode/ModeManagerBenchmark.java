@@ -0,0 +1,100 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.support.mode;
+
+import java.awt.EventQueue;
+
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.CGrid;
+import bibliothek.gui.dock.common.CGridArea;
+import bibliothek.gui.dock.common.DefaultSingleCDockable;
+import bibliothek.gui.dock.common.SingleCDockable;
+import bibliothek.gui.dock.common.mode.ExtendedMode;
+
+/**
+ * Measures how long it takes to maximize and to normalize a single {@link SingleCDockable} in a
+ * layout with many {@link SingleCDockable}s. Most of the time is spent by the {@link ModeManager}
+ * updating the history of the affected elements.
+ * @author Benjamin Sigg
+ */
+public class ModeManagerBenchmark {
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 2000;
+		final int stackSize = args.length > 1 ? Integer.parseInt( args[1] ) : 50;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				measure( count, stackSize );
+			}
+		});
+		System.exit( 0 );
+	}
+	
+	private static void measure( int count, int stackSize ){
+		CControl control = new CControl();
+		CGridArea area = control.createGridArea( "area" );
+		
+		SingleCDockable[] dockables = new SingleCDockable[ count ];
+		CGrid grid = new CGrid( control );
+		for( int i = 0; i < count; i += stackSize ){
+			int size = Math.min( stackSize, count - i );
+			SingleCDockable[] stack = new SingleCDockable[ size ];
+			for( int j = 0; j < size; j++ ){
+				dockables[i+j] = new DefaultSingleCDockable( "d" + (i+j), "Dockable " + (i+j) );
+				stack[j] = dockables[i+j];
+			}
+			grid.add( i / stackSize, 0, 1, 1, stack );
+		}
+		
+		long start = System.nanoTime();
+		control.openBatch();
+		try{
+			area.deploy( grid );
+		}
+		finally{
+			control.commitBatch();
+		}
+		System.out.println( "deployed " + count + " dockables in " + ((System.nanoTime() - start) / 1000000) + " ms" );
+		
+		for( int round = 0; round < 10; round++ ){
+			SingleCDockable dockable = dockables[ (round * 7919) % count ];
+			
+			long begin = System.nanoTime();
+			dockable.setExtendedMode( ExtendedMode.MAXIMIZED );
+			long maximized = System.nanoTime();
+			dockable.setExtendedMode( ExtendedMode.NORMALIZED );
+			long normalized = System.nanoTime();
+			
+			if( dockable.getExtendedMode() != ExtendedMode.NORMALIZED ){
+				throw new IllegalStateException( "dockable was not normalized" );
+			}
+			
+			System.out.println( "round " + round + ": maximize " + ((maximized - begin) / 1000000) + " ms, " +
+					"normalize " + ((normalized - maximized) / 1000000) + " ms" );
+		}
+		control.destroy();
+	}
+}
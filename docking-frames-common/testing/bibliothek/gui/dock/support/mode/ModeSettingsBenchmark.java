@@ -0,0 +1,149 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.support.mode;
+
+import java.awt.EventQueue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.CGrid;
+import bibliothek.gui.dock.common.CGridArea;
+import bibliothek.gui.dock.common.DefaultSingleCDockable;
+import bibliothek.gui.dock.common.SingleCDockable;
+import bibliothek.gui.dock.common.mode.CLocationModeManager;
+import bibliothek.gui.dock.common.mode.ExtendedMode;
+import bibliothek.gui.dock.facile.mode.Location;
+import bibliothek.gui.dock.facile.mode.LocationSettingConverter;
+
+/**
+ * Compares the size of the compact format of {@link ModeSettings} with the format that was used before,
+ * and ensures that both formats can be read.
+ * @author Benjamin Sigg
+ */
+public class ModeSettingsBenchmark {
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 500;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				try{
+					measure( count );
+				}
+				catch( IOException e ){
+					throw new IllegalStateException( e );
+				}
+			}
+		});
+		System.exit( 0 );
+	}
+	
+	private static void measure( int count ) throws IOException{
+		CControl control = new CControl();
+		CGridArea area = control.createGridArea( "area" );
+		
+		SingleCDockable[] dockables = new SingleCDockable[ count ];
+		CGrid grid = new CGrid( control );
+		for( int i = 0; i < count; i += 10 ){
+			int size = Math.min( 10, count - i );
+			SingleCDockable[] stack = new SingleCDockable[ size ];
+			for( int j = 0; j < size; j++ ){
+				dockables[i+j] = new DefaultSingleCDockable( "d" + (i+j), "Dockable " + (i+j) );
+				stack[j] = dockables[i+j];
+			}
+			grid.add( i / 10, 0, 1, 1, stack );
+		}
+		control.openBatch();
+		try{
+			area.deploy( grid );
+		}
+		finally{
+			control.commitBatch();
+		}
+		
+		// give some dockables a longer history
+		for( int i = 0; i < count; i += 7 ){
+			dockables[i].setExtendedMode( ExtendedMode.MAXIMIZED );
+			dockables[i].setExtendedMode( ExtendedMode.NORMALIZED );
+		}
+		
+		CLocationModeManager manager = control.getLocationManager();
+		LocationSettingConverter converter = new LocationSettingConverter( control.getController() );
+		ModeSettings<Location, Location> settings = manager.createSettings( converter );
+		manager.writeSettings( settings );
+		
+		for( int round = 0; round < 5; round++ ){
+			long start = System.nanoTime();
+			byte[] legacy = write( settings, false );
+			long legacyWritten = System.nanoTime();
+			byte[] compact = write( settings, true );
+			long compactWritten = System.nanoTime();
+			
+			ModeSettings<Location, Location> legacyRead = read( legacy, manager, converter );
+			long legacyRead0 = System.nanoTime();
+			ModeSettings<Location, Location> compactRead = read( compact, manager, converter );
+			long compactRead0 = System.nanoTime();
+			
+			if( !Arrays.equals( compact, write( compactRead, true ) )){
+				throw new IllegalStateException( "compact format does not survive a round trip" );
+			}
+			if( !Arrays.equals( compact, write( legacyRead, true ) )){
+				throw new IllegalStateException( "legacy format was not read correctly" );
+			}
+			
+			System.out.println( "round " + round + ": " + count + " dockables, " +
+					"legacy " + legacy.length + " bytes (write " + micros( start, legacyWritten ) + " us, read " + micros( compactWritten, legacyRead0 ) + " us), " +
+					"compact " + compact.length + " bytes (write " + micros( legacyWritten, compactWritten ) + " us, read " + micros( legacyRead0, compactRead0 ) + " us)" );
+		}
+		
+		control.destroy();
+	}
+	
+	private static long micros( long start, long end ){
+		return (end - start) / 1000;
+	}
+	
+	private static byte[] write( ModeSettings<Location, Location> settings, boolean compact ) throws IOException{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream( bytes );
+		settings.setCompact( compact );
+		settings.write( out );
+		out.close();
+		return bytes.toByteArray();
+	}
+	
+	private static ModeSettings<Location, Location> read( byte[] data, CLocationModeManager manager, LocationSettingConverter converter ) throws IOException{
+		ModeSettings<Location, Location> settings = manager.createSettings( converter );
+		DataInputStream in = new DataInputStream( new ByteArrayInputStream( data ) );
+		settings.read( in );
+		in.close();
+		return settings;
+	}
+}
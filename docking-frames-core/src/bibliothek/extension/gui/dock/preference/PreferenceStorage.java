@@ -191,7 +191,7 @@ public class PreferenceStorage {
      * factory missing for some type
      */
     public void write( DataOutputStream out ) throws IOException{
-        Version.write( out, Version.CURRENT );
+        Version.write( out, Version.VERSION_1_1_2 );
         write( root, out );
     }
     
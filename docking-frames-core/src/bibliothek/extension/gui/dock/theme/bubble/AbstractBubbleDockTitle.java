@@ -145,7 +145,7 @@ public abstract class AbstractBubbleDockTitle extends AbstractDockTitle{
     private void initAnimation(){
     	setTransparency( Transparency.DEFAULT );
     	
-        animation = new BubbleColorAnimation();
+        animation = new BubbleColorAnimation( this );
 
         updateAnimation();
 
@@ -161,8 +161,15 @@ public abstract class AbstractBubbleDockTitle extends AbstractDockTitle{
     @Override
     public void bind() {
         super.bind();
+        animation.setController( getDockable().getController() );
         animation.kick();
     }
+    
+    @Override
+    public void unbind() {
+        super.unbind();
+        animation.setController( null );
+    }
 
     @Override
     public void setActive( boolean active ) {
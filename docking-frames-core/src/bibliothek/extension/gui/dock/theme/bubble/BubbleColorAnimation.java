@@ -27,14 +27,17 @@
 package bibliothek.extension.gui.dock.theme.bubble;
 
 import java.awt.Color;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.Component;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.swing.Timer;
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.util.PropertyValue;
+import bibliothek.gui.dock.util.animation.Animation;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
+import bibliothek.gui.dock.util.animation.DefaultAnimationScheduler;
 
 /**
  * A <code>BubbleColorAnimation</code> has the ability to convert one or many color-pairs smoothly from source
@@ -42,7 +45,8 @@ import javax.swing.Timer;
  * Clients have to call {@link #putColor(String, Color)} to start an animation. They
  * can call {@link #getColor(String)} any time to get the current intermediate color. Adding a {@link #addTask(Runnable) task}
  * will allow a client to be informed whenever the colors change.<br>
- * The animation itself takes {@link #setDuration(int) duration} milliseconds.  
+ * The animation itself takes {@link #setDuration(int) duration} milliseconds. It is driven by the
+ * {@link AnimationScheduler} of the {@link #setController(DockController) controller}.
  * @author Benjamin Sigg
  */
 public class BubbleColorAnimation {
@@ -51,8 +55,35 @@ public class BubbleColorAnimation {
     
     /** The color pairs that can be animated */
     private Map<String, Entry> colors = new HashMap<String, Entry>();
-    /** The timer that triggers steps of the animation */
-    private Timer timer;
+    /** The component which shows this animation, can be <code>null</code> */
+    private Component component;
+    /** The scheduler that triggers steps of the animation */
+    private PropertyValue<AnimationScheduler> scheduler = new PropertyValue<AnimationScheduler>( AnimationScheduler.ANIMATION_SCHEDULER ){
+    	@Override
+    	protected void valueChanged( AnimationScheduler oldValue, AnimationScheduler newValue ){
+    		if( running ){
+    			scheduler( oldValue ).stop( clock );
+    			scheduler( newValue ).start( clock );
+    		}
+    	}
+    };
+    /** Whether the animation is currently running */
+    private boolean running = false;
+    /** The link between the scheduler and this animation */
+    private Animation clock = new Animation(){
+    	public boolean step( int delta ){
+    		pulse();
+    		return running;
+    	}
+    	
+    	public void finish(){
+    		kick();
+    	}
+    	
+    	public Component getComponent(){
+    		return component;
+    	}
+    };
     /** The current time in milliseconds*/
     private long time = 0;
     
@@ -63,12 +94,31 @@ public class BubbleColorAnimation {
      * Creates a new animation.
      */
     public BubbleColorAnimation(){
-    	timer = new Timer( 25, new ActionListener(){
-            public void actionPerformed( ActionEvent e ) {
-                pulse();
-            }
-        });
-    	timer.setCoalesce( true );
+    	this( null );
+    }
+    
+    /**
+     * Creates a new animation.
+     * @param component the component which is painted using this animation, the animation
+     * finishes immediately while <code>component</code> is not showing. Can be <code>null</code>.
+     */
+    public BubbleColorAnimation( Component component ){
+    	this.component = component;
+    }
+    
+    /**
+     * Sets the controller whose {@link AnimationScheduler} drives this animation.
+     * @param controller the controller, can be <code>null</code>
+     */
+    public void setController( DockController controller ){
+    	scheduler.setProperties( controller );
+    }
+    
+    private AnimationScheduler scheduler( AnimationScheduler value ){
+    	if( value == null ){
+    		return DefaultAnimationScheduler.getShared();
+    	}
+    	return value;
     }
     
     /**
@@ -162,14 +212,17 @@ public class BubbleColorAnimation {
      *
      */
     public void stop(){
-        timer.stop();
+    	if( running ){
+    		running = false;
+    		scheduler( scheduler.getValue() ).stop( clock );
+    	}
     }
     
     /**
      * Immediately puts all colors to their final state and stops the animation.
      */
     public void kick(){
-        if( timer.isRunning() ){
+        if( running ){
             stop();
             for( Entry entry : colors.values() )
                 entry.kick();
@@ -183,9 +236,10 @@ public class BubbleColorAnimation {
      * Starts the animation if it is not yet running.
      */
     protected void start(){
-        if( !timer.isRunning() ){
+        if( !running ){
+            running = true;
             time = System.currentTimeMillis();
-            timer.start();
+            scheduler( scheduler.getValue() ).start( clock );
         }
     }
     
@@ -202,7 +256,7 @@ public class BubbleColorAnimation {
             run = entry.step( delta ) | run;
         
         if( !run )
-            timer.stop();
+            stop();
         
         for( Runnable task : tasks )
             task.run();
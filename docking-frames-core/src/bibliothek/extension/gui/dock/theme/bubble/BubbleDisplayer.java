@@ -141,7 +141,7 @@ public class BubbleDisplayer extends BasicDockableDisplayer {
         
         this.dockable.setOpaque( false );
         openBorder = new DisplayerBorder( this.dockable, "bubble" );
-        animation = new BubbleColorAnimation();
+        animation = new BubbleColorAnimation( this );
         animation.addTask( new Runnable(){
             public void run() {
                 pulse();
@@ -231,6 +231,7 @@ public class BubbleDisplayer extends BasicDockableDisplayer {
         }
         
         disablingStrategy.setProperties( controller );
+        animation.setController( controller );
         
         openBorder.setController( controller );
         borderHighActive.connect( controller );
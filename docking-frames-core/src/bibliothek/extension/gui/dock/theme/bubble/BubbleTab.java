@@ -221,7 +221,7 @@ public class BubbleTab extends ConfiguredBackgroundPanel implements CombinedTab,
 		label.setBackground( background );
 		setBackground( background );
 
-		animation = new BubbleColorAnimation();
+		animation = new BubbleColorAnimation( this );
 		animation.addTask( this );
 
 		topMouse     = new BubbleTabColor( STATE_MOUSE, "stack.tab.background.top.mouse", "top", animation, dockable, Color.RED.brighter() );
@@ -416,6 +416,7 @@ public class BubbleTab extends ConfiguredBackgroundPanel implements CombinedTab,
 		}
 		
 
+		animation.setController( controller );
 		checkAnimation();
 		animation.kick();
 	}
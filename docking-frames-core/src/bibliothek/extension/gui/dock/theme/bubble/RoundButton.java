@@ -112,7 +112,7 @@ public class RoundButton extends JComponent implements RoundButtonConnectable{
 		setLayout( null );
 		add( content );
 		
-		animation = new BubbleColorAnimation(){
+		animation = new BubbleColorAnimation( this ){
 			@Override
 			protected void pulse(){
 				super.pulse();
@@ -244,6 +244,7 @@ public class RoundButton extends JComponent implements RoundButtonConnectable{
 	    for( AbstractDockColor color : colors )
 	        color.connect( controller );
 	    
+	    animation.setController( controller );
 	    animation.kick();
 	}
 	
@@ -124,7 +124,7 @@ public class RoundDropDownButton extends JComponent implements RoundButtonConnec
      * @param action the action that is shown
      */
     public RoundDropDownButton( BasicDropDownButtonHandler handler, Dockable dockable, DockAction action ){
-		animation = new BubbleColorAnimation(){
+		animation = new BubbleColorAnimation( this ){
 			@Override
 			protected void pulse(){
 				super.pulse();
@@ -224,6 +224,7 @@ public class RoundDropDownButton extends JComponent implements RoundButtonConnec
             color.connect( controller );
         }
         
+        animation.setController( controller );
         animation.kick();
     }
     
@@ -26,17 +26,23 @@
 
 package bibliothek.extension.gui.dock.theme.smooth;
 
+import java.awt.Component;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
-import javax.swing.Timer;
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.util.PropertyValue;
+import bibliothek.gui.dock.util.animation.Animation;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
+import bibliothek.gui.dock.util.animation.DefaultAnimationScheduler;
 
 /**
  * A class which counts milliseconds from 0 to {@link #setDuration(int) duration}
  * or in the other direction. This class contains an array of states: one state is
  * counted upwards (the {@link #destination()}), all the other states are counted
  * downwards. Clients can use this class to smoothly switch between different states.<br>
- * This class works on the EDT, no new threads are created.
+ * This class works on the EDT, no new threads are created. The changer is driven by the
+ * {@link AnimationScheduler} of the {@link #setController(DockController) controller}.
  * @author Benjamin Sigg
  *
  */
@@ -50,8 +56,38 @@ public abstract class SmoothChanger implements ActionListener{
     /** the duration of the change */
     private int duration;
     
-    /** a timer which pulses this changer */
-    private Timer timer;
+    /** the component which shows the states, can be <code>null</code> */
+    private Component component;
+    
+    /** whether a transition is currently running */
+    private boolean running = false;
+    
+    /** the scheduler which pulses this changer */
+    private PropertyValue<AnimationScheduler> scheduler = new PropertyValue<AnimationScheduler>( AnimationScheduler.ANIMATION_SCHEDULER ){
+    	@Override
+    	protected void valueChanged( AnimationScheduler oldValue, AnimationScheduler newValue ){
+    		if( running ){
+    			scheduler( oldValue ).stop( animation );
+    			scheduler( newValue ).start( animation );
+    		}
+    	}
+    };
+    
+    /** the link between {@link #scheduler} and this changer */
+    private Animation animation = new Animation(){
+    	public boolean step( int delta ){
+    		pulse();
+    		return running;
+    	}
+    	
+    	public void finish(){
+    		SmoothChanger.this.finish();
+    	}
+    	
+    	public Component getComponent(){
+    		return component;
+    	}
+    };
     
     /**
      * Constructor, sets {@link #setDuration(int) duration} to 250 milliseconds.
@@ -68,11 +104,48 @@ public abstract class SmoothChanger implements ActionListener{
      * at least be 2
      */
     public SmoothChanger( int duration, int states ){
+        this( null, duration, states );
+    }
+    
+    /**
+     * Constructor, sets {@link #setDuration(int) duration} to 250 milliseconds.
+     * @param component the component that shows the states, the transition is finished
+     * at once while <code>component</code> is not showing. Can be <code>null</code>.
+     * @param states the number of states this changer can have
+     */
+    public SmoothChanger( Component component, int states ){
+    	this( component, 250, states );
+    }
+    
+    /**
+     * Constructs a new changer.
+     * @param component the component that shows the states, the transition is finished
+     * at once while <code>component</code> is not showing. Can be <code>null</code>.
+     * @param duration the duration of one transition, should not be less than 1
+     * @param states the number of states this changer can have, should
+     * at least be 2
+     */
+    public SmoothChanger( Component component, int duration, int states ){
+    	this.component = component;
         this.duration = duration;
-        timer = new Timer( 15, this );
         current = new int[ states ];
     }
     
+    /**
+     * Sets the controller whose {@link AnimationScheduler} drives this changer.
+     * @param controller the controller, can be <code>null</code>
+     */
+    public void setController( DockController controller ){
+    	scheduler.setProperties( controller );
+    }
+    
+    private AnimationScheduler scheduler( AnimationScheduler value ){
+    	if( value == null ){
+    		return DefaultAnimationScheduler.getShared();
+    	}
+    	return value;
+    }
+    
     /**
      * The direction of the change. The counter of for the state
      * <code>destination()</code> will always rise, while the other
@@ -111,7 +184,7 @@ public abstract class SmoothChanger implements ActionListener{
      * @return <code>true</code> if active, <code>false</code> if not
      */
     public boolean isRunning(){
-    	return timer.isRunning();
+    	return running;
     }
     
     /**
@@ -127,11 +200,37 @@ public abstract class SmoothChanger implements ActionListener{
      * Starts a transition
      */
     public void trigger(){
-        timer.start();
         last = System.currentTimeMillis();
+        if( !running ){
+        	running = true;
+        	scheduler( scheduler.getValue() ).start( animation );
+        }
+    }
+    
+    /**
+     * Immediately ends the current transition.
+     */
+    public void finish(){
+    	if( running ){
+    		running = false;
+    		scheduler( scheduler.getValue() ).stop( animation );
+    	}
+    	
+    	int destination = destination();
+    	for( int i = 0; i < current.length; i++ ){
+    		current[i] = i == destination ? duration : 0;
+    	}
+    	repaint( current );
     }
     
     public void actionPerformed( ActionEvent e ){
+    	pulse();
+    }
+    
+    /**
+     * Advances the transition by the time that passed since the last call.
+     */
+    private void pulse(){
         long time = System.currentTimeMillis();
         int delta = (int)( time - last );
         last = time;
@@ -150,8 +249,9 @@ public abstract class SmoothChanger implements ActionListener{
         	}
         }
         
-        if( !incomplete ){
-        	timer.stop();
+        if( !incomplete && running ){
+        	running = false;
+        	scheduler( scheduler.getValue() ).stop( animation );
         }
                 
         repaint( current );
@@ -48,7 +48,7 @@ public class SmoothDefaultButtonTitle extends BasicButtonDockTitle {
 	private int[] current;
 	
     /** a trigger for the animation */
-    private SmoothChanger changer = new SmoothChanger( 3 ){
+    private SmoothChanger changer = new SmoothChanger( this, 3 ){
     	@Override
     	protected int destination() {
     		if( isActive() )
@@ -76,6 +76,18 @@ public class SmoothDefaultButtonTitle extends BasicButtonDockTitle {
 	}
 	
 
+    @Override
+    public void bind() {
+        super.bind();
+        changer.setController( getDockable().getController() );
+    }
+    
+    @Override
+    public void unbind() {
+        super.unbind();
+        changer.setController( null );
+    }
+    
     @Override
     public void setActive( boolean active ) {
         super.setActive(active);
@@ -49,7 +49,7 @@ public class SmoothDefaultStationTitle extends BasicStationTitle{
     /**
      * Source for pulses for this title.
      */
-    private SmoothChanger changer = new SmoothChanger( 3 ){
+    private SmoothChanger changer = new SmoothChanger( this, 3 ){
     	@Override
     	protected int destination() {
     		if( isDisabled() ){
@@ -68,6 +68,18 @@ public class SmoothDefaultStationTitle extends BasicStationTitle{
         }
     };
     
+    @Override
+    public void bind() {
+        super.bind();
+        changer.setController( getDockable().getController() );
+    }
+    
+    @Override
+    public void unbind() {
+        super.unbind();
+        changer.setController( null );
+    }
+    
     @Override
     public void setActive( boolean active ) {
         super.setActive(active);
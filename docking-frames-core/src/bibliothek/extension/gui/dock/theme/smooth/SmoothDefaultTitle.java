@@ -51,7 +51,7 @@ public class SmoothDefaultTitle extends BasicDockTitle{
     private int[] current = null;
     
     /** a trigger for the animation */
-    private SmoothChanger changer = new SmoothChanger( 3 ){
+    private SmoothChanger changer = new SmoothChanger( this, 3 ){
     	@Override
     	protected int destination() {
     		if( isDisabled() ){
@@ -99,6 +99,18 @@ public class SmoothDefaultTitle extends BasicDockTitle{
         changer.setDuration( duration );
     }
     
+    @Override
+    public void bind() {
+        super.bind();
+        changer.setController( getDockable().getController() );
+    }
+    
+    @Override
+    public void unbind() {
+        super.unbind();
+        changer.setController( null );
+    }
+    
     @Override
     public void setActive( boolean active ) {
         super.setActive(active);
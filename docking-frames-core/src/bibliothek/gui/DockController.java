@@ -83,6 +83,7 @@ import bibliothek.gui.dock.control.focus.FocusRequest;
 import bibliothek.gui.dock.control.focus.MouseFocusObserver;
 import bibliothek.gui.dock.event.ControllerSetupListener;
 import bibliothek.gui.dock.event.DockControllerRepresentativeListener;
+import bibliothek.gui.dock.event.DockEventBatch;
 import bibliothek.gui.dock.event.DockRegisterAdapter;
 import bibliothek.gui.dock.event.DockRegisterListener;
 import bibliothek.gui.dock.event.DockStationAdapter;
@@ -156,6 +157,8 @@ public class DockController {
 	
 	/** the known dockables and DockStations */
 	private DockRegister register;
+	/** collects and merges events while the client changes many elements at once */
+	private DockEventBatch eventBatch = new DockEventBatch();
 	/** the known {@link Component}s in the realm of this controller */
 	private ComponentHierarchyObserver componentHierarchyObserver;
 	
@@ -518,6 +521,15 @@ public class DockController {
 		return register;
 	}
     
+    /**
+     * Gets the {@link DockEventBatch} which delays and merges the events of the elements
+     * known to this controller.
+     * @return the batch of this controller, not <code>null</code>
+     */
+    public DockEventBatch getEventBatch(){
+		return eventBatch;
+	}
+    
     /**
      * Gets a list of all {@link Component}s which are used on the {@link Dockable}s
      * known to this controller.
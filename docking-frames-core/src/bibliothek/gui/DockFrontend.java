@@ -27,6 +27,8 @@
 package bibliothek.gui;
 
 import java.awt.Window;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -72,6 +74,7 @@ import bibliothek.gui.dock.frontend.LayoutChangeStrategy;
 import bibliothek.gui.dock.frontend.MissingDockableStrategy;
 import bibliothek.gui.dock.frontend.Setting;
 import bibliothek.gui.dock.frontend.SettingsBlop;
+import bibliothek.gui.dock.frontend.SettingsBlopReader;
 import bibliothek.gui.dock.frontend.VetoManager;
 import bibliothek.gui.dock.layout.AdjacentDockFactory;
 import bibliothek.gui.dock.layout.DockLayoutComposition;
@@ -95,6 +98,7 @@ import bibliothek.gui.dock.station.split.SplitDockPropertyFactory;
 import bibliothek.gui.dock.station.split.SplitDockStationFactory;
 import bibliothek.gui.dock.station.stack.StackDockPropertyFactory;
 import bibliothek.gui.dock.station.stack.StackDockStationFactory;
+import bibliothek.gui.dock.station.support.PlaceholderStrategy;
 import bibliothek.gui.dock.util.DirectWindowProvider;
 import bibliothek.gui.dock.util.DockProperties;
 import bibliothek.gui.dock.util.DockUtilities;
@@ -169,6 +173,8 @@ public class DockFrontend {
     
     /** The locations of the known Dockables */
     private Map<String, DockInfo> dockables = new HashMap<String, DockInfo>();
+    /** The elements of {@link #dockables} which are associated with a {@link Dockable} */
+    private Map<Dockable, DockInfo> dockableInfos = new HashMap<Dockable, DockInfo>();
     /** the identifiers of the {@link DockInfo}s which should stay around even if their dockable is removed */
     private Set<String> empty = new HashSet<String>();
     
@@ -586,6 +592,7 @@ public class DockFrontend {
         else{
             info = new DockInfo( dockable, id );
             dockables.put( id, info );    
+            dockableInfos.put( dockable, info );
         }
         
         DockLayoutComposition layout = info.getLayout();
@@ -858,6 +865,7 @@ public class DockFrontend {
             }
             else{
                 dockables.remove( info.getKey() );
+                dockableInfos.remove( dockable );
                 fireRemoved( dockable );
             }
         }
@@ -2162,6 +2170,37 @@ public class DockFrontend {
         return blop;
     }
     
+    /**
+     * Creates a {@link SettingsBlopReader} which holds a snapshot of the factories that are currently installed
+     * on this frontend. This method must be called on the EventDispatchThread, the reader itself can be used
+     * on any thread. Subclasses overriding {@link #createSetting()} should override this method as well, the
+     * default implementation calls {@link #createSetting()} from the thread that uses the reader.
+     * @return the new reader
+     */
+    public SettingsBlopReader createBlopReader(){
+    	Internals internals = new Internals();
+    	DockSituation entrySituation = layoutChangeStrategy.createSituation( internals, true );
+    	DockSituation finalSituation = layoutChangeStrategy.createSituation( internals, false );
+    	PropertyTransformer properties = layoutChangeStrategy.createTransformer( internals );
+    	return createBlopReader( entrySituation, finalSituation, properties );
+    }
+    
+    /**
+     * Creates a new {@link SettingsBlopReader}, called by {@link #createBlopReader()} on the EventDispatchThread.
+     * @param entrySituation the situation for reading ordinary entries
+     * @param finalSituation the situation for reading the final setting
+     * @param properties the transformer for reading locations
+     * @return the new reader
+     */
+    protected SettingsBlopReader createBlopReader( DockSituation entrySituation, DockSituation finalSituation, PropertyTransformer properties ){
+    	return new SettingsBlopReader( entrySituation, finalSituation, properties ){
+    		@Override
+    		protected Setting createSetting(){
+    			return DockFrontend.this.createSetting();
+    		}
+    	};
+    }
+    
     /**
      * Calls {@link #createSetting()} and then
      * {@link Setting#readXML(DockSituation, PropertyTransformer, boolean, XElement)}.
@@ -2212,6 +2251,51 @@ public class DockFrontend {
     	setSetting( blop.getCurrentSetting(), false );
     }
     
+    /**
+     * Removes dead placeholders from all the stored {@link Setting}s. Each setting is
+     * encoded and then read again using a {@link DockSituation} whose
+     * {@link DockSituation#setIntermediatePlaceholders(PlaceholderStrategy) intermediate placeholders}
+     * are set to <code>placeholders</code>, which means the factories drop any placeholder
+     * that is no longer valid. The current layout is not affected by this method.
+     * @param placeholders the strategy telling which placeholders are still alive, not <code>null</code>
+     * @return the number of bytes the encoded settings shrunk
+     * @throws IOException if a setting cannot be encoded
+     */
+    public long compactSettings( PlaceholderStrategy placeholders ) throws IOException{
+    	if( placeholders == null ){
+    		throw new IllegalArgumentException( "placeholders must not be null" );
+    	}
+    	
+    	long reclaimed = 0;
+    	ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    	
+    	for( Map.Entry<String, Setting> entry : settings.entrySet() ){
+    		buffer.reset();
+    		write( entry.getValue(), true, new DataOutputStream( buffer ) );
+    		int before = buffer.size();
+    		
+    		Setting setting = createSetting();
+    		Internals internals = new Internals();
+    		DockSituation situation = layoutChangeStrategy.createSituation( internals, true );
+    		situation.setIntermediatePlaceholders( placeholders );
+    		PropertyTransformer properties = layoutChangeStrategy.createTransformer( internals );
+    		setting.read( situation, properties, true, new DataInputStream( new ByteArrayInputStream( buffer.toByteArray() ) ) );
+    		// layouts are read lazily, only decoding them applies the placeholder strategy
+    		setting.decode();
+    		
+    		buffer.reset();
+    		write( setting, true, new DataOutputStream( buffer ) );
+    		int after = buffer.size();
+    		
+    		if( after < before ){
+    			entry.setValue( setting );
+    			reclaimed += before - after;
+    		}
+    	}
+    	
+    	return reclaimed;
+    }
+    
     /**
      * Creates the action that is added to all known dockables, and which
      * is called the "close"-action.
@@ -2249,11 +2333,7 @@ public class DockFrontend {
         if( dockable == null )
             throw new NullPointerException( "dockable is null" );
         
-        for( DockInfo info : dockables.values() )
-            if( info.getDockable() == dockable )
-                return info;
-        
-        return null;
+        return dockableInfos.get( dockable );
     }
     
     /**
@@ -2460,6 +2540,10 @@ public class DockFrontend {
 			DockFrontend.this.clean( ignore );
 		}
 
+		public void clean( DockStation station, DockSituationIgnore ignore ){
+			DockFrontend.this.clean( station, ignore );
+		}
+
 		public AdjacentDockFactory<?>[] getAdjacentDockFactories(){
 			return adjacentDockFactories.toArray( new AdjacentDockFactory[ adjacentDockFactories.size() ] );
 		}
@@ -2611,7 +2695,14 @@ public class DockFrontend {
          * @param dockable the new dockable, can be <code>null</code>
          */
         public void setDockable( Dockable dockable ) {
+        	boolean registered = dockables.get( key ) == this;
+        	if( registered && this.dockable != null && dockableInfos.get( this.dockable ) == this ){
+        		dockableInfos.remove( this.dockable );
+        	}
             this.dockable = dockable;
+            if( registered && dockable != null ){
+            	dockableInfos.put( dockable, this );
+            }
         }
         
         public String getKey() {
@@ -38,8 +38,9 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -366,6 +367,12 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 
 	/** The list of {@link Dockable Dockables} which are shown on this station */
 	private List<StationChildHandle> dockables = new ArrayList<StationChildHandle>();
+	
+	/** 
+	 * The index of each {@link Dockable} in {@link #dockables}. Only valid if it has the same size as 
+	 * {@link #dockables}, otherwise it is rebuilt by {@link #indexOfDockable(Dockable)}.
+	 */
+	private Map<Dockable, Integer> dockableIndices = new IdentityHashMap<Dockable, Integer>();
 
 	/** The {@link Dockable} which has the focus */
 	private Dockable frontDockable;
@@ -2565,7 +2572,8 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 
 	/**
 	 * Removes all children from this station and then adds the contents
-	 * that are stored in <code>tree</code>.
+	 * that are stored in <code>tree</code>. The whole tree is built before the 
+	 * first {@link Dockable} is added, and the boundaries are updated only once.
 	 * @param tree the new set of children
 	 * @param checkValidity whether to ensure that the new elements are
 	 * accepted or not.
@@ -2595,10 +2603,13 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 
 			SplitDockTree<Dockable>.Key rootKey = tree.getRoot();
 			if( rootKey != null ) {
-				Map<Leaf, Dockable> linksToSet = new HashMap<Leaf, Dockable>();
+				Map<Leaf, Dockable> linksToSet = new LinkedHashMap<Leaf, Dockable>();
 				root().evolve(rootKey, checkValidity, linksToSet);
+				
+				// the whole tree is built, now link the dockables in one sweep
+				placeholderSet.set( linksToSet );
 				for( Map.Entry<Leaf, Dockable> entry : linksToSet.entrySet() ) {
-					entry.getKey().setDockable( entry.getValue(), null );
+					entry.getKey().setDockable( entry.getValue(), null, false, false );
 				}
 				updateBounds();
 			}
@@ -2914,6 +2925,9 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 				dockStationListeners.fireDockableAdding(dockable);
 			}
 	
+			if( dockableIndices.size() == dockables.size() ){
+				dockableIndices.put( dockable, dockables.size() );
+			}
 			dockables.add(handle);
 			dockable.setDockParent(this);
 	
@@ -2965,11 +2979,17 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	 * @return the index or -1 if the child was not found
 	 */
 	public int indexOfDockable( Dockable dockable ){
-		for( int i = 0, n = dockables.size(); i < n; i++ )
-			if( dockables.get(i).getDockable() == dockable )
-				return i;
-
-		return -1;
+		if( dockableIndices.size() != dockables.size() ){
+			dockableIndices.clear();
+			for( int i = 0, n = dockables.size(); i < n; i++ ){
+				dockableIndices.put( dockables.get( i ).getDockable(), i );
+			}
+		}
+		Integer index = dockableIndices.get( dockable );
+		if( index == null ){
+			return -1;
+		}
+		return index;
 	}
 
 	/**
@@ -3082,8 +3102,8 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
      * and this method will fire events, otherwise this methods is executed silently
 	 */
 	private void removeHandle( StationChildHandle handle, DockHierarchyLock.Token token ){
-		int index = dockables.indexOf( handle );
-		if( index >= 0 ) {
+		int index = indexOfDockable( handle.getDockable() );
+		if( index >= 0 && dockables.get( index ) == handle ) {
 			removeDisplayer( index, token );
 		}
 	}
@@ -3115,6 +3135,12 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 				dockStationListeners.fireDockableRemoving(dockable);
 	
 			dockables.remove(index);
+			if( index == dockables.size() ){
+				dockableIndices.remove( dockable );
+			}
+			else{
+				dockableIndices.clear();
+			}
 	
 			DockableDisplayer displayer = handle.getDisplayer();
 	
@@ -3162,42 +3188,11 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	 * @param id the id to search
 	 * @return the node with the id <code>id</code>
 	 */
-	public SplitNode getNode( final long id ){
-		class Visitor implements SplitNodeVisitor {
-			private SplitNode result;
-
-			public void handleRoot( Root root ){
-				if( root.getId() == id ) {
-					result = root;
-				}
-			}
-
-			public void handleLeaf( Leaf leaf ){
-				if( leaf.getId() == id ) {
-					result = leaf;
-				}
-			}
-
-			public void handlePlaceholder( Placeholder placeholder ){
-				if( placeholder.getId() == id ) {
-					result = placeholder;
-				}
-			}
-
-			public void handleNode( Node node ){
-				if( node.getId() == id ) {
-					result = node;
-				}
-			}
-		}
-		;
-
+	public SplitNode getNode( long id ){
 		if( root == null )
 			return null;
 
-		Visitor visitor = new Visitor();
-		getRoot().visit(visitor);
-		return visitor.result;
+		return getRoot().getNode( id );
 	}
 
 	public String getFactoryID(){
@@ -3223,6 +3218,33 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		}
 	}
 	
+	/**
+	 * Updates the locations and sizes of the {@link Component Components} which are in the
+	 * subtree of <code>node</code>. This method can be used if the boundaries of <code>node</code>
+	 * itself did not change, e.g. because only its divider was moved. If the station was resized or
+	 * the tree changed since the last update, then {@link #updateBounds()} is called instead.<br>
+	 * Only the {@link DefaultSplitLayoutManager} is known to update the boundaries by simply descending
+	 * the tree. If any other {@link SplitLayoutManager} is {@link #getCurrentSplitLayoutManager() installed},
+	 * then this method always calls {@link #updateBounds()}, which lets the manager update the whole tree.
+	 * @param node the node whose children need to be updated, not <code>null</code>
+	 */
+	public void updateBounds( SplitNode node ){
+		Root root = root();
+		Insets insets = getContentPane().getInsets();
+		double factorW = getWidth() - insets.left - insets.right;
+		double factorH = getHeight() - insets.top - insets.bottom;
+		
+		if( layoutManager.getValue().getClass() != DefaultSplitLayoutManager.class ||
+				node.getRoot() != root || factorW <= 0 || factorH <= 0 || fullScreenDockable != null ||
+				root.hasTreeChanged() || !root.getBounds().equals( root.getCurrentBounds() )){
+			updateBounds();
+		}
+		else{
+			node.updateBounds( node.getX(), node.getY(), node.getWidth(), node.getHeight(), factorW, factorH, true );
+			root.invalidateHitIndex();
+		}
+	}
+	
 	/**
 	 * Allows subclasses access to the internal working of this {@link SplitDockStation}. Subclasses
 	 * should be very careful when invoking methods of {@link Access}.
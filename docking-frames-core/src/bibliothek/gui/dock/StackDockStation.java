@@ -61,6 +61,7 @@ import bibliothek.gui.dock.event.DockStationAdapter;
 import bibliothek.gui.dock.event.DockStationListener;
 import bibliothek.gui.dock.event.DockableListener;
 import bibliothek.gui.dock.event.FocusVetoListener;
+import bibliothek.gui.dock.event.SynchronousDockListener;
 import bibliothek.gui.dock.layout.DockableProperty;
 import bibliothek.gui.dock.layout.location.AsideRequest;
 import bibliothek.gui.dock.security.SecureContainer;
@@ -191,6 +192,17 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     		new PropertyKey<DndAutoSelectStrategy>( "stack dock auto select strategy", 
     			new ConstantPropertyFactory<DndAutoSelectStrategy>( DndAutoSelectStrategy.DEFAULT ), true );
     
+    /**
+     * If set to <code>true</code>, then {@link StackDockComponent}s that support this property keep only the
+     * component of the selected {@link Dockable} in the Swing hierarchy. The components of all the other children
+     * are attached again when they are selected. This keeps validating, layouting and focus traversal cheap for stacks
+     * with many children, but the preferred and minimum size of the stack is no longer the maximum of all children,
+     * only the selected child is taken into account. The default value is <code>false</code>.
+     */
+    public static final PropertyKey<Boolean> VIRTUALIZED =
+    		new PropertyKey<Boolean>( "stack dock virtualized",
+    			new ConstantPropertyFactory<Boolean>( false ), true );
+    
     /** A list of all children */
     private DockablePlaceholderList<StationChildHandle> dockables = new DockablePlaceholderList<StationChildHandle>();
     
@@ -412,12 +424,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
         stackComponentRepresentative.setComponent( stackComponent );
         stackComponentRepresentative.setTarget( this );
         
-        addDockStationListener( new DockStationAdapter() {
-        	@Override
-        	public void dockableSelected( DockStation station, Dockable oldSelection, Dockable newSelection ){
-        		lastSelectedDockable = newSelection;
-        	}
-		});
+        addDockStationListener( new SelectionTracker() );
         
 		panel.addHierarchyListener( new HierarchyListener(){
 			public void hierarchyChanged( HierarchyEvent e ){
@@ -1657,6 +1664,18 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     	}
     }
     
+    /**
+     * Keeps track of the last selected {@link Dockable}. This listener is a {@link SynchronousDockListener}
+     * because {@link StackDockStation#lastSelectedDockable} must be up to date even while events are batched.
+     * @author Benjamin Sigg
+     */
+    private class SelectionTracker extends DockStationAdapter implements SynchronousDockListener{
+    	@Override
+    	public void dockableSelected( DockStation station, Dockable oldSelection, Dockable newSelection ){
+    		lastSelectedDockable = newSelection;
+    	}
+    }
+    
     /**
      * A listener for the parent of this station. This listener will fire
      * events if the visibility-state of this station changes.<br>
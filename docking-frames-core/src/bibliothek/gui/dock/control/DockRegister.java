@@ -47,9 +47,9 @@ public class DockRegister {
 	/** these protected stations can never be removed through a drag and drop operation */
 	private Set<DockStation> protectedStations = new HashSet<DockStation>();
 	/** the known stations */
-    private List<DockStation> stations = new ArrayList<DockStation>();
+    private IndexedList<DockStation> stations = new IndexedList<DockStation>();
     /** the known dockables */
-    private List<Dockable> dockables = new ArrayList<Dockable>();
+    private IndexedList<Dockable> dockables = new IndexedList<Dockable>();
     
     /** The controller for which the dockables and stations are stored */
     private DockController controller;
@@ -113,8 +113,7 @@ public class DockRegister {
      * known to this register.
      */
     public void kill(){
-        List<DockStation> stations = new ArrayList<DockStation>( this.stations );
-        for( DockStation station : stations )
+        for( DockStation station : listDockStations() )
             remove( station );
     }
     
@@ -265,7 +264,7 @@ public class DockRegister {
      */
     public DockStation[] listRoots(){
         List<DockStation> list = new LinkedList<DockStation>();
-        for( DockStation station : stations ){
+        for( DockStation station : listDockStations() ){
             Dockable dockable = station.asDockable();
             if( dockable == null || dockable.getDockParent() == null )
                 list.add( station );
@@ -724,4 +723,117 @@ public class DockRegister {
             }
         }
     }
+    
+    /**
+     * A list of unique elements that remembers the position of each element in an
+     * {@link IdentityHashMap}. Checking whether an element is in the list, adding an element and
+     * removing an element all require constant time. Removed elements leave a gap which is
+     * closed the next time the list is accessed by index, hence the order of the elements
+     * never changes.
+     * @author Benjamin Sigg
+     * @param <T> the kind of elements stored in this list
+     */
+    private static class IndexedList<T>{
+    	/** all the elements, may contain <code>null</code> gaps */
+    	private ArrayList<T> elements = new ArrayList<T>();
+    	/** the position of each element in {@link #elements} */
+    	private Map<T, Integer> positions = new IdentityHashMap<T, Integer>();
+    	/** the number of gaps in {@link #elements} */
+    	private int gaps = 0;
+    	
+    	/**
+    	 * Tells whether <code>element</code> is stored in this list.
+    	 * @param element the element to search
+    	 * @return <code>true</code> if <code>element</code> was found
+    	 */
+    	public boolean contains( T element ){
+    		return positions.containsKey( element );
+    	}
+    	
+    	/**
+    	 * Adds <code>element</code> at the end of this list, nothing happens if 
+    	 * <code>element</code> is already stored.
+    	 * @param element the new element
+    	 * @return <code>true</code> if <code>element</code> was added
+    	 */
+    	public boolean add( T element ){
+    		if( positions.containsKey( element )){
+    			return false;
+    		}
+    		positions.put( element, elements.size() );
+    		elements.add( element );
+    		return true;
+    	}
+    	
+    	/**
+    	 * Removes <code>element</code> from this list.
+    	 * @param element the element to remove
+    	 * @return <code>true</code> if <code>element</code> was found and removed
+    	 */
+    	public boolean remove( T element ){
+    		Integer index = positions.remove( element );
+    		if( index == null ){
+    			return false;
+    		}
+    		if( index.intValue() == elements.size()-1 ){
+    			elements.remove( elements.size()-1 );
+    		}
+    		else{
+    			elements.set( index.intValue(), null );
+    			gaps++;
+    		}
+    		return true;
+    	}
+    	
+    	/**
+    	 * Gets the number of elements in this list.
+    	 * @return the number of elements
+    	 */
+    	public int size(){
+    		return positions.size();
+    	}
+    	
+    	/**
+    	 * Gets the <code>index</code>'th element of this list.
+    	 * @param index the index of the element
+    	 * @return the element
+    	 */
+    	public T get( int index ){
+    		compact();
+    		return elements.get( index );
+    	}
+    	
+    	/**
+    	 * Copies all elements into <code>array</code>.
+    	 * @param array an array with {@link #size()} slots
+    	 * @return <code>array</code>
+    	 */
+    	public T[] toArray( T[] array ){
+    		compact();
+    		return elements.toArray( array );
+    	}
+    	
+    	/**
+    	 * Closes all gaps that were left by {@link #remove(Object)}.
+    	 */
+    	private void compact(){
+    		if( gaps > 0 ){
+    			int next = 0;
+    			for( int i = 0, n = elements.size(); i < n; i++ ){
+    				T element = elements.get( i );
+    				if( element != null ){
+    					if( next != i ){
+    						elements.set( next, element );
+    						positions.put( element, next );
+    					}
+    					next++;
+    				}
+    			}
+    			for( int i = elements.size()-1; i >= next; i-- ){
+    				elements.remove( i );
+    			}
+    			gaps = 0;
+    		}
+    	}
+    }
 }
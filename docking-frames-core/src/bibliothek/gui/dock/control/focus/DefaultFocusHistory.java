@@ -25,8 +25,10 @@
  */
 package bibliothek.gui.dock.control.focus;
 
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
@@ -50,8 +52,11 @@ public class DefaultFocusHistory implements FocusHistory{
 	/** the actual history */
 	private List<Dockable> history = new LinkedList<Dockable>();
 	
+	/** the elements of {@link #history}, allows fast lookup */
+	private Set<Dockable> historySet = new LinkedHashSet<Dockable>();
+	
 	/** these Dockables did not yet have the focus */
-	private List<Dockable> unfocused = new LinkedList<Dockable>();
+	private Set<Dockable> unfocused = new LinkedHashSet<Dockable>();
 	
 	/** the listeners that are added to {@link #controller} */
 	private Listener listener = new Listener();
@@ -62,6 +67,7 @@ public class DefaultFocusHistory implements FocusHistory{
 			this.controller.getFocusController().removeDockableFocusListener( listener );
 		}
 		history.clear();
+		historySet.clear();
 		this.controller = controller;
 		if( this.controller != null ){
 			this.controller.getRegister().addDockRegisterListener( listener );
@@ -112,13 +118,15 @@ public class DefaultFocusHistory implements FocusHistory{
 	 */
 	private class Listener extends DockRegisterAdapter implements DockableFocusListener{
 		public void dockableUnregistered( DockController controller, Dockable dockable ){
-			history.remove( dockable );
+			if( historySet.remove( dockable )){
+				history.remove( dockable );
+			}
 			unfocused.remove( dockable );
 		}
 		
 		@Override
 		public void dockableRegistered( DockController controller, Dockable dockable ) {
-			if( !unfocused.contains( dockable ) && !history.contains( dockable ) ){
+			if( !unfocused.contains( dockable ) && !historySet.contains( dockable ) ){
 				unfocused.add( dockable );
 			}
 		}
@@ -127,8 +135,13 @@ public class DefaultFocusHistory implements FocusHistory{
 			Dockable owner = event.getNewFocusOwner();
 			if( owner != null ){
 				unfocused.remove( owner );
-				history.remove( owner );
-				history.add( 0, owner );
+				if( historySet.add( owner )){
+					history.add( 0, owner );
+				}
+				else if( history.get( 0 ) != owner ){
+					history.remove( owner );
+					history.add( 0, owner );
+				}
 			}
 		}
 	}
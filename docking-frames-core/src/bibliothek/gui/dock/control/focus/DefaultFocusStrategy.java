@@ -30,7 +30,6 @@ import java.util.HashMap;
 import java.util.Map;
 
 import javax.swing.JComboBox;
-import javax.swing.SwingUtilities;
 
 import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
@@ -133,12 +132,14 @@ public class DefaultFocusStrategy implements FocusStrategy{
 	
 	private void add( Dockable dockable ){
 		Tracker tracker = new Tracker( dockable );
-		for( Tracker other : trackers.values() ){
-			if( SwingUtilities.isDescendingFrom( dockable.getComponent(), other.dockable.getComponent() )){
-				other.remove( dockable.getComponent() );	
+		Component component = dockable.getComponent();
+		for( Component parent = component; parent != null; parent = parent.getParent() ){
+			Tracker other = trackers.get( parent );
+			if( other != null ){
+				other.remove( component );
 			}
 		}
-		trackers.put( dockable.getComponent(), tracker );
+		trackers.put( component, tracker );
 	}
 	
 	private void remove( Dockable dockable ){
@@ -35,9 +35,13 @@ import java.awt.Point;
 import java.awt.Window;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
+import java.awt.event.HierarchyBoundsListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
 import java.awt.event.InputEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +65,7 @@ import bibliothek.gui.dock.disable.DisablingStrategy;
 import bibliothek.gui.dock.dockable.DockableMovingImageFactory;
 import bibliothek.gui.dock.dockable.MovingImage;
 import bibliothek.gui.dock.event.ControllerSetupListener;
+import bibliothek.gui.dock.event.DockRegisterAdapter;
 import bibliothek.gui.dock.event.DockControllerRepresentativeListener;
 import bibliothek.gui.dock.station.StationDragOperation;
 import bibliothek.gui.dock.station.StationDropItem;
@@ -128,6 +133,9 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     /** The {@link DockControllerRepresentativeListener} that creates all the {@link MouseListener}s */
     private Listener listeners;
     
+    /** the stations that were found during the current drag and drop operation */
+    private StationCache stationCache;
+    
 	/**
 	 * Creates a new manager.
 	 * @param controller the controller whose dockables are moved
@@ -401,25 +409,55 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     protected List<DockStation> listStationsOrdered( int x, int y, Dockable moved ){
     	DockController controller = getController();
     	DisablingStrategy disabling = controller.getProperties().get( DisablingStrategy.STRATEGY );
-    	DockStationDropLayerFactory dropLayerFactory = controller.getProperties().get( DockStationDropLayerFactory.DROP_LAYER_FACTORY );
-    	
-    	OrderedLayerCollection collection = new OrderedLayerCollection( dropLayerFactory );
     	
     	if( disabling == null || !disabling.isDisabled( moved )){
-	        DockStation movedStation = moved.asDockStation();
 	        if( !isCancelLocation( x, y, moved )){
-	        	for( DockStation station : controller.getRegister().listDockStations() ){
-	        		if( disabling == null || !disabling.isDisabled( station )){
-		        		if( movedStation == null || (!DockUtilities.isAncestor( movedStation, station ) && movedStation != station )){
-		        			if( station.isStationShowing() && isStationValid( station ) ){
-		        				collection.add( station );
-			                }
-			            }
+	        	if( isOnMove() ){
+	        		if( stationCache == null || !stationCache.isValid( moved )){
+	        			clearStationCache();
+	        			stationCache = new StationCache( moved, collectStations( moved, disabling ) );
 	        		}
-		        }
+	        		return stationCache.getStations().sort( x, y );
+	        	}
+	        	return collectStations( moved, disabling ).sort( x, y );
 	        }
     	}
-	    return collection.sort( x, y );
+	    return new ArrayList<DockStation>();
+    }
+    
+    /**
+     * Collects all the stations which may become the new parent of <code>moved</code>.
+     * @param moved the item that is dragged
+     * @param disabling the current {@link DisablingStrategy}, can be <code>null</code>
+     * @return the stations that are visible and enabled
+     */
+    private OrderedLayerCollection collectStations( Dockable moved, DisablingStrategy disabling ){
+    	DockController controller = getController();
+    	DockStationDropLayerFactory dropLayerFactory = controller.getProperties().get( DockStationDropLayerFactory.DROP_LAYER_FACTORY );
+    	
+    	OrderedLayerCollection collection = new OrderedLayerCollection( dropLayerFactory );
+    	DockStation movedStation = moved.asDockStation();
+    	
+    	for( DockStation station : controller.getRegister().listDockStations() ){
+    		if( disabling == null || !disabling.isDisabled( station )){
+        		if( movedStation == null || (!DockUtilities.isAncestor( movedStation, station ) && movedStation != station )){
+        			if( station.isStationShowing() && isStationValid( station ) ){
+        				collection.add( station );
+	                }
+	            }
+    		}
+        }
+    	return collection;
+    }
+    
+    /**
+     * Throws away the stations that were collected for the current drag and drop operation.
+     */
+    private void clearStationCache(){
+    	if( stationCache != null ){
+    		stationCache.destroy();
+    		stationCache = null;
+    	}
     }
     
     /**
@@ -907,6 +945,7 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
             movingImageWindow = null;
             pressPointScreen = null;
             pressPointLocal = null;
+            clearStationCache();
         }
         
         if( dropped != null ){
@@ -976,6 +1015,7 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
 	        movingImageWindow = null;
 	        pressPointScreen = null;
 	        pressPointLocal = null;
+	        clearStationCache();
     	}
     }
     
@@ -1079,6 +1119,125 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
         }
     }
     
+    /**
+     * The set of {@link DockStation}s that may receive a dragged {@link Dockable}, the set is prepared once
+     * when the drag and drop operation starts. The set invalidates itself if a station is added or removed,
+     * or if any station changes its location, size or visibility.
+     * @author Benjamin Sigg
+     */
+    private class StationCache extends DockRegisterAdapter implements ComponentListener, HierarchyListener, HierarchyBoundsListener{
+    	/** the element that is moved around */
+    	private Dockable moved;
+    	/** the stations which may receive {@link #moved} */
+    	private OrderedLayerCollection stations;
+    	/** all the components to which this is added as listener */
+    	private List<Component> observed = new ArrayList<Component>();
+    	/** whether {@link #stations} is still valid */
+    	private boolean valid = true;
+    	
+    	/**
+    	 * Creates a new cache and starts observing all the registered {@link DockStation}s.
+    	 * @param moved the element that is moved around
+    	 * @param stations the stations that may receive <code>moved</code>
+    	 */
+    	public StationCache( Dockable moved, OrderedLayerCollection stations ){
+    		this.moved = moved;
+    		this.stations = stations;
+    		stations.prepare();
+    		
+    		DockController controller = getController();
+    		controller.getRegister().addDockRegisterListener( this );
+    		for( DockStation station : controller.getRegister().listDockStations() ){
+    			Dockable dockable = station.asDockable();
+    			if( dockable != null ){
+    				Component component = dockable.getComponent();
+    				component.addComponentListener( this );
+    				component.addHierarchyListener( this );
+    				component.addHierarchyBoundsListener( this );
+    				observed.add( component );
+    			}
+    		}
+    	}
+    	
+    	/**
+    	 * Tells whether the cached stations can be used for <code>moved</code>.
+    	 * @param moved the element that is moved around
+    	 * @return whether this cache is still valid
+    	 */
+    	public boolean isValid( Dockable moved ){
+    		return valid && this.moved == moved;
+    	}
+    	
+    	/**
+    	 * Gets the stations which may receive the moved element.
+    	 * @return the prepared stations
+    	 */
+    	public OrderedLayerCollection getStations(){
+    		return stations;
+    	}
+    	
+    	/**
+    	 * Removes all listeners that were added by this cache.
+    	 */
+    	public void destroy(){
+    		getController().getRegister().removeDockRegisterListener( this );
+    		for( Component component : observed ){
+    			component.removeComponentListener( this );
+    			component.removeHierarchyListener( this );
+    			component.removeHierarchyBoundsListener( this );
+    		}
+    		observed.clear();
+    	}
+    	
+    	@Override
+    	public void dockStationRegistered( DockController controller, DockStation station ){
+    		valid = false;
+    	}
+    	
+    	@Override
+    	public void dockStationUnregistered( DockController controller, DockStation station ){
+    		valid = false;
+    	}
+    	
+    	@Override
+    	public void dockableRegistered( DockController controller, Dockable dockable ){
+    		valid = false;
+    	}
+    	
+    	@Override
+    	public void dockableUnregistered( DockController controller, Dockable dockable ){
+    		valid = false;
+    	}
+    	
+    	public void componentHidden( ComponentEvent e ){
+    		valid = false;
+    	}
+    	
+    	public void componentMoved( ComponentEvent e ){
+    		valid = false;
+    	}
+    	
+    	public void componentResized( ComponentEvent e ){
+    		valid = false;
+    	}
+    	
+    	public void componentShown( ComponentEvent e ){
+    		valid = false;
+    	}
+    	
+    	public void hierarchyChanged( HierarchyEvent e ){
+    		valid = false;
+    	}
+    	
+    	public void ancestorMoved( HierarchyEvent e ){
+    		valid = false;
+    	}
+    	
+    	public void ancestorResized( HierarchyEvent e ){
+    		valid = false;
+    	}
+    }
+    
     /**
      * A listener observing the {@link DockController} for new {@link DockElementRepresentative}s
      * and adding the new representatives a {@link MouseRepresentativeListener}.
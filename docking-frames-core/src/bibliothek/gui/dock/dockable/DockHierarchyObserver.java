@@ -31,8 +31,10 @@ import java.util.List;
 import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockElement;
+import bibliothek.gui.dock.event.DockEventBatch;
 import bibliothek.gui.dock.event.DockHierarchyEvent;
 import bibliothek.gui.dock.event.DockHierarchyListener;
+import bibliothek.gui.dock.event.SynchronousDockListener;
 
 /**
  * A helper class that is able to send {@link DockHierarchyEvent}s to
@@ -41,10 +43,14 @@ import bibliothek.gui.dock.event.DockHierarchyListener;
  * calls {@link #update()} and the observer ensures that all events are
  * send properly. The client should call {@link #controllerChanged(DockController)} whenever
  * the {@link DockController} changes. This observer will automatically monitor the super-parents
- * of its owner and fire events when necessary.
+ * of its owner and fire events when necessary.<br>
+ * While the {@link DockEventBatch} of the {@link DockController} is open, calls to {@link DockHierarchyListener#hierarchyChanged(DockHierarchyEvent)}
+ * are delayed and merged, only {@link SynchronousDockListener}s are informed immediately. Calls to
+ * {@link DockHierarchyListener#controllerChanged(DockHierarchyEvent)} are never delayed. The observer itself
+ * is a {@link SynchronousDockListener}, hence changes of the super-parents are forwarded without delay.
  * @author Benjamin Sigg
  */
-public class DockHierarchyObserver implements DockHierarchyListener{
+public class DockHierarchyObserver implements DockHierarchyListener, SynchronousDockListener{
 	/** the currently observed parent */
 	private DockElement parent;
     /** a list of listeners which are informed when the hierarchy changes */
@@ -94,14 +100,40 @@ public class DockHierarchyObserver implements DockHierarchyListener{
     }
 	
     /**
-     * Fires a {@link DockHierarchyEvent} to all registered listeners.
+     * Fires a {@link DockHierarchyEvent} to all registered listeners, or only to the
+     * {@link SynchronousDockListener}s if a {@link DockEventBatch} is open.
      */
     protected void fireHierarchyChanged(){
     	if( !hierarchyListeners.isEmpty() ){
-	    	DockHierarchyEvent event = new DockHierarchyEvent( owner );
-	    	for( DockHierarchyListener listener : hierarchyListeners.toArray( new DockHierarchyListener[ hierarchyListeners.size() ] )){
-	    		listener.hierarchyChanged( event );
-	    	}
+    		boolean deferred = DockEventBatch.defer( owner.getController(), new DockEventBatch.Event( owner, DockHierarchyEvent.class ){
+    			@Override
+    			protected void deliver(){
+    				fireHierarchyChanged( false );
+    			}
+    		});
+    		if( deferred ){
+    			fireHierarchyChanged( true );
+    		}
+    		else{
+		    	DockHierarchyEvent event = new DockHierarchyEvent( owner );
+		    	for( DockHierarchyListener listener : hierarchyListeners.toArray( new DockHierarchyListener[ hierarchyListeners.size() ] )){
+		    		listener.hierarchyChanged( event );
+		    	}
+    		}
+    	}
+    }
+    
+    /**
+     * Fires a {@link DockHierarchyEvent} to all registered listeners that either are or
+     * are not {@link SynchronousDockListener}s.
+     * @param synchronous which listeners to inform
+     */
+    private void fireHierarchyChanged( boolean synchronous ){
+    	DockHierarchyEvent event = new DockHierarchyEvent( owner );
+    	for( DockHierarchyListener listener : hierarchyListeners.toArray( new DockHierarchyListener[ hierarchyListeners.size() ] )){
+    		if( DockEventBatch.isSynchronous( listener ) == synchronous ){
+    			listener.hierarchyChanged( event );
+    		}
     	}
     }
     
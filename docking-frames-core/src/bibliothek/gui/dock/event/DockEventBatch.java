@@ -0,0 +1,306 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.event;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.dockable.DockableStateListenerManager;
+
+/**
+ * An opt-in scope for delaying and merging events. Each {@link DockController} has its own batch, and
+ * a batch only affects events of elements that are registered at its controller. While a batch
+ * is {@link #open() open}, events that support batching are not delivered but collected. Events with the
+ * same source and the same kind are merged into one event, and once the outermost batch is {@link #close() closed}
+ * each remaining event is delivered exactly once, in the order in which the first event of its kind
+ * was raised.<br>
+ * Structural changes are never delayed. Before a {@link DockStation} reports that a {@link Dockable} is added or removed,
+ * the pending events of the station and of the {@link Dockable} are {@link #flush(Object) flushed}. Hence a listener
+ * never receives an event about a child after it was told that the child was removed.<br>
+ * Listeners implementing {@link SynchronousDockListener} are never affected by a batch, they
+ * always receive their events immediately.<br>
+ * Batches only affect events raised on the <code>EventDispatchThread</code>, events raised by other
+ * threads are always delivered immediately. Batches can be nested, and clients must always call
+ * {@link #close()} once for each call to {@link #open()}, ideally in a <code>finally</code> block.<br>
+ * Currently the {@link DockHierarchyListener}s and the {@link DockStationListener}s are batched. The
+ * {@link DockableStateListenerManager} is not batched directly, it already merges its events and it
+ * receives its input from batched listeners.
+ * @author Benjamin Sigg
+ */
+public class DockEventBatch {
+	/** how often {@link #open()} was called without a matching {@link #close()} */
+	private int level = 0;
+	
+	/** the events that are waiting to be delivered */
+	private Map<Key, Event> pending = new LinkedHashMap<Key, Event>();
+	
+	/** the keys of {@link #pending} grouped by their source */
+	private Map<Object, List<Key>> sources = new IdentityHashMap<Object, List<Key>>();
+	
+	/**
+	 * Gets the batch of <code>controller</code>.
+	 * @param controller the controller whose batch is requested, can be <code>null</code>
+	 * @return the batch or <code>null</code> if <code>controller</code> is <code>null</code>
+	 */
+	public static DockEventBatch get( DockController controller ){
+		if( controller == null ){
+			return null;
+		}
+		return controller.getEventBatch();
+	}
+	
+	/**
+	 * Opens a new batch, until the batch is {@link #close() closed} events will be collected
+	 * instead of delivered.
+	 */
+	public void open(){
+		level++;
+	}
+	
+	/**
+	 * Closes a batch that was opened by {@link #open()}. If this was the outermost batch, then
+	 * all the collected events are delivered now.
+	 * @throws IllegalStateException if no batch is open
+	 */
+	public void close(){
+		if( level <= 0 ){
+			throw new IllegalStateException( "no batch is open" );
+		}
+		if( --level == 0 ){
+			flush();
+		}
+	}
+	
+	/**
+	 * Tells whether a batch is currently open.
+	 * @return <code>true</code> if {@link #open()} was called more often than {@link #close()}
+	 */
+	public boolean isOpen(){
+		return level > 0;
+	}
+	
+	/**
+	 * Tells whether <code>listener</code> always has to be called immediately.
+	 * @param listener some listener
+	 * @return <code>true</code> if <code>listener</code> is a {@link SynchronousDockListener}
+	 */
+	public static boolean isSynchronous( Object listener ){
+		return listener instanceof SynchronousDockListener;
+	}
+	
+	/**
+	 * Tries to delay <code>event</code> using the batch of <code>controller</code>.
+	 * @param controller the controller of the element that raised <code>event</code>, can be <code>null</code>
+	 * @param event the event to delay, not <code>null</code>
+	 * @return <code>true</code> if the event was delayed, <code>false</code> if the caller has to deliver the event
+	 * @see #defer(Event)
+	 */
+	public static boolean defer( DockController controller, Event event ){
+		DockEventBatch batch = get( controller );
+		if( batch == null ){
+			return false;
+		}
+		return batch.defer( event );
+	}
+	
+	/**
+	 * Tries to delay <code>event</code>. If there is already an event with the same source and kind
+	 * waiting, then the two events are {@link Event#merge(Event) merged}. The caller remains responsible
+	 * for informing all the {@link SynchronousDockListener}s.
+	 * @param event the event to delay, not <code>null</code>
+	 * @return <code>true</code> if the event was delayed and will be {@link Event#deliver() delivered} later,
+	 * <code>false</code> if no batch is open and the caller has to deliver the event by itself
+	 */
+	public boolean defer( Event event ){
+		if( level == 0 || !EventQueue.isDispatchThread() ){
+			return false;
+		}
+		Key key = new Key( event.getSource(), event.getKind() );
+		Event previous = pending.get( key );
+		if( previous == null ){
+			pending.put( key, event );
+			List<Key> keys = sources.get( key.source );
+			if( keys == null ){
+				keys = new ArrayList<Key>( 2 );
+				sources.put( key.source, keys );
+			}
+			keys.add( key );
+		}
+		else{
+			pending.put( key, previous.merge( event ) );
+		}
+		return true;
+	}
+	
+	/**
+	 * Delivers all the events of <code>source</code> that are waiting. This method is called before
+	 * a structural change that involves <code>source</code> is reported.
+	 * @param source the source whose events are delivered, can be <code>null</code>
+	 */
+	public void flush( Object source ){
+		if( source == null ){
+			return;
+		}
+		List<Key> keys = sources.remove( source );
+		if( keys == null ){
+			return;
+		}
+		Event[] events = new Event[ keys.size() ];
+		for( int i = 0; i < events.length; i++ ){
+			events[i] = pending.remove( keys.get( i ) );
+		}
+		deliver( events );
+	}
+	
+	/**
+	 * Delivers all the events that are waiting.
+	 */
+	private void flush(){
+		if( pending.isEmpty() ){
+			return;
+		}
+		Event[] events = pending.values().toArray( new Event[ pending.size() ] );
+		pending.clear();
+		sources.clear();
+		deliver( events );
+	}
+	
+	/**
+	 * Delivers <code>events</code>. If an event throws an exception, the remaining
+	 * events are still delivered and the first exception is thrown afterwards.
+	 * @param events the events to deliver
+	 */
+	private void deliver( Event[] events ){
+		RuntimeException failure = null;
+		for( Event event : events ){
+			try{
+				event.deliver();
+			}
+			catch( RuntimeException e ){
+				if( failure == null ){
+					failure = e;
+				}
+			}
+		}
+		if( failure != null ){
+			throw failure;
+		}
+	}
+	
+	/**
+	 * An event that can be delayed by a {@link DockEventBatch}.
+	 * @author Benjamin Sigg
+	 */
+	public static abstract class Event{
+		private final Object source;
+		private final Object kind;
+		
+		/**
+		 * Creates a new event.
+		 * @param source the object whose state changed, compared by identity, not <code>null</code>
+		 * @param kind what kind of event this is, compared by {@link Object#equals(Object) equality}, not <code>null</code>
+		 */
+		public Event( Object source, Object kind ){
+			if( source == null ){
+				throw new IllegalArgumentException( "source must not be null" );
+			}
+			if( kind == null ){
+				throw new IllegalArgumentException( "kind must not be null" );
+			}
+			this.source = source;
+			this.kind = kind;
+		}
+		
+		/**
+		 * Gets the object whose state changed.
+		 * @return the source
+		 */
+		public Object getSource(){
+			return source;
+		}
+		
+		/**
+		 * Gets the kind of this event.
+		 * @return the kind
+		 */
+		public Object getKind(){
+			return kind;
+		}
+		
+		/**
+		 * Merges this event with a <code>later</code> event of the same source and kind. The default
+		 * implementation just returns <code>later</code>.
+		 * @param later the newer event
+		 * @return the event that replaces this and <code>later</code>
+		 */
+		protected Event merge( Event later ){
+			return later;
+		}
+		
+		/**
+		 * Informs all the listeners which are not {@link SynchronousDockListener}s about this event.
+		 */
+		protected abstract void deliver();
+	}
+	
+	/**
+	 * The key under which {@link Event}s are merged.
+	 * @author Benjamin Sigg
+	 */
+	private static class Key{
+		private final Object source;
+		private final Object kind;
+		
+		public Key( Object source, Object kind ){
+			this.source = source;
+			this.kind = kind;
+		}
+		
+		@Override
+		public int hashCode(){
+			return System.identityHashCode( source ) * 31 + kind.hashCode();
+		}
+		
+		@Override
+		public boolean equals( Object obj ){
+			if( obj == this ){
+				return true;
+			}
+			if( !(obj instanceof Key) ){
+				return false;
+			}
+			Key other = (Key)obj;
+			return other.source == source && other.kind.equals( kind );
+		}
+	}
+}
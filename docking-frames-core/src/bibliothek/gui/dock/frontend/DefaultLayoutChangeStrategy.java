@@ -43,10 +43,12 @@ import bibliothek.gui.dock.DockElement;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.layout.AdjacentDockFactory;
 import bibliothek.gui.dock.layout.DockLayoutComposition;
+import bibliothek.gui.dock.layout.DockLayoutDiff;
 import bibliothek.gui.dock.layout.DockSituation;
 import bibliothek.gui.dock.layout.DockSituationIgnore;
 import bibliothek.gui.dock.layout.DockableProperty;
 import bibliothek.gui.dock.layout.DockablePropertyFactory;
+import bibliothek.gui.dock.layout.LazyDockLayoutComposition;
 import bibliothek.gui.dock.layout.PredefinedDockSituation;
 import bibliothek.gui.dock.layout.PropertyTransformer;
 import bibliothek.gui.dock.perspective.PerspectiveElement;
@@ -64,6 +66,28 @@ import bibliothek.util.xml.XException;
 public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
 	private boolean updatingFullLayout = false;
 	
+	/** whether elements that already have the correct layout are reused */
+	private boolean reuseUnchangedElements = false;
+	
+	/**
+	 * Sets whether elements which already have the correct layout are reused when a new layout is applied,
+	 * instead of rebuilding the entire tree of {@link DockStation}s. Reused elements keep their displayers, titles
+	 * and tabs. The final layout is the same in both cases. This feature is disabled by default.
+	 * @param reuseUnchangedElements whether to call {@link #createDiff(DockFrontendInternals, DockSituation, SettingAccess)}
+	 */
+	public void setReuseUnchangedElements( boolean reuseUnchangedElements ){
+		this.reuseUnchangedElements = reuseUnchangedElements;
+	}
+	
+	/**
+	 * Tells whether elements which already have the correct layout are reused.
+	 * @return whether unchanged elements are reused
+	 * @see #setReuseUnchangedElements(boolean)
+	 */
+	public boolean isReuseUnchangedElements(){
+		return reuseUnchangedElements;
+	}
+	
 	public boolean setLayout( DockFrontendInternals frontend, Setting setting, boolean entry ) throws IOException, XException{
 		try{
 			updatingFullLayout = true;
@@ -106,16 +130,67 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
         	return false;
         }
         
+        // find the elements that already have the correct layout
+        DockLayoutDiff diff = null;
+        if( isReuseUnchangedElements() ){
+        	diff = createDiff( frontend, situation, access );
+        }
+        if( diff != null && !diff.isEmpty() ){
+        	ignore = diff.createIgnore( ignore );
+        	situation.setLayoutDiff( diff );
+        }
+        
         // split up all child parent relations
         frontend.clean( ignore );
+        if( diff != null && !diff.isEmpty() ){
+        	for( Dockable child : diff.getChangedChildren() ){
+        		DockStation station = child.asDockStation();
+        		if( station != null ){
+        			frontend.clean( station, ignore );
+        		}
+        	}
+        }
         
         // apply the new layout
         applyLayout( frontend, situation, access, entry );
+        situation.setLayoutDiff( null );
         applyInvisibleLayout( frontend, situation, access );
         
         return true;
 	}
 	
+	/**
+	 * Compares the current layout of <code>frontend</code> with the layout described by <code>setting</code>. The 
+	 * {@link DockStation}s which already have the correct layout are neither cleaned up nor rebuilt when applying
+	 * <code>setting</code>, hence their children keep their displayers, titles and tabs. Stations which keep their
+	 * own layout only get the children replaced that changed. Elements which have a different layout, or are of a 
+	 * different type, are rebuilt.<br>
+	 * This method is only called if {@link #isReuseUnchangedElements()} is <code>true</code>.
+	 * @param frontend the caller of this method
+	 * @param situation the situation that is used to apply <code>setting</code>
+	 * @param setting the new layout
+	 * @return the comparison of the current and the new layout, or <code>null</code> if all the elements 
+	 * should be rebuilt
+	 * @throws IOException if the layout cannot be read
+	 * @throws XException if the layout cannot be read
+	 */
+	protected DockLayoutDiff createDiff( DockFrontendInternals frontend, DockSituation situation, SettingAccess setting ) throws IOException, XException{
+		DockLayoutDiff diff = new DockLayoutDiff( situation );
+		RootInfo[] roots = frontend.getRoots();
+		
+		for( RootInfo info : roots ){
+			diff.addCurrent( info.getStation() );
+		}
+		for( RootInfo info : roots ){
+			DockLayoutComposition layout = setting.getRoot( info.getName() );
+			if( layout != null ){
+				diff.addTarget( info.getStation(), situation.fillMissing( layout ) );
+			}
+		}
+		
+		return diff;
+	}
+	
 	/**
 	 * Creates a wrapper around <code>setting</code> that allows the algorithm of this 
 	 * {@link LayoutChangeStrategy} to access the setting.
@@ -554,12 +629,13 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
 		}
     	
         /**
-         * Gets the layout of a root.
+         * Gets the layout of a root. Layouts which were read lazily and whose data cannot be
+         * decoded are ignored.
          * @param root the root
          * @return the layout or <code>null</code>
          */
         public DockLayoutComposition getRoot( String root ){
-            return setting.getRoot( root );
+            return decodable( setting.getRoot( root ) );
         }
         
         /**
@@ -606,12 +682,26 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
         }
         
         /**
-         * Gets the layout of the index'th invisible element.
+         * Gets the layout of the index'th invisible element. Layouts which were read lazily and 
+         * whose data cannot be decoded are ignored.
          * @param index the index of the layout
          * @return associated information, may be <code>null</code>
          */
         public DockLayoutComposition getInvisibleLayout( int index ){
-            return setting.getInvisibleLayout( index );
+            return decodable( setting.getInvisibleLayout( index ) );
+        }
+        
+        /**
+         * Filters out layouts which were {@link LazyDockLayoutComposition read lazily} and which
+         * cannot be decoded. Reading the layouts eagerly would have failed, applying them is not possible.
+         * @param layout the layout to check, may be <code>null</code>
+         * @return <code>layout</code> or <code>null</code>
+         */
+        private DockLayoutComposition decodable( DockLayoutComposition layout ){
+            if( LazyDockLayoutComposition.isCorrupt( layout )){
+                return null;
+            }
+            return layout;
         }
         
         /**
@@ -26,6 +26,7 @@
 package bibliothek.gui.dock.frontend;
 
 import bibliothek.gui.DockFrontend;
+import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.DockFrontend.DockInfo;
 import bibliothek.gui.DockFrontend.RootInfo;
@@ -54,6 +55,14 @@ public interface DockFrontendInternals {
      */
     public void clean( DockSituationIgnore ignore );
     
+    /**
+     * Removes recursively all children from <code>station</code>, but only if the
+     * children are not filtered by <code>ignore</code>.
+     * @param station the station to clean
+     * @param ignore a filter, never <code>null</code>
+     */
+    public void clean( DockStation station, DockSituationIgnore ignore );
+    
     /**
      * Gets information about all the roots that are registered.
      * @return all the roots
@@ -136,6 +136,23 @@ public class Setting{
         return dockables.get( index ).layout;
     }
     
+    /**
+     * Layouts are read lazily by {@link #read(DockSituation, PropertyTransformer, boolean, DataInputStream)}
+     * and {@link #readXML(DockSituation, PropertyTransformer, boolean, XElement)}, they are decoded
+     * the first time they are accessed. This method decodes all of them right now, which allows
+     * clients to choose the thread on which the work is done.
+     */
+    public void decode(){
+        for( DockLayoutComposition root : roots.values() ){
+            root.getLayout();
+        }
+        for( Invisible invisible : dockables ){
+            if( invisible.layout != null ){
+                invisible.layout.getLayout();
+            }
+        }
+    }
+    
     /**
      * Using the factories given by <code>situation</code>, this method tries
      * to fill any gaps in the layout.
@@ -280,7 +297,7 @@ public class Setting{
         int count = in.readInt();
         for( int i = 0; i < count; i++ ){
             String root = in.readUTF();
-            DockLayoutComposition layout = situation.readComposition( in );
+            DockLayoutComposition layout = situation.readLazyComposition( in );
             if( layout != null ){
                 putRoot( root, layout );
             }
@@ -313,7 +330,7 @@ public class Setting{
             DockLayoutComposition layout = null;
             if( version7 ){
                 if( in.readBoolean() ){
-                    layout = situation.readComposition( in );
+                    layout = situation.readLazyComposition( in );
                 }
             }
             
@@ -341,7 +358,7 @@ public class Setting{
         if( xroots != null ){
             for( XElement xroot : xroots.getElements( "root" )){
                 String name = xroot.getString( "name" );
-                DockLayoutComposition composition = situation.readCompositionXML( xroot );
+                DockLayoutComposition composition = situation.readLazyCompositionXML( xroot );
                 if( composition != null ){
                     putRoot( name, composition );
                 }
@@ -382,7 +399,7 @@ public class Setting{
                     
                     XElement xlayout = xchild.getElement( "layout" );
                     if( xlayout != null ){
-                        layout = situation.readCompositionXML( xlayout );
+                        layout = situation.readLazyCompositionXML( xlayout );
                     }
                 }
                 
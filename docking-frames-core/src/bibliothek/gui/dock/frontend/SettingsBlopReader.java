@@ -0,0 +1,172 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.frontend;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.dock.layout.DockSituation;
+import bibliothek.gui.dock.layout.PropertyTransformer;
+import bibliothek.util.Version;
+import bibliothek.util.xml.XAttribute;
+import bibliothek.util.xml.XElement;
+
+/**
+ * Reads {@link SettingsBlop}s in the format of {@link DockFrontend#readBlop(DataInputStream)} and
+ * {@link DockFrontend#readBlopXML(XElement)}, using a snapshot of the factories of a {@link DockFrontend}.
+ * A reader is created by {@link DockFrontend#createBlopReader()} on the EventDispatchThread, afterwards it
+ * no longer accesses the frontend and can be used on any thread.<br>
+ * The reader only copies the layouts of the {@link Setting}s, it does not decode them. Decoding calls the
+ * {@link bibliothek.gui.dock.DockFactory}s and happens the first time a layout is accessed, usually when the
+ * {@link Setting} is applied on the EventDispatchThread.
+ * @author Benjamin Sigg
+ */
+public class SettingsBlopReader {
+	/** the situation used for ordinary entries */
+	private final DockSituation entrySituation;
+
+	/** the situation used for the final setting */
+	private final DockSituation finalSituation;
+
+	/** converts the locations of invisible elements */
+	private final PropertyTransformer transformer;
+
+	/**
+	 * Creates a new reader.
+	 * @param entrySituation the situation used to read ordinary entries, not <code>null</code>
+	 * @param finalSituation the situation used to read the final setting, not <code>null</code>
+	 * @param transformer the transformer used to read locations, not <code>null</code>
+	 */
+	public SettingsBlopReader( DockSituation entrySituation, DockSituation finalSituation, PropertyTransformer transformer ){
+		if( entrySituation == null ){
+			throw new IllegalArgumentException( "entrySituation must not be null" );
+		}
+		if( finalSituation == null ){
+			throw new IllegalArgumentException( "finalSituation must not be null" );
+		}
+		if( transformer == null ){
+			throw new IllegalArgumentException( "transformer must not be null" );
+		}
+		this.entrySituation = entrySituation;
+		this.finalSituation = finalSituation;
+		this.transformer = transformer;
+	}
+
+	/**
+	 * Reads the contents of <code>in</code>.
+	 * @param in the stream to read from
+	 * @return the {@link Setting}s that were read
+	 * @throws IOException if <code>in</code> cannot be read properly
+	 * @see DockFrontend#readBlop(DataInputStream)
+	 */
+	public SettingsBlop read( DataInputStream in ) throws IOException{
+		SettingsBlop blop = new SettingsBlop();
+
+		Version version = Version.read( in );
+		version.checkCurrent();
+
+		String currentSetting = null;
+
+		if( in.readBoolean() )
+			currentSetting = in.readUTF();
+
+		int count = in.readInt();
+		for( int i = 0; i < count; i++ ){
+			String key = in.readUTF();
+			Setting setting = read( true, in );
+			blop.put( key, setting );
+		}
+
+		blop.setCurrent( currentSetting, read( false, in ) );
+		return blop;
+	}
+
+	/**
+	 * Reads the contents of <code>element</code>.
+	 * @param element the element to read
+	 * @return the {@link Setting}s that were read
+	 * @see DockFrontend#readBlopXML(XElement)
+	 */
+	public SettingsBlop readXML( XElement element ){
+		SettingsBlop blop = new SettingsBlop();
+
+		XElement xsettings = element.getElement( "settings" );
+		if( xsettings != null ){
+			for( XElement xsetting : xsettings.getElements( "setting" )){
+				String key = xsetting.getString( "name" );
+				Setting setting = readXML( true, xsetting );
+				blop.put( key, setting );
+			}
+		}
+
+		XElement xcurrent = element.getElement( "current" );
+		if( xcurrent != null ){
+			XAttribute xname = xcurrent.getAttribute( "name" );
+			String name = null;
+			if( xname != null ){
+				name = xname.getString();
+			}
+
+			blop.setCurrent( name, readXML( false, xcurrent ) );
+		}
+		return blop;
+	}
+
+	/**
+	 * Creates a new {@link Setting} and reads its content from <code>in</code>.
+	 * @param entry whether the setting is an ordinary entry or the final setting
+	 * @param in the stream to read from
+	 * @return the new setting
+	 * @throws IOException if an I/O-error occurs
+	 */
+	protected Setting read( boolean entry, DataInputStream in ) throws IOException{
+		Setting setting = createSetting();
+		setting.read( entry ? entrySituation : finalSituation, transformer, entry, in );
+		return setting;
+	}
+
+	/**
+	 * Creates a new {@link Setting} and reads its content from <code>element</code>.
+	 * @param entry whether the setting is an ordinary entry or the final setting
+	 * @param element the element to read from
+	 * @return the new setting
+	 */
+	protected Setting readXML( boolean entry, XElement element ){
+		Setting setting = createSetting();
+		setting.readXML( entry ? entrySituation : finalSituation, transformer, entry, element );
+		return setting;
+	}
+
+	/**
+	 * Creates a new, empty {@link Setting}. This method may be called on any thread, subclasses
+	 * must not access any state that could be modified concurrently.
+	 * @return the new setting
+	 */
+	protected Setting createSetting(){
+		return new Setting();
+	}
+}
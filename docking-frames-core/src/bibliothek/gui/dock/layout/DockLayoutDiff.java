@@ -0,0 +1,666 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.layout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DockElement;
+import bibliothek.gui.dock.perspective.PerspectiveElement;
+import bibliothek.gui.dock.perspective.PerspectiveStation;
+
+/**
+ * A {@link DockLayoutDiff} compares the current tree of {@link DockElement}s with a set of
+ * {@link DockLayoutComposition}s that are about to be applied. It finds three kinds of elements:
+ * <ul>
+ *  <li><b>unchanged</b> elements, whose subtree already has exactly the layout described by some composition. 
+ *  Unchanged elements can be reused as they are, or moved to their new parent as a whole.</li>
+ *  <li><b>stable</b> stations, which stay at their location and whose own layout does not change, but some of 
+ *  whose children change. Only the children that change are replaced.</li>
+ *  <li>all the other elements, which are rebuilt.</li>
+ * </ul>
+ * This preserves displayers, titles and tabs of all the elements that do not change.<br>
+ * Two layouts are considered to be equal if the {@link DockSituation} would write the same bytes
+ * for them. A composition which cannot be written is always considered to be changed.<br>
+ * Clients first call {@link #addCurrent(DockElement)} for all the roots of the current layout, then
+ * {@link #addTarget(DockElement, DockLayoutComposition)} for all the roots of the new layout. Afterwards 
+ * {@link #createIgnore(DockSituationIgnore)} can be used to clean up the old layout without 
+ * touching the reused elements, {@link #getChangedChildren()} tells which children of stable stations need
+ * to be cleaned up as well, and {@link DockSituation#setLayoutDiff(DockLayoutDiff)} tells the
+ * situation to reuse the elements when {@link DockSituation#convert(DockLayoutComposition) converting} the 
+ * new layout.<br>
+ * The {@link bibliothek.gui.dock.frontend.DefaultLayoutChangeStrategy} only creates a diff if
+ * {@link bibliothek.gui.dock.frontend.DefaultLayoutChangeStrategy#setReuseUnchangedElements(boolean) enabled}.
+ * @author Benjamin Sigg
+ */
+public class DockLayoutDiff {
+	/** the situation used to convert and compare layouts */
+	private DockSituation situation;
+	
+	/** cache of the signatures of compositions that were already analyzed */
+	private Map<DockLayoutComposition, Signature> signatures = new IdentityHashMap<DockLayoutComposition, Signature>();
+	
+	/** the signatures of all the elements of the current layout */
+	private Map<DockElement, Signature> elements = new IdentityHashMap<DockElement, Signature>();
+	
+	/** stations of the current layout that were not yet paired with some composition */
+	private Map<Signature, List<DockElement>> available = new HashMap<Signature, List<DockElement>>();
+	
+	/** elements that have the same layout as some composition of the new layout */
+	private Map<Signature, List<DockElement>> unchanged = new HashMap<Signature, List<DockElement>>();
+	
+	/** the same elements as in {@link #unchanged} */
+	private Map<DockElement, Boolean> unchangedElements = new IdentityHashMap<DockElement, Boolean>();
+	
+	/** stations that keep their location and their own layout, but not all of their children */
+	private Map<Signature, List<DockStation>> stable = new HashMap<Signature, List<DockStation>>();
+	
+	/** the stations of {@link #stable}, and for each index of a child in the new layout the current child at that location */
+	private Map<DockElement, Dockable[]> stableElements = new IdentityHashMap<DockElement, Dockable[]>();
+	
+	/** the maximum number of changed children of a stable station for which the order of the children is guessed */
+	private static final int MAX_PERMUTATION = 4;
+	
+	/** children of stable stations that are going to be replaced */
+	private List<Dockable> changedChildren = new ArrayList<Dockable>();
+	
+	/**
+	 * Creates a new diff.
+	 * @param situation the situation which is used to convert the current layout and which
+	 * will be used to apply the new layout
+	 */
+	public DockLayoutDiff( DockSituation situation ){
+		if( situation == null )
+			throw new IllegalArgumentException( "situation must not be null" );
+		this.situation = situation;
+	}
+	
+	/**
+	 * Adds <code>root</code> and all its children to the set of elements that may be reused.
+	 * @param root one of the roots of the current layout
+	 */
+	public void addCurrent( DockElement root ){
+		DockLayoutComposition composition = situation.convert( root );
+		if( composition != null ){
+			addCurrent( root, composition, true );
+		}
+	}
+	
+	private void addCurrent( DockElement element, DockLayoutComposition composition, boolean root ){
+		Signature signature = signature( composition );
+		DockStation station = element.asDockStation();
+		
+		if( signature != null ){
+			elements.put( element, signature );
+			if( root || station != null ){
+				List<DockElement> list = available.get( signature );
+				if( list == null ){
+					list = new LinkedList<DockElement>();
+					available.put( signature, list );
+				}
+				list.add( element );
+			}
+		}
+		
+		if( station != null && !composition.isIgnoreChildren() ){
+			List<DockLayoutComposition> children = composition.getChildren();
+			List<Dockable> dockables = getChildren( station );
+			for( int i = 0, n = Math.min( children.size(), dockables.size() ); i<n; i++ ){
+				addCurrent( dockables.get( i ), children.get( i ), false );
+			}
+		}
+	}
+	
+	/**
+	 * Gets all the children of <code>station</code> that are not ignored, in the same order
+	 * as {@link DockSituation#convert(DockElement)} stores them.
+	 * @param station the station whose children are searched
+	 * @return the children
+	 */
+	private List<Dockable> getChildren( DockStation station ){
+		List<Dockable> result = new ArrayList<Dockable>( station.getDockableCount() );
+		for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
+			Dockable dockable = station.getDockable( i );
+			if( !situation.ignoreElement( dockable )){
+				result.add( dockable );
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Compares the current root <code>element</code> with the layout <code>root</code> it is
+	 * going to have. Elements that keep their location and their layout are marked as unchanged or
+	 * stable, elements that just moved are marked as unchanged as well.
+	 * @param element one of the roots of the current layout
+	 * @param root the new layout of <code>element</code>
+	 */
+	public void addTarget( DockElement element, DockLayoutComposition root ){
+		compare( element, root );
+	}
+	
+	/**
+	 * Compares <code>element</code> with <code>target</code>, assuming that <code>element</code>
+	 * is at the location that is described by <code>target</code>.
+	 * @param element the current element
+	 * @param target the new layout at the location of <code>element</code>
+	 */
+	private void compare( DockElement element, DockLayoutComposition target ){
+		Signature current = elements.get( element );
+		Signature next = signature( target );
+		
+		if( current == null || next == null || !isFree( element )){
+			search( target );
+			return;
+		}
+		
+		if( current.equals( next )){
+			markUnchanged( element, next );
+			return;
+		}
+		
+		DockStation station = element.asDockStation();
+		if( station != null && !target.isIgnoreChildren() && current.children.length == next.children.length ){
+			Dockable[] pairing = pair( station, target, next );
+			if( pairing != null ){
+				remove( element );
+				stableElements.put( element, pairing );
+				List<DockStation> list = stable.get( next );
+				if( list == null ){
+					list = new LinkedList<DockStation>();
+					stable.put( next, list );
+				}
+				list.add( station );
+				
+				List<DockLayoutComposition> children = target.getChildren();
+				for( int i = 0; i < pairing.length; i++ ){
+					compare( pairing[i], children.get( i ) );
+					changedChildren.add( pairing[i] );
+				}
+				return;
+			}
+		}
+		
+		search( target );
+	}
+	
+	/**
+	 * Tries to find out which child of <code>station</code> is at the location of which child of 
+	 * <code>target</code>, assuming that <code>station</code> keeps its own layout. Children which do not
+	 * change are paired first, the remaining children are paired such that the layout of <code>station</code>
+	 * is the same as described by <code>target</code>.
+	 * @param station the current station
+	 * @param target the new layout of <code>station</code>
+	 * @param signature the signature of <code>target</code>
+	 * @return for each child of <code>target</code> the matching child of <code>station</code>, or <code>null</code>
+	 * if the station does not keep its own layout
+	 */
+	private Dockable[] pair( DockStation station, DockLayoutComposition target, Signature signature ){
+		List<Dockable> dockables = getChildren( station );
+		List<DockLayoutComposition> children = target.getChildren();
+		int count = children.size();
+		if( dockables.size() != count ){
+			return null;
+		}
+		
+		Dockable[] pairing = new Dockable[ count ];
+		List<Dockable> remaining = new LinkedList<Dockable>( dockables );
+		List<Integer> open = new ArrayList<Integer>();
+		
+		for( int i = 0; i < count; i++ ){
+			Signature childSignature = signature.children[i];
+			Iterator<Dockable> iterator = remaining.iterator();
+			while( iterator.hasNext() ){
+				Dockable child = iterator.next();
+				if( childSignature.equals( elements.get( child ) ) && isFree( child )){
+					pairing[i] = child;
+					iterator.remove();
+					break;
+				}
+			}
+			if( pairing[i] == null ){
+				open.add( i );
+			}
+		}
+		
+		if( open.size() > MAX_PERMUTATION ){
+			return null;
+		}
+		
+		Dockable[] free = remaining.toArray( new Dockable[ remaining.size() ] );
+		if( permute( station, signature, pairing, open, free, 0 )){
+			return pairing;
+		}
+		return null;
+	}
+	
+	/**
+	 * Tries out all the possible locations for the children in <code>free</code>, and checks whether
+	 * the layout of <code>station</code> would then be the same as described by <code>signature</code>. 
+	 * @param station the station whose children are paired
+	 * @param signature the signature of the new layout of <code>station</code>
+	 * @param pairing the current pairing, will be filled up by this method
+	 * @param open the indices of <code>pairing</code> that still need a child
+	 * @param free the children that still need a location, <code>null</code> entries are already used
+	 * @param index the index in <code>open</code> that needs to be filled next
+	 * @return whether a valid pairing was found
+	 */
+	private boolean permute( DockStation station, Signature signature, Dockable[] pairing, List<Integer> open, Dockable[] free, int index ){
+		if( index == open.size() ){
+			return Arrays.equals( signature.entry, entry( station, pairing ) );
+		}
+		for( int i = 0; i < free.length; i++ ){
+			Dockable child = free[i];
+			if( child != null ){
+				free[i] = null;
+				pairing[ open.get( index ) ] = child;
+				if( permute( station, signature, pairing, open, free, index+1 )){
+					return true;
+				}
+				free[i] = child;
+			}
+		}
+		pairing[ open.get( index ) ] = null;
+		return false;
+	}
+	
+	/**
+	 * Writes the layout of <code>station</code> assuming the children are ordered as in <code>pairing</code>.
+	 * @param station the station to write
+	 * @param pairing the children of the station
+	 * @return the layout of the station alone, or <code>null</code> if the layout cannot be written
+	 */
+	private byte[] entry( DockStation station, Dockable[] pairing ){
+		try{
+			Map<Dockable, Integer> ids = new HashMap<Dockable, Integer>();
+			for( int i = 0; i < pairing.length; i++ ){
+				ids.put( pairing[i], i );
+			}
+			DockLayoutComposition composition = situation.convert( station, situation.getElementFactory( station ), ids, new ArrayList<DockLayoutComposition>(), false );
+			return write( composition );
+		}
+		catch( IOException ex ){
+			return null;
+		}
+		catch( RuntimeException ex ){
+			return null;
+		}
+	}
+	
+	/**
+	 * Writes the layout of <code>composition</code>, but not the layout of its children.
+	 * @param composition the composition to write
+	 * @return the layout
+	 * @throws IOException if the composition cannot be written
+	 */
+	private byte[] write( DockLayoutComposition composition ) throws IOException{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream( bytes );
+		situation.writeCompositionEntry( composition, out );
+		out.close();
+		return bytes.toByteArray();
+	}
+	
+	/**
+	 * Searches elements of the current layout that match <code>target</code> or some of its
+	 * children, and marks them as unchanged.
+	 * @param target some part of the new layout
+	 */
+	private void search( DockLayoutComposition target ){
+		Signature signature = signature( target );
+		if( signature != null ){
+			List<DockElement> list = available.get( signature );
+			if( list != null ){
+				for( DockElement element : list ){
+					if( isFree( element ) ){
+						markUnchanged( element, signature );
+						return;
+					}
+				}
+			}
+		}
+		
+		for( DockLayoutComposition child : target.getChildren() ){
+			search( child );
+		}
+	}
+	
+	/**
+	 * Marks <code>element</code> as unchanged.
+	 * @param element the element which will not change
+	 * @param signature the signature of <code>element</code>
+	 */
+	private void markUnchanged( DockElement element, Signature signature ){
+		remove( element );
+		claim( element );
+		
+		List<DockElement> result = unchanged.get( signature );
+		if( result == null ){
+			result = new LinkedList<DockElement>();
+			unchanged.put( signature, result );
+		}
+		result.add( element );
+		unchangedElements.put( element, Boolean.TRUE );
+	}
+	
+	/**
+	 * Tells whether neither <code>element</code> nor any of its children is already
+	 * marked as unchanged or stable.
+	 * @param element the element to check
+	 * @return <code>true</code> if <code>element</code> can be reused
+	 */
+	private boolean isFree( DockElement element ){
+		if( unchangedElements.containsKey( element ) || stableElements.containsKey( element )){
+			return false;
+		}
+		DockStation station = element.asDockStation();
+		if( station != null ){
+			for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
+				if( !isFree( station.getDockable( i ) )){
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Removes <code>element</code> from the set of available elements.
+	 * @param element the element that is no longer available
+	 */
+	private void remove( DockElement element ){
+		Signature signature = elements.get( element );
+		if( signature != null ){
+			List<DockElement> list = available.get( signature );
+			if( list != null ){
+				list.remove( element );
+			}
+		}
+	}
+	
+	/**
+	 * Removes all the children of <code>element</code> from the set of available elements.
+	 * @param element the element which is going to be reused
+	 */
+	private void claim( DockElement element ){
+		DockStation station = element.asDockStation();
+		if( station != null ){
+			for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
+				Dockable child = station.getDockable( i );
+				remove( child );
+				claim( child );
+			}
+		}
+	}
+	
+	/**
+	 * Tells whether <code>element</code> already has the layout it will have in the new layout.
+	 * @param element the element to check
+	 * @return <code>true</code> if <code>element</code> and its children do not need to be changed
+	 */
+	public boolean isUnchanged( DockElement element ){
+		return unchangedElements.containsKey( element );
+	}
+	
+	/**
+	 * Tells whether <code>element</code> is a station that stays at its location and keeps its own
+	 * layout, but some of whose children change.
+	 * @param element the element to check
+	 * @return <code>true</code> if only some children of <code>element</code> need to be replaced
+	 */
+	public boolean isStable( DockElement element ){
+		return stableElements.containsKey( element );
+	}
+	
+	/**
+	 * Tells whether any element was found that does not need to be rebuilt.
+	 * @return <code>false</code> if at least one element can be reused
+	 */
+	public boolean isEmpty(){
+		return unchangedElements.isEmpty() && stableElements.isEmpty();
+	}
+	
+	/**
+	 * Gets all the children of {@link #isStable(DockElement) stable} stations that are
+	 * neither unchanged nor stable themselves. These children will be replaced, but their own
+	 * children are not cleaned up by the filter of {@link #createIgnore(DockSituationIgnore)}.
+	 * @return the children which are going to be replaced
+	 */
+	public Dockable[] getChangedChildren(){
+		List<Dockable> result = new ArrayList<Dockable>( changedChildren.size() );
+		for( Dockable child : changedChildren ){
+			// the child may have been reused at another location
+			if( !isUnchanged( child ) && !isStable( child )){
+				result.add( child );
+			}
+		}
+		return result.toArray( new Dockable[ result.size() ] );
+	}
+	
+	/**
+	 * Searches an element that already has the layout described by <code>composition</code>. Each
+	 * element is returned at most once.
+	 * @param composition some composition of the new layout
+	 * @return the element that can be reused without changing it, or <code>null</code>
+	 */
+	public DockElement getUnchanged( DockLayoutComposition composition ){
+		return poll( unchanged, composition );
+	}
+	
+	/**
+	 * Searches a {@link #isStable(DockElement) stable} station whose new layout is <code>composition</code>. 
+	 * Each station is returned at most once.
+	 * @param composition some composition of the new layout
+	 * @return the station that only needs some new children, or <code>null</code>
+	 */
+	public DockStation getStable( DockLayoutComposition composition ){
+		return poll( stable, composition );
+	}
+	
+	private <T> T poll( Map<Signature, List<T>> map, DockLayoutComposition composition ){
+		if( map.isEmpty() ){
+			return null;
+		}
+		Signature signature = signature( composition );
+		if( signature == null ){
+			return null;
+		}
+		List<T> list = map.get( signature );
+		if( list == null ){
+			return null;
+		}
+		T result = list.remove( 0 );
+		if( list.isEmpty() ){
+			map.remove( signature );
+		}
+		return result;
+	}
+	
+	/**
+	 * Replaces the children of the stable <code>station</code> by <code>children</code>. This method
+	 * first checks whether all the replacements are possible, and does not change anything if not.
+	 * @param station a station that was returned by {@link #getStable(DockLayoutComposition)}
+	 * @param children the new children, the keys are the indices of the children
+	 * @param count the number of children the station should have
+	 * @return <code>true</code> if the children were replaced, <code>false</code> if the station
+	 * has to be rebuilt
+	 */
+	boolean replaceChildren( DockStation station, Map<Integer, Dockable> children, int count ){
+		Dockable[] current = stableElements.get( station );
+		if( current == null || current.length != count || children.size() != count ){
+			return false;
+		}
+		
+		for( int i = 0; i < count; i++ ){
+			Dockable old = current[i];
+			Dockable next = children.get( i );
+			if( next == null || old.getDockParent() != station ){
+				return false;
+			}
+			if( old != next ){
+				if( next.getDockParent() == station ){
+					return false;
+				}
+				if( !station.canReplace( old, next )){
+					return false;
+				}
+			}
+		}
+		
+		for( int i = 0; i < count; i++ ){
+			Dockable old = current[i];
+			Dockable next = children.get( i );
+			if( old != next ){
+				DockStation parent = next.getDockParent();
+				if( parent != null ){
+					parent.drag( next );
+				}
+				station.replace( old, next );
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Creates a filter which ignores all the unchanged elements and the children of the stable
+	 * stations, and otherwise forwards to <code>delegate</code>. The filter can be used to remove the 
+	 * children of all the elements that are not reused.
+	 * @param delegate the filter to call for elements that are not reused, can be <code>null</code>
+	 * @return the new filter
+	 */
+	public DockSituationIgnore createIgnore( final DockSituationIgnore delegate ){
+		return new DockSituationIgnore(){
+			public boolean ignoreElement( DockElement element ){
+				if( isUnchanged( element )){
+					return true;
+				}
+				return delegate != null && delegate.ignoreElement( element );
+			}
+			
+			public boolean ignoreChildren( DockStation station ){
+				if( isStable( station )){
+					return true;
+				}
+				return delegate != null && delegate.ignoreChildren( station );
+			}
+			
+			public boolean ignoreElement( PerspectiveElement element ){
+				return delegate != null && delegate.ignoreElement( element );
+			}
+			
+			public boolean ignoreChildren( PerspectiveStation station ){
+				return delegate != null && delegate.ignoreChildren( station );
+			}
+		};
+	}
+	
+	/**
+	 * Gets the signature of <code>composition</code> and all its children.
+	 * @param composition the composition to analyze
+	 * @return the signature or <code>null</code> if <code>composition</code> cannot be written
+	 */
+	private Signature signature( DockLayoutComposition composition ){
+		if( signatures.containsKey( composition )){
+			return signatures.get( composition );
+		}
+		
+		Signature result = null;
+		try{
+			byte[] entry = write( composition );
+			
+			List<DockLayoutComposition> children = composition.getChildren();
+			List<Signature> childSignatures = new ArrayList<Signature>( children.size() );
+			for( DockLayoutComposition child : children ){
+				Signature childSignature = signature( child );
+				if( childSignature == null ){
+					childSignatures = null;
+					break;
+				}
+				childSignatures.add( childSignature );
+			}
+			
+			if( childSignatures != null ){
+				result = new Signature( entry, childSignatures.toArray( new Signature[ childSignatures.size() ] ) );
+			}
+		}
+		catch( IOException ex ){
+			// cannot be written, hence cannot be compared
+		}
+		catch( RuntimeException ex ){
+			// some factory or the layout itself is not able to write the data, same as above
+		}
+		
+		signatures.put( composition, result );
+		return result;
+	}
+	
+	/**
+	 * The encoded form of a {@link DockLayoutComposition} and all its children.
+	 * @author Benjamin Sigg
+	 */
+	private static class Signature{
+		/** the bytes written for the composition itself */
+		private final byte[] entry;
+		/** the signatures of the children */
+		private final Signature[] children;
+		/** the hash code of this signature */
+		private final int hash;
+		
+		public Signature( byte[] entry, Signature[] children ){
+			this.entry = entry;
+			this.children = children;
+			this.hash = Arrays.hashCode( entry ) * 31 + Arrays.hashCode( children );
+		}
+		
+		@Override
+		public int hashCode(){
+			return hash;
+		}
+		
+		@Override
+		public boolean equals( Object obj ){
+			if( obj == this ){
+				return true;
+			}
+			if( !(obj instanceof Signature) ){
+				return false;
+			}
+			Signature other = (Signature)obj;
+			return hash == other.hash && Arrays.equals( entry, other.entry ) && Arrays.equals( children, other.children );
+		}
+	}
+}
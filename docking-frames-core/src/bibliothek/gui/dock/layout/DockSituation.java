@@ -31,7 +31,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -103,6 +105,9 @@ public class DockSituation {
     
     /** strategy used to filter placeholders when converting the intermediate format to real {@link DockElement}s */
     private PlaceholderStrategy placeholders;
+    
+    /** elements that do not need to be converted because they already have the correct layout */
+    private DockLayoutDiff layoutDiff;
 
     /**
      * Constructs a new DockSituation and sets some factories which are
@@ -181,6 +186,24 @@ public class DockSituation {
         return ignore;
     }
     
+    /**
+     * Sets a set of existing elements which already have the layout that is described by
+     * some {@link DockLayoutComposition}s. {@link #convert(DockLayoutComposition)} will
+     * reuse these elements and their children instead of rebuilding them.
+     * @param layoutDiff the unchanged elements, can be <code>null</code>
+     */
+    public void setLayoutDiff( DockLayoutDiff layoutDiff ){
+		this.layoutDiff = layoutDiff;
+	}
+    
+    /**
+     * Gets the set of existing elements that are reused by {@link #convert(DockLayoutComposition)}.
+     * @return the unchanged elements, can be <code>null</code>
+     */
+    public DockLayoutDiff getLayoutDiff(){
+		return layoutDiff;
+	}
+    
     /**
      * Sets a strategy for deleting invalid placeholders.
      * @param placeholders the strategy, <code>null</code> for keeping all placeholders
@@ -306,10 +329,7 @@ public class DockSituation {
         if( ignoreElement( element ))
             return null;
 
-        String id = getID( element );
-        DockFactory<DockElement,?,Object> factory = (DockFactory<DockElement,?,Object>)getFactory( id );
-        if( factory == null )
-            throw new IllegalArgumentException( "Unknown factory-id: " + element.getFactoryID() );
+        DockFactory<DockElement,?,Object> factory = getElementFactory( element );
 
         DockStation station = element.asDockStation();
         Map<Dockable, Integer> ids = new HashMap<Dockable, Integer>();
@@ -332,6 +352,36 @@ public class DockSituation {
             }
         }
 
+        return convert( element, factory, ids, children, ignore );
+    }
+    
+    /**
+     * Gets the factory which is responsible for <code>element</code>.
+     * @param element the element whose factory is searched
+     * @return the factory
+     * @throws IllegalArgumentException if <code>element</code> has an unknown factory
+     */
+    @SuppressWarnings("unchecked")
+    DockFactory<DockElement,?,Object> getElementFactory( DockElement element ){
+        String id = getID( element );
+        DockFactory<DockElement,?,Object> factory = (DockFactory<DockElement,?,Object>)getFactory( id );
+        if( factory == null )
+            throw new IllegalArgumentException( "Unknown factory-id: " + element.getFactoryID() );
+        return factory;
+    }
+    
+    /**
+     * Converts the layout of <code>element</code> into a {@link DockLayoutComposition}, assuming
+     * the layouts of its children are already known.
+     * @param element the element to convert
+     * @param factory the factory to use for <code>element</code>
+     * @param ids unique identifiers for the children of <code>element</code>
+     * @param children the converted children of <code>element</code>
+     * @param ignore whether the children were ignored
+     * @return the composition
+     */
+    DockLayoutComposition convert( DockElement element, DockFactory<DockElement,?,Object> factory, Map<Dockable, Integer> ids, List<DockLayoutComposition> children, boolean ignore ){
+        String id = getID( element );
         Object data = factory.getLayout( element, ids );
         DockLayout<Object> layout = new DockLayout<Object>( id, data );
 
@@ -356,10 +406,22 @@ public class DockSituation {
      * {@link DockElement} that matches the composition.
      * @param composition the composition to analyze
      * @return the new element, can be something else then a {@link DockElement}
-     * if the factory for <code>composition</code> was not found
+     * if the factory for <code>composition</code> was not found, <code>null</code> if <code>composition</code>
+     * was {@link LazyDockLayoutComposition#isCorrupt(DockLayoutComposition) read lazily and is corrupt}
      */
     @SuppressWarnings("unchecked")
     public DockElement convert( DockLayoutComposition composition ){
+        if( layoutDiff != null ){
+            DockElement unchanged = layoutDiff.getUnchanged( composition );
+            if( unchanged != null ){
+                return unchanged;
+            }
+        }
+        
+        if( LazyDockLayoutComposition.isCorrupt( composition )){
+            return null;
+        }
+        
         DockLayoutInfo info = composition.getLayout();
         if( info == null )
             return null;
@@ -383,6 +445,7 @@ public class DockSituation {
             result = factory.layout( layout.getData(), placeholders );
         }
         else{
+            DockStation stable = layoutDiff == null ? null : layoutDiff.getStable( composition );
             children = new HashMap<Integer, Dockable>();
             int index = 0;
 
@@ -392,7 +455,7 @@ public class DockSituation {
                     Dockable dockable = child.asDockable();
                     if( dockable != null ){
                         children.put( index, dockable );
-                        if( dockable.getDockParent() != null ){
+                        if( stable == null && dockable.getDockParent() != null ){
                         	dockable.getDockParent().drag( dockable );
                         }
                     }
@@ -400,6 +463,18 @@ public class DockSituation {
 
                 index++;
             }
+            
+            if( stable != null ){
+            	if( layoutDiff.replaceChildren( stable, children, index )){
+            		// the station itself and its adjacent layouts did not change
+            		return stable;
+            	}
+            	for( Dockable dockable : children.values() ){
+            		if( dockable.getDockParent() != null ){
+            			dockable.getDockParent().drag( dockable );
+            		}
+            	}
+            }
 
             result = factory.layout( layout.getData(), children, placeholders );
         }
@@ -434,8 +509,19 @@ public class DockSituation {
      * @throws IOException if an I/O-error occurs
      */
     public void writeComposition( DockLayoutComposition composition, DataOutputStream out ) throws IOException{
+        if( composition instanceof LazyDockLayoutComposition ){
+            // a composition that was never decoded can be written in its original form
+            LazyDockLayoutComposition lazy = (LazyDockLayoutComposition)composition;
+            if( lazy.getSituation().getClass() == getClass() ){
+                byte[] raw = lazy.getRawData();
+                if( raw != null ){
+                    out.write( raw );
+                    return;
+                }
+            }
+        }
         Version.write( out, Version.VERSION_1_0_8 );
-        writeCompositionStream( composition, out );
+        writeCompositionStream( composition, out, new EntryBuffer() );
     }
 
     /**
@@ -445,11 +531,46 @@ public class DockSituation {
      * <code>this</code> {@link DockSituation} or a <code>DockSituation</code> with
      * similar properties.
      * @param out the stream to write into
+     * @param buffer used to find the size of the data written by the factories, the buffer
+     * is reused for all the entries
+     * @throws IOException if an I/O-error occurs
+     */
+    private void writeCompositionStream( DockLayoutComposition composition, DataOutputStream out, EntryBuffer buffer ) throws IOException{
+        writeCompositionEntry( composition, out, buffer );
+
+        // children
+        List<DockLayoutComposition> children = composition.getChildren();
+        out.writeInt( children.size() );
+        for( DockLayoutComposition child : children ){
+            writeCompositionStream( child, out, buffer );
+        }
+    }
+    
+    /**
+     * Writes the contents of <code>composition</code> to <code>out</code>, but not 
+     * its children.
+     * @param composition the composition to write
+     * @param out the stream to write into
+     * @throws IOException if an I/O-error occurs
+     */
+    void writeCompositionEntry( DockLayoutComposition composition, DataOutputStream out ) throws IOException{
+    	writeCompositionEntry( composition, out, new EntryBuffer() );
+    }
+    
+    /**
+     * Writes the contents of <code>composition</code> to <code>out</code>, but not 
+     * its children.
+     * @param composition the composition to write
+     * @param out the stream to write into
+     * @param buffer used to find the size of the data written by the factories
      * @throws IOException if an I/O-error occurs
      */
     @SuppressWarnings("unchecked")
-    private void writeCompositionStream( DockLayoutComposition composition, DataOutputStream out ) throws IOException{
+    private void writeCompositionEntry( DockLayoutComposition composition, DataOutputStream out, EntryBuffer buffer ) throws IOException{
         DockLayoutInfo info = composition.getLayout();
+        if( info == null ){
+            throw new IllegalArgumentException( "Cannot store layout in stream: its raw data cannot be decoded and its raw format is not a byte stream" );
+        }
         
         // placeholder
         Path placeholder = info.getPlaceholder();
@@ -472,13 +593,8 @@ public class DockSituation {
             out.writeUTF( getID( factory ) );
             
             // contents
-            ByteArrayOutputStream bout = new ByteArrayOutputStream();
-            DataOutputStream dout = new DataOutputStream( bout );
-            factory.write( layout.getData(), dout );
-            dout.close();
-
-            out.writeInt( bout.size() );
-            bout.writeTo( out );
+            factory.write( layout.getData(), buffer.begin() );
+            buffer.writeTo( out );
         }
         else{
             // there is nothing to write...
@@ -497,26 +613,15 @@ public class DockSituation {
                 if( adjacentFactory == null )
                     throw new IOException( "Missing adjacent factory: " + adjacentLayout.getFactoryID() );
 
-                ByteArrayOutputStream adjacentBOut = new ByteArrayOutputStream();
-                DataOutputStream adjacentOut = new DataOutputStream( adjacentBOut );
-                adjacentFactory.write( adjacentLayout.getData(), adjacentOut );
-                adjacentOut.close();
+                adjacentFactory.write( adjacentLayout.getData(), buffer.begin() );
 
                 out.writeUTF( getAdjacentID( adjacentFactory ) );
-                out.writeInt( adjacentBOut.size() );
-                adjacentBOut.writeTo( out );
+                buffer.writeTo( out );
             }
         }
 
         // ignore
         out.writeBoolean( composition.isIgnoreChildren() );
-
-        // children
-        List<DockLayoutComposition> children = composition.getChildren();
-        out.writeInt( children.size() );
-        for( DockLayoutComposition child : children ){
-            writeCompositionStream( child, out );
-        }
     }
 
     /**
@@ -531,6 +636,106 @@ public class DockSituation {
         return readCompositionStream( in, version );
     }
 
+    /**
+     * Reads one {@link DockLayoutComposition} and all its children, but does not yet
+     * decode the data. The stream is only scanned to find the end of the composition, no 
+     * factory is accessed. The data is decoded the first time one of the properties of the
+     * result is accessed, this way compositions that are never used do not need to be decoded.
+     * @param in the stream to read from
+     * @return the new, lazy composition
+     * @throws IOException if an I/O-error occurs
+     * @see #readComposition(DataInputStream)
+     */
+    public DockLayoutComposition readLazyComposition( DataInputStream in ) throws IOException{
+        Version version = Version.read( in );
+        version.checkCurrent();
+        
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream( raw );
+        Version.write( out, version );
+        scanCompositionStream( in, out, version );
+        out.flush();
+        
+        return new LazyDockLayoutComposition( this, raw.toByteArray() );
+    }
+    
+    /**
+     * Copies one composition and all its children from <code>in</code> to <code>out</code>
+     * without interpreting the data of the factories. The framing of the data, i.e. the sizes of the
+     * entries and the number of adjacent layouts and children, is validated.
+     * @param in the stream to read from
+     * @param out the stream to write into
+     * @param version the format of <code>in</code>
+     * @throws IOException if an I/O-error occurs or if the framing is not valid
+     */
+    private void scanCompositionStream( DataInputStream in, DataOutputStream out, Version version ) throws IOException{
+        // placeholder
+        if( Version.VERSION_1_0_8.compareTo( version ) <= 0 ){
+            boolean placeholder = in.readBoolean();
+            out.writeBoolean( placeholder );
+            if( placeholder ){
+                out.writeUTF( in.readUTF() );
+            }
+        }
+        
+        // factory
+        scanEntry( in, out );
+        
+        // adjacent
+        if( Version.VERSION_1_0_7.compareTo( version ) <= 0 ){
+            int layoutCount = in.readInt();
+            if( layoutCount < 0 ){
+                throw new IOException( "Illegal number of adjacent layouts: " + layoutCount );
+            }
+            out.writeInt( layoutCount );
+            for( int i = 0; i < layoutCount; i++ ){
+                scanEntry( in, out );
+            }
+        }
+        
+        // ignore
+        out.writeBoolean( in.readBoolean() );
+        
+        // children
+        int count = in.readInt();
+        if( count < 0 ){
+            throw new IOException( "Illegal number of children: " + count );
+        }
+        out.writeInt( count );
+        for( int i = 0; i < count; i++ ){
+            scanCompositionStream( in, out, version );
+        }
+    }
+    
+    /**
+     * Copies one entry, consisting of a factory id, the size of the data, and the data, 
+     * from <code>in</code> to <code>out</code>.
+     * @param in the stream to read from
+     * @param out the stream to write into
+     * @throws IOException if an I/O-error occurs
+     */
+    private void scanEntry( DataInputStream in, DataOutputStream out ) throws IOException{
+        out.writeUTF( in.readUTF() );
+        int count = in.readInt();
+        if( count < 0 ){
+            throw new IOException( "Illegal size of entry: " + count );
+        }
+        out.writeInt( count );
+        
+        byte[] buffer = new byte[ Math.min( count, 4096 ) ];
+        try{
+            while( count > 0 ){
+                int read = Math.min( count, buffer.length );
+                in.readFully( buffer, 0, read );
+                out.write( buffer, 0, read );
+                count -= read;
+            }
+        }
+        catch( EOFException e ){
+            throw new EOFException( "unexpectedly reached end of file inside an entry" );
+        }
+    }
+
     /**
      * Reads one {@link DockLayoutComposition} and all its children.
      * @param in the stream to read from
@@ -549,9 +754,7 @@ public class DockSituation {
 	   		}
     	}
     	
-        byte[] entry = readBuffer( in );
-
-        DockLayoutInfo info = readEntry( entry, entryPlaceholder );
+        DockLayoutInfo info = readEntry( in, entryPlaceholder );
 
         List<DockLayout<?>> adjacentLayouts = null;
         if( Version.VERSION_1_0_7.compareTo( version ) <= 0 ){
@@ -564,34 +767,22 @@ public class DockSituation {
                     String adjacentFactoryId = in.readUTF();
                     int adjacentCount = in.readInt();
                     AdjacentDockFactory<Object> adjacentFactory = (AdjacentDockFactory<Object>)getAdjacentFactory( adjacentFactoryId );
+                    EntryInputStream entryIn = new EntryInputStream( in, adjacentCount );
                     if( adjacentFactory == null ){
-                        if( missingAdjacent == null ){
-                            // skip
-                            while( adjacentCount > 0 ){
-                                int skipped = (int)in.skip( adjacentCount );
-                                if( skipped <= 0 )
-                                    throw new EOFException();
-                                adjacentCount -= skipped;
-                            }
-                        }
-                        else{
-                            DataInputStream din = readBuffer( in, adjacentCount );
-                            Object data = missingAdjacent.read( getAdjacentFactoryID( adjacentFactoryId ), din, adjacentCount );
+                        if( missingAdjacent != null ){
+                            Object data = missingAdjacent.read( getAdjacentFactoryID( adjacentFactoryId ), new DataInputStream( entryIn ), adjacentCount );
                             if( data != null ){
                                 adjacentLayouts.add( new DockLayout<Object>( adjacentFactoryId, data ) );
                             }
-                            din.close();
                         }
                     }
                     else{
-                        DataInputStream din = readBuffer( in, adjacentCount );
-                        Object data = adjacentFactory.read( din, intermediatePlaceholders );
+                        Object data = adjacentFactory.read( new DataInputStream( entryIn ), intermediatePlaceholders );
                         if( data != null ){
                             adjacentLayouts.add( new DockLayout<Object>( adjacentFactoryId, data ) );
                         }
-
-                        din.close();
                     }
+                    entryIn.skipRemaining();
                 }
             }
         }
@@ -610,6 +801,38 @@ public class DockSituation {
         return new DockLayoutComposition( info, adjacentLayouts, children, ignore );
     }
 
+    /**
+     * Reads one entry directly from <code>in</code>. An entry starts with an utf-String used as id for a
+     * {@link DockFactory}, followed by an int telling how many bytes the factory wrote, followed
+     * by the data of the factory. If the factory is known, then it reads directly from <code>in</code>. If
+     * the factory is missing, then the entry is copied into an array, as it may have to be stored in its raw form.
+     * @param in the stream to read from
+     * @param placeholder the placeholder which is associated with this element
+     * @return the information that was obtained, may be <code>null</code>
+     * @throws IOException if <code>in</code> has not the correct format
+     */
+    @SuppressWarnings("unchecked")
+    private DockLayoutInfo readEntry( DataInputStream in, Path placeholder ) throws IOException{
+        String factoryId = in.readUTF();
+        int count = in.readInt();
+        
+        DockFactory<DockElement,?,Object> factory = (DockFactory<DockElement,?,Object>)getFactory( factoryId );
+        if( factory == null ){
+            return readEntry( readBuffer( in, factoryId, count ), placeholder );
+        }
+        
+        EntryInputStream entryIn = new EntryInputStream( in, count );
+        Object data = factory.read( new DataInputStream( entryIn ), intermediatePlaceholders );
+        entryIn.skipRemaining();
+        
+        if( data == null ){
+            return null;
+        }
+        DockLayoutInfo info = new DockLayoutInfo( new DockLayout<Object>( factoryId, data ) );
+        info.setPlaceholder( placeholder );
+        return info;
+    }
+    
     /**
      * Tries to read <code>entry</code>. Entry will be read by a {@link DataInputStream},
      * it must start with an utf-String used as id for a {@link DockFactory},
@@ -668,53 +891,30 @@ public class DockSituation {
     }
 
     /**
-     * Reads <code>count</code> bytes from <code>in</code> and returns them
-     * in a new stream.
-     * @param in the stream to read from
-     * @param count the number of bytes to read
-     * @return a new stream with <code>count</code> bytes
-     * @throws IOException if <code>in</code> cannot be read or does not
-     * have <code>count</code> elements
-     */
-    private DataInputStream readBuffer( DataInputStream in, int count ) throws IOException{
-        byte[] buffer = new byte[ count ];
-        int read = 0;
-        while( read < count ){
-            int input = in.read( buffer, read, count-read );
-            if( input < 0 )
-                throw new EOFException();
-            read += input;
-        }
-
-        ByteArrayInputStream bin = new ByteArrayInputStream( buffer );
-        DataInputStream din = new DataInputStream( bin );
-        return din;
-    }
-
-    /**
-     * Reads one entry of the stream and returns the whole entry.
+     * Reads the data of one entry of the stream and returns the whole entry.
      * An entry starts with an UTF-String, then an int telling how many bytes
      * follow, then an array of bytes.
      * @param in the stream to read from
+     * @param factory the identifier of the factory, already read from <code>in</code>
+     * @param count the number of bytes of the entry, already read from <code>in</code>
      * @return the whole entry
      * @throws IOException if the entry cannot be read from <code>in</code>
      */
-    private byte[] readBuffer( DataInputStream in ) throws IOException{
-        String factory = in.readUTF();
-        int count = in.readInt();
-
+    private byte[] readBuffer( DataInputStream in, String factory, int count ) throws IOException{
         ByteArrayOutputStream out = new ByteArrayOutputStream( factory.length()*4 + 4 + count );
         DataOutputStream dout = new DataOutputStream( out );
 
         dout.writeUTF( factory );
         dout.writeInt( count );
-
-        for( int i = 0; i < count; i++ ){
-            int read = in.read();
-            if( read == -1 )
-                throw new EOFException( "unexpectetly reached end of file" );
-            dout.write( read );
+        
+        byte[] data = new byte[ count ];
+        try{
+            in.readFully( data );
+        }
+        catch( EOFException e ){
+            throw new EOFException( "unexpectetly reached end of file" );
         }
+        dout.write( data );
 
         dout.close();
         return out.toByteArray();
@@ -841,7 +1041,18 @@ public class DockSituation {
      */
     @SuppressWarnings("unchecked")
     public void writeCompositionXML( DockLayoutComposition composition, XElement element ){
+        XElement raw = getRawElement( composition );
+        if( raw != null ){
+            for( XElement child : raw.children() ){
+                element.addElement( child.copy() );
+            }
+            return;
+        }
+        
         DockLayoutInfo info = composition.getLayout();
+        if( info == null ){
+            throw new IllegalArgumentException( "Cannot store layout as XML: its raw data cannot be decoded and its raw format is not XML" );
+        }
         if( info.getKind() == DockLayoutInfo.Data.XML ){
             element.addElement( info.getDataXML() );
         }
@@ -889,6 +1100,34 @@ public class DockSituation {
         }
     }
 
+    /**
+     * Gets the raw xml data of <code>composition</code> if <code>composition</code> was read
+     * lazily by a situation like this one and was not yet decoded.
+     * @param composition the composition to write
+     * @return the raw data or <code>null</code> if the composition has to be written normally
+     */
+    private XElement getRawElement( DockLayoutComposition composition ){
+        if( composition instanceof LazyDockLayoutComposition ){
+            LazyDockLayoutComposition lazy = (LazyDockLayoutComposition)composition;
+            if( lazy.getSituation().getClass() == getClass() ){
+                return lazy.getRawElement();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates a {@link DockLayoutComposition} which reads <code>element</code> the first
+     * time one of its properties is accessed. This way compositions that are never used
+     * do not need to be decoded.
+     * @param element the element to read, the element must not be modified afterwards
+     * @return the new, lazy composition
+     * @see #readCompositionXML(XElement)
+     */
+    public DockLayoutComposition readLazyCompositionXML( XElement element ){
+        return new LazyDockLayoutComposition( this, element );
+    }
+
     /**
      * Reads a {@link DockLayoutComposition} from an xml element.
      * @param element the element to read
@@ -1062,6 +1301,14 @@ public class DockSituation {
      * @throws XException if some xml element was found but cannot be read
      */
     public DockLayoutComposition fillMissing( DockLayoutComposition composition ) throws IOException, XException{
+        if( composition instanceof LazyDockLayoutComposition ){
+            // not yet decoded: this situation can decode the raw data once it is needed
+            LazyDockLayoutComposition rebound = ((LazyDockLayoutComposition)composition).rebind( this );
+            if( rebound != null ){
+                return rebound;
+            }
+        }
+        
         DockLayoutInfo info = composition.getLayout();
         DockLayoutInfo original = info;
 
@@ -1134,6 +1381,9 @@ public class DockSituation {
      * @param composition the composition whose location will be determined
      */
     public void estimateLocations( DockLayoutComposition composition ){
+        if( LazyDockLayoutComposition.isCorrupt( composition )){
+            return;
+        }
         estimateLocations( composition, composition.getLayout().getLocation() );
     }
 
@@ -1152,6 +1402,8 @@ public class DockSituation {
      *  <li><code>composition</code> does not carry a {@link DockLayout}</li>
      *  <li>There is no {@link DockFactory} registered for the factory-id found 
      *  in <code>composition</code></li>
+     *  <li><code>composition</code> was {@link LazyDockLayoutComposition#isCorrupt(DockLayoutComposition) read lazily 
+     *  and is corrupt}</li>
      * </ul> <br>
      * Note: if the number of factories changed, then it might be a good idea 
      * to call {@link #fillMissing(DockLayoutComposition)} before invoking this method.
@@ -1159,6 +1411,9 @@ public class DockSituation {
      * @param location the location of <code>composition</code>, can be <code>null</code>
      */
     public void estimateLocations( DockLayoutComposition composition, DockableProperty location ){
+    	if( LazyDockLayoutComposition.isCorrupt( composition )){
+    		return;
+    	}
     	DefaultLocationEstimationMap map = new DefaultLocationEstimationMap( composition );
     	estimateLocations( map );
     	if( location != null ){
@@ -1433,4 +1688,118 @@ public class DockSituation {
     public String getIdentifier( DockLayoutComposition composition ){
     	return null;
     }
+    
+    /**
+     * A buffer that collects the data written by one factory, so that the size of the 
+     * data can be written in front of the data. The buffer is reused for all entries.
+     * @author Benjamin Sigg
+     */
+    private static class EntryBuffer extends ByteArrayOutputStream{
+    	/** the stream that is handed out to the factories */
+    	private DataOutputStream out = new DataOutputStream( this );
+    	
+    	/**
+    	 * Clears this buffer.
+    	 * @return the stream that is to be used by the factory
+    	 */
+    	public DataOutputStream begin(){
+    		reset();
+    		return out;
+    	}
+    	
+    	/**
+    	 * Writes the size of the current content, followed by the content, to <code>target</code>.
+    	 * @param target the stream to write into
+    	 * @throws IOException if <code>target</code> cannot be written
+    	 */
+    	public void writeTo( DataOutputStream target ) throws IOException{
+    		target.writeInt( count );
+    		target.write( buf, 0, count );
+    	}
+    }
+    
+    /**
+     * A stream that reads at most a fixed number of bytes from another stream. Closing
+     * this stream does not close the underlying stream.
+     * @author Benjamin Sigg
+     */
+    private static class EntryInputStream extends FilterInputStream{
+    	/** how many bytes are still available */
+    	private int remaining;
+    	
+    	/**
+    	 * Creates a new stream
+    	 * @param in the stream to read from
+    	 * @param count the number of bytes that can be read from <code>in</code>
+    	 */
+    	public EntryInputStream( InputStream in, int count ){
+    		super( in );
+    		this.remaining = count;
+    	}
+    	
+    	@Override
+    	public int read() throws IOException{
+    		if( remaining <= 0 ){
+    			return -1;
+    		}
+    		int result = in.read();
+    		if( result >= 0 ){
+    			remaining--;
+    		}
+    		return result;
+    	}
+    	
+    	@Override
+    	public int read( byte[] b, int off, int len ) throws IOException{
+    		if( remaining <= 0 ){
+    			return -1;
+    		}
+    		int result = in.read( b, off, Math.min( len, remaining ) );
+    		if( result > 0 ){
+    			remaining -= result;
+    		}
+    		return result;
+    	}
+    	
+    	@Override
+    	public long skip( long n ) throws IOException{
+    		long result = in.skip( Math.min( n, remaining ) );
+    		if( result > 0 ){
+    			remaining -= result;
+    		}
+    		return result;
+    	}
+    	
+    	@Override
+    	public int available() throws IOException{
+    		return Math.min( in.available(), remaining );
+    	}
+    	
+    	@Override
+    	public boolean markSupported(){
+    		return false;
+    	}
+    	
+    	@Override
+    	public void close() throws IOException{
+    		skipRemaining();
+    	}
+    	
+    	/**
+    	 * Skips all the bytes that were not yet read.
+    	 * @throws IOException if the underlying stream cannot be read
+    	 */
+    	public void skipRemaining() throws IOException{
+    		while( remaining > 0 ){
+    			long skipped = in.skip( remaining );
+    			if( skipped <= 0 ){
+    				if( in.read() < 0 ){
+    					throw new EOFException();
+    				}
+    				skipped = 1;
+    			}
+    			remaining -= skipped;
+    		}
+    	}
+    }
 }
@@ -0,0 +1,242 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.layout;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XException;
+
+/**
+ * A {@link DockLayoutComposition} which is read lazily. The composition only stores
+ * the raw data it was created from, either a byte array or an {@link XElement}. The
+ * raw data is decoded by the {@link DockSituation} that created this composition the first
+ * time any of the properties of this composition is accessed, e.g. because of
+ * {@link DockSituation#convert(DockLayoutComposition)} or 
+ * {@link DockSituation#estimateLocations(DockLayoutComposition)}. Afterwards the decoded
+ * composition is cached and the raw data released.<br>
+ * Reading only validates the framing of the raw data, errors in the data of the factories are found
+ * when decoding. A composition whose data cannot be decoded behaves like a composition without
+ * {@link #getLayout() layout} and without children. {@link DockSituation#convert(DockLayoutComposition)} and
+ * {@link DockSituation#estimateLocations(DockLayoutComposition)} ignore such a composition, clients can
+ * check for it with {@link #isCorrupt(DockLayoutComposition)}. The raw data is kept, so it is still written 
+ * unchanged.
+ * @author Benjamin Sigg
+ * @see DockSituation#readLazyComposition(DataInputStream)
+ * @see DockSituation#readLazyCompositionXML(XElement)
+ */
+public class LazyDockLayoutComposition extends DockLayoutComposition {
+	/** the situation that is used to decode the raw data */
+	private DockSituation situation;
+	/** the raw data in binary format, including the version, can be <code>null</code> */
+	private byte[] data;
+	/** the raw data in xml format, can be <code>null</code> */
+	private XElement element;
+	/** the decoded composition, <code>null</code> until it is needed */
+	private DockLayoutComposition decoded;
+	/** the reason why the raw data could not be decoded, <code>null</code> if decoding was not yet tried or succeeded */
+	private Exception failure;
+	
+	/**
+	 * Tells whether <code>composition</code> was read lazily and its raw data cannot be decoded. This
+	 * method decodes the raw data if that did not yet happen.
+	 * @param composition the composition to check, may be <code>null</code>
+	 * @return <code>true</code> if <code>composition</code> is a {@link LazyDockLayoutComposition} whose
+	 * data is corrupt
+	 */
+	public static boolean isCorrupt( DockLayoutComposition composition ){
+		if( composition instanceof LazyDockLayoutComposition ){
+			return ((LazyDockLayoutComposition)composition).tryDecode() == null;
+		}
+		return false;
+	}
+	
+	/**
+	 * Creates a new composition which will read <code>data</code> once it is needed.
+	 * @param situation the situation that is used to decode <code>data</code>
+	 * @param data data as written by {@link DockSituation#writeComposition(DockLayoutComposition, java.io.DataOutputStream)}
+	 */
+	public LazyDockLayoutComposition( DockSituation situation, byte[] data ){
+		super( null, null, Collections.<DockLayoutComposition>emptyList(), false );
+		if( situation == null )
+			throw new IllegalArgumentException( "situation must not be null" );
+		if( data == null )
+			throw new IllegalArgumentException( "data must not be null" );
+		this.situation = situation;
+		this.data = data;
+	}
+	
+	/**
+	 * Creates a new composition which will read <code>element</code> once it is needed.
+	 * @param situation the situation that is used to decode <code>element</code>
+	 * @param element data as written by {@link DockSituation#writeCompositionXML(DockLayoutComposition, XElement)}
+	 */
+	public LazyDockLayoutComposition( DockSituation situation, XElement element ){
+		super( null, null, Collections.<DockLayoutComposition>emptyList(), false );
+		if( situation == null )
+			throw new IllegalArgumentException( "situation must not be null" );
+		if( element == null )
+			throw new IllegalArgumentException( "element must not be null" );
+		this.situation = situation;
+		this.element = element;
+	}
+	
+	/**
+	 * Creates a new lazy composition which uses the same raw data as this composition, but
+	 * <code>situation</code> to decode the data. 
+	 * @param situation the new situation
+	 * @return the new composition or <code>null</code> if this composition was already decoded
+	 */
+	public LazyDockLayoutComposition rebind( DockSituation situation ){
+		synchronized( this ){
+			if( data != null ){
+				return new LazyDockLayoutComposition( situation, data );
+			}
+			if( element != null ){
+				return new LazyDockLayoutComposition( situation, element );
+			}
+			return null;
+		}
+	}
+	
+	/**
+	 * Tells whether the raw data of this composition was already decoded.
+	 * @return <code>true</code> if the data was decoded
+	 */
+	public synchronized boolean isDecoded(){
+		return decoded != null;
+	}
+	
+	/**
+	 * Gets the situation which is used to decode the raw data.
+	 * @return the situation, not <code>null</code>
+	 */
+	public DockSituation getSituation(){
+		return situation;
+	}
+	
+	/**
+	 * Gets the raw binary data of this composition if the composition was not yet decoded.
+	 * @return the raw data, including the version, or <code>null</code> if this composition
+	 * was decoded or was read from xml
+	 */
+	public synchronized byte[] getRawData(){
+		return data;
+	}
+	
+	/**
+	 * Gets the raw xml data of this composition if the composition was not yet decoded.
+	 * @return the raw data or <code>null</code> if this composition was decoded or was
+	 * read from a byte stream
+	 */
+	public synchronized XElement getRawElement(){
+		return element;
+	}
+	
+	/**
+	 * Decodes the raw data of this composition, or returns the cached result if the
+	 * data was already decoded.
+	 * @return the decoded composition, not <code>null</code>
+	 * @throws IllegalStateException if the raw data cannot be read
+	 */
+	public synchronized DockLayoutComposition decode(){
+		DockLayoutComposition result = tryDecode();
+		if( result == null ){
+			throw new IllegalStateException( "cannot decode layout", failure );
+		}
+		return result;
+	}
+	
+	/**
+	 * Decodes the raw data of this composition, or returns the cached result if the
+	 * data was already decoded. Decoding is only tried once.
+	 * @return the decoded composition or <code>null</code> if the raw data cannot be read
+	 */
+	private synchronized DockLayoutComposition tryDecode(){
+		if( decoded == null && failure == null ){
+			try{
+				if( data != null ){
+					DataInputStream in = new DataInputStream( new ByteArrayInputStream( data ) );
+					decoded = situation.readComposition( in );
+					in.close();
+				}
+				else{
+					decoded = situation.readCompositionXML( element );
+				}
+				data = null;
+				element = null;
+			}
+			catch( IOException ex ){
+				failure = ex;
+			}
+			catch( XException ex ){
+				failure = ex;
+			}
+			catch( RuntimeException ex ){
+				// factories may fail in any way when reading corrupt data
+				failure = ex;
+			}
+		}
+		return decoded;
+	}
+	
+	@Override
+	public DockLayoutInfo getLayout(){
+		DockLayoutComposition result = tryDecode();
+		return result == null ? null : result.getLayout();
+	}
+	
+	@Override
+	public List<DockLayout<?>> getAdjacent(){
+		DockLayoutComposition result = tryDecode();
+		return result == null ? null : result.getAdjacent();
+	}
+	
+	@Override
+	public DockLayout<?> getAdjacent( String factoryId ){
+		DockLayoutComposition result = tryDecode();
+		return result == null ? null : result.getAdjacent( factoryId );
+	}
+	
+	@Override
+	public List<DockLayoutComposition> getChildren(){
+		DockLayoutComposition result = tryDecode();
+		if( result == null ){
+			return Collections.emptyList();
+		}
+		return result.getChildren();
+	}
+	
+	@Override
+	public boolean isIgnoreChildren(){
+		DockLayoutComposition result = tryDecode();
+		return result != null && result.isIgnoreChildren();
+	}
+}
@@ -244,7 +244,9 @@ public class PredefinedDockSituation extends DockSituation {
      */
     public <D extends DockElement> Set<D> listVisible( Collection<D> base, DockLayoutComposition composition ){
         Set<D> result = new HashSet<D>();
-        listVisible( base, composition, result );
+        if( !LazyDockLayoutComposition.isCorrupt( composition )){
+            listVisible( base, composition, result );
+        }
         return result;
     }
     
@@ -302,6 +304,9 @@ public class PredefinedDockSituation extends DockSituation {
      * @return the map of keys and positions, might be empty
      */
     public Map<String, DockableProperty> listEstimatedLocations( DockLayoutComposition composition, boolean missingOnly ){
+        if( LazyDockLayoutComposition.isCorrupt( composition )){
+            return new HashMap<String, DockableProperty>();
+        }
         return listEstimatedLocations( composition, composition.getLayout().getLocation(), missingOnly );
     }
     
@@ -318,9 +323,12 @@ public class PredefinedDockSituation extends DockSituation {
      * @return the map of keys and positions, might be empty
      */
     public Map<String, DockableProperty> listEstimatedLocations( DockLayoutComposition composition, DockableProperty location, boolean missingOnly ){
-        estimateLocations( composition, location );
-        
         Map<String, DockableProperty> map = new HashMap<String, DockableProperty>();
+        if( LazyDockLayoutComposition.isCorrupt( composition )){
+            return map;
+        }
+        
+        estimateLocations( composition, location );
         listEstimatedLocations( composition, missingOnly, map );
         
         if( location != null ){
@@ -360,7 +368,9 @@ public class PredefinedDockSituation extends DockSituation {
      */
     public Map<String, DockLayoutComposition> listLayouts( DockLayoutComposition composition, boolean missingOnly ){
         Map<String, DockLayoutComposition> map = new HashMap<String, DockLayoutComposition>();
-        listLayouts( composition, missingOnly, map );
+        if( !LazyDockLayoutComposition.isCorrupt( composition )){
+            listLayouts( composition, missingOnly, map );
+        }
         return map;
     }
     
@@ -105,6 +105,15 @@ public class PropertyTransformer {
 		factories.put( factory.getID(), factory );
 	}
 
+	/**
+	 * Gets the factory which is registered with identifier <code>id</code>.
+	 * @param id the identifier of a factory, see {@link DockableProperty#getFactoryID()}
+	 * @return the factory or <code>null</code> if not found
+	 */
+	public DockablePropertyFactory getFactory( String id ){
+		return factories.get( id );
+	}
+	
 	/**
 	 * Writes <code>property</code> and all its successors into <code>out</code>.
 	 * @param property the property to write
@@ -25,6 +25,8 @@
  */
 package bibliothek.gui.dock.station.flap.layer;
 
+import java.awt.Rectangle;
+
 import bibliothek.gui.dock.FlapDockStation;
 import bibliothek.gui.dock.station.flap.FlapWindow;
 import bibliothek.gui.dock.station.layer.DefaultDropLayer;
@@ -48,6 +50,12 @@ public class WindowDropLayer extends DefaultDropLayer{
 		setPriority( LayerPriority.FLOAT_ANCHORED );
 	}
 	
+	@Override
+	public Rectangle getScreenBounds(){
+		// the window may open or close at any time
+		return null;
+	}
+	
 	@Override
 	public boolean contains( int x, int y ){
 		FlapWindow window = station.getFlapWindow();
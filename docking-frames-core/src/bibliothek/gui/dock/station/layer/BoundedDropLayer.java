@@ -0,0 +1,46 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.layer;
+
+import java.awt.Rectangle;
+
+/**
+ * A {@link DockStationDropLayer} which knows which area of the screen it covers. The bounds
+ * are used by the {@link OrderedLayerCollection} to quickly skip layers that cannot contain 
+ * the mouse, they are only a hint and {@link #contains(int, int)} is still called for any
+ * layer whose bounds contain the mouse.
+ * @author Benjamin Sigg
+ */
+public interface BoundedDropLayer extends DockStationDropLayer{
+	/**
+	 * Gets a rectangle on the screen, {@link #contains(int, int)} must return <code>false</code>
+	 * for any point outside of this rectangle. Subclasses that change the behavior of 
+	 * {@link #contains(int, int)} must make sure this method still returns a matching value.
+	 * @return the area covered by this layer in screen coordinates, or <code>null</code> if
+	 * the area is unknown
+	 */
+	public Rectangle getScreenBounds();
+}
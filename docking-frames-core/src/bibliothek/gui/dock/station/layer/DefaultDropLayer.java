@@ -27,6 +27,7 @@ package bibliothek.gui.dock.station.layer;
 
 import java.awt.Component;
 import java.awt.Point;
+import java.awt.Rectangle;
 
 import javax.swing.SwingUtilities;
 
@@ -39,7 +40,7 @@ import bibliothek.gui.Dockable;
  * {@link Dockable#getComponent()} (assuming the station is also a dockable). 
  * @author Benjamin Sigg
  */
-public class DefaultDropLayer implements DockStationDropLayer{
+public class DefaultDropLayer implements BoundedDropLayer{
 	private DockStation station;
 	private LayerPriority priority = LayerPriority.BASE;
 	
@@ -69,6 +70,21 @@ public class DefaultDropLayer implements DockStationDropLayer{
 		return component.contains( point );
 	}
 	
+	/**
+	 * Gets the boundaries of {@link #getComponent()} on the screen. Subclasses overriding 
+	 * {@link #contains(int, int)} such that points outside of the component are included need
+	 * to override this method as well.
+	 * @return the boundaries of the component or <code>null</code> if there is no visible component
+	 */
+	public Rectangle getScreenBounds(){
+		Component component = getComponent();
+		if( component == null || !component.isShowing() ){
+			return null;
+		}
+		Point location = component.getLocationOnScreen();
+		return new Rectangle( location.x, location.y, component.getWidth(), component.getHeight() );
+	}
+	
 	public Component getComponent(){
 		Dockable dockable = station.asDockable();
 		if( dockable == null ){
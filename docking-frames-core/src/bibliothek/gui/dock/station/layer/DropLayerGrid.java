@@ -0,0 +1,163 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.layer;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid over the screen, each cell of the grid knows which {@link DockStationDropLayer}s 
+ * may contain a point of the cell. Layers which do not know their {@link BoundedDropLayer#getScreenBounds() bounds}
+ * are put in every cell.
+ * @author Benjamin Sigg
+ */
+class DropLayerGrid {
+	/** the width and height of one cell */
+	private static final int CELL_SIZE = 128;
+	
+	/** how many cells a single layer may cover at most, larger layers are treated like layers without bounds */
+	private static final int MAX_CELLS = 1024;
+	
+	/** all the cells that are not empty */
+	private Map<Long, List<Entry>> cells = new HashMap<Long, List<Entry>>();
+	
+	/** the layers without bounds */
+	private List<Entry> everywhere = new ArrayList<Entry>();
+	
+	/** the number of layers that were added to this grid */
+	private int size = 0;
+	
+	/** orders {@link Entry}s by the order in which they were added */
+	private static final Comparator<Entry> ORDER = new Comparator<Entry>(){
+		public int compare( Entry a, Entry b ){
+			return a.index < b.index ? -1 : (a.index == b.index ? 0 : 1);
+		}
+	};
+	
+	/**
+	 * Adds a new layer to this grid.
+	 * @param layer the new layer
+	 */
+	public void add( DockStationDropLayer layer ){
+		Entry entry = new Entry( layer, size++ );
+		
+		Rectangle bounds = null;
+		if( layer instanceof BoundedDropLayer ){
+			bounds = ((BoundedDropLayer)layer).getScreenBounds();
+		}
+		
+		if( bounds == null ){
+			everywhere.add( entry );
+			return;
+		}
+		if( bounds.width <= 0 || bounds.height <= 0 ){
+			return;
+		}
+		
+		int minX = cell( bounds.x );
+		int minY = cell( bounds.y );
+		int maxX = cell( bounds.x + bounds.width - 1 );
+		int maxY = cell( bounds.y + bounds.height - 1 );
+		
+		if( (long)(maxX - minX + 1) * (maxY - minY + 1) > MAX_CELLS ){
+			everywhere.add( entry );
+			return;
+		}
+		
+		for( int x = minX; x <= maxX; x++ ){
+			for( int y = minY; y <= maxY; y++ ){
+				Long key = key( x, y );
+				List<Entry> list = cells.get( key );
+				if( list == null ){
+					list = new ArrayList<Entry>( 4 );
+					cells.put( key, list );
+				}
+				list.add( entry );
+			}
+		}
+	}
+	
+	/**
+	 * Gets all the layers which contain the point <code>x/y</code>. The layers are returned in the
+	 * same order as they were {@link #add(DockStationDropLayer) added}.
+	 * @param x the x-coordinate on the screen
+	 * @param y the y-coordinate on the screen
+	 * @return the layers containing <code>x/y</code>
+	 */
+	public List<DockStationDropLayer> get( int x, int y ){
+		List<Entry> cell = cells.get( key( cell( x ), cell( y ) ) );
+		List<Entry> candidates;
+		if( cell == null ){
+			candidates = everywhere;
+		}
+		else{
+			candidates = new ArrayList<Entry>( cell.size() + everywhere.size() );
+			candidates.addAll( cell );
+			candidates.addAll( everywhere );
+			Collections.sort( candidates, ORDER );
+		}
+		
+		List<DockStationDropLayer> result = new ArrayList<DockStationDropLayer>();
+		for( Entry entry : candidates ){
+			if( entry.layer.contains( x, y )){
+				result.add( entry.layer );
+			}
+		}
+		return result;
+	}
+	
+	private int cell( int coordinate ){
+		if( coordinate < 0 ){
+			return (coordinate+1) / CELL_SIZE - 1;
+		}
+		return coordinate / CELL_SIZE;
+	}
+	
+	private Long key( int x, int y ){
+		return Long.valueOf( ((long)x << 32) | (y & 0xFFFFFFFFL) );
+	}
+	
+	/**
+	 * A layer stored in this grid.
+	 * @author Benjamin Sigg
+	 */
+	private static class Entry{
+		/** the layer */
+		public final DockStationDropLayer layer;
+		/** when the layer was added */
+		public final int index;
+		
+		public Entry( DockStationDropLayer layer, int index ){
+			this.layer = layer;
+			this.index = index;
+		}
+	}
+}
@@ -55,6 +55,9 @@ public class OrderedLayerCollection {
 	/** factory applied to all {@link DockStation}s to find their {@link DockStationDropLayer}s */
 	private DockStationDropLayerFactory factory;
 	
+	/** the layers created by {@link #prepare()}, <code>null</code> if not prepared */
+	private DropLayerGrid prepared;
+	
 	/**
 	 * Creates a new collection
 	 * @param factory applied to all {@link DockStation}s in order to find their {@link DockStationDropLayer}s.
@@ -69,17 +72,44 @@ public class OrderedLayerCollection {
 	 */
 	public void add( DockStation station ){
 		stations.add( station );
+		prepared = null;
 	}
 	
 	/**
-	 * Sorts the current set of {@link DockStation}s currently known to this
-	 * collection.
-	 * @param x the x-coordinate of the mouse on the screen
-	 * @param y the y-coordinate of the mouse on the screen
-	 * @return the ordered stations, where the first station is the station with the highest priority 
+	 * Creates and stores the {@link DockStationDropLayer}s of all the stations that are currently known, 
+	 * and puts them into a spatial index. Afterwards {@link #sort(int, int)} will only need to test the layers
+	 * that are near the mouse. Clients must call this method again, or create a new collection, if the 
+	 * position or size of any {@link DockStation} changes. Adding a station reverts the effects of this method.
 	 */
-	public List<DockStation> sort( int x, int y ){
-		Map<DockStation, Node> nodes = new HashMap<DockStation, OrderedLayerCollection.Node>();
+	public void prepare(){
+		List<Node> roots = createNodes( new HashMap<DockStation, Node>() );
+		
+		List<DockStationDropLayer> layers = new ArrayList<DockStationDropLayer>();
+		for( Node root : roots ){
+			root.collect( layers );
+		}
+		
+		DropLayerGrid grid = new DropLayerGrid();
+		for( DockStationDropLayer layer : layers ){
+			grid.add( layer );
+		}
+		prepared = grid;
+	}
+	
+	/**
+	 * Tells whether {@link #prepare()} was called and no station was added since then.
+	 * @return whether this collection is prepared
+	 */
+	public boolean isPrepared(){
+		return prepared != null;
+	}
+	
+	/**
+	 * Creates one {@link Node} for each station and builds the tree of nodes.
+	 * @param nodes an empty map that will be filled with the new nodes
+	 * @return the roots of the tree
+	 */
+	private List<Node> createNodes( Map<DockStation, Node> nodes ){
 		for( DockStation station : stations ){
 			nodes.put( station, new Node( station ) );
 		}
@@ -94,17 +124,36 @@ public class OrderedLayerCollection {
 		for( Node root : roots ){
 			root.modify();
 		}
+		return roots;
+	}
+	
+	/**
+	 * Sorts the current set of {@link DockStation}s currently known to this
+	 * collection.
+	 * @param x the x-coordinate of the mouse on the screen
+	 * @param y the y-coordinate of the mouse on the screen
+	 * @return the ordered stations, where the first station is the station with the highest priority 
+	 */
+	public List<DockStation> sort( int x, int y ){
+		List<DockStationDropLayer> layers;
 		
-		List<DockStationDropLayer> layers = new ArrayList<DockStationDropLayer>();
-		for( Node root : roots ){
-			root.collect( layers, x, y );
+		if( prepared != null ){
+			layers = prepared.get( x, y );
+		}
+		else{
+			List<Node> roots = createNodes( new HashMap<DockStation, Node>() );
+			layers = new ArrayList<DockStationDropLayer>();
+			for( Node root : roots ){
+				root.collect( layers, x, y );
+			}
 		}
 		
 		layers = sort( layers );
 		
+		Set<DockStation> found = new HashSet<DockStation>();
 		List<DockStation> result = new ArrayList<DockStation>();
 		for( DockStationDropLayer layer : layers ){
-			if( nodes.remove( layer.getStation() ) != null ){
+			if( stations.contains( layer.getStation() ) && found.add( layer.getStation() ) ){
 				result.add( layer.getStation() );
 			}
 		}
@@ -360,5 +409,21 @@ public class OrderedLayerCollection {
 				}
 			}
 		}
+		
+		/**
+		 * Collects all layers of this node and of its children, in the same order as 
+		 * {@link #collect(List, int, int)} would.
+		 * @param layers the list to fill
+		 */
+		public void collect( List<DockStationDropLayer> layers ){
+			if( children != null ){
+				for( Node child : children ){
+					child.collect( layers );
+				}
+			}
+			for( DockStationDropLayer layer : this.layers ){
+				layers.add( layer );
+			}
+		}
 	}
 }
@@ -26,6 +26,7 @@
 package bibliothek.gui.dock.station.screen.layer;
 
 import java.awt.Component;
+import java.awt.Rectangle;
 
 import bibliothek.gui.dock.ScreenDockStation;
 import bibliothek.gui.dock.station.layer.DefaultDropLayer;
@@ -46,6 +47,12 @@ public class ScreenWindowLayer extends DefaultDropLayer{
 		setPriority( LayerPriority.FLOAT_FREE );
 	}
 	
+	@Override
+	public Rectangle getScreenBounds(){
+		// the window may be moved around without changing the displayer
+		return null;
+	}
+	
 	public boolean contains( int x, int y ){
 		return window.contains( x, y );
 	}
@@ -454,37 +454,134 @@ public abstract class AbstractSplitDockGrid<D> {
 	}
 	
 	/**
-	 * Transforms the grid into a tree and returns the root.
+	 * Transforms the grid into a tree and returns the root. The two nodes with the smallest
+	 * {@link #diff(Node, Node) difference} are combined until only one node remains. The differences
+	 * between nodes are remembered, hence each step only needs to compare the new combined node with
+	 * the remaining nodes instead of comparing all pairs of nodes again.
 	 * @return the root, can be <code>null</code>
 	 */
 	protected Node<D> tree(){
-		List<Node<D>> nodes = new ArrayList<Node<D>>( this.nodes );
+		int size = nodes.size();
 		
-		if( nodes.isEmpty() )
+		if( size == 0 )
 			return null;
 		
-		while( nodes.size() > 1 ){
-			int size = nodes.size();
+		// A combined node replaces its first child in "slots". The "rank" of a slot tells the
+		// order in which the nodes were created, pairs are always compared in this order.
+		List<Node<D>> slots = new ArrayList<Node<D>>( nodes );
+		int[] rank = new int[ size ];
+		double[][] diffs = new double[ size ][ size ];
+		
+		// for each slot the slot with a higher rank that has the smallest difference, or -1
+		int[] partner = new int[ size ];
+		
+		for( int i = 0; i < size; i++ ){
+			rank[i] = i;
+			for( int j = i+1; j < size; j++ ){
+				double diff = diff( slots.get( i ), slots.get( j ) );
+				diffs[i][j] = diff;
+				diffs[j][i] = diff;
+			}
+		}
+		for( int i = 0; i < size; i++ ){
+			partner[i] = partner( i, slots, rank, diffs );
+		}
+		
+		int nextRank = size;
+		
+		for( int remaining = size; remaining > 1; remaining-- ){
+			int bestA = -1;
+			for( int i = 0; i < size; i++ ){
+				int j = partner[i];
+				if( j >= 0 ){
+					if( bestA == -1 || diffs[i][j] < diffs[bestA][partner[bestA]] || 
+							(diffs[i][j] == diffs[bestA][partner[bestA]] && rank[i] < rank[bestA] )){
+						bestA = i;
+					}
+				}
+			}
 			
-			int bestA = 0, bestB = 0;
-			double bestDiff = Double.MAX_VALUE;
+			Node<D> node;
+			int bestB;
 			
-			for( int i = 0; i < size; i++ ){
-				for( int j = i+1; j < size; j++ ){
-					double diff = diff( nodes.get( i ), nodes.get( j ) );
-					if( diff < bestDiff ){
-						bestDiff = diff;
+			if( bestA == -1 ){
+				// no pair is any good, just combine the two oldest nodes
+				for( int i = 0; i < size; i++ ){
+					if( slots.get( i ) != null && (bestA == -1 || rank[i] < rank[bestA] )){
 						bestA = i;
-						bestB = j;
 					}
 				}
+				bestB = -1;
+				for( int i = 0; i < size; i++ ){
+					if( i != bestA && slots.get( i ) != null && (bestB == -1 || rank[i] < rank[bestB] )){
+						bestB = i;
+					}
+				}
+				node = combine( slots.get( bestA ), slots.get( bestB ) );
 			}
+			else{
+				bestB = partner[bestA];
+				node = combine( slots.get( bestB ), slots.get( bestA ) );
+			}
+			
+			slots.set( bestA, node );
+			slots.set( bestB, null );
+			partner[bestB] = -1;
+			rank[bestA] = nextRank++;
 			
-			Node<D> node = combine( nodes.remove( bestB ), nodes.remove( bestA ));
-			nodes.add( node );
+			for( int i = 0; i < size; i++ ){
+				if( i != bestA && slots.get( i ) != null ){
+					double diff = diff( slots.get( i ), node );
+					diffs[i][bestA] = diff;
+					diffs[bestA][i] = diff;
+				}
+			}
+			
+			partner[bestA] = -1;
+			for( int i = 0; i < size; i++ ){
+				if( i != bestA && slots.get( i ) != null ){
+					if( partner[i] == bestA || partner[i] == bestB ){
+						partner[i] = partner( i, slots, rank, diffs );
+					}
+					else if( partner[i] == -1 ? diffs[i][bestA] < Double.MAX_VALUE : diffs[i][bestA] < diffs[i][partner[i]] ){
+						partner[i] = bestA;
+					}
+				}
+			}
+		}
+		
+		for( Node<D> node : slots ){
+			if( node != null ){
+				return node;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Searches the slot with a higher rank than <code>slot</code> whose node has the
+	 * smallest difference to the node of <code>slot</code>.
+	 * @param slot the slot whose partner is searched
+	 * @param slots the current nodes, <code>null</code> entries are no longer used
+	 * @param rank the order in which the nodes were created
+	 * @param diffs the differences between all nodes
+	 * @return the best partner or -1 if there is no good partner
+	 */
+	private int partner( int slot, List<Node<D>> slots, int[] rank, double[][] diffs ){
+		int best = -1;
+		double bestDiff = Double.MAX_VALUE;
+		
+		for( int i = 0, n = slots.size(); i < n; i++ ){
+			if( slots.get( i ) != null && rank[i] > rank[slot] ){
+				double diff = diffs[slot][i];
+				if( diff < bestDiff || (best != -1 && diff == bestDiff && rank[i] < rank[best] )){
+					best = i;
+					bestDiff = diff;
+				}
+			}
 		}
 		
-		return nodes.get( 0 );
+		return best;
 	}
 	
 	/**
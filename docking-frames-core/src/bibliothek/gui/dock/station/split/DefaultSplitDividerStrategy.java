@@ -33,7 +33,6 @@ import java.awt.MouseInfo;
 import java.awt.Point;
 import java.awt.PointerInfo;
 import java.awt.Rectangle;
-import java.awt.Toolkit;
 import java.awt.event.AWTEventListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -47,10 +46,13 @@ import javax.swing.SwingUtilities;
 import bibliothek.gui.DockController;
 import bibliothek.gui.dock.SplitDockStation;
 import bibliothek.gui.dock.SplitDockStation.Orientation;
+import bibliothek.gui.dock.control.GlobalMouseDispatcher;
 import bibliothek.gui.dock.event.DockHierarchyEvent;
 import bibliothek.gui.dock.event.DockHierarchyListener;
 import bibliothek.gui.dock.security.GlassedPane;
 import bibliothek.gui.dock.util.PropertyValue;
+import bibliothek.gui.dock.util.animation.Animation;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 
 /**
  * The default implementation of {@link SplitDividerStrategy} 
@@ -100,6 +102,47 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 			}
 		};
 		
+		/** the clock that decides when a dragged divider is applied to the station */
+		private PropertyValue<AnimationScheduler> scheduler = new PropertyValue<AnimationScheduler>( AnimationScheduler.ANIMATION_SCHEDULER ){
+			@Override
+			protected void valueChanged( AnimationScheduler oldValue, AnimationScheduler newValue ){
+				if( dividerPending ){
+					if( oldValue != null ){
+						oldValue.stop( relayout );
+					}
+					AnimationScheduler clock = clock();
+					if( clock == null ){
+						applyPendingDivider();
+					}
+					else{
+						clock.start( relayout );
+					}
+				}
+			}
+		};
+		
+		/** 
+		 * Applies {@link #divider} at the next frame. While the user drags a divider with continuous display, 
+		 * many more mouse events than frames may arrive. Only the newest location is applied once per frame.
+		 */
+		private Animation relayout = new Animation(){
+			public boolean step( int delta ){
+				applyPendingDivider();
+				return false;
+			}
+			
+			public void finish(){
+				applyPendingDivider();
+			}
+			
+			public Component getComponent(){
+				return station;
+			}
+		};
+		
+		/** whether {@link #divider} still needs to be applied by {@link #relayout} */
+		private boolean dividerPending = false;
+		
 		/** the currently known {@link DockController} */
 		private DockController controller;
 		
@@ -114,8 +157,27 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 		
 		/** Will be set to true when mouse is over divider, and set to false when exited. (see AWTListener method below for more details). */
 		private boolean withinBounds = false;
-		/** Flag indicating if AWTEventListener is registered successfully. */
+		/** Flag indicating if the {@link GlobalMouseDispatcher} of {@link #controller} can be used. */
 		private boolean awtListenerEnabled = false;
+		
+		/** 
+		 * The controller to whose {@link GlobalMouseDispatcher} {@link #globalListener} is added. The listener
+		 * is only added while the mouse is over a divider, hence only a few handlers receive global events. 
+		 */
+		private DockController globalListenerController;
+		
+		/** Forwards the events of the {@link GlobalMouseDispatcher} to {@link #eventDispatched(AWTEvent)} */
+		private MouseAdapter globalListener = new MouseAdapter(){
+			@Override
+			public void mouseMoved( MouseEvent e ){
+				eventDispatched( e );
+			}
+			
+			@Override
+			public void mouseReleased( MouseEvent e ){
+				eventDispatched( e );
+			}
+		};
 	
 		/** the current bounds of the divider */
 		private Rectangle bounds = new Rectangle();
@@ -178,28 +240,54 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 			if( this.controller != controller ){
 				this.controller = controller;
 				restricted.setProperties( controller );
+				scheduler.setProperties( controller );
 				updateEventListener();
 			}
 		}
 		
 		private void updateEventListener(){
-			boolean expected = controller != null && !controller.isRestrictedEnvironment();
-			if( expected != awtListenerEnabled ){
-				awtListenerEnabled = expected;
-				if( expected ){
-					// if this goes wrong, the offending client rightly gets an exception. It's his fault because he did set the "restricted environment" property wrong.
-					Toolkit.getDefaultToolkit().addAWTEventListener( Handler.this, AWTEvent.MOUSE_MOTION_EVENT_MASK | AWTEvent.MOUSE_EVENT_MASK );
+			awtListenerEnabled = controller != null && !controller.isRestrictedEnvironment();
+			updateGlobalListener();
+		}
+		
+		/**
+		 * Sets whether the mouse is over a divider, and thus whether global mouse events need to be observed.
+		 * @param withinBounds whether the mouse is over a divider
+		 */
+		private void setWithinBounds( boolean withinBounds ){
+			this.withinBounds = withinBounds;
+			updateGlobalListener();
+		}
+		
+		/**
+		 * Adds or removes {@link #globalListener} to or from the {@link GlobalMouseDispatcher}. The listener is
+		 * only required while the mouse is over a divider, all the other handlers of the controller do not
+		 * receive any events.
+		 */
+		private void updateGlobalListener(){
+			DockController expected = null;
+			if( withinBounds && awtListenerEnabled ){
+				expected = controller;
+			}
+			if( globalListenerController != expected ){
+				if( globalListenerController != null ){
+					GlobalMouseDispatcher dispatcher = globalListenerController.getGlobalMouseDispatcher();
+					dispatcher.removeMouseListener( globalListener );
+					dispatcher.removeMouseMotionListener( globalListener );
 				}
-				else{
-					Toolkit.getDefaultToolkit().removeAWTEventListener( Handler.this );
+				globalListenerController = expected;
+				if( expected != null ){
+					GlobalMouseDispatcher dispatcher = expected.getGlobalMouseDispatcher();
+					dispatcher.addMouseListener( globalListener );
+					dispatcher.addMouseMotionListener( globalListener );
 				}
 			}
 		}
 		
 		/**
-		 * AWT event listener.
+		 * Called for mouse events of the {@link GlobalMouseDispatcher} while the mouse is over a divider.
 		 * Used to reset the mouse cursor when divider was changed and mouse exited event had not occurred normally.
-		 * @param event
+		 * @param event the event
 		 */
 		public void eventDispatched(AWTEvent event) {
 			if (event.getID() == MouseEvent.MOUSE_MOVED || event.getID() == MouseEvent.MOUSE_RELEASED) {
@@ -214,10 +302,10 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 					else{
 						// mouse is over another component which is not the registered container and the mouse cursor had not been reseted yet -> reset mouse cursor
 						Point p = SwingUtilities.convertPoint(mev.getComponent(), mev.getPoint(), station);
-						if (station.getBounds().contains(p)) {
+						if (station.contains( p )) {
 							// only if mouse is within our station
 							setCursor(null);
-							withinBounds = false;
+							setWithinBounds( false );
 						}
 					}
 				}
@@ -237,18 +325,13 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 		 */
 		public void destroy(){
 			if( container != null ){
+				cancelPendingDivider();
 				setCursor( null );
 				current = null;
 				container.removeMouseListener( this );
 				container.removeMouseMotionListener( this );
 				container = null;
 				
-				try {
-					java.awt.Toolkit.getDefaultToolkit().removeAWTEventListener(this);
-				} catch (Throwable e) {
-					e.printStackTrace();
-				}
-			
 				setController( null );
 				station.removeDockHierarchyListener( this );
 			}
@@ -343,8 +426,15 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 					repaint( bounds.x, bounds.y, bounds.width, bounds.height );
 	
 					if( station.isContinousDisplay() && current != null ) {
-						setDivider( current, divider );
-						station.updateBounds();
+						AnimationScheduler clock = clock();
+						if( clock == null ){
+							setDivider( current, divider );
+							updateBounds( current );
+						}
+						else if( !dividerPending ){
+							dividerPending = true;
+							clock.start( relayout );
+						}
 					}
 				}
 			}
@@ -354,6 +444,7 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 		public void mouseReleased( MouseEvent e ){
 			if( pressed ) {
 				pressed = false;
+				cancelPendingDivider();
 				if( current != null ) {
 					setDivider( current, divider );
 					repaint( bounds.x, bounds.y, bounds.width, bounds.height );
@@ -381,6 +472,61 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 		protected void setDivider( Divideable node, double divider ){
 			node.setDivider( divider );
 		}
+		
+		/**
+		 * Called while the user drags the divider of <code>node</code> and the station is in 
+		 * {@link SplitDockStation#isContinousDisplay() continuous display} mode. Only the children of <code>node</code>
+		 * are affected by the new divider, hence the default implementation updates only the subtree of <code>node</code>.
+		 * Subclasses that change more than the divider of <code>node</code> in {@link #setDivider(Divideable, double)}
+		 * should call {@link SplitDockStation#updateBounds()}.
+		 * @param node the node whose divider changed
+		 */
+		protected void updateBounds( Divideable node ){
+			if( node instanceof Node ){
+				station.updateBounds( (Node)node );
+			}
+			else{
+				station.updateBounds();
+			}
+		}
+		
+		/**
+		 * Applies the newest location of the divider that is dragged around, and updates the boundaries of 
+		 * the children of the station. Called at most once per frame.
+		 */
+		private void applyPendingDivider(){
+			if( dividerPending ){
+				dividerPending = false;
+				if( pressed && current != null ){
+					setDivider( current, divider );
+					updateBounds( current );
+				}
+			}
+		}
+		
+		/**
+		 * Gets the {@link AnimationScheduler} of the current {@link DockController}.
+		 * @return the scheduler or <code>null</code> if there is no controller
+		 */
+		private AnimationScheduler clock(){
+			if( controller == null ){
+				return null;
+			}
+			return scheduler.getValue();
+		}
+		
+		/**
+		 * Makes sure that the last location of the dragged divider is not applied by {@link #relayout}. 
+		 */
+		private void cancelPendingDivider(){
+			if( dividerPending ){
+				dividerPending = false;
+				AnimationScheduler clock = clock();
+				if( clock != null ){
+					clock.stop( relayout );
+				}
+			}
+		}
 
 		public void mouseMoved( MouseEvent e ){
 			if( station.isResizingEnabled() && !station.isDisabled() ) {
@@ -399,11 +545,11 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 					deltaY = bounds.height / 2 + bounds.y - e.getY();
 					
 					// mouse is over divider
-					withinBounds = true;
+					setWithinBounds( true );
 				}
 				else {
 					// mouse is not over divider anymore
-					withinBounds = false;
+					setWithinBounds( false );
 				}
 			}
 		}
@@ -415,7 +561,7 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 				setCursor( null );
 					
 				// mouse exited divider normally 
-				withinBounds = false;
+				setWithinBounds( false );
 			}
 		}
 	
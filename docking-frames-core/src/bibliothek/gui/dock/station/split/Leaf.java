@@ -84,9 +84,22 @@ public class Leaf extends SpanSplitNode{
      * @param handle the element
      */
     public void setHandle( StationChildHandle handle ){
+    	Dockable oldDockable = getDockable();
 		this.handle = handle;
+		dockableChanged( oldDockable );
 	}
     
+    /**
+     * Informs the {@link Root} that the {@link Dockable} of this leaf changed.
+     * @param oldDockable the previous element of this leaf, can be <code>null</code>
+     */
+    private void dockableChanged( Dockable oldDockable ){
+    	Root root = getRoot();
+    	if( root != null ){
+    		root.dockableChanged( this, oldDockable, getDockable() );
+    	}
+    }
+    
     @Override
     public Dimension getMinimumSize() {
     	SplitDockStation station = getStation();
@@ -192,12 +205,15 @@ public class Leaf extends SpanSplitNode{
 				}
     		}
     		
+    		Dockable oldDockable = handle.getDockable();
     		getAccess().removeHandle( handle, token );
     		handle = null;
+    		dockableChanged( oldDockable );
     	}
     	
         if( dockable != null ){
         	handle = getAccess().newHandle( dockable );
+        	dockableChanged( null );
             
         	if( updatePlaceholders ){
         		getAccess().getPlaceholderSet().set( this, dockable );
@@ -337,9 +353,11 @@ public class Leaf extends SpanSplitNode{
         	Rectangle bounds = getBounds();
         	bounds = getAccess().getSpanStrategy().modifyBounds( bounds, this );
         	Component component = displayer.getComponent();
-        	component.setBounds( bounds );
-        	if( component instanceof JComponent ){
-        		((JComponent)component).revalidate();
+        	if( !bounds.equals( component.getBounds() )){
+	        	component.setBounds( bounds );
+	        	if( component instanceof JComponent ){
+	        		((JComponent)component).revalidate();
+	        	}
         	}
         }
     }
@@ -247,6 +247,7 @@ public class Node extends VisibleSplitNode implements Divideable{
         if( orientation == null )
             throw new NullPointerException( "orientation must not be null" );
         this.orientation = orientation;
+        invalidateHitIndex();
         getAccess().getOwner().revalidate();
     }
     
@@ -301,6 +302,7 @@ public class Node extends VisibleSplitNode implements Divideable{
     public void setDivider( double divider ){
     	if( this.divider != divider ){
 	        this.divider = divider;
+	        invalidateHitIndex();
 	        getAccess().getOwner().revalidate();
 	        getAccess().getOwner().repaint();
 	        getAccess().repositioned( this );
@@ -437,6 +439,25 @@ public class Node extends VisibleSplitNode implements Divideable{
         }
     }
     
+    /**
+     * Tells the {@link Root} that its {@link SplitHitIndex} no longer describes this node.
+     */
+    private void invalidateHitIndex(){
+    	Root root = getRoot();
+    	if( root != null ){
+    		root.invalidateHitIndex();
+    	}
+    }
+    
+    /**
+     * Gets the area of the divider as it was calculated during the last call to 
+     * {@link #setBounds(double, double, double, double, double, double, boolean) setBounds}.
+     * @return the boundaries of the divider, not a copy
+     */
+    Rectangle getCurrentDividerBounds(){
+    	return dividerBounds;
+    }
+    
     public Rectangle getDividerBounds( double divider, Rectangle bounds ){
         if( bounds == null )
             bounds = new Rectangle();
@@ -30,6 +30,10 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Insets;
 import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.swing.JComponent;
@@ -37,6 +41,7 @@ import javax.swing.JComponent;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.SplitDockStation;
 import bibliothek.gui.dock.layout.location.AsideRequest;
+import bibliothek.util.Path;
 
 /**
  * The root of the tree that represents the internal structure of a 
@@ -53,6 +58,18 @@ public class Root extends SpanSplitNode{
     /** The result of {@link #getBaseBounds()} */
     private Rectangle baseBounds = null;
     
+    /** spatial index of the leafs and dividers, <code>null</code> if it has to be created anew */
+    private SplitHitIndex hitIndex;
+    
+    /** all the nodes of this tree, accessed by their {@link SplitNode#getId() unique identifier} */
+    private Index<Long, SplitNode> nodes = new Index<Long, SplitNode>( new HashMap<Long, List<SplitNode>>() );
+    
+    /** all the leafs of this tree, accessed by their {@link Dockable} */
+    private Index<Dockable, Leaf> leafs = new Index<Dockable, Leaf>( new IdentityHashMap<Dockable, List<Leaf>>() );
+    
+    /** all the nodes of this tree that have placeholders, accessed by their placeholders */
+    private Index<Path, SplitNode> placeholders = new Index<Path, SplitNode>( new HashMap<Path, List<SplitNode>>() );
+    
     /**
      * Creates a new root.
      * @param access the access to internal methods of the
@@ -70,11 +87,183 @@ public class Root extends SpanSplitNode{
      */
     public Root( SplitDockAccess access, long id ){
         super( access, id );
+        register( this );
+    }
+    
+    /**
+     * Adds <code>node</code> and its entire subtree to the indices of this root, and makes
+     * this root the {@link SplitNode#getRoot() root} of these nodes. Called when <code>node</code> 
+     * is attached to this tree.
+     * @param node the new node
+     */
+    void register( SplitNode node ){
+    	node.setRoot( this );
+    	nodes.add( node.getId(), node );
+    	if( node.hasPlaceholders() ){
+    		for( Path placeholder : node.getPlaceholders() ){
+    			placeholders.add( placeholder, node );
+    		}
+    	}
+    	if( node instanceof Leaf ){
+    		Dockable dockable = ((Leaf)node).getDockable();
+    		if( dockable != null ){
+    			leafs.add( dockable, (Leaf)node );
+    		}
+    	}
+    	for( int i = 0, n = node.getMaxChildrenCount(); i<n; i++ ){
+    		SplitNode child = node.getChild( i );
+    		if( child != null ){
+    			register( child );
+    		}
+    	}
+    }
+    
+    /**
+     * Removes <code>node</code> and its entire subtree from the indices of this root, afterwards
+     * these nodes no longer have a {@link SplitNode#getRoot() root}. Called when <code>node</code> 
+     * is detached from this tree.
+     * @param node the old node
+     */
+    void unregister( SplitNode node ){
+    	node.setRoot( null );
+    	nodes.remove( node.getId(), node );
+    	if( node.hasPlaceholders() ){
+    		for( Path placeholder : node.getPlaceholders() ){
+    			placeholders.remove( placeholder, node );
+    		}
+    	}
+    	if( node instanceof Leaf ){
+    		Dockable dockable = ((Leaf)node).getDockable();
+    		if( dockable != null ){
+    			leafs.remove( dockable, (Leaf)node );
+    		}
+    	}
+    	for( int i = 0, n = node.getMaxChildrenCount(); i<n; i++ ){
+    		SplitNode child = node.getChild( i );
+    		if( child != null ){
+    			unregister( child );
+    		}
+    	}
+    }
+    
+    /**
+     * Called when the {@link SplitNode#getId() unique identifier} of <code>node</code> changed.
+     * @param node a node of this tree
+     * @param oldId the old identifier of <code>node</code>
+     */
+    void idChanged( SplitNode node, long oldId ){
+    	nodes.remove( oldId, node );
+    	nodes.add( node.getId(), node );
+    }
+    
+    /**
+     * Called when the {@link Dockable} of <code>leaf</code> changed.
+     * @param leaf a leaf of this tree
+     * @param oldDockable the old element of <code>leaf</code>, can be <code>null</code>
+     * @param newDockable the new element of <code>leaf</code>, can be <code>null</code>
+     */
+    void dockableChanged( Leaf leaf, Dockable oldDockable, Dockable newDockable ){
+    	if( oldDockable != null ){
+    		leafs.remove( oldDockable, leaf );
+    	}
+    	if( newDockable != null ){
+    		leafs.add( newDockable, leaf );
+    	}
+    }
+    
+    /**
+     * Called when <code>placeholder</code> was added to <code>node</code>.
+     * @param node a node of this tree
+     * @param placeholder the new placeholder
+     */
+    void placeholderAdded( SplitNode node, Path placeholder ){
+    	placeholders.add( placeholder, node );
+    }
+    
+    /**
+     * Called when <code>placeholder</code> was removed from <code>node</code>.
+     * @param node a node of this tree
+     * @param placeholder the removed placeholder
+     */
+    void placeholderRemoved( SplitNode node, Path placeholder ){
+    	placeholders.remove( placeholder, node );
+    }
+    
+    /**
+     * Searches the node whose {@link SplitNode#getId() id} equals <code>id</code>.
+     * @param id the id to search
+     * @return the node with the id <code>id</code> or <code>null</code>
+     */
+    public SplitNode getNode( final long id ){
+    	if( !nodes.isAmbiguous( id )){
+    		return nodes.get( id );
+    	}
+    	
+    	// there are two nodes with the same id, keep the behavior of searching the entire tree
+    	class Visitor implements SplitNodeVisitor {
+			private SplitNode result;
+
+			public void handleRoot( Root root ){
+				if( root.getId() == id ) {
+					result = root;
+				}
+			}
+
+			public void handleLeaf( Leaf leaf ){
+				if( leaf.getId() == id ) {
+					result = leaf;
+				}
+			}
+
+			public void handlePlaceholder( Placeholder placeholder ){
+				if( placeholder.getId() == id ) {
+					result = placeholder;
+				}
+			}
+
+			public void handleNode( Node node ){
+				if( node.getId() == id ) {
+					result = node;
+				}
+			}
+		}
+    	
+    	Visitor visitor = new Visitor();
+		visit( visitor );
+		return visitor.result;
     }
     
     @Override
     protected void treeChanged(){
 	    treeChanged = true;
+	    hitIndex = null;
+    }
+    
+    /**
+     * Gets a spatial index describing the current boundaries of the leafs and dividers of this tree.
+     * The index is created lazily and replaced whenever the boundaries, the dividers or the structure
+     * of the tree change. Clients should not store the result.
+     * @return the current index, not <code>null</code>
+     */
+    public SplitHitIndex getHitIndex(){
+    	return getHitIndex( getWidthFactor(), getHeightFactor() );
+    }
+    
+    private SplitHitIndex getHitIndex( double factorW, double factorH ){
+    	if( hitIndex == null || !hitIndex.isValid( this, factorW, factorH )){
+    		hitIndex = new SplitHitIndex( this, factorW, factorH );
+    	}
+    	return hitIndex;
+    }
+    
+    /**
+     * Discards the current {@link #getHitIndex() hit index}, it will be created anew when it
+     * is needed the next time. This method needs to be called if the boundaries of some nodes
+     * were changed without calling {@link #updateBounds(double, double, double, double, double, double, boolean) updateBounds}
+     * on this root.
+     */
+    public void invalidateHitIndex(){
+    	hitIndex = null;
     }
     
     /**
@@ -361,12 +550,14 @@ public class Root extends SpanSplitNode{
             child.updateBounds( x, y, width, height, factorW, factorH, components );
         }
         treeChanged = false;
+        hitIndex = null;
     }
 
     @Override
     public void setBounds( double x, double y, double width, double height, double factorW, double factorH, boolean updateComponentBounds ){
     	super.setBounds( x, y, width, height, factorW, factorH, updateComponentBounds );
     	treeChanged = false;
+    	hitIndex = null;
     }
     
     @Override
@@ -376,37 +567,44 @@ public class Root extends SpanSplitNode{
 
     @Override
     public PutInfo getPut( int x, int y, double factorW, double factorH, Dockable drop ) {
-        if( !getBounds().contains( x, y ))
+        SplitNode node = getHitIndex( factorW, factorH ).getZoneNode( x, y );
+        if( node == null )
             return null;
         
-        if( child != null )
-            return child.getPut( x, y, factorW, factorH, drop );
-        else
-            return null;
+        return node.getPut( x, y, factorW, factorH, drop );
     }
     
     @Override
     public boolean isInOverrideZone( int x, int y, double factorW, double factorH ) {
-        if( !getBounds().contains( x, y ))
+        SplitNode node = getHitIndex( factorW, factorH ).getZoneNode( x, y );
+        if( node == null )
             return false;
         
-        if( child != null )
-            return child.isInOverrideZone( x, y, factorW, factorH );
-        else
-            return false;
+        return node.isInOverrideZone( x, y, factorW, factorH );
     }
     
     @Override
     public Leaf getLeaf( Dockable dockable ) {
+    	if( !leafs.isAmbiguous( dockable )){
+    		return leafs.get( dockable );
+    	}
         return child == null ? null : child.getLeaf( dockable );
     }
     
+    @Override
+    public SplitNode getPlaceholderNode( Path placeholder ){
+    	if( !placeholders.isAmbiguous( placeholder )){
+    		return placeholders.get( placeholder );
+    	}
+    	return super.getPlaceholderNode( placeholder );
+    }
+    
     @Override
     public Node getDividerNode( int x, int y ) {
         if( child == null )
             return null;
         else
-            return child.getDividerNode( x, y );
+            return getHitIndex().getDividerNode( x, y );
     }
 
     @Override
@@ -429,4 +627,76 @@ public class Root extends SpanSplitNode{
         else
             out.append( "<null>" );
     }
+    
+    /**
+     * Maps keys to the nodes of this tree. Usually a key is used by only one node, but
+     * while the tree is modified some keys may temporarily be shared. Such keys are 
+     * ambiguous, and the tree has to be searched to find the correct node.
+     * @param <K> the kind of key
+     * @param <N> the kind of node
+     */
+    private static class Index<K, N extends SplitNode>{
+    	/** all the nodes that use a key */
+    	private Map<K, List<N>> entries;
+    	
+    	/**
+    	 * Creates a new index.
+    	 * @param entries the empty map storing all the entries
+    	 */
+    	public Index( Map<K, List<N>> entries ){
+    		this.entries = entries;
+    	}
+    	
+    	/**
+    	 * Adds a node to this index.
+    	 * @param key the key of <code>node</code>
+    	 * @param node the new node
+    	 */
+    	public void add( K key, N node ){
+    		List<N> list = entries.get( key );
+    		if( list == null ){
+    			list = new ArrayList<N>( 1 );
+    			entries.put( key, list );
+    		}
+    		list.add( node );
+    	}
+    	
+    	/**
+    	 * Removes a node from this index.
+    	 * @param key the key of <code>node</code>
+    	 * @param node the node to remove
+    	 */
+    	public void remove( K key, N node ){
+    		List<N> list = entries.get( key );
+    		if( list != null ){
+    			list.remove( node );
+    			if( list.isEmpty() ){
+    				entries.remove( key );
+    			}
+    		}
+    	}
+    	
+    	/**
+    	 * Tells whether there is more than one node with <code>key</code>.
+    	 * @param key the key to search
+    	 * @return <code>true</code> if {@link #get(Object)} cannot be used
+    	 */
+    	public boolean isAmbiguous( K key ){
+    		List<N> list = entries.get( key );
+    		return list != null && list.size() > 1;
+    	}
+    	
+    	/**
+    	 * Gets the only node that uses <code>key</code>.
+    	 * @param key the key to search
+    	 * @return the node or <code>null</code>
+    	 */
+    	public N get( K key ){
+    		List<N> list = entries.get( key );
+    		if( list == null ){
+    			return null;
+    		}
+    		return list.get( 0 );
+    	}
+    }
 }
@@ -502,10 +502,7 @@ public class SplitDockStationFactory implements DockFactory<SplitDockStation, Sp
     		
     		Path[] placeholders = null;
     		if( hasPlaceholders ){
-    			placeholders = new Path[ in.readInt() ];
-    			for( int i = 0; i < placeholders.length; i++ ){
-    				placeholders[i] = new Path( in.readUTF() );
-    			}
+    			placeholders = readPlaceholders( in, strategy );
     		}
     		
     		PlaceholderMap placeholderMap = null;
@@ -0,0 +1,366 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.SplitDockStation.Orientation;
+
+/**
+ * A spatial index over the tree of a {@link SplitDockStation}. The index knows which {@link Leaf} or
+ * {@link Placeholder} is responsible for which pixel, and where the dividers of the {@link Node}s are.
+ * Instead of descending the tree on every mouse movement, {@link Root#getPut(int, int, double, double, Dockable)},
+ * {@link Root#isInOverrideZone(int, int, double, double)} and {@link Root#getDividerNode(int, int)} ask
+ * this index, which can answer in almost constant time.<br>
+ * The index is a snapshot of the tree, it is created by the {@link Root} after the boundaries, the dividers
+ * or the structure of the tree changed. Clients can access the current index through {@link Root#getHitIndex()},
+ * e.g. to implement a custom {@link SplitLayoutManager}, but they should never store it.
+ * @author Benjamin Sigg
+ */
+public class SplitHitIndex {
+	/** the factor used to convert relative x coordinates into pixels */
+	private double factorW;
+	/** the factor used to convert relative y coordinates into pixels */
+	private double factorH;
+	/** the boundaries of the root when this index was created */
+	private Rectangle rootBounds;
+
+	/** the nodes that handle drag and drop operations, see {@link SplitNode#getPut(int, int, double, double, Dockable)} */
+	private SplitNode[] zoneNodes;
+	/** the area of each entry of {@link #zoneNodes}, four values (x1, y1, x2, y2) for each node, x2 and y2 are exclusive */
+	private int[] zones;
+
+	/** all the visible dividers in the order in which {@link SplitNode#getDividerNode(int, int)} would visit them */
+	private Node[] dividerNodes;
+	/** the boundaries of each entry of {@link #dividerNodes} */
+	private Rectangle[] dividers;
+
+	/** the area covered by the grid */
+	private int gridX, gridY, gridWidth, gridHeight;
+	/** the number of cells in the grid */
+	private int columns, rows;
+	/** the size of one cell in pixels */
+	private int cellWidth, cellHeight;
+
+	/** for each cell the first index in {@link #zoneItems}, the last entry is the size of {@link #zoneItems} */
+	private int[] zoneStart;
+	/** the indices of the zones that touch a cell, grouped by cell */
+	private int[] zoneItems;
+	/** for each cell the first index in {@link #dividerItems}, the last entry is the size of {@link #dividerItems} */
+	private int[] dividerStart;
+	/** the indices of the dividers that touch a cell, grouped by cell and sorted ascending */
+	private int[] dividerItems;
+
+	/**
+	 * Creates a new index describing the current state of <code>root</code>.
+	 * @param root the tree to describe
+	 * @param factorW the factor used to convert relative x coordinates into pixels
+	 * @param factorH the factor used to convert relative y coordinates into pixels
+	 */
+	public SplitHitIndex( Root root, double factorW, double factorH ){
+		this.factorW = factorW;
+		this.factorH = factorH;
+		rootBounds = root.getBounds();
+
+		List<SplitNode> zoneNodes = new ArrayList<SplitNode>();
+		List<int[]> zones = new ArrayList<int[]>();
+		SplitNode child = root.getChild();
+		if( child != null && !rootBounds.isEmpty() ){
+			collectZones( child, rootBounds.x, rootBounds.y, rootBounds.x + rootBounds.width, rootBounds.y + rootBounds.height, zoneNodes, zones );
+		}
+		this.zoneNodes = zoneNodes.toArray( new SplitNode[ zoneNodes.size() ] );
+		this.zones = new int[ zones.size() * 4 ];
+		for( int i = 0, n = zones.size(); i < n; i++ ){
+			System.arraycopy( zones.get( i ), 0, this.zones, i*4, 4 );
+		}
+
+		List<Node> dividerNodes = new ArrayList<Node>();
+		if( child != null ){
+			collectDividers( child, dividerNodes );
+		}
+		this.dividerNodes = dividerNodes.toArray( new Node[ dividerNodes.size() ] );
+		dividers = new Rectangle[ this.dividerNodes.length ];
+		for( int i = 0; i < dividers.length; i++ ){
+			dividers[i] = new Rectangle( this.dividerNodes[i].getCurrentDividerBounds() );
+		}
+
+		createGrid();
+	}
+
+	/**
+	 * Tells whether this index was created for the same factors and the same boundaries as
+	 * <code>root</code> currently has.
+	 * @param root the root whose current boundaries are checked
+	 * @param factorW the factor used to convert relative x coordinates into pixels
+	 * @param factorH the factor used to convert relative y coordinates into pixels
+	 * @return whether this index can still be used
+	 */
+	public boolean isValid( Root root, double factorW, double factorH ){
+		return this.factorW == factorW && this.factorH == factorH && rootBounds.equals( root.getBounds() );
+	}
+
+	/**
+	 * Recursively searches the areas that are handled by the {@link Leaf}s and {@link Placeholder}s. This
+	 * method follows exactly the same rules as {@link Node#getPut(int, int, double, double, Dockable)}.
+	 */
+	private void collectZones( SplitNode node, int x1, int y1, int x2, int y2, List<SplitNode> nodes, List<int[]> zones ){
+		if( x1 >= x2 || y1 >= y2 ){
+			return;
+		}
+		if( node instanceof Node ){
+			Node parent = (Node)node;
+			SplitNode left = parent.getLeft();
+			SplitNode right = parent.getRight();
+
+			boolean leftVisible = left == null || left.isVisible();
+			boolean rightVisible = right == null || right.isVisible();
+
+			if( leftVisible && rightVisible ){
+				if( parent.getOrientation() == Orientation.HORIZONTAL ){
+					// a pixel belongs to the left child if x < split
+					int split = ceil( (parent.getX() + parent.getDivider() * parent.getWidth()) * factorW );
+					if( left != null ){
+						collectZones( left, x1, y1, Math.min( x2, split ), y2, nodes, zones );
+					}
+					if( right != null ){
+						collectZones( right, Math.max( x1, split ), y1, x2, y2, nodes, zones );
+					}
+				}
+				else{
+					int split = ceil( (parent.getY() + parent.getDivider() * parent.getHeight()) * factorH );
+					if( left != null ){
+						collectZones( left, x1, y1, x2, Math.min( y2, split ), nodes, zones );
+					}
+					if( right != null ){
+						collectZones( right, x1, Math.max( y1, split ), x2, y2, nodes, zones );
+					}
+				}
+			}
+			else if( leftVisible ){
+				if( left != null ){
+					collectZones( left, x1, y1, x2, y2, nodes, zones );
+				}
+			}
+			else if( rightVisible ){
+				if( right != null ){
+					collectZones( right, x1, y1, x2, y2, nodes, zones );
+				}
+			}
+		}
+		else{
+			nodes.add( node );
+			zones.add( new int[]{ x1, y1, x2, y2 } );
+		}
+	}
+
+	/**
+	 * Converts a coordinate into the first pixel that is not smaller than <code>value</code>.
+	 */
+	private int ceil( double value ){
+		if( value >= Integer.MAX_VALUE ){
+			return Integer.MAX_VALUE;
+		}
+		if( value <= Integer.MIN_VALUE ){
+			return Integer.MIN_VALUE;
+		}
+		return (int)Math.ceil( value );
+	}
+
+	/**
+	 * Recursively searches all the dividers in the same order as {@link Node#getDividerNode(int, int)}
+	 * would visit them.
+	 */
+	private void collectDividers( SplitNode node, List<Node> dividers ){
+		if( node instanceof Node ){
+			Node parent = (Node)node;
+			SplitNode left = parent.getLeft();
+			SplitNode right = parent.getRight();
+
+			boolean leftVisible = left == null || left.isVisible();
+			boolean rightVisible = right == null || right.isVisible();
+
+			if( leftVisible && rightVisible ){
+				dividers.add( parent );
+			}
+			if( left != null && leftVisible ){
+				collectDividers( left, dividers );
+			}
+			if( right != null && rightVisible ){
+				collectDividers( right, dividers );
+			}
+		}
+	}
+
+	/**
+	 * Sorts all the zones and dividers into the cells of a grid.
+	 */
+	private void createGrid(){
+		Rectangle area = new Rectangle( rootBounds );
+		for( Rectangle divider : dividers ){
+			if( !divider.isEmpty() ){
+				area = area.isEmpty() ? new Rectangle( divider ) : area.union( divider );
+			}
+		}
+
+		gridX = area.x;
+		gridY = area.y;
+		gridWidth = Math.max( 1, area.width );
+		gridHeight = Math.max( 1, area.height );
+
+		// about two cells for each item, with cells as square as possible
+		int items = Math.max( 1, zoneNodes.length + dividers.length );
+		columns = (int)Math.round( Math.sqrt( 2.0 * items * gridWidth / gridHeight ));
+		columns = Math.max( 1, Math.min( gridWidth, columns ));
+		rows = Math.max( 1, Math.min( gridHeight, (2 * items + columns - 1) / columns ));
+		cellWidth = (gridWidth + columns - 1) / columns;
+		cellHeight = (gridHeight + rows - 1) / rows;
+
+		int cells = columns * rows;
+
+		// zones
+		zoneStart = new int[ cells + 1 ];
+		for( int i = 0; i < zoneNodes.length; i++ ){
+			count( zones[i*4], zones[i*4+1], zones[i*4+2], zones[i*4+3], zoneStart );
+		}
+		zoneItems = new int[ prefixSum( zoneStart ) ];
+		int[] next = zoneStart.clone();
+		for( int i = 0; i < zoneNodes.length; i++ ){
+			fill( zones[i*4], zones[i*4+1], zones[i*4+2], zones[i*4+3], i, next, zoneItems );
+		}
+
+		// dividers
+		dividerStart = new int[ cells + 1 ];
+		for( Rectangle divider : dividers ){
+			if( !divider.isEmpty() ){
+				count( divider.x, divider.y, divider.x + divider.width, divider.y + divider.height, dividerStart );
+			}
+		}
+		dividerItems = new int[ prefixSum( dividerStart ) ];
+		next = dividerStart.clone();
+		for( int i = 0; i < dividers.length; i++ ){
+			Rectangle divider = dividers[i];
+			if( !divider.isEmpty() ){
+				fill( divider.x, divider.y, divider.x + divider.width, divider.y + divider.height, i, next, dividerItems );
+			}
+		}
+	}
+
+	private void count( int x1, int y1, int x2, int y2, int[] start ){
+		int c1 = column( x1 );
+		int c2 = column( x2-1 );
+		int r1 = row( y1 );
+		int r2 = row( y2-1 );
+		for( int r = r1; r <= r2; r++ ){
+			for( int c = c1; c <= c2; c++ ){
+				start[ r*columns + c + 1 ]++;
+			}
+		}
+	}
+
+	private int prefixSum( int[] start ){
+		for( int i = 1; i < start.length; i++ ){
+			start[i] += start[i-1];
+		}
+		return start[ start.length-1 ];
+	}
+
+	private void fill( int x1, int y1, int x2, int y2, int item, int[] next, int[] items ){
+		int c1 = column( x1 );
+		int c2 = column( x2-1 );
+		int r1 = row( y1 );
+		int r2 = row( y2-1 );
+		for( int r = r1; r <= r2; r++ ){
+			for( int c = c1; c <= c2; c++ ){
+				items[ next[ r*columns + c ]++ ] = item;
+			}
+		}
+	}
+
+	private int column( int x ){
+		return Math.max( 0, Math.min( columns-1, (int)(((long)x - gridX) / cellWidth )));
+	}
+
+	private int row( int y ){
+		return Math.max( 0, Math.min( rows-1, (int)(((long)y - gridY) / cellHeight )));
+	}
+
+	private int cell( int x, int y ){
+		if( x < gridX || y < gridY || x - gridX >= gridWidth || y - gridY >= gridHeight ){
+			return -1;
+		}
+		return row( y ) * columns + column( x );
+	}
+
+	/**
+	 * Searches the {@link Leaf} or {@link Placeholder} that is responsible for drag and drop
+	 * operations at <code>x/y</code>.
+	 * @param x the x-coordinate in pixels
+	 * @param y the y-coordinate in pixels
+	 * @return the node at <code>x/y</code> or <code>null</code>
+	 */
+	public SplitNode getZoneNode( int x, int y ){
+		if( !rootBounds.contains( x, y )){
+			return null;
+		}
+		int cell = cell( x, y );
+		if( cell < 0 ){
+			return null;
+		}
+		for( int i = zoneStart[cell], n = zoneStart[cell+1]; i < n; i++ ){
+			int index = zoneItems[i];
+			int offset = index*4;
+			if( x >= zones[offset] && y >= zones[offset+1] && x < zones[offset+2] && y < zones[offset+3] ){
+				return zoneNodes[index];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Searches the {@link Node} whose divider contains <code>x/y</code>. The result is the
+	 * same as the result of {@link SplitNode#getDividerNode(int, int)} would be.
+	 * @param x the x-coordinate in pixels
+	 * @param y the y-coordinate in pixels
+	 * @return the node whose divider is at <code>x/y</code> or <code>null</code>
+	 */
+	public Node getDividerNode( int x, int y ){
+		int cell = cell( x, y );
+		if( cell < 0 ){
+			return null;
+		}
+		for( int i = dividerStart[cell], n = dividerStart[cell+1]; i < n; i++ ){
+			int index = dividerItems[i];
+			if( dividers[index].contains( x, y )){
+				return dividerNodes[index];
+			}
+		}
+		return null;
+	}
+}
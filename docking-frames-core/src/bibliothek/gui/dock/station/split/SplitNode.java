@@ -56,6 +56,8 @@ import bibliothek.util.Path;
 public abstract class SplitNode{
 	/** Parent node of this node */
     private SplitNode parent;
+    /** The root of the tree in which this node is, set by {@link Root#register(SplitNode)} */
+    private Root root;
     /** Bounds of this node on the station */
     protected double x, y, width, height;
     /** Internal access to the owner-station */
@@ -123,7 +125,12 @@ public abstract class SplitNode{
 		if( placeholders == null ){
 			placeholders = new HashSet<Path>();
 		}
-		placeholders.add( placeholder );
+		if( placeholders.add( placeholder )){
+			Root root = getRoot();
+			if( root != null ){
+				root.placeholderAdded( this, placeholder );
+			}
+		}
 	}
 	
 	/**
@@ -151,6 +158,12 @@ public abstract class SplitNode{
 	 */
 	public void setPlaceholders( Path[] placeholders ){
 		if( this.placeholders != null ){
+			Root root = getRoot();
+			if( root != null ){
+				for( Path placeholder : this.placeholders ){
+					root.placeholderRemoved( this, placeholder );
+				}
+			}
 			this.placeholders.clear();
 		}
 		if( placeholders != null ){
@@ -167,7 +180,13 @@ public abstract class SplitNode{
 	 */
 	public boolean removePlaceholder( Path placeholder ){
 		if( placeholders != null ){
-			return placeholders.remove( placeholder );
+			if( placeholders.remove( placeholder )){
+				Root root = getRoot();
+				if( root != null ){
+					root.placeholderRemoved( this, placeholder );
+				}
+				return true;
+			}
 		}
 		return false;
 	}
@@ -177,8 +196,18 @@ public abstract class SplitNode{
 	 * @param placeholders the placeholders to remove
 	 */
 	public void removePlaceholders( Set<Path> placeholders ){
-		if( this.placeholders != null ){
-			this.placeholders.removeAll( placeholders );
+		if( this.placeholders != null && !this.placeholders.isEmpty() ){
+			Root root = getRoot();
+			if( root == null ){
+				this.placeholders.removeAll( placeholders );
+			}
+			else{
+				for( Path placeholder : placeholders ){
+					if( this.placeholders.remove( placeholder )){
+						root.placeholderRemoved( this, placeholder );
+					}
+				}
+			}
 		}
 	}
 	
@@ -403,10 +432,20 @@ public abstract class SplitNode{
     public void setParent( SplitNode parent ){
     	if( this.parent != null ){
     		SplitNode node = this.parent;
+    		Root root = node.getRoot();
     		this.parent = null;
+    		if( root != null ){
+    			root.unregister( this );
+    		}
     		node.setChild( null, node.getChildLocation( this ) );
     	}
         this.parent = parent;
+        if( parent != null ){
+        	Root root = parent.getRoot();
+        	if( root != null ){
+        		root.register( this );
+        	}
+        }
     }
     
     /**
@@ -488,6 +527,10 @@ public abstract class SplitNode{
     			if( ids[offset+i] == id ){
     				this.id = access.uniqueID();
     				issue = true;
+    				Root root = getRoot();
+    				if( root != null ){
+    					root.idChanged( this, id );
+    				}
     				break;
     			}
     		}
@@ -604,9 +647,16 @@ public abstract class SplitNode{
      * @return the root or <code>null</code>
      */
     public Root getRoot(){
-        if( parent == null )
-            return null;
-        return parent.getRoot();
+        return root;
+    }
+    
+    /**
+     * Sets the result of {@link #getRoot()}, called by the {@link Root} when this node is
+     * attached to or detached from its tree.
+     * @param root the new root, can be <code>null</code>
+     */
+    void setRoot( Root root ){
+    	this.root = root;
     }
     
     /**
@@ -26,8 +26,10 @@
 package bibliothek.gui.dock.station.split;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import bibliothek.gui.DockStation;
@@ -133,6 +135,102 @@ public class SplitPlaceholderSet {
     	}
     }
 
+    /**
+     * Ensures that each node of <code>dockables</code> is associated with the placeholder of its
+     * {@link Dockable}, but no other node has that placeholder. The result is the same as calling
+     * {@link #set(SplitNode, Dockable, SplitNode...)} for each entry, but the tree is visited only once.
+     * @param dockables the new owners of the placeholders and their {@link Dockable}s, these nodes will not
+     * be removed even if they are not {@link SplitNode#isOfUse() useful}
+     */
+    public void set( Map<? extends SplitNode, Dockable> dockables ){
+    	PlaceholderStrategy strategy = access.getOwner().getPlaceholderStrategy();
+    	if( strategy == null ){
+    		return;
+    	}
+    	
+    	final Map<Path, SplitNode> owners = new HashMap<Path, SplitNode>();
+    	for( Map.Entry<? extends SplitNode, Dockable> entry : dockables.entrySet() ){
+    		Path placeholder = strategy.getPlaceholderFor( entry.getValue() );
+    		if( placeholder != null ){
+    			owners.put( placeholder, entry.getKey() );
+    		}
+    	}
+    	
+    	if( owners.isEmpty() ){
+    		return;
+    	}
+    	
+    	// the placeholders each owner keeps, and all the placeholders that are removed from the other nodes
+    	final Map<SplitNode, List<Path>> ownPlaceholders = new HashMap<SplitNode, List<Path>>();
+    	for( Map.Entry<Path, SplitNode> entry : owners.entrySet() ){
+    		List<Path> own = ownPlaceholders.get( entry.getValue() );
+    		if( own == null ){
+    			own = new ArrayList<Path>( 1 );
+    			ownPlaceholders.put( entry.getValue(), own );
+    		}
+    		own.add( entry.getKey() );
+    	}
+    	final Set<Path> removedPlaceholders = new HashSet<Path>( owners.keySet() );
+    	
+    	final Set<SplitNode> protectedNodes = new HashSet<SplitNode>( dockables.keySet() );
+    	final List<SplitNode> nodesToDelete = new ArrayList<SplitNode>();
+    	
+    	Root root = access.getOwner().getRoot();
+    	root.visit( new SplitNodeVisitor() {
+			public void handleRoot( Root root ){
+				handle( root );
+			}
+			
+			public void handlePlaceholder( Placeholder placeholder ){
+				handle( placeholder );
+			}
+			
+			public void handleNode( Node node ){
+				handle( node );
+			}
+			
+			public void handleLeaf( Leaf leaf ){
+				handle( leaf );
+			}
+			
+			private void handle( SplitNode check ){
+				for( Path placeholder : check.getPlaceholders() ){
+					SplitNode owner = owners.get( placeholder );
+					if( owner != null && owner != check ){
+						check.removePlaceholder( placeholder );
+					}
+				}
+				
+				PlaceholderMap map = check.getPlaceholderMap();
+				if( map != null ){
+					List<Path> own = ownPlaceholders.get( check );
+					if( own == null ){
+						map.removeAll( removedPlaceholders, true );
+					}
+					else{
+						removedPlaceholders.removeAll( own );
+						map.removeAll( removedPlaceholders, true );
+						removedPlaceholders.addAll( own );
+					}
+				}
+				
+				if( !protectedNodes.contains( check ) && !check.isOfUse() ){
+					nodesToDelete.add( check );
+				}
+			}
+		});
+    	
+    	for( Map.Entry<Path, SplitNode> entry : owners.entrySet() ){
+    		entry.getValue().addPlaceholder( entry.getKey() );
+    	}
+    	
+    	if( access.isTreeAutoCleanupEnabled() ){
+    		for( SplitNode delete : nodesToDelete ){
+    			delete.delete( true );
+    		}
+    	}
+    }
+    
     /**
      * Removes any placeholder from <code>placeholderMap</code> that is stored in another node
      * than <code>node</code>.
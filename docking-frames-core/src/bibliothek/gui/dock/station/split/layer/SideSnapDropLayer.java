@@ -34,6 +34,7 @@ import javax.swing.SwingUtilities;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.station.layer.BoundedDropLayer;
 import bibliothek.gui.dock.station.layer.DockStationDropLayer;
 import bibliothek.gui.dock.station.layer.LayerPriority;
 
@@ -42,7 +43,7 @@ import bibliothek.gui.dock.station.layer.LayerPriority;
  * that it appears at one side of the station
  * @author Benjamin Sigg
  */
-public class SideSnapDropLayer implements DockStationDropLayer{
+public class SideSnapDropLayer implements BoundedDropLayer{
 	private SplitDockStation station;
 	private LayerPriority priority = LayerPriority.OUTSIDE_LOW;
 	
@@ -82,6 +83,16 @@ public class SideSnapDropLayer implements DockStationDropLayer{
 		return child;
 	}
 	
+	public Rectangle getScreenBounds(){
+		Component component = getComponent();
+		if( !component.isShowing() ){
+			return null;
+		}
+		Point location = component.getLocationOnScreen();
+		int size = station.getBorderSideSnapSize();
+		return new Rectangle( location.x - size, location.y - size, component.getWidth() + 2*size + 1, component.getHeight() + 2*size + 1 );
+	}
+	
 	public boolean contains( int x, int y ){
 		if( !station.isAllowSideSnap() ){
 			return false;
@@ -92,6 +92,17 @@ public abstract class CombinedStackDockComponent<T extends CombinedTab, M extend
 		}
 	};
 	
+	/** Whether only the component of the selected dockable is added to {@link #componentPanel} */
+	private PropertyValue<Boolean> virtualized = new PropertyValue<Boolean>( StackDockStation.VIRTUALIZED ){
+		@Override
+		protected void valueChanged( Boolean oldValue, Boolean newValue ){
+			for( Meta meta : components.values() ){
+				updateAttached( meta );
+			}
+			revalidate();
+		}
+	};
+	
 	/** the background of this component */
 	private BackgroundAlgorithm background;
 
@@ -334,6 +345,7 @@ public abstract class CombinedStackDockComponent<T extends CombinedTab, M extend
 			background.setController( controller );
 			tabDisabling.setController( controller );
 			tabConfiguration.setProperties( controller );
+			virtualized.setProperties( controller );
 			super.setController( controller );
 		}
 	}
@@ -435,13 +447,57 @@ public abstract class CombinedStackDockComponent<T extends CombinedTab, M extend
 
 	@Override
 	public void setSelectedDockable( Dockable dockable ){
-		if( getSelectedDockable() != dockable ) {
+		Dockable previous = getSelectedDockable();
+		if( previous != dockable ) {
+			Meta next = dockable == null ? null : components.get( dockable );
+			if( next != null && next.component.getParent() != componentPanel ){
+				// listeners should already find the new selection in the Swing hierarchy
+				next.component.setVisible( false );
+				componentPanel.add( next.component );
+			}
+			
 			super.setSelectedDockable( dockable );
 
-			for( Meta entry : components.values() ) {
-				entry.component.setVisible( entry.dockable == dockable );
+			if( previous != null ){
+				Meta entry = components.get( previous );
+				if( entry != null ){
+					updateAttached( entry );
+				}
+			}
+			if( next != null ){
+				updateAttached( next );
+			}
+		}
+	}
+	
+	/**
+	 * Tells whether only the component of the selected dockable is part of the Swing hierarchy.
+	 * @return whether this component is virtualized
+	 * @see StackDockStation#VIRTUALIZED
+	 */
+	public boolean isVirtualized(){
+		return virtualized.getValue();
+	}
+	
+	/**
+	 * Makes sure that the component of <code>meta</code> is visible if it is selected, and that
+	 * it is added to {@link #componentPanel} unless this component is {@link #isVirtualized() virtualized}
+	 * and <code>meta</code> is not selected.
+	 * @param meta the element whose component is to be updated
+	 */
+	private void updateAttached( Meta meta ){
+		boolean selected = getSelectedDockable() == meta.dockable;
+		boolean attached = meta.component.getParent() == componentPanel;
+		
+		if( selected || !isVirtualized() ){
+			if( !attached ){
+				componentPanel.add( meta.component );
 			}
 		}
+		else if( attached ){
+			componentPanel.remove( meta.component );
+		}
+		meta.component.setVisible( selected );
 	}
 
 	public Rectangle getBoundsAt( int index ){
@@ -468,13 +524,12 @@ public abstract class CombinedStackDockComponent<T extends CombinedTab, M extend
 		Component between = createLayerAt( comp, dockable );
 		Meta meta = new Meta( dockable, between, title, icon, null, !tabDisabling.isDisabled( dockable ) );
 		components.put( dockable, meta );
-		componentPanel.add( between );
 
 		insert( index, dockable );
 
 		meta.forward();
 
-		meta.component.setVisible( getSelectedDockable() == dockable );
+		updateAttached( meta );
 		
 		tabDisabling.add( dockable );
 	}
@@ -665,9 +720,7 @@ public abstract class CombinedStackDockComponent<T extends CombinedTab, M extend
 
 		componentPanel.remove( meta.component );
 		meta.component = createLayerAt( component, meta.dockable );
-		componentPanel.add( meta.component );
-
-		meta.component.setVisible( getSelectedDockable() == meta.dockable );
+		updateAttached( meta );
 		revalidate();
 	}
 	
@@ -96,6 +96,14 @@ public class CombinedStackDockContentPane extends ConfiguredBackgroundPanel{
 		}
 	}
 	
+    @Override
+    public void invalidate(){
+    	super.invalidate();
+    	if( parent != null ){
+    		parent.invalidateLayout();
+    	}
+    }
+    
     @Override
     public void doLayout() {
     	super.doLayout();
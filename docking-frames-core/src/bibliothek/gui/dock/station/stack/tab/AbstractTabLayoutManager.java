@@ -72,6 +72,18 @@ public abstract class AbstractTabLayoutManager<I extends AbstractTabLayoutManage
 	 */
 	protected abstract void destroy( I info );
 	
+	/**
+	 * Informs the information about <code>pane</code> that the sizes of its children may have changed.
+	 * @param pane some panel
+	 * @see AbstractTabLayoutManagerPane#invalidate()
+	 */
+	public void invalidate( TabPane pane ){
+		I info = getInfo( pane );
+		if( info != null ){
+			info.invalidate();
+		}
+	}
+	
 	/**
 	 * Gets all the information that is stored for <code>pane</code>.
 	 * @param pane some panel
@@ -80,6 +80,14 @@ public class AbstractTabLayoutManagerPane implements TabPaneListener{
 		// ignore
 	}
 
+	/**
+	 * Called if the size of the tabs, menus or info component of {@link #getPane() the pane} may
+	 * have changed. Subclasses caching information about sizes should discard their caches.
+	 */
+	public void invalidate(){
+		// ignore
+	}
+	
 	/**
 	 * Called by the {@link AbstractTabLayoutManager} once this pane is no longer in use.
 	 */
@@ -130,6 +130,19 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
 		}
 	}
 	
+	/**
+	 * Informs the {@link TabLayoutManager} that the size of some tabs, menus or of the info component
+	 * may have changed, and that any cached layout information must be discarded. This method should
+	 * be called whenever the component showing this pane is invalidated.
+	 */
+	public void invalidateLayout(){
+		TabLayoutManager layout = layoutManager.getValue();
+		
+		if( layout instanceof AbstractTabLayoutManager<?> ){
+			((AbstractTabLayoutManager<?>)layout).invalidate( this );
+		}
+	}
+	
 	/**
 	 * Gets the minimal size required to have a big enough {@link #getAvailableArea()} to show
 	 * all content. 
@@ -32,6 +32,7 @@ import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.List;
 
+import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.station.stack.tab.layouting.LayoutBlock;
 import bibliothek.gui.dock.station.stack.tab.layouting.MenuLayoutBlock;
@@ -49,6 +50,12 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 	private TabsLayoutBlock tabs;
 	private MenuLineLayout layout;
 	
+	/** the result of the last call to {@link #listLayouts()}, <code>null</code> if it needs to be calculated again */
+	private List<MenuLineLayoutPossibility> cachedLayouts;
+	
+	/** the orientation that was used to calculate {@link #cachedLayouts} */
+	private TabPlacement cachedOrientation;
+	
 	/**
 	 * Creates new layout information for <code>pane</code>.
 	 * @param layout the layout using this pane
@@ -249,15 +256,29 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 		else if( smallest != null ){
 			smallest.apply();
 		}
+		
+		// applying a layout changes the visible tabs and the content of the menu
+		invalidate();
+	}
+	
+	@Override
+	public void invalidate(){
+		cachedLayouts = null;
 	}
 	
 	/**
-	 * Creates a list of all available layouts.
+	 * Creates a list of all available layouts. The list is cached until this pane is 
+	 * {@link #invalidate() invalidated}, the content of the {@link TabPane} changes, or
+	 * a layout is applied.
 	 * @return the list of all available layouts
 	 */
 	private List<MenuLineLayoutPossibility> listLayouts(){
-		List<MenuLineLayoutPossibility> results = new ArrayList<MenuLineLayoutPossibility>();
 		TabPlacement orientation = getPane().getDockTabPlacement();
+		if( cachedLayouts != null && cachedOrientation == orientation ){
+			return cachedLayouts;
+		}
+		
+		List<MenuLineLayoutPossibility> results = new ArrayList<MenuLineLayoutPossibility>();
 		
 		tabs.setOrientation( orientation );
 		Size[] sizesTabs = tabs.getSizes();
@@ -274,7 +295,10 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 		}
 		else{
 			listLayouts( results, null, sizesMenu, sizesTabs );
-		}	
+		}
+		
+		cachedLayouts = results;
+		cachedOrientation = orientation;
 		return results;
 	}
 	
@@ -319,6 +343,30 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 		return new MenuLineLayoutPossibility( this, tabSize, menuSize, infoSize );
 	}
 	
+	@Override
+	public void added( TabPane pane, Dockable dockable ){
+		super.added( pane, dockable );
+		invalidate();
+	}
+	
+	@Override
+	public void removed( TabPane pane, Dockable dockable ){
+		super.removed( pane, dockable );
+		invalidate();
+	}
+	
+	@Override
+	public void selectionChanged( TabPane pane ){
+		super.selectionChanged( pane );
+		invalidate();
+	}
+	
+	@Override
+	public void controllerChanged( TabPane pane, DockController controller ){
+		super.controllerChanged( pane, controller );
+		invalidate();
+	}
+	
 	@Override
 	public void infoComponentChanged( TabPane pane, LonelyTabPaneComponent oldInfo, LonelyTabPaneComponent newInfo ){
 		super.infoComponentChanged( pane, oldInfo, newInfo );
@@ -326,5 +374,6 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 			info = null;
 		else
 			info = newInfo.toLayoutBlock();
+		invalidate();
 	}
 }
@@ -42,7 +42,9 @@ public interface Tab extends TabPaneComponent{
 	
 	/**
 	 * Gets the minimum size of this tab under the assumption that 
-	 * this tab is displayed together with <code>tabs</code>.
+	 * this tab is displayed together with <code>tabs</code>. The result may depend
+	 * on the direct neighbors of this tab in <code>tabs</code>, but not on any other
+	 * entry: layout managers reuse the result as long as the neighbors do not change.
 	 * @param tabs the displayed tabs, exactly one entry is <code>this</code>
 	 * and no entry is <code>null</code>
 	 * @return the minimum size of this tab
@@ -51,7 +53,9 @@ public interface Tab extends TabPaneComponent{
 	
 	/**
 	 * Gets the preferred size of this tab under the assumption that 
-	 * this tab is displayed together with <code>tabs</code>.
+	 * this tab is displayed together with <code>tabs</code>. The result may depend
+	 * on the direct neighbors of this tab in <code>tabs</code>, but not on any other
+	 * entry: layout managers reuse the result as long as the neighbors do not change.
 	 * @param tabs the displayed tabs, exactly one entry is <code>this</code>
 	 * and no entry is <code>null</code>
 	 * @return the preferred size of this tab
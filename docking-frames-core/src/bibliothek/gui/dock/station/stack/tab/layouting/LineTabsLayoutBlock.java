@@ -32,7 +32,9 @@ import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.station.stack.tab.AxisConversion;
@@ -386,13 +388,23 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 	
 	/**
 	 * Calculates the {@link TabPaneComponent#setZOrder(int) z-order} of various
-	 * components requiring only a subset of all comparisons 
+	 * components requiring only a subset of all comparisons. The order is a topological
+	 * sort of the constraints given by {@link #putOrder(Tab, Tab)} and is calculated in
+	 * time linear to the number of tabs and constraints.
 	 */
 	protected class ZOrder{
 		private Tab[] tabs;
 		
-		private List<Integer>[] onTop;
+		/** the index of each tab in {@link #tabs} */
+		private Map<Tab, Integer> indices;
+		
+		/** for each tab the indices of the tabs that are behind it */
 		private List<Integer>[] onBottom;
+		/** for each tab the number of tabs that are in front of it */
+		private int[] onTopCount;
+		
+		/** the indices of the tabs ordered by z, <code>null</code> if not yet calculated */
+		private int[] order;
 		
 		/**
 		 * Creates a new {@link ZOrder}
@@ -402,12 +414,15 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 		public ZOrder( Tab[] tabs ){
 			this.tabs = tabs;
 			
-			onTop = new List[ tabs.length ];
+			indices = new IdentityHashMap<Tab, Integer>( tabs.length );
 			onBottom = new List[ tabs.length ];
+			onTopCount = new int[ tabs.length ];
 			
 			for( int i = 0; i < tabs.length; i++ ){
-				onTop[i] = new ArrayList<Integer>( 5 );
-				onBottom[i] = new ArrayList<Integer>( 5 );
+				if( !indices.containsKey( tabs[i] )){
+					indices.put( tabs[i], i );
+				}
+				onBottom[i] = new ArrayList<Integer>( 2 );
 			}
 		}
 		
@@ -419,17 +434,54 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 		 * @param back the back tab
 		 */
 		public void putOrder( Tab front, Tab back ){
-			for( int f = 0; f < tabs.length; f++ ){
-				if( tabs[f] == front ){
-					for( int b = 0; b < tabs.length; b++ ){
-						if( tabs[b] == back ){
-							onTop[b].add( f );
-							onBottom[f].add( b );
-							return;
+			Integer f = indices.get( front );
+			Integer b = indices.get( back );
+			if( f != null && b != null ){
+				onBottom[f].add( b );
+				onTopCount[b]++;
+				order = null;
+			}
+		}
+		
+		/**
+		 * Gets the indices of the tabs ordered by their z-order, the first entry
+		 * is the tab in front of all other tabs. If the constraints contain a cycle, then
+		 * the tabs of the cycle are appended in their original order.
+		 * @return the ordered indices, this array must not be modified
+		 */
+		private int[] order(){
+			if( order == null ){
+				int[] result = new int[ tabs.length ];
+				int[] count = onTopCount.clone();
+				int head = 0;
+				int tail = 0;
+				
+				for( int i = 0; i < count.length; i++ ){
+					if( count[i] == 0 ){
+						result[ tail++ ] = i;
+					}
+				}
+				
+				while( head < tail ){
+					int next = result[ head++ ];
+					for( int bottom : onBottom[next] ){
+						if( --count[bottom] == 0 ){
+							result[ tail++ ] = bottom;
 						}
 					}
 				}
+				
+				if( tail < result.length ){
+					for( int i = 0; i < count.length; i++ ){
+						if( count[i] > 0 ){
+							result[ tail++ ] = i;
+						}
+					}
+				}
+				
+				order = result;
 			}
+			return order;
 		}
 		
 		/**
@@ -437,23 +489,10 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 		 * @return the z order.
 		 */
 		public int[] getZOrders(){
+			int[] order = order();
 			int[] results = new int[ tabs.length ];
-			boolean[] handled = new boolean[ results.length ];
-			
-			for( int i = 0; i < results.length; i++ ){
-				for( int j = 0; j < results.length; j++ ){
-					if( !handled[j] ){
-						if( onTop[j].isEmpty() ){
-							results[j] = results.length-i;
-							handled[j] = true;
-							Integer index = i;
-							
-							for( int bottom : onBottom[j] ){
-								onTop[bottom].remove( index );
-							}
-						}
-					}
-				}
+			for( int i = 0; i < order.length; i++ ){
+				results[ order[i] ] = results.length-i;
 			}
 			return results;
 		}
@@ -464,24 +503,10 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 		 * @return the tabs ordered by z
 		 */
 		public Tab[] getOrderedByZ(){
+			int[] order = order();
 			Tab[] results = new Tab[ tabs.length ];
-			boolean[] handled = new boolean[ results.length ];
-			
-			base:for( int i = 0; i < results.length; i++ ){
-				for( int j = 0; j < results.length; j++ ){
-					if( !handled[j] ){
-						if( onTop[j].isEmpty() ){
-							results[i] = tabs[j];
-							handled[j] = true;
-							Integer index = i;
-							
-							for( int bottom : onBottom[j] ){
-								onTop[bottom].remove( index );
-							}
-							continue base;
-						}
-					}
-				}
+			for( int i = 0; i < order.length; i++ ){
+				results[i] = tabs[ order[i] ];
 			}
 			return results;
 		}
@@ -517,8 +542,8 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 		}
 		
 		/**
-		 * Adds a new tab to this collector, all sizes of this collector
-		 * change because of this action.
+		 * Adds a new tab to this collector, the sizes of the new tab and of
+		 * its neighbors are calculated again.
 		 * @param tab the new tab
 		 */
 		public void insert( Tab tab ){
@@ -556,13 +581,28 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 			tabs[ index ] = tab;
 			Tab[] visibleTabs = getVisibleTabs();
 			
-			for( int i = 0; i < tabs.length; i++ ){
+			// only the new tab and its neighbors get a new context, the other sizes remain valid
+			int previous = -1;
+			for( int i = index-1; i >= 0 && previous == -1; i-- ){
+				if( tabs[i] != null ){
+					previous = i;
+				}
+			}
+			int next = -1;
+			for( int i = index+1; i < tabs.length && next == -1; i++ ){
 				if( tabs[i] != null ){
-					minimum[ i ] = tabs[i].getMinimumSize( visibleTabs );
-					preferred[ i ] = tabs[i].getPreferredSize( visibleTabs );
+					next = i;
 				}
 			}
 			
+			updateSize( index, visibleTabs );
+			if( previous != -1 ){
+				updateSize( previous, visibleTabs );
+			}
+			if( next != -1 ){
+				updateSize( next, visibleTabs );
+			}
+			
 			boolean horizontal = getOrientation().isHorizontal();
 			
 			// search previous
@@ -596,6 +636,16 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 			}
 		}
 		
+		/**
+		 * Calculates the minimum and preferred size of the tab at <code>index</code>.
+		 * @param index the index of a tab that is not <code>null</code>
+		 * @param visibleTabs all the tabs that are currently shown
+		 */
+		private void updateSize( int index, Tab[] visibleTabs ){
+			minimum[ index ] = tabs[ index ].getMinimumSize( visibleTabs );
+			preferred[ index ] = tabs[ index ].getPreferredSize( visibleTabs );
+		}
+		
 		/**
 		 * Gets the current minimum size.
 		 * @return minimum size
@@ -27,19 +27,34 @@
 package bibliothek.gui.dock.station.support;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
+import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.event.DockEventBatch;
 import bibliothek.gui.dock.event.DockStationListener;
+import bibliothek.gui.dock.event.SynchronousDockListener;
 
 /**
  * This manager stores {@link DockStationListener DockStationListeners}
- * and provides methods to invoke the listeners.
+ * and provides methods to invoke the listeners. Events about the visibility, the
+ * selection and the position of children are delayed and merged while a
+ * {@link DockEventBatch} is open, except for listeners that are
+ * {@link SynchronousDockListener}s. Events about added or removed children are never
+ * delayed, instead the delayed events of the station and of the child are delivered first.
  * @author Benjamin Sigg
  *
  */
 public class DockStationListenerManager {
+	/** the kind of events fired by {@link #fireDockableSelected(Dockable, Dockable)} */
+	private static final String KIND_SELECTED = "dockableSelected";
+	/** the kind of events fired by {@link #fireDockablesRepositioned(Dockable...)} */
+	private static final String KIND_REPOSITIONED = "dockablesRepositioned";
+	
 	private List<DockStationListener> listeners = new ArrayList<DockStationListener>();
     private DockStation station;
     
@@ -77,6 +92,45 @@ public class DockStationListenerManager {
     public void removeListener( DockStationListener listener ){
     	listeners.remove( listener );
     }
+    
+    /**
+     * Gets a copy of all the listeners that either are or are not {@link SynchronousDockListener}s.
+     * @param synchronous whether to collect the synchronous or the other listeners
+     * @return the listeners, may be empty
+     */
+    private DockStationListener[] listeners( boolean synchronous ){
+    	List<DockStationListener> result = new ArrayList<DockStationListener>();
+    	for( DockStationListener listener : listeners ){
+    		if( DockEventBatch.isSynchronous( listener ) == synchronous ){
+    			result.add( listener );
+    		}
+    	}
+    	return result.toArray( new DockStationListener[ result.size() ] );
+    }
+	
+    /**
+     * Tries to delay <code>event</code> using the {@link DockEventBatch} of the {@link DockController}
+     * of the station.
+     * @param event the event to delay
+     * @return whether the event was delayed
+     */
+    private boolean defer( DockEventBatch.Event event ){
+    	return DockEventBatch.defer( station.getController(), event );
+    }
+    
+    /**
+     * Delivers all the delayed events of the station and of <code>dockable</code>. Called before
+     * a structural change is reported, ensuring that listeners never receive events about a child after
+     * the child was removed.
+     * @param dockable the child that is added or removed
+     */
+    private void flush( Dockable dockable ){
+    	DockEventBatch batch = DockEventBatch.get( station.getController() );
+    	if( batch != null && batch.isOpen() ){
+    		batch.flush( station );
+    		batch.flush( dockable );
+    	}
+    }
 	
 	/**
      * Invokes the method {@link DockStationListener#dockableShowingChanged(DockStation, Dockable, boolean)}
@@ -85,8 +139,14 @@ public class DockStationListenerManager {
      * @param value the new state
      */
     public void fireDockableVisibilitySet( Dockable dockable, boolean value ){
-    	for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
-            listener.dockableShowingChanged( station, dockable, value );
+    	if( defer( new VisibilityEvent( dockable, value ) )){
+    		for( DockStationListener listener : listeners( true ))
+                listener.dockableShowingChanged( station, dockable, value );
+    	}
+    	else{
+	    	for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+	            listener.dockableShowingChanged( station, dockable, value );
+    	}
     }
     
     /**
@@ -95,6 +155,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which was added
      */
     public void fireDockableAdded( Dockable dockable ){
+    	flush( dockable );
         for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
             listener.dockableAdded( station, dockable );
     }
@@ -105,6 +166,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which was removed
      */
     public void fireDockableRemoved( Dockable dockable ){
+    	flush( dockable );
         for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
             listener.dockableRemoved( station, dockable );
     }
@@ -115,6 +177,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which will be added
      */
     public void fireDockableAdding( Dockable dockable ){
+    	flush( dockable );
         for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
             listener.dockableAdding( station, dockable );
     }
@@ -125,6 +188,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which will be removed
      */
     public void fireDockableRemoving( Dockable dockable ){
+    	flush( dockable );
         for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
             listener.dockableRemoving( station, dockable );
     }
@@ -136,8 +200,14 @@ public class DockStationListenerManager {
      * @param newSelected the selected {@link Dockable}
      */
     public void fireDockableSelected( Dockable oldSelected, Dockable newSelected ){
-        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
-            listener.dockableSelected( station, oldSelected, newSelected );
+    	if( defer( new SelectionEvent( oldSelected, newSelected ) )){
+    		for( DockStationListener listener : listeners( true ))
+                listener.dockableSelected( station, oldSelected, newSelected );
+    	}
+    	else{
+	        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+	            listener.dockableSelected( station, oldSelected, newSelected );
+    	}
     }
     
     /**
@@ -146,7 +216,89 @@ public class DockStationListenerManager {
      * @param dockables the elements that have a new position
      */
     public void fireDockablesRepositioned( Dockable... dockables ){
-    	for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
-            listener.dockablesRepositioned( station, dockables );
+    	if( defer( new RepositionedEvent( dockables ) )){
+    		for( DockStationListener listener : listeners( true ))
+                listener.dockablesRepositioned( station, dockables );
+    	}
+    	else{
+	    	for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+	            listener.dockablesRepositioned( station, dockables );
+    	}
+    }
+    
+    /**
+     * A delayed call to {@link DockStationListener#dockableShowingChanged(DockStation, Dockable, boolean)},
+     * only the last value is delivered.
+     * @author Benjamin Sigg
+     */
+    private class VisibilityEvent extends DockEventBatch.Event{
+    	private Dockable dockable;
+    	private boolean value;
+    	
+    	public VisibilityEvent( Dockable dockable, boolean value ){
+    		super( dockable, DockStationListenerManager.this );
+    		this.dockable = dockable;
+    		this.value = value;
+    	}
+    	
+    	@Override
+    	protected void deliver(){
+    		for( DockStationListener listener : listeners( false ))
+                listener.dockableShowingChanged( station, dockable, value );
+    	}
+    }
+    
+    /**
+     * A delayed call to {@link DockStationListener#dockableSelected(DockStation, Dockable, Dockable)}, merging
+     * two events keeps the oldest old and the newest new selection.
+     * @author Benjamin Sigg
+     */
+    private class SelectionEvent extends DockEventBatch.Event{
+    	private Dockable oldSelected;
+    	private Dockable newSelected;
+    	
+    	public SelectionEvent( Dockable oldSelected, Dockable newSelected ){
+    		super( station, KIND_SELECTED );
+    		this.oldSelected = oldSelected;
+    		this.newSelected = newSelected;
+    	}
+    	
+    	@Override
+    	protected DockEventBatch.Event merge( DockEventBatch.Event later ){
+    		return new SelectionEvent( oldSelected, ((SelectionEvent)later).newSelected );
+    	}
+    	
+    	@Override
+    	protected void deliver(){
+    		for( DockStationListener listener : listeners( false ))
+                listener.dockableSelected( station, oldSelected, newSelected );
+    	}
+    }
+    
+    /**
+     * A delayed call to {@link DockStationListener#dockablesRepositioned(DockStation, Dockable[])}, merging
+     * two events collects the {@link Dockable}s of both events.
+     * @author Benjamin Sigg
+     */
+    private class RepositionedEvent extends DockEventBatch.Event{
+    	private Set<Dockable> dockables = new LinkedHashSet<Dockable>();
+    	
+    	public RepositionedEvent( Dockable[] dockables ){
+    		super( station, KIND_REPOSITIONED );
+    		Collections.addAll( this.dockables, dockables );
+    	}
+    	
+    	@Override
+    	protected DockEventBatch.Event merge( DockEventBatch.Event later ){
+    		dockables.addAll( ((RepositionedEvent)later).dockables );
+    		return this;
+    	}
+    	
+    	@Override
+    	protected void deliver(){
+    		Dockable[] array = dockables.toArray( new Dockable[ dockables.size() ] );
+    		for( DockStationListener listener : listeners( false ))
+                listener.dockablesRepositioned( station, array );
+    	}
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.support;
+
+import java.io.IOException;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.dock.station.PlaceholderMapping;
+import bibliothek.util.Path;
+
+/**
+ * A garbage collector for placeholders. Over time {@link DockStation}s and stored layouts
+ * collect placeholders of {@link bibliothek.gui.Dockable}s that no longer exist. This collector
+ * asks a {@link PlaceholderStrategy} which placeholders are still alive, and removes all the other
+ * placeholders from the stations and {@link bibliothek.gui.dock.frontend.Setting}s it is given.<br>
+ * The collector counts how many placeholders were removed, and how many bytes the encoded
+ * settings lost. The counters are added up until {@link #reset()} is called.
+ * @author Benjamin Sigg
+ */
+public class PlaceholderCollector {
+	/** tells which placeholders are still alive */
+	private PlaceholderStrategy strategy;
+	
+	/** how many placeholders were removed from stations */
+	private int removedPlaceholders = 0;
+	
+	/** how many bytes the stored settings shrunk */
+	private long reclaimedBytes = 0;
+	
+	/**
+	 * Creates a new collector.
+	 * @param strategy the strategy that tells which placeholders are still alive, not <code>null</code>
+	 */
+	public PlaceholderCollector( PlaceholderStrategy strategy ){
+		if( strategy == null ){
+			throw new IllegalArgumentException( "strategy must not be null" );
+		}
+		this.strategy = strategy;
+	}
+	
+	/**
+	 * Gets the strategy which tells which placeholders are still alive.
+	 * @return the strategy, not <code>null</code>
+	 */
+	public PlaceholderStrategy getStrategy(){
+		return strategy;
+	}
+	
+	/**
+	 * Removes dead placeholders from all the {@link DockStation}s known to the controller of
+	 * <code>frontend</code>, and compacts all the {@link DockFrontend#getSetting(String) stored settings}
+	 * of <code>frontend</code>.
+	 * @param frontend the frontend to clean up
+	 * @throws IOException if a setting could not be re-encoded
+	 * @see DockFrontend#compactSettings(PlaceholderStrategy)
+	 */
+	public void collect( DockFrontend frontend ) throws IOException{
+		collect( frontend.getController() );
+		reclaimedBytes += frontend.compactSettings( strategy );
+	}
+	
+	/**
+	 * Removes dead placeholders from all the {@link DockStation}s that are registered at <code>controller</code>.
+	 * @param controller the controller whose stations are cleaned up
+	 */
+	public void collect( DockController controller ){
+		for( DockStation station : controller.getRegister().listDockStations() ){
+			collect( station );
+		}
+	}
+	
+	/**
+	 * Removes dead placeholders from <code>station</code>. Placeholders which are currently associated
+	 * with a {@link bibliothek.gui.Dockable} are never removed. Children of <code>station</code> are not
+	 * visited by this method.
+	 * @param station the station to clean up
+	 * @return the number of placeholders that were removed
+	 */
+	public int collect( DockStation station ){
+		PlaceholderMap map = station.getPlaceholders();
+		if( map == null ){
+			return 0;
+		}
+		PlaceholderMapping mapping = station.getPlaceholderMapping();
+		if( mapping == null ){
+			return 0;
+		}
+		
+		int count = 0;
+		for( Path placeholder : map.listPlaceholders( true )){
+			if( !strategy.isValidPlaceholder( placeholder ) && mapping.getDockableAt( placeholder ) == null ){
+				mapping.removePlaceholder( placeholder );
+				count++;
+			}
+		}
+		removedPlaceholders += count;
+		return count;
+	}
+	
+	/**
+	 * Gets the number of placeholders that were removed from {@link DockStation}s since this
+	 * collector was created or {@link #reset()}.
+	 * @return the number of removed placeholders
+	 */
+	public int getRemovedPlaceholders(){
+		return removedPlaceholders;
+	}
+	
+	/**
+	 * Gets the number of bytes the encoded {@link bibliothek.gui.dock.frontend.Setting}s lost since this
+	 * collector was created or {@link #reset()}.
+	 * @return the number of reclaimed bytes
+	 */
+	public long getReclaimedBytes(){
+		return reclaimedBytes;
+	}
+	
+	/**
+	 * Sets all the counters of this collector back to <code>0</code>.
+	 */
+	public void reset(){
+		removedPlaceholders = 0;
+		reclaimedBytes = 0;
+	}
+}
@@ -25,9 +25,14 @@
  */
 package bibliothek.gui.dock.station.support;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
@@ -65,6 +70,18 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 
 	/** head of the dockables sublist */
 	private Entry headDockable = null;
+	
+	/** root of a balanced tree containing all entries, used to find entries by index */
+	private Entry root = null;
+	
+	/** state of the generator creating the priorities of the nodes in the tree of {@link #root} */
+	private int seed = 0x2545F491;
+	
+	/** all entries which contain some placeholder */
+	private Map<Path, List<Entry>> placeholderIndex = new HashMap<Path, List<Entry>>();
+	
+	/** the entries of all the dockables */
+	private Map<D, Entry> dockableIndex = new IdentityHashMap<D, Entry>();
 
 	/** identifiers for the various sublists this list consists of */
 	public static enum Level {
@@ -145,6 +162,15 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 		protected P unwrap( Item item ){
 			return item.getDockable();
 		}
+		
+		@Override
+		public int indexOf( P object ){
+			Entry entry = search( object );
+			if( entry != null ) {
+				return entry.index( Level.DOCKABLE );
+			}
+			return super.indexOf( object );
+		}
 
 		public void add( int index, P object ){
 			super.add( index, object );
@@ -708,16 +734,11 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 			return -1;
 		}
 
-		while( entry != null && entry.item.isPlaceholder() ) {
-			entry = entry.previous( Level.BASE );
-		}
-
-		if( entry == null ) {
-			return 0;
-		}
-		else {
-			return entry.index( Level.DOCKABLE ) + 1;
+		int index = rank( entry, Level.DOCKABLE );
+		if( isMember( entry, Level.DOCKABLE ) ) {
+			index++;
 		}
+		return index;
 	}
 
 	/**
@@ -913,47 +934,54 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 	}
 
 	private Entry search( Path placeholder ){
-		Entry entry = this.head;
-		while( entry != null ) {
-			Set<Path> set = entry.item.getPlaceholderSet();
-			if( set != null && set.contains( placeholder ) ) {
-				return entry;
+		List<Entry> entries = placeholderIndex.get( placeholder );
+		if( entries == null ) {
+			return null;
+		}
+		Entry result = null;
+		int resultIndex = -1;
+		for( Entry entry : entries ) {
+			if( entry.item.hasPlaceholder( placeholder ) ) {
+				if( result == null ) {
+					result = entry;
+				}
+				else {
+					if( resultIndex == -1 ) {
+						resultIndex = rank( result, Level.BASE );
+					}
+					int index = rank( entry, Level.BASE );
+					if( index < resultIndex ) {
+						result = entry;
+						resultIndex = index;
+					}
+				}
 			}
-			entry = entry.next( Level.BASE );
 		}
-		return null;
+		return result;
 	}
 	
 	private Entry search( D dockable ){
-		Entry entry = head( Level.DOCKABLE );
-		while( entry != null ) {
-			if( entry.item.getDockable().asDockable() == dockable ) {
-				return entry;
-			}
-			entry = entry.next( Level.DOCKABLE );
+		Entry entry = dockableIndex.get( dockable );
+		if( entry == null || entry.item.isPlaceholder() || entry.item.getDockable().asDockable() != dockable ) {
+			return null;
 		}
-		return null;
+		return entry;
 	}
 
 	private Entry search( P dockable ){
-		Entry entry = head( Level.DOCKABLE );
-		while( entry != null ) {
-			if( entry.item.getDockable() == dockable ) {
-				return entry;
-			}
-			entry = entry.next( Level.DOCKABLE );
+		if( dockable == null ) {
+			return null;
 		}
-		return null;
+		Entry entry = dockableIndex.get( dockable.asDockable() );
+		if( entry == null || entry.item.getDockable() != dockable ) {
+			return null;
+		}
+		return entry;
 	}
 
 	private Entry search( int index, Level level ){
-		Entry entry = head( level );
-
-		while( entry != null && index > 0 ) {
-			entry = entry.next( level );
-			index--;
-		}
-		return entry;
+		// walking from the head of the list, a negative index always resulted in the first entry
+		return select( Math.max( 0, index ), level );
 	}
 
 	/**
@@ -995,7 +1023,9 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 		head = null;
 		headDockable = null;
 		headPlaceholder = null;
-		invalidate();
+		root = null;
+		placeholderIndex.clear();
+		dockableIndex.clear();
 	}
 
 	private Entry head( Level level ){
@@ -1010,11 +1040,241 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 		throw new IllegalArgumentException();
 	}
 
-	private void invalidate(){
-		dockables.invalidate();
-		allPlaceholders.invalidate();
-		purePlaceholders.invalidate();
-		allItems.invalidate();
+	/**
+	 * Tells how many entries of the level <code>level</code> are in the subtree of <code>node</code>.
+	 * @param node the root of some subtree, can be <code>null</code>
+	 * @param level the level to count
+	 * @return the number of entries
+	 */
+	private int count( Entry node, Level level ){
+		if( node == null ){
+			return 0;
+		}
+		switch( level ){
+			case BASE:
+				return node.size;
+			case DOCKABLE:
+				return node.dockableCount;
+			case PLACEHOLDER:
+				return node.size - node.dockableCount;
+		}
+		throw new IllegalArgumentException();
+	}
+	
+	/**
+	 * Tells whether <code>entry</code> is part of the sublist <code>level</code>.
+	 * @param entry some entry
+	 * @param level the sublist
+	 * @return whether <code>entry</code> is visible in <code>level</code>
+	 */
+	private boolean isMember( Entry entry, Level level ){
+		switch( level ){
+			case BASE:
+				return true;
+			case DOCKABLE:
+				return !entry.itemWasPlaceholder;
+			case PLACEHOLDER:
+				return entry.itemWasPlaceholder;
+		}
+		throw new IllegalArgumentException();
+	}
+	
+	/**
+	 * Counts how many entries of the level <code>level</code> are in front of <code>entry</code>.
+	 * @param entry some entry of this list
+	 * @param level the level to count
+	 * @return the number of entries in front of <code>entry</code>
+	 */
+	private int rank( Entry entry, Level level ){
+		int result = count( entry.left, level );
+		while( entry.parent != null ){
+			if( entry.parent.right == entry ){
+				result += count( entry.parent.left, level );
+				if( isMember( entry.parent, level ) ){
+					result++;
+				}
+			}
+			entry = entry.parent;
+		}
+		return result;
+	}
+	
+	/**
+	 * Searches the <code>index</code>'th entry of the level <code>level</code>.
+	 * @param index the index of the entry
+	 * @param level the level in which to search
+	 * @return the entry or <code>null</code> if <code>index</code> is out of bounds
+	 */
+	private Entry select( int index, Level level ){
+		if( index < 0 ){
+			return null;
+		}
+		Entry node = root;
+		while( node != null ){
+			int leftCount = count( node.left, level );
+			if( index < leftCount ){
+				node = node.left;
+			}
+			else{
+				index -= leftCount;
+				if( isMember( node, level ) ){
+					if( index == 0 ){
+						return node;
+					}
+					index--;
+				}
+				node = node.right;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Inserts <code>entry</code> into the tree, directly after <code>predecessor</code>.
+	 * @param predecessor the entry in front of <code>entry</code>, <code>null</code> if
+	 * <code>entry</code> is the new first entry
+	 * @param entry the new entry
+	 */
+	private void treeInsert( Entry predecessor, Entry entry ){
+		entry.left = null;
+		entry.right = null;
+		entry.parent = null;
+		entry.priority = nextPriority();
+		entry.updateCount();
+		
+		if( root == null ){
+			root = entry;
+			return;
+		}
+		
+		Entry parent;
+		if( predecessor == null ){
+			parent = root;
+			while( parent.left != null ){
+				parent = parent.left;
+			}
+			parent.left = entry;
+		}
+		else if( predecessor.right == null ){
+			parent = predecessor;
+			parent.right = entry;
+		}
+		else{
+			parent = predecessor.right;
+			while( parent.left != null ){
+				parent = parent.left;
+			}
+			parent.left = entry;
+		}
+		entry.parent = parent;
+		updateCounts( parent );
+		
+		while( entry.parent != null && entry.parent.priority < entry.priority ){
+			rotateUp( entry );
+		}
+	}
+	
+	/**
+	 * Removes <code>entry</code> from the tree.
+	 * @param entry the entry to remove
+	 */
+	private void treeRemove( Entry entry ){
+		if( entry.parent == null && root != entry ){
+			return;
+		}
+		
+		while( entry.left != null || entry.right != null ){
+			Entry child;
+			if( entry.left == null ){
+				child = entry.right;
+			}
+			else if( entry.right == null ){
+				child = entry.left;
+			}
+			else if( entry.left.priority > entry.right.priority ){
+				child = entry.left;
+			}
+			else{
+				child = entry.right;
+			}
+			rotateUp( child );
+		}
+		
+		Entry parent = entry.parent;
+		if( parent == null ){
+			root = null;
+		}
+		else{
+			if( parent.left == entry ){
+				parent.left = null;
+			}
+			else{
+				parent.right = null;
+			}
+			entry.parent = null;
+			updateCounts( parent );
+		}
+	}
+	
+	/**
+	 * Rotates <code>entry</code> such that it takes the place of its parent.
+	 * @param entry the entry to move up
+	 */
+	private void rotateUp( Entry entry ){
+		Entry parent = entry.parent;
+		Entry grandParent = parent.parent;
+		
+		if( parent.left == entry ){
+			parent.left = entry.right;
+			if( entry.right != null ){
+				entry.right.parent = parent;
+			}
+			entry.right = parent;
+		}
+		else{
+			parent.right = entry.left;
+			if( entry.left != null ){
+				entry.left.parent = parent;
+			}
+			entry.left = parent;
+		}
+		parent.parent = entry;
+		entry.parent = grandParent;
+		
+		if( grandParent == null ){
+			root = entry;
+		}
+		else if( grandParent.left == parent ){
+			grandParent.left = entry;
+		}
+		else{
+			grandParent.right = entry;
+		}
+		
+		parent.updateCount();
+		entry.updateCount();
+	}
+	
+	/**
+	 * Updates the counts of <code>entry</code> and all its parents.
+	 * @param entry the entry whose counts changed
+	 */
+	private void updateCounts( Entry entry ){
+		while( entry != null ){
+			entry.updateCount();
+			entry = entry.parent;
+		}
+	}
+	
+	/**
+	 * Creates a new pseudo random priority for an entry of the tree.
+	 * @return the new priority
+	 */
+	private int nextPriority(){
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return seed;
 	}
 
 	@Override
@@ -1029,19 +1289,38 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 		private Entry next, previous;
 		private Entry nextLevel, previousLevel;
 
+		/** the neighbors of this entry in the tree starting at {@link PlaceholderList#root} */
+		private Entry parent, left, right;
+		/** the priority of this node in the tree, a parent always has a higher priority than its children */
+		private int priority;
+		/** the number of entries in the subtree of this node */
+		private int size;
+		/** the number of entries in the subtree of this node that are not placeholders */
+		private int dockableCount;
+
+		/** the placeholders under which this entry is registered in {@link PlaceholderList#placeholderIndex} */
+		private Path[] indexedPlaceholders;
+		/** the key under which this entry is registered in {@link PlaceholderList#dockableIndex} */
+		private D indexedDockable;
+
 		public Entry( Entry predecessor, Item item ){
 			this.item = item;
 			insertAfter( predecessor );
 		}
 
 		public void insertAfter( Entry predecessor ){
-			invalidate();
-
 			item.setOwner( this );
+			link( predecessor );
+			updateIndex();
+		}
+		
+		/**
+		 * Inserts this entry into the list and the tree, but does not update the indices.
+		 * @param predecessor the entry after which to insert this entry
+		 */
+		private void link( Entry predecessor ){
 			itemWasPlaceholder = item.isPlaceholder();
 
-			Entry predecessorLevel = null;
-
 			if( predecessor == null ) {
 				next = head;
 				if( head != null ) {
@@ -1049,7 +1328,6 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 				}
 
 				head = this;
-				predecessorLevel = null;
 			}
 			else {
 				next = predecessor.next;
@@ -1059,15 +1337,13 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 
 				predecessor.next = this;
 				this.previous = predecessor;
-
-				Entry search = predecessor;
-				while( search != null && predecessorLevel == null ) {
-					if( search.item.isPlaceholder() == item.isPlaceholder() ) {
-						predecessorLevel = search;
-					}
-					search = search.previous( Level.BASE );
-				}
 			}
+			
+			treeInsert( predecessor, this );
+			
+			Level level = itemWasPlaceholder ? Level.PLACEHOLDER : Level.DOCKABLE;
+			int index = rank( this, level );
+			Entry predecessorLevel = index == 0 ? null : select( index-1, level );
 
 			Entry successorLevel = null;
 			if( predecessorLevel == null ) {
@@ -1100,26 +1376,24 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 			if( delta == 0 ) {
 				return;
 			}
-			Entry newPredecessor = this;
+			Entry newPredecessor;
+			int index = rank( this, level );
 			if( delta > 0 ) {
-				for( int i = 0; i < delta; i++ ) {
-					newPredecessor = newPredecessor.next( level );
-					if( newPredecessor == null ) {
-						throw new IllegalArgumentException( "delta too big" );
-					}
+				newPredecessor = select( index + delta, level );
+				if( newPredecessor == null ) {
+					throw new IllegalArgumentException( "delta too big" );
 				}
 			}
 			else {
-				for( int i = -delta; i >= 0; i-- ) {
-					if( newPredecessor == null ) {
-						throw new IllegalArgumentException( "delta too big" );
-					}
-					newPredecessor = newPredecessor.previous( level );
+				int target = index + delta - 1;
+				if( target < -1 ) {
+					throw new IllegalArgumentException( "delta too big" );
 				}
+				newPredecessor = target == -1 ? null : select( target, level );
 			}
 
-			remove();
-			insertAfter( newPredecessor );
+			unlink();
+			link( newPredecessor );
 		}
 
 		public Entry next( Level level ){
@@ -1147,16 +1421,10 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 		}
 
 		public int index( Level level ){
-			Entry entry = head( level );
-			int index = 0;
-			while( entry != this && entry != null ) {
-				entry = entry.next( level );
-				index++;
-			}
-			if( entry == null ) {
+			if( !isMember( this, level ) || (parent == null && root != this) ) {
 				return -1;
 			}
-			return index;
+			return rank( this, level );
 		}
 
 		public void refresh(){
@@ -1170,11 +1438,13 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 			if( itemWasPlaceholder != item.isPlaceholder() ) {
 				itemWasPlaceholder = item.isPlaceholder();
 
-				invalidate();
 				removeLevel();
+				updateCounts( this );
 
-				Entry levelPredecessor = findLevelPredecessor( item.isPlaceholder() );
-				Entry levelSuccessor = findLevelSuccessor( item.isPlaceholder() );
+				Level level = itemWasPlaceholder ? Level.PLACEHOLDER : Level.DOCKABLE;
+				int index = rank( this, level );
+				Entry levelPredecessor = index == 0 ? null : select( index-1, level );
+				Entry levelSuccessor = select( index+1, level );
 
 				if( levelPredecessor == null ) {
 					if( item.isPlaceholder() ) {
@@ -1199,33 +1469,19 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 				}
 			}
 			this.item = item;
-		}
-
-		private Entry findLevelPredecessor( boolean placeholder ){
-			Entry entry = previous;
-			while( entry != null ) {
-				if( entry.item.isPlaceholder() == placeholder ) {
-					return entry;
-				}
-				entry = entry.previous;
-			}
-			return null;
-		}
-
-		private Entry findLevelSuccessor( boolean placeholder ){
-			Entry entry = next;
-			while( entry != null ) {
-				if( entry.item.isPlaceholder() == placeholder ) {
-					return entry;
-				}
-				entry = entry.next;
-			}
-			return null;
+			updateIndex();
 		}
 
 		public void remove(){
-			invalidate();
-
+			unlink();
+			removeIndex();
+			this.item.setOwner( null );
+		}
+		
+		/**
+		 * Removes this entry from the list and the tree, but does not update the indices.
+		 */
+		private void unlink(){
 			if( next != null ) {
 				next.previous = previous;
 			}
@@ -1239,15 +1495,12 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 
 			next = null;
 			previous = null;
-
-			this.item.setOwner( null );
-
+			
+			treeRemove( this );
 			removeLevel();
 		}
 
 		private void removeLevel(){
-			invalidate();
-
 			if( nextLevel != null ) {
 				nextLevel.previousLevel = previousLevel;
 			}
@@ -1265,6 +1518,80 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 			nextLevel = null;
 			previousLevel = null;
 		}
+		
+		/**
+		 * Recalculates {@link #size} and {@link #dockableCount} assuming the children of this
+		 * node have valid counts.
+		 */
+		private void updateCount(){
+			size = 1 + count( left, Level.BASE ) + count( right, Level.BASE );
+			dockableCount = (itemWasPlaceholder ? 0 : 1) + count( left, Level.DOCKABLE ) + count( right, Level.DOCKABLE );
+		}
+		
+		/**
+		 * Updates {@link PlaceholderList#dockableIndex} and {@link PlaceholderList#placeholderIndex} such
+		 * that they match the current {@link #item}.
+		 */
+		private void updateIndex(){
+			D dockable = item.isPlaceholder() ? null : item.getDockable().asDockable();
+			if( dockable != indexedDockable ){
+				removeDockableIndex();
+				indexedDockable = dockable;
+				if( dockable != null ){
+					dockableIndex.put( dockable, this );
+				}
+			}
+			updatePlaceholderIndex();
+		}
+		
+		/**
+		 * Updates {@link PlaceholderList#placeholderIndex} such that it matches the placeholders
+		 * of {@link #item}.
+		 */
+		private void updatePlaceholderIndex(){
+			removePlaceholderIndex();
+			Set<Path> placeholders = item.getPlaceholderSet();
+			if( placeholders != null && !placeholders.isEmpty() ){
+				indexedPlaceholders = placeholders.toArray( new Path[ placeholders.size() ] );
+				for( Path placeholder : indexedPlaceholders ){
+					List<Entry> entries = placeholderIndex.get( placeholder );
+					if( entries == null ){
+						entries = new ArrayList<Entry>( 1 );
+						placeholderIndex.put( placeholder, entries );
+					}
+					entries.add( this );
+				}
+			}
+		}
+		
+		private void removeIndex(){
+			removeDockableIndex();
+			removePlaceholderIndex();
+		}
+		
+		private void removeDockableIndex(){
+			if( indexedDockable != null ){
+				if( dockableIndex.get( indexedDockable ) == this ){
+					dockableIndex.remove( indexedDockable );
+				}
+				indexedDockable = null;
+			}
+		}
+		
+		private void removePlaceholderIndex(){
+			if( indexedPlaceholders != null ){
+				for( Path placeholder : indexedPlaceholders ){
+					List<Entry> entries = placeholderIndex.get( placeholder );
+					if( entries != null ){
+						entries.remove( this );
+						if( entries.isEmpty() ){
+							placeholderIndex.remove( placeholder );
+						}
+					}
+				}
+				indexedPlaceholders = null;
+			}
+		}
 
 		@Override
 		public String toString(){
@@ -1378,6 +1705,9 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 				throw new IllegalArgumentException( "placeholderSet contains a null value" );
 			}
 			this.placeholderSet = placeholderSet;
+			if( owner != null ) {
+				owner.updatePlaceholderIndex();
+			}
 		}
 
 		/**
@@ -1390,6 +1720,9 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 				if( placeholderSet.isEmpty() ) {
 					placeholderSet = null;
 				}
+				if( owner != null ) {
+					owner.updatePlaceholderIndex();
+				}
 			}
 			if( placeholderMap != null ) {
 				placeholderMap.removeAll( placeholders, true );
@@ -1405,7 +1738,9 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 		 */
 		public void remove( Path placeholder ){
 			if( placeholderSet != null ) {
-				placeholderSet.remove( placeholder );
+				if( placeholderSet.remove( placeholder ) && owner != null ) {
+					owner.updatePlaceholderIndex();
+				}
 				if( placeholderSet.isEmpty() ) {
 					placeholderSet = null;
 				}
@@ -1430,7 +1765,9 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 			if( placeholderSet == null ) {
 				placeholderSet = new HashSet<Path>();
 			}
-			placeholderSet.add( placeholder );
+			if( placeholderSet.add( placeholder ) && owner != null ) {
+				owner.updatePlaceholderIndex();
+			}
 		}
 
 		/**
@@ -1650,7 +1987,6 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 
 	private abstract class SubList<A> implements Filter<A> {
 		private Level level;
-		private int size = -1;
 
 		protected abstract A unwrap( Item item );
 
@@ -1669,24 +2005,15 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 		public PlaceholderList<D, S, P> getPlaceholderList(){
 			return PlaceholderList.this;
 		}
-		
-		public void invalidate(){
-			size = -1;
-		}
+
 
 		private Entry getEntry( int index ){
 			if( index < 0 )
 				throw new IndexOutOfBoundsException("index < 0: " + index);
 
-			Entry entry = head( level );
-			int start = index;
-			
-			while( index > 0 ) {
-				entry = entry.next( level );
-				index--;
-				if( entry == null ) {
-					throw new IndexOutOfBoundsException( "index=" + start + ", size=" + size() );
-				}
+			Entry entry = select( index, level );
+			if( entry == null ) {
+				throw new IndexOutOfBoundsException( "index=" + index + ", size=" + size() );
 			}
 
 			return entry;
@@ -1723,12 +2050,7 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 		
 		private void insert( int index, Item item ){
 			if( size() == index ) {
-				Entry entry = head;
-				Entry predecessor = null;
-				while( entry != null ) {
-					predecessor = entry;
-					entry = entry.next;
-				}
+				Entry predecessor = select( count( root, Level.BASE ) - 1, Level.BASE );
 				new Entry( predecessor, item );
 			}
 			else {
@@ -1799,15 +2121,7 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 		}
 		
 		public int size(){
-			if( size == -1 ) {
-				size = 0;
-				Entry entry = head( level );
-				while( entry != null ) {
-					size++;
-					entry = entry.next( level );
-				}
-			}
-			return size;
+			return count( root, level );
 		}
 
 		public void move( int source, int destination ){
@@ -612,7 +612,43 @@ public class PlaceholderMap {
 			}
 		}
 	}
-	
+
+	/**
+	 * Collects all the placeholders that are used by the {@link Key}s of this map.
+	 * @param recursive if <code>true</code>, then the placeholders of all sub-maps of this
+	 * map are collected as well
+	 * @return the set of placeholders, a new set that may be modified by the caller
+	 */
+	public Set<Path> listPlaceholders( boolean recursive ){
+		Set<Path> result = new HashSet<Path>();
+		listPlaceholders( result, recursive );
+		return result;
+	}
+
+	private void listPlaceholders( Set<Path> result, boolean recursive ){
+		for( Map.Entry<Key, Map<String, Object>> entry : data.entrySet() ){
+			for( Path placeholder : entry.getKey().getPlaceholders() ){
+				result.add( placeholder );
+			}
+			if( recursive ){
+				for( Object value : entry.getValue().values() ){
+					listPlaceholders( value, result );
+				}
+			}
+		}
+	}
+
+	private void listPlaceholders( Object value, Set<Path> result ){
+		if( value instanceof PlaceholderMap ){
+			((PlaceholderMap)value).listPlaceholders( result, true );
+		}
+		else if( value instanceof Object[] ){
+			for( Object child : (Object[])value ){
+				listPlaceholders( child, result );
+			}
+		}
+	}
+
 	/**
 	 * Gets the version of the format used in this map.
 	 * @return the version, its meaning depends on {@link #getFormat() the format}
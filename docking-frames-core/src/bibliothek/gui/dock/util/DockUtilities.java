@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
@@ -88,8 +89,31 @@ public class DockUtilities {
         public void handleDockStation( DockStation station ){ /* do nothing */ }
     }
     
+    /**
+     * Name of a system property, if set to "false" then {@link #checkLayoutLocked()} is removed
+     * entirely and cannot be enabled at runtime. This is meant for applications that are
+     * deployed and no longer need the diagnostics.
+     */
+    public static final String CHECK_LAYOUT_LOCKED_PROPERTY = "bibliothek.gui.dock.checkLayoutLocked";
+    
+    /** whether {@link DockUtilities#checkLayoutLocked()} is available at all, never changes */
+    private static final boolean CHECK_LAYOUT_LOCK_AVAILABLE = readCheckLayoutLockedProperty();
+    
     /** whether {@link DockUtilities#checkLayoutLocked()} is enabled */
-    private static boolean checkLayoutLock = true;
+    private static volatile boolean checkLayoutLock = true;
+    
+    /** the result of searching the {@link LayoutLocked} annotation for the classes found on the callstack, by class name */
+    private static final Map<String, LayoutLockState> layoutLockCache = new ConcurrentHashMap<String, LayoutLockState>();
+    
+    /** the possible results of searching a {@link LayoutLocked} annotation of a class */
+    private static enum LayoutLockState{
+    	/** the class does not have the annotation */
+    	NONE,
+    	/** the class is marked as locked */
+    	LOCKED,
+    	/** the class is marked as not locked */
+    	UNLOCKED
+    }
     
     /**
      * Visits <code>dockable</code> and all its children.
@@ -709,67 +733,107 @@ public class DockUtilities {
     	checkLayoutLock = false;
     }
     
+    /**
+     * Tells whether {@link #checkLayoutLocked()} actually searches the callstack. This method returns
+     * <code>false</code> if {@link #disableCheckLayoutLocked()} was called, or if the system property
+     * {@link #CHECK_LAYOUT_LOCKED_PROPERTY} was set to "false".
+     * @return whether the check is executed
+     */
+    public static boolean isCheckLayoutLocked(){
+    	return CHECK_LAYOUT_LOCK_AVAILABLE && checkLayoutLock;
+    }
+    
+    private static boolean readCheckLayoutLockedProperty(){
+    	try{
+    		return !"false".equals( System.getProperty( CHECK_LAYOUT_LOCKED_PROPERTY ) );
+    	}
+    	catch( SecurityException e ){
+    		return true;
+    	}
+    }
+    
     /**
      * Searches for a class or interface that is marked with {@link LayoutLocked} in the current
-     * callstack and prints a warning if found.
+     * callstack and prints a warning if found. The result of the search is cached for each class, 
+     * hence only the first call with a new callstack is expensive. If the system property 
+     * {@link #CHECK_LAYOUT_LOCKED_PROPERTY} is set to "false", then this method does nothing.
      */
     public static void checkLayoutLocked(){
-    	if( checkLayoutLock ){
+    	if( CHECK_LAYOUT_LOCK_AVAILABLE && checkLayoutLock ){
 	    	StackTraceElement[] elements = Thread.currentThread().getStackTrace();
-	    	Set<Class<?>> tested = new HashSet<Class<?>>();
 	    	
 	    	for( StackTraceElement element : elements ){
-	    		try {
-					Class<?> clazz = Class.forName( element.getClassName() );
-					if( checkLayoutLocked( clazz, tested ) ){
-						return;
-					}
-				}
-				catch( ClassNotFoundException e ) {
-					// ignore and continue
-				}
-				catch( SecurityException e ){
-					// ignore and continue
-				}
-	    		catch( RuntimeException e ){
-	    			// may happen if a ClassLoader is not happy about "forName". Not nice, but better
-	    			// than crashing the application.
+	    		String className = element.getClassName();
+	    		LayoutLockState state = layoutLockCache.get( className );
+	    		if( state == null ){
+	    			state = searchLayoutLocked( className );
+	    			layoutLockCache.put( className, state );
 	    		}
-	    		catch( Error e ){
-	    			// may happen if a ClassLoader is not happy about "forName". Not nice, but better
-	    			// than crashing the application.	    			
+	    		
+	    		if( state == LayoutLockState.LOCKED ){
+	    			System.err.println( "Warning: layout should not be modified by subclasses of " + className );
+	    			System.err.println( " This is only an information, not an exception. If your code is actually safe you can:");
+	    			System.err.println( " - disabled the warning by calling DockUtilities.disableCheckLayoutLocked() )" );
+	    			System.err.println( " - mark your code as safe by setting the annotation 'LayoutLocked'" );
+	    			for( StackTraceElement item : elements ){
+	    				System.err.println( item );
+	    			}
+	    			return;
+	    		}
+	    		if( state == LayoutLockState.UNLOCKED ){
+	    			return;
 	    		}
 	    	}
     	}
     }
     
-    private static boolean checkLayoutLocked( Class<?> clazz, Set<Class<?>> tested ){
+    private static LayoutLockState searchLayoutLocked( String className ){
+    	try {
+			Class<?> clazz = Class.forName( className );
+			LayoutLocked locked = searchLayoutLocked( clazz, new HashSet<Class<?>>() );
+			if( locked == null ){
+				return LayoutLockState.NONE;
+			}
+			if( locked.locked() ){
+				return LayoutLockState.LOCKED;
+			}
+			return LayoutLockState.UNLOCKED;
+		}
+		catch( ClassNotFoundException e ) {
+			// ignore and continue
+		}
+		catch( SecurityException e ){
+			// ignore and continue
+		}
+		catch( RuntimeException e ){
+			// may happen if a ClassLoader is not happy about "forName". Not nice, but better
+			// than crashing the application.
+		}
+		catch( Error e ){
+			// may happen if a ClassLoader is not happy about "forName". Not nice, but better
+			// than crashing the application.	    			
+		}
+		return LayoutLockState.NONE;
+    }
+    
+    private static LayoutLocked searchLayoutLocked( Class<?> clazz, Set<Class<?>> tested ){
     	if( clazz != null && tested.add( clazz )){
     		LayoutLocked locked = clazz.getAnnotation( LayoutLocked.class );
     		if( locked != null ){
-    			if( locked.locked() ){
-					System.err.println( "Warning: layout should not be modified by subclasses of " + clazz.getName() );
-					System.err.println( " This is only an information, not an exception. If your code is actually safe you can:");
-					System.err.println( " - disabled the warning by calling DockUtilities.disableCheckLayoutLocked() )" );
-					System.err.println( " - mark your code as safe by setting the annotation 'LayoutLocked'" );
-					for( StackTraceElement item : Thread.currentThread().getStackTrace() ){
-						System.err.println( item );
-					}
-				}
-    			return true;
+    			return locked;
     		}
     		
-    		boolean result = checkLayoutLocked( clazz.getSuperclass(), tested );
-    		if( result ){
+    		LayoutLocked result = searchLayoutLocked( clazz.getSuperclass(), tested );
+    		if( result != null ){
     			return result;
     		}
     		for( Class<?> interfaze : clazz.getInterfaces() ){
-    			result = checkLayoutLocked( interfaze, tested );
-    			if( result ){
+    			result = searchLayoutLocked( interfaze, tested );
+    			if( result != null ){
     				return result;
     			}
     		}
     	}
-    	return false;
+    	return null;
     }
 }
@@ -28,10 +28,11 @@ package bibliothek.gui.dock.util;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 
@@ -65,8 +66,11 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
     /** all the listeners to the {@link #schemes} */
     private PriorityValue<UISchemeListener<V, U, B>> schemeListeners = new PriorityValue<UISchemeListener<V,U,B>>();
     
-    /** a list of all observers */
-    private List<Observer> observers = new LinkedList<Observer>();
+    /** all observers, in the order in which they were added */
+    private Set<Observer> observers = new LinkedHashSet<Observer>();
+    
+    /** the {@link #observers} grouped by their {@link UIValue}, allows to remove an observer in constant time */
+    private Map<U, List<Observer>> observersByValue = new IdentityHashMap<U, List<Observer>>();
     
     /** whether to stall updates or not */
     private int updateLock = 0;
@@ -480,6 +484,12 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
         
         Observer combination = new Observer( id, path, value );
         observers.add( combination );
+        List<Observer> group = observersByValue.get( value );
+        if( group == null ){
+        	group = new LinkedList<Observer>();
+        	observersByValue.put( value, group );
+        }
+        group.add( combination );
         combination.resetAll();
     }
     
@@ -488,14 +498,14 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
      * @param value the observer to remove
      */
     public void remove( U value ){
-        ListIterator<Observer> list = observers.listIterator();
-        while( list.hasNext() ){
-            Observer next = list.next();
-            if( next.getValue() == value ){
-                list.remove();
-                next.destroy();
-                return;
-            }
+        List<Observer> group = observersByValue.get( value );
+        if( group != null ){
+        	Observer next = group.remove( 0 );
+        	if( group.isEmpty() ){
+        		observersByValue.remove( value );
+        	}
+        	observers.remove( next );
+        	next.destroy();
         }
     }
     
@@ -0,0 +1,59 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.animation;
+
+import java.awt.Component;
+
+/**
+ * An {@link Animation} is some kind of state that changes over time. Animations are driven
+ * by an {@link AnimationScheduler}, which calls {@link #step(int)} once per frame for all
+ * the animations it knows.
+ * @author Benjamin Sigg
+ */
+public interface Animation {
+	/**
+	 * Advances this animation. This method is called in the EDT.
+	 * @param delta the number of milliseconds passed since the last step, or since
+	 * this animation was started
+	 * @return <code>true</code> if the animation is still running, <code>false</code>
+	 * if it is finished and does not need any more steps
+	 */
+	public boolean step( int delta );
+	
+	/**
+	 * Immediately puts this animation into its final state. Called by the {@link AnimationScheduler}
+	 * if the result of this animation could not be seen anyway.
+	 */
+	public void finish();
+	
+	/**
+	 * Gets the {@link Component} which is painted by this animation.
+	 * @return the component or <code>null</code>, if not <code>null</code> and not
+	 * {@link Component#isShowing() showing}, then the animation is {@link #finish() finished}
+	 * instead of stepped
+	 */
+	public Component getComponent();
+}
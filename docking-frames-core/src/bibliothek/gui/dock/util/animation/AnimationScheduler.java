@@ -0,0 +1,73 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.animation;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.util.DockProperties;
+import bibliothek.gui.dock.util.PropertyKey;
+import bibliothek.gui.dock.util.property.DynamicPropertyFactory;
+
+/**
+ * An {@link AnimationScheduler} is the clock that drives all the {@link Animation}s of
+ * a {@link DockController}. Instead of having one timer for each animation, all running
+ * animations are stepped at the same time. As a result the repaints they request are
+ * collected by the {@link javax.swing.RepaintManager} and painted in one pass per frame.
+ * @author Benjamin Sigg
+ */
+public interface AnimationScheduler {
+	/**
+	 * The {@link AnimationScheduler} used by a {@link DockController}. By default each
+	 * controller gets its own {@link DefaultAnimationScheduler}.
+	 */
+	public static final PropertyKey<AnimationScheduler> ANIMATION_SCHEDULER = new PropertyKey<AnimationScheduler>( "dock.animationScheduler",
+			new DynamicPropertyFactory<AnimationScheduler>(){
+				public AnimationScheduler getDefault( PropertyKey<AnimationScheduler> key, DockProperties properties ){
+					return new DefaultAnimationScheduler();
+				}
+			}, true );
+	
+	/**
+	 * Starts <code>animation</code>, the animation will be {@link Animation#step(int) stepped}
+	 * until it is finished or {@link #stop(Animation) stopped}. Nothing happens if
+	 * <code>animation</code> is already running. This method may be called from any thread.
+	 * @param animation the animation to start
+	 */
+	public void start( Animation animation );
+	
+	/**
+	 * Stops <code>animation</code>, the animation remains in its current state. This method
+	 * may be called from any thread.
+	 * @param animation the animation to stop
+	 */
+	public void stop( Animation animation );
+	
+	/**
+	 * Tells whether <code>animation</code> is currently running on this scheduler.
+	 * @param animation the animation to search
+	 * @return <code>true</code> if <code>animation</code> was started and is not yet finished
+	 */
+	public boolean isRunning( Animation animation );
+}
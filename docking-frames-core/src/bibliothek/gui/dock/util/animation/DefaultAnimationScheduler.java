@@ -0,0 +1,206 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.animation;
+
+import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.Timer;
+
+/**
+ * The default {@link AnimationScheduler}, uses one {@link Timer} to step all the running
+ * {@link Animation}s. The timer only runs while there is at least one running animation,
+ * and it never fires more often than {@link #getFramesPerSecond()} times a second. Animations
+ * whose {@link Animation#getComponent() component} is not showing, e.g. because its window
+ * is hidden, are {@link Animation#finish() finished} immediately.
+ * @author Benjamin Sigg
+ */
+public class DefaultAnimationScheduler implements AnimationScheduler {
+	/** the scheduler used by animations which are not associated with a controller */
+	private static DefaultAnimationScheduler shared;
+	
+	private final Object LOCK = new Object();
+	
+	/** all the animations that are currently running, and when they were last stepped */
+	private Map<Animation, Entry> animations = new LinkedHashMap<Animation, Entry>();
+	
+	/** the clock of this scheduler */
+	private Timer timer;
+	
+	/** the maximum number of frames per second */
+	private int framesPerSecond;
+	
+	/**
+	 * Gets a scheduler that can be used by {@link Animation}s that are not (yet) associated with
+	 * a {@link bibliothek.gui.DockController}.
+	 * @return the shared scheduler, not <code>null</code>
+	 */
+	public static AnimationScheduler getShared(){
+		synchronized( DefaultAnimationScheduler.class ){
+			if( shared == null ){
+				shared = new DefaultAnimationScheduler();
+			}
+			return shared;
+		}
+	}
+	
+	/**
+	 * Creates a new scheduler with a maximum of 60 frames per second.
+	 */
+	public DefaultAnimationScheduler(){
+		this( 60 );
+	}
+	
+	/**
+	 * Creates a new scheduler.
+	 * @param framesPerSecond the maximum number of frames per second, at least 1
+	 */
+	public DefaultAnimationScheduler( int framesPerSecond ){
+		timer = new Timer( 0, new ActionListener(){
+			public void actionPerformed( ActionEvent e ){
+				tick();
+			}
+		});
+		timer.setCoalesce( true );
+		setFramesPerSecond( framesPerSecond );
+	}
+	
+	/**
+	 * Sets the maximum number of frames per second. The frames of all animations are painted
+	 * at the same time, so this number also limits how often animated components are repainted.
+	 * @param framesPerSecond the number of frames, at least 1
+	 */
+	public void setFramesPerSecond( int framesPerSecond ){
+		if( framesPerSecond < 1 ){
+			throw new IllegalArgumentException( "framesPerSecond must be at least 1: " + framesPerSecond );
+		}
+		this.framesPerSecond = framesPerSecond;
+		int delay = Math.max( 1, 1000 / framesPerSecond );
+		timer.setDelay( delay );
+		timer.setInitialDelay( delay );
+	}
+	
+	/**
+	 * Gets the maximum number of frames per second.
+	 * @return the number of frames
+	 * @see #setFramesPerSecond(int)
+	 */
+	public int getFramesPerSecond(){
+		return framesPerSecond;
+	}
+	
+	public void start( Animation animation ){
+		synchronized( LOCK ){
+			if( !animations.containsKey( animation )){
+				animations.put( animation, new Entry( System.currentTimeMillis() ) );
+				if( !timer.isRunning() ){
+					timer.start();
+				}
+			}
+		}
+	}
+	
+	public void stop( Animation animation ){
+		synchronized( LOCK ){
+			animations.remove( animation );
+			if( animations.isEmpty() ){
+				timer.stop();
+			}
+		}
+	}
+	
+	public boolean isRunning( Animation animation ){
+		synchronized( LOCK ){
+			return animations.containsKey( animation );
+		}
+	}
+	
+	/**
+	 * Steps all the running animations. Animations which are started or stopped while this
+	 * method runs are not stepped before the next frame.
+	 */
+	protected void tick(){
+		long now = System.currentTimeMillis();
+		Animation[] current;
+		Entry[] entries;
+		int[] deltas;
+		
+		synchronized( LOCK ){
+			current = animations.keySet().toArray( new Animation[ animations.size() ] );
+			entries = animations.values().toArray( new Entry[ animations.size() ] );
+			deltas = new int[ current.length ];
+			for( int i = 0; i < entries.length; i++ ){
+				deltas[i] = (int)Math.max( 0, now - entries[i].time );
+				entries[i].time = now;
+			}
+		}
+		
+		for( int i = 0; i < current.length; i++ ){
+			Animation animation = current[i];
+			boolean running;
+			
+			Component component = animation.getComponent();
+			if( component != null && !component.isShowing() ){
+				animation.finish();
+				running = false;
+			}
+			else{
+				running = animation.step( deltas[i] );
+			}
+			
+			if( !running ){
+				synchronized( LOCK ){
+					// the animation may have been stopped and restarted by now
+					if( animations.get( animation ) == entries[i] ){
+						animations.remove( animation );
+					}
+				}
+			}
+		}
+		
+		synchronized( LOCK ){
+			if( animations.isEmpty() ){
+				timer.stop();
+			}
+		}
+	}
+	
+	/**
+	 * Information about one running {@link Animation}.
+	 * @author Benjamin Sigg
+	 */
+	private static class Entry{
+		/** the last time the animation was stepped */
+		private long time;
+		
+		public Entry( long time ){
+			this.time = time;
+		}
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * A clock shared by all the animations of a {@link bibliothek.gui.DockController}, e.g. the
+ * changing colors of the bubble or the smooth theme.
+ */
+package bibliothek.gui.dock.util.animation;
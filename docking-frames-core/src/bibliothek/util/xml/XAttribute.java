@@ -32,6 +32,9 @@ package bibliothek.util.xml;
 public class XAttribute extends XContainer{
     /** the name of this attribute */
     private String name;
+    
+    /** the element to which this attribute was added first, it is informed when the name changes, can be <code>null</code> */
+    XElement owner;
 
     /**
      * Creates a new attribute.
@@ -56,7 +59,11 @@ public class XAttribute extends XContainer{
         if( name == null )
             throw new IllegalArgumentException( "name must not be null" );
         
+        String oldName = this.name;
         this.name = name;
+        if( owner != null && oldName != null && !oldName.equals( name )){
+        	owner.attributeRenamed();
+        }
     }
     
     /**
@@ -27,9 +27,11 @@ package bibliothek.util.xml;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A {@link XElement} is an entry in a xml-file. It has a name, can have children
@@ -42,6 +44,14 @@ public class XElement extends XContainer implements Iterable<XElement>{
     /** the children of this entry */
     private List<XElement> children = new ArrayList<XElement>();
     
+    /** the minimal number of attributes required before {@link #attributeIndex} is built */
+    private static final int INDEX_THRESHOLD = 8;
+    
+    /** fast access to the {@link #attributes} by name, may be <code>null</code> */
+    private Map<String, XAttribute> attributeIndex;
+    /** whether some of the {@link #attributes} are owned by another element, renaming them does not update {@link #attributeIndex} */
+    private boolean foreignAttributes = false;
+    
     /** the name of this attribute */
     private String name;
 
@@ -68,9 +78,19 @@ public class XElement extends XContainer implements Iterable<XElement>{
     public void copy( XElement original ){
     	super.copy( original );
     	
+    	for( XAttribute attr : attributes ){
+    		if( attr.owner == this ){
+    			attr.owner = null;
+    		}
+    	}
     	attributes.clear();
-    	for( XAttribute attr : original.attributes )
-    		attributes.add( attr.copy() );
+    	attributeIndex = null;
+    	foreignAttributes = false;
+    	for( XAttribute attr : original.attributes ){
+    		XAttribute copy = attr.copy();
+    		copy.owner = this;
+    		attributes.add( copy );
+    	}
     	
     	children.clear();
     	for( XElement child : original.children )
@@ -130,6 +150,15 @@ public class XElement extends XContainer implements Iterable<XElement>{
         }
         
         attributes.add( attribute );
+        if( attribute.owner == null ){
+        	attribute.owner = this;
+        }
+        else if( attribute.owner != this ){
+        	foreignAttributes = true;
+        }
+        if( attributeIndex != null ){
+        	attributeIndex.put( attribute.getName(), attribute );
+        }
         return this;
     }
     
@@ -141,7 +170,12 @@ public class XElement extends XContainer implements Iterable<XElement>{
     public XAttribute removeAttribute( String name ){
     	for( int i = 0, n = attributes.size(); i<n; i++ ){
     		if( attributes.get( i ).getName().equals( name ) ){
-    			return attributes.remove( i );
+    			attributeIndex = null;
+    			XAttribute attribute = attributes.remove( i );
+    			if( attribute.owner == this ){
+    				attribute.owner = null;
+    			}
+    			return attribute;
     		}
     	}
     	return null;
@@ -153,7 +187,14 @@ public class XElement extends XContainer implements Iterable<XElement>{
      * @return <code>true</code> if <code>attribute</code> was removed
      */
     public boolean removeAttribute( XAttribute attribute ){
-    	return attributes.remove( attribute );
+    	if( attributes.remove( attribute ) ){
+    		attributeIndex = null;
+    		if( attribute.owner == this ){
+    			attribute.owner = null;
+    		}
+    		return true;
+    	}
+    	return false;
     }
     
     /**
@@ -301,6 +342,13 @@ public class XElement extends XContainer implements Iterable<XElement>{
      * @return the attribute
      */
     public XAttribute getAttribute( String name ){
+    	if( attributes.size() >= INDEX_THRESHOLD && !foreignAttributes ){
+    		if( attributeIndex == null ){
+    			buildAttributeIndex();
+    		}
+    		return attributeIndex.get( name );
+    	}
+    	
         for( XAttribute check : attributes ){
             if( check.getName().equals( name ))
                 return check;
@@ -308,6 +356,25 @@ public class XElement extends XContainer implements Iterable<XElement>{
         return null;
     }
     
+    /**
+     * Fills {@link #attributeIndex} with the current {@link #attributes}. If there are
+     * several attributes with the same name, the first one wins.
+     */
+    private void buildAttributeIndex(){
+    	attributeIndex = new HashMap<String, XAttribute>( attributes.size() * 2 );
+    	for( int i = attributes.size()-1; i >= 0; i-- ){
+    		XAttribute attribute = attributes.get( i );
+    		attributeIndex.put( attribute.getName(), attribute );
+    	}
+    }
+    
+    /**
+     * Called by an {@link XAttribute} owned by this element if its name changed.
+     */
+    void attributeRenamed(){
+    	attributeIndex = null;
+    }
+    
     /**
      * Gets the value of an attribute.
      * @param name the name of the attribute
@@ -51,8 +51,7 @@ public class XIO {
      * @throws IOException if an I/O-error occurs
      */
     public static void write( XElement element, Appendable out ) throws IOException{
-        out.append( "<?xml version='1.0'?>\n" );
-        write( element, 0, out );
+        new XStreamWriter( out ).writeElement( element );
     }
     
     /**
@@ -115,66 +114,13 @@ public class XIO {
     }
 
     
-    /**
-     * Writes the contents of <code>element</code> into <code>out</code>.
-     * @param element the element to write
-     * @param tabs the number of tabs before the element
-     * @param out the stream to write into
-     * @throws IOException if an I/O-error occurs
-     */
-    private static void write( XElement element, int tabs, Appendable out ) throws IOException{
-        for( int i = 0; i < tabs; i++ )
-            out.append( "\t" );
-        
-        out.append( "<" );
-        out.append( element.getName() );
-        for( XAttribute attribute : element.attributes() ){
-            out.append( " " );
-            out.append( attribute.getName() );
-            out.append( "=\"" );
-            encode( attribute.getString(), out );
-            out.append( "\"" );
-        }
-        String value = element.getValue();
-        XElement[] children = element.children();
-        
-        if( value.length() == 0 && children.length == 0 ){
-            out.append( "/>" );
-        }
-        else{
-            out.append( ">" );
-            if( value.length() > 0 ){
-                if( children.length > 0 ){
-                    out.append( "\n\t" );
-                    for( int i = 0; i < tabs; i++ )
-                        out.append( "\t" );
-                }
-                    
-                encode( value, out );
-            }
-            if( children.length > 0 ){
-                out.append( "\n" );
-                for( XElement child : children ){
-                    write( child, tabs+1, out );
-                    out.append( "\n" );
-                }
-                
-                for( int i = 0; i < tabs; i++ )
-                    out.append( "\t" );
-            }
-            
-            out.append( "</" );
-            out.append( element.getName() );
-            out.append( ">" );
-        }
-    }
-    
     /**
      * Encodes <code>value</code> such that it is a valid string in a xml-file.
      * @param value the value to encode
      * @param out the stream to write into
+     * @throws IOException if <code>out</code> cannot be written
      */
-    private static void encode( String value, Appendable out ) throws IOException{
+    static void encode( String value, Appendable out ) throws IOException{
         for( int i = 0, n = value.length(); i<n; i++ ){
             char c = value.charAt( i );
             switch( c ){
@@ -253,6 +199,8 @@ public class XIO {
         private XElement element;
         /** the current stack of active entries */
         private LinkedList<XElement> stack = new LinkedList<XElement>();
+        /** the text collected for the active entries, <code>null</code> for entries without text */
+        private LinkedList<StringBuilder> values = new LinkedList<StringBuilder>();
         
         /**
          * Gets the first element that was read.
@@ -275,6 +223,7 @@ public class XIO {
             }
             
             stack.addFirst( element );
+            values.addFirst( null );
             
             // read the attributes
             for( int i = 0, n = attributes.getLength(); i<n; i++ ){
@@ -287,12 +236,12 @@ public class XIO {
         @Override
         public void characters( char[] ch, int start, int length ) throws SAXException {
             if( length > 0 ){
-                String value = new String( ch, start, length );
-                String old = stack.getFirst().getValue();
-                if( old != null && old.length() > 0 ){
-                    value = old + value;
+                StringBuilder value = values.getFirst();
+                if( value == null ){
+                    value = new StringBuilder();
+                    values.set( 0, value );
                 }
-                stack.getFirst().setValue( value );
+                value.append( ch, start, length );
             }
         }
         
@@ -301,7 +250,10 @@ public class XIO {
                 throws SAXException {
 
             XElement element = stack.removeFirst();
-            element.setValue( element.getString().trim() );
+            StringBuilder value = values.removeFirst();
+            if( value != null ){
+                element.setValue( value.toString().trim() );
+            }
         }
     }
 }
@@ -0,0 +1,299 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util.xml;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A writer for xml-files that does not need a tree of {@link XElement}s. Clients open an
+ * element with {@link #startElement(String)}, add attributes and a value to it, and close 
+ * the element with {@link #endElement()}. Subtrees that are already available as {@link XElement} 
+ * can be written with {@link #writeElement(XElement)}. The output is the same as the output of
+ * {@link XIO#write(XElement, Appendable)}.<br>
+ * Attributes and the value of an element have to be set before any child is added to the element.
+ * @author Benjamin Sigg
+ */
+public class XStreamWriter {
+	/** the destination of all characters */
+	private Appendable out;
+	
+	/** the currently open elements */
+	private List<Open> stack = new ArrayList<Open>();
+	
+	/** whether the root element was already closed */
+	private boolean rootClosed = false;
+	
+	/**
+	 * Creates a new writer, the header of the xml-file is written immediately.
+	 * @param out the destination of all characters
+	 * @throws IOException if <code>out</code> cannot be written
+	 */
+	public XStreamWriter( Appendable out ) throws IOException{
+		this.out = out;
+		out.append( "<?xml version='1.0'?>\n" );
+	}
+	
+	/**
+	 * Opens a new element. The new element is the child of the element that is currently open.
+	 * @param name the name of the element
+	 * @return <code>this</code>
+	 * @throws IOException if the element cannot be written
+	 * @throws IllegalStateException if the root element was already closed
+	 */
+	public XStreamWriter startElement( String name ) throws IOException{
+		if( name == null )
+			throw new IllegalArgumentException( "name must not be null" );
+		
+		Open parent = peek();
+		if( parent == null ){
+			if( rootClosed ){
+				throw new IllegalStateException( "the root element is already closed" );
+			}
+		}
+		else{
+			parent.openChildren();
+		}
+		
+		indent( stack.size() );
+		out.append( "<" );
+		out.append( name );
+		stack.add( new Open( name ) );
+		return this;
+	}
+	
+	private Open peek(){
+		if( stack.isEmpty() ){
+			return null;
+		}
+		return stack.get( stack.size()-1 );
+	}
+	
+	private Open current(){
+		Open current = peek();
+		if( current == null ){
+			throw new IllegalStateException( "no element is open" );
+		}
+		return current;
+	}
+	
+	private void indent( int tabs ) throws IOException{
+		for( int i = 0; i < tabs; i++ ){
+			out.append( "\t" );
+		}
+	}
+	
+	/**
+	 * Adds an attribute to the element that is currently open.
+	 * @param attribute the new attribute
+	 * @return <code>this</code>
+	 * @throws IOException if the attribute cannot be written
+	 * @throws IllegalStateException if no element is open, or the element already has children
+	 */
+	public XStreamWriter addAttribute( XAttribute attribute ) throws IOException{
+		Open current = current();
+		if( !current.tag ){
+			throw new IllegalStateException( "attributes have to be added before any children" );
+		}
+		out.append( " " );
+		out.append( attribute.getName() );
+		out.append( "=\"" );
+		XIO.encode( attribute.getString(), out );
+		out.append( "\"" );
+		return this;
+	}
+	
+	/**
+	 * Adds an attribute to the element that is currently open.
+	 * @param name the name of the attribute
+	 * @param value the value of the attribute
+	 * @return <code>this</code>
+	 * @throws IOException if the attribute cannot be written
+	 */
+	public XStreamWriter addString( String name, String value ) throws IOException{
+		XAttribute attribute = new XAttribute( name );
+		attribute.setString( value );
+		return addAttribute( attribute );
+	}
+	
+	/**
+	 * Adds an attribute to the element that is currently open.
+	 * @param name the name of the attribute
+	 * @param value the value of the attribute
+	 * @return <code>this</code>
+	 * @throws IOException if the attribute cannot be written
+	 */
+	public XStreamWriter addInt( String name, int value ) throws IOException{
+		XAttribute attribute = new XAttribute( name );
+		attribute.setInt( value );
+		return addAttribute( attribute );
+	}
+	
+	/**
+	 * Adds an attribute to the element that is currently open.
+	 * @param name the name of the attribute
+	 * @param value the value of the attribute
+	 * @return <code>this</code>
+	 * @throws IOException if the attribute cannot be written
+	 */
+	public XStreamWriter addLong( String name, long value ) throws IOException{
+		XAttribute attribute = new XAttribute( name );
+		attribute.setLong( value );
+		return addAttribute( attribute );
+	}
+	
+	/**
+	 * Adds an attribute to the element that is currently open.
+	 * @param name the name of the attribute
+	 * @param value the value of the attribute
+	 * @return <code>this</code>
+	 * @throws IOException if the attribute cannot be written
+	 */
+	public XStreamWriter addBoolean( String name, boolean value ) throws IOException{
+		XAttribute attribute = new XAttribute( name );
+		attribute.setBoolean( value );
+		return addAttribute( attribute );
+	}
+	
+	/**
+	 * Sets the value of the element that is currently open. 
+	 * @param value the value, not <code>null</code>
+	 * @return <code>this</code>
+	 * @throws IllegalStateException if no element is open, or the element already has a value or children
+	 */
+	public XStreamWriter setValue( String value ){
+		if( value == null )
+			throw new IllegalArgumentException( "value must not be null" );
+		
+		Open current = current();
+		if( !current.tag || current.value != null ){
+			throw new IllegalStateException( "the value has to be set before any children are added, and only once" );
+		}
+		current.value = value;
+		return this;
+	}
+	
+	/**
+	 * Closes the element that is currently open.
+	 * @return <code>this</code>
+	 * @throws IOException if the element cannot be written
+	 * @throws IllegalStateException if no element is open
+	 */
+	public XStreamWriter endElement() throws IOException{
+		Open current = current();
+		stack.remove( stack.size()-1 );
+		
+		if( current.children ){
+			indent( stack.size() );
+			out.append( "</" );
+			out.append( current.name );
+			out.append( ">" );
+		}
+		else if( current.value == null || current.value.length() == 0 ){
+			out.append( "/>" );
+		}
+		else{
+			out.append( ">" );
+			XIO.encode( current.value, out );
+			out.append( "</" );
+			out.append( current.name );
+			out.append( ">" );
+		}
+		
+		if( stack.isEmpty() ){
+			rootClosed = true;
+		}
+		else{
+			out.append( "\n" );
+		}
+		return this;
+	}
+	
+	/**
+	 * Writes <code>element</code> and all its children as child of the element that is currently open, 
+	 * or as root element if no element is open.
+	 * @param element the element to write
+	 * @return <code>this</code>
+	 * @throws IOException if the element cannot be written
+	 */
+	public XStreamWriter writeElement( XElement element ) throws IOException{
+		startElement( element.getName() );
+		for( XAttribute attribute : element.attributes() ){
+			addAttribute( attribute );
+		}
+		setValue( element.getValue() );
+		for( XElement child : element.children() ){
+			writeElement( child );
+		}
+		return endElement();
+	}
+	
+	/**
+	 * Tells whether all the elements that were opened have been closed.
+	 * @return <code>true</code> if the root element was written completely
+	 */
+	public boolean isFinished(){
+		return rootClosed;
+	}
+	
+	/**
+	 * An element that is currently open.
+	 * @author Benjamin Sigg
+	 */
+	private class Open{
+		/** the name of the element */
+		private final String name;
+		/** whether the start tag is not yet closed */
+		private boolean tag = true;
+		/** the value of the element */
+		private String value;
+		/** whether the element has children */
+		private boolean children = false;
+		
+		public Open( String name ){
+			this.name = name;
+		}
+		
+		/**
+		 * Called before a child is written, closes the start tag and writes the value.
+		 * @throws IOException if the stream cannot be written
+		 */
+		public void openChildren() throws IOException{
+			if( !children ){
+				children = true;
+				tag = false;
+				out.append( ">" );
+				if( value != null && value.length() > 0 ){
+					out.append( "\n\t" );
+					indent( stack.size()-1 );
+					XIO.encode( value, out );
+				}
+				out.append( "\n" );
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.extension.gui.dock.theme.bubble;
+
+import java.awt.AWTEvent;
+import java.awt.Color;
+import java.awt.EventQueue;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Runs many {@link BubbleColorAnimation}s at the same time, as it happens when the mouse
+ * moves over a stack with many tabs, and counts how often the EDT has to wake up to
+ * perform a step of any of the animations.
+ * @author Benjamin Sigg
+ */
+public class BubbleAnimationBenchmark {
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 200;
+		
+		for( int round = 0; round < 3; round++ ){
+			final Map<AWTEvent, Boolean> events = new IdentityHashMap<AWTEvent, Boolean>();
+			final int[] steps = new int[1];
+			final BubbleColorAnimation[] animations = new BubbleColorAnimation[ count ];
+			
+			EventQueue.invokeAndWait( new Runnable(){
+				public void run(){
+					for( int i = 0; i < count; i++ ){
+						animations[i] = new BubbleColorAnimation();
+						animations[i].setDuration( 1000 );
+						animations[i].putColor( "color", Color.WHITE );
+						animations[i].addTask( new Runnable(){
+							public void run(){
+								steps[0]++;
+								events.put( EventQueue.getCurrentEvent(), Boolean.TRUE );
+							}
+						});
+					}
+					for( int i = 0; i < count; i++ ){
+						animations[i].putColor( "color", Color.BLACK );
+					}
+				}
+			});
+			
+			Thread.sleep( 1500 );
+			
+			EventQueue.invokeAndWait( new Runnable(){
+				public void run(){
+					System.out.println( count + " animations: " + steps[0] + " steps in " + events.size() + " EDT events" );
+				}
+			});
+		}
+		System.exit( 0 );
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2007 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+
+/**
+ * Measures how long it takes to register and unregister a large number of {@link Dockable}s
+ * at a {@link DockRegister}.
+ * @author Benjamin Sigg
+ */
+public class DockRegisterBenchmark {
+	public static void main( String[] args ){
+		int count = 10000;
+		if( args.length > 0 ){
+			count = Integer.parseInt( args[0] );
+		}
+		
+		DockController controller = new DockController();
+		DockRegister register = controller.getRegister();
+		
+		Dockable[] dockables = new Dockable[ count ];
+		for( int i = 0; i < count; i++ ){
+			dockables[i] = new DefaultDockable( "Dockable " + i );
+		}
+		
+		for( int round = 0; round < 5; round++ ){
+			long start = System.nanoTime();
+			for( Dockable dockable : dockables ){
+				register.register( dockable );
+			}
+			long registered = System.nanoTime();
+			for( int i = 0; i < count; i++ ){
+				if( register.getDockable( i ) != dockables[i] ){
+					throw new IllegalStateException( "wrong order at " + i );
+				}
+			}
+			long listed = System.nanoTime();
+			for( Dockable dockable : dockables ){
+				register.unregister( dockable );
+			}
+			long unregistered = System.nanoTime();
+			
+			System.out.println( "round " + round + ": register " + count + " dockables: " + ((registered - start) / 1000000) + " ms, " +
+					"access by index: " + ((listed - registered) / 1000000) + " ms, " +
+					"unregister: " + ((unregistered - listed) / 1000000) + " ms" );
+		}
+		
+		controller.kill();
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control.relocator;
+
+import java.awt.Component;
+import java.awt.Point;
+import java.awt.event.InputEvent;
+
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.control.RemoteRelocator;
+import bibliothek.gui.dock.station.split.SplitDockGrid;
+
+/**
+ * Simulates a drag and drop operation over a layout with many nested stations and measures how long 
+ * each step of the operation takes. Requires a display.
+ * @author Benjamin Sigg
+ */
+public class DragBenchmark {
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 200;
+		
+		SwingUtilities.invokeAndWait( new Runnable(){
+			public void run(){
+				DockController controller = new DockController();
+				SplitDockStation root = new SplitDockStation();
+				controller.add( root );
+				
+				SplitDockGrid grid = new SplitDockGrid();
+				int side = (int)Math.ceil( Math.sqrt( count ));
+				Dockable moved = null;
+				for( int i = 0; i < count; i++ ){
+					StackDockStation stack = new StackDockStation();
+					stack.drop( new DefaultDockable( "a" + i ) );
+					stack.drop( new DefaultDockable( "b" + i ) );
+					if( moved == null ){
+						moved = stack.getDockable( 0 );
+					}
+					grid.addDockable( i % side, i / side, 1, 1, stack );
+				}
+				root.dropTree( grid.toTree() );
+				
+				JFrame frame = new JFrame( "Drag benchmark" );
+				frame.add( root.getComponent() );
+				frame.setSize( 1600, 1200 );
+				frame.setVisible( true );
+				frame.validate();
+				
+				Component component = root.getComponent();
+				Point origin = component.getLocationOnScreen();
+				int modifiers = InputEvent.BUTTON1_DOWN_MASK;
+				
+				for( int round = 0; round < 5; round++ ){
+					RemoteRelocator relocator = controller.getRelocator().createRemote( moved );
+					relocator.init( origin.x + 5, origin.y + 5, 0, 0, modifiers );
+					
+					int steps = 0;
+					long start = System.nanoTime();
+					for( int y = 0; y < component.getHeight(); y += 15 ){
+						for( int x = 0; x < component.getWidth(); x += 40 ){
+							relocator.drag( origin.x + x, origin.y + y, modifiers );
+							steps++;
+						}
+					}
+					long time = System.nanoTime() - start;
+					relocator.cancel();
+					
+					System.out.println( "round " + round + ": " + steps + " steps, " + (time / steps / 1000) + " us per step" );
+				}
+				
+				frame.dispose();
+				controller.kill();
+			}
+		});
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.event;
+
+import java.awt.EventQueue;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+
+/**
+ * Counts how many events listeners receive while building and rearranging a {@link StackDockStation}
+ * once without and once within a {@link DockEventBatch}.
+ * @author Benjamin Sigg
+ */
+public class DockEventBatchBenchmark {
+	private static int hierarchyEvents;
+	private static int selectionEvents;
+	private static int synchronousEvents;
+	
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 500;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				for( int round = 0; round < 5; round++ ){
+					measure( count, false );
+					measure( count, true );
+				}
+			}
+		});
+	}
+	
+	private static void measure( int count, boolean batch ){
+		hierarchyEvents = 0;
+		selectionEvents = 0;
+		synchronousEvents = 0;
+		
+		DockController controller = new DockController();
+		// keep the empty stack in the tree, events are only batched for elements known to the controller
+		controller.setSingleParentRemover( null );
+		SplitDockStation outer = new SplitDockStation();
+		StackDockStation inner = new StackDockStation();
+		controller.add( outer );
+		outer.drop( inner );
+		
+		inner.addDockStationListener( new DockStationAdapter(){
+			@Override
+			public void dockableSelected( DockStation station, Dockable oldSelection, Dockable newSelection ){
+				selectionEvents++;
+			}
+		});
+		
+		Dockable[] dockables = new Dockable[ count ];
+		for( int i = 0; i < count; i++ ){
+			dockables[i] = new DefaultDockable( "Dockable " + i );
+			dockables[i].addDockHierarchyListener( new CountingHierarchyListener() );
+			dockables[i].addDockHierarchyListener( new SynchronousHierarchyListener() );
+		}
+		
+		long start = System.nanoTime();
+		if( batch ){
+			controller.getEventBatch().open();
+		}
+		try{
+			for( Dockable dockable : dockables ){
+				inner.drop( dockable );
+			}
+			for( Dockable dockable : dockables ){
+				inner.setFrontDockable( dockable );
+			}
+			// moving the parent changes the path of all children
+			outer.removeDockable( inner );
+			outer.drop( inner );
+		}
+		finally{
+			if( batch ){
+				controller.getEventBatch().close();
+			}
+		}
+		long end = System.nanoTime();
+		
+		System.out.println( (batch ? "batch:    " : "no batch: ") + ((end - start) / 1000000) + " ms, " +
+				"hierarchy events: " + hierarchyEvents + ", selection events: " + selectionEvents + 
+				", synchronous events: " + synchronousEvents );
+		
+		controller.kill();
+	}
+	
+	private static class CountingHierarchyListener implements DockHierarchyListener{
+		public void hierarchyChanged( DockHierarchyEvent event ){
+			hierarchyEvents++;
+		}
+		
+		public void controllerChanged( DockHierarchyEvent event ){
+			// ignore
+		}
+	}
+	
+	private static class SynchronousHierarchyListener implements DockHierarchyListener, SynchronousDockListener{
+		public void hierarchyChanged( DockHierarchyEvent event ){
+			synchronousEvents++;
+		}
+		
+		public void controllerChanged( DockHierarchyEvent event ){
+			// ignore
+		}
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.event;
+
+import static org.junit.Assert.*;
+
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.StackDockStation;
+
+/**
+ * Tests the order and the scope of the events delayed by a {@link DockEventBatch}.
+ * @author Benjamin Sigg
+ */
+public class DockEventBatchTest {
+	@Test
+	public void testNoEventAfterRemoval() throws Throwable{
+		onEventQueue( new Runnable(){
+			public void run(){
+				DockController controller = new DockController();
+				try{
+					StackDockStation stack = new StackDockStation();
+					controller.add( stack );
+					Dockable a = new DefaultDockable( "a" );
+					Dockable b = new DefaultDockable( "b" );
+					stack.drop( a );
+					stack.drop( b );
+
+					Recorder recorder = new Recorder();
+					stack.addDockStationListener( recorder );
+
+					controller.getEventBatch().open();
+					try{
+						stack.setFrontDockable( a );
+						stack.setFrontDockable( b );
+						stack.setFrontDockable( a );
+						assertTrue( recorder.events.isEmpty() );
+						stack.drag( a );
+					}
+					finally{
+						controller.getEventBatch().close();
+					}
+
+					int removed = recorder.events.indexOf( "removed a" );
+					assertTrue( removed >= 0 );
+					assertTrue( recorder.events.contains( "selected a" ) );
+					for( int i = removed+1; i < recorder.events.size(); i++ ){
+						String event = recorder.events.get( i );
+						assertFalse( event, event.equals( "selected a" ) || event.equals( "showing a" ) );
+					}
+					assertTrue( recorder.events.indexOf( "selected a" ) < removed );
+				}
+				finally{
+					controller.kill();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testEventsMerged() throws Throwable{
+		onEventQueue( new Runnable(){
+			public void run(){
+				DockController controller = new DockController();
+				try{
+					StackDockStation stack = new StackDockStation();
+					controller.add( stack );
+					Dockable[] dockables = new Dockable[ 5 ];
+					for( int i = 0; i < dockables.length; i++ ){
+						dockables[i] = new DefaultDockable( String.valueOf( i ) );
+						stack.drop( dockables[i] );
+					}
+
+					Recorder recorder = new Recorder();
+					stack.addDockStationListener( recorder );
+
+					controller.getEventBatch().open();
+					try{
+						for( Dockable dockable : dockables ){
+							stack.setFrontDockable( dockable );
+						}
+					}
+					finally{
+						controller.getEventBatch().close();
+					}
+
+					assertEquals( 1, recorder.events.size() );
+					assertEquals( "selected 4", recorder.events.get( 0 ) );
+				}
+				finally{
+					controller.kill();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testScopedToController() throws Throwable{
+		onEventQueue( new Runnable(){
+			public void run(){
+				DockController batched = new DockController();
+				DockController other = new DockController();
+				try{
+					StackDockStation stack = new StackDockStation();
+					other.add( stack );
+					Dockable a = new DefaultDockable( "a" );
+					Dockable b = new DefaultDockable( "b" );
+					stack.drop( a );
+					stack.drop( b );
+
+					Recorder recorder = new Recorder();
+					stack.addDockStationListener( recorder );
+
+					batched.getEventBatch().open();
+					try{
+						stack.setFrontDockable( a );
+						assertEquals( 1, recorder.events.size() );
+						assertFalse( other.getEventBatch().isOpen() );
+					}
+					finally{
+						batched.getEventBatch().close();
+					}
+					assertEquals( 1, recorder.events.size() );
+				}
+				finally{
+					batched.kill();
+					other.kill();
+				}
+			}
+		});
+	}
+
+	private void onEventQueue( final Runnable run ) throws Throwable{
+		final Throwable[] failure = new Throwable[1];
+		try{
+			EventQueue.invokeAndWait( new Runnable(){
+				public void run(){
+					try{
+						run.run();
+					}
+					catch( Throwable t ){
+						failure[0] = t;
+					}
+				}
+			});
+		}
+		catch( InvocationTargetException e ){
+			throw e.getCause();
+		}
+		if( failure[0] != null ){
+			throw failure[0];
+		}
+	}
+
+	private static String name( Dockable dockable ){
+		return dockable == null ? "null" : dockable.getTitleText();
+	}
+
+	private static class Recorder extends DockStationAdapter{
+		private List<String> events = new ArrayList<String>();
+
+		@Override
+		public void dockableSelected( DockStation station, Dockable oldSelection, Dockable newSelection ){
+			events.add( "selected " + name( newSelection ) );
+		}
+
+		@Override
+		public void dockableShowingChanged( DockStation station, Dockable dockable, boolean showing ){
+			events.add( "showing " + name( dockable ) );
+		}
+
+		@Override
+		public void dockableRemoved( DockStation station, Dockable dockable ){
+			events.add( "removed " + name( dockable ) );
+		}
+	}
+}
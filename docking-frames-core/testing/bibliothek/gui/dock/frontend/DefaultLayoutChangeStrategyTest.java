@@ -0,0 +1,200 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.frontend;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.station.split.SplitDockGrid;
+import bibliothek.util.xml.XElement;
+
+/**
+ * Checks that applying a layout while {@link DefaultLayoutChangeStrategy#setReuseUnchangedElements(boolean) reusing}
+ * unchanged elements results in the same layout as rebuilding the whole tree.
+ * @author Benjamin Sigg
+ */
+public class DefaultLayoutChangeStrategyTest {
+	private static final int DOCKABLES = 30;
+	private static final int LAYOUTS = 6;
+
+	@Test
+	public void testDisabledByDefault(){
+		assertFalse( new DefaultLayoutChangeStrategy().isReuseUnchangedElements() );
+	}
+
+	@Test
+	public void testReuseEqualsRebuild(){
+		for( long seed = 0; seed < 5; seed++ ){
+			check( new Random( seed ) );
+		}
+	}
+
+	@Test
+	public void testUnchangedStationsAreReused(){
+		DockFrontend frontend = new DockFrontend();
+		try{
+			DefaultLayoutChangeStrategy strategy = new DefaultLayoutChangeStrategy();
+			strategy.setReuseUnchangedElements( true );
+			frontend.setLayoutChangeStrategy( strategy );
+			SplitDockStation root = new SplitDockStation();
+			frontend.addRoot( "root", root );
+
+			Dockable[] dockables = createDockables( frontend );
+			SplitDockGrid grid = new SplitDockGrid();
+			grid.addDockable( 0, 0, 1, 1, dockables[0], dockables[1], dockables[2] );
+			grid.addDockable( 1, 0, 1, 1, dockables[3], dockables[4] );
+			grid.addDockable( 0, 1, 2, 1, dockables[5] );
+			root.dropTree( grid.toTree() );
+			frontend.save( "a" );
+
+			DockStation unchanged = dockables[0].getDockParent();
+			dockables[4].getDockParent().drag( dockables[4] );
+			root.drop( dockables[4] );
+			frontend.save( "b" );
+
+			frontend.load( "a" );
+			assertSame( unchanged, dockables[0].getDockParent() );
+			assertSame( dockables[3].getDockParent(), dockables[4].getDockParent() );
+			assertNotSame( root, dockables[4].getDockParent() );
+		}
+		finally{
+			frontend.getController().kill();
+		}
+	}
+
+	private void check( Random random ){
+		DockFrontend frontend = new DockFrontend();
+		try{
+			DefaultLayoutChangeStrategy strategy = new DefaultLayoutChangeStrategy();
+			frontend.setLayoutChangeStrategy( strategy );
+			SplitDockStation root = new SplitDockStation();
+			frontend.addRoot( "root", root );
+			Dockable[] dockables = createDockables( frontend );
+
+			for( int i = 0; i < LAYOUTS; i++ ){
+				randomLayout( random, root, dockables );
+				frontend.save( "layout " + i );
+			}
+
+			for( int step = 0; step < 30; step++ ){
+				String next = "layout " + random.nextInt( LAYOUTS );
+				if( random.nextInt( 3 ) == 0 ){
+					// start from a layout that was never saved
+					randomLayout( random, root, dockables );
+				}
+				frontend.save( "start" );
+
+				strategy.setReuseUnchangedElements( true );
+				frontend.load( next );
+				String reused = current( frontend );
+
+				strategy.setReuseUnchangedElements( false );
+				frontend.load( "start" );
+				frontend.load( next );
+				String rebuilt = current( frontend );
+
+				assertEquals( "load of '" + next + "' in step " + step, rebuilt, reused );
+			}
+		}
+		finally{
+			frontend.getController().kill();
+		}
+	}
+
+	private Dockable[] createDockables( DockFrontend frontend ){
+		Dockable[] dockables = new Dockable[ DOCKABLES ];
+		for( int i = 0; i < dockables.length; i++ ){
+			dockables[i] = new DefaultDockable( "Dockable " + i );
+			frontend.addDockable( "dockable" + i, dockables[i] );
+		}
+		return dockables;
+	}
+
+	/**
+	 * Puts the visible <code>dockables</code> at random locations, some of them in stacks.
+	 */
+	private void randomLayout( Random random, SplitDockStation root, Dockable[] dockables ){
+		for( Dockable dockable : dockables ){
+			DockStation parent = dockable.getDockParent();
+			if( parent != null ){
+				parent.drag( dockable );
+			}
+		}
+
+		int cells = 1 + random.nextInt( 8 );
+		List<List<Dockable>> groups = new ArrayList<List<Dockable>>();
+		for( int i = 0; i < cells; i++ ){
+			groups.add( new ArrayList<Dockable>() );
+		}
+		for( Dockable dockable : dockables ){
+			if( random.nextInt( 5 ) != 0 ){
+				groups.get( random.nextInt( cells ) ).add( dockable );
+			}
+		}
+
+		SplitDockGrid grid = new SplitDockGrid();
+		int column = 0;
+		for( List<Dockable> group : groups ){
+			if( !group.isEmpty() ){
+				if( group.size() > 1 && random.nextBoolean() ){
+					StackDockStation stack = new StackDockStation();
+					for( Dockable dockable : group ){
+						stack.drop( dockable );
+					}
+					grid.addDockable( column % 3, column / 3, 1, 1, stack );
+				}
+				else{
+					grid.addDockable( column % 3, column / 3, 1, 1, group.toArray( new Dockable[ group.size() ] ) );
+				}
+				column++;
+			}
+		}
+		root.dropTree( grid.toTree() );
+	}
+
+	/**
+	 * Describes the layout that is currently shown by <code>frontend</code>. The identifiers of the nodes
+	 * of {@link SplitDockStation}s are ignored, they are created anew whenever a tree is rebuilt.
+	 */
+	private String current( DockFrontend frontend ){
+		SettingsBlop blop = new SettingsBlop();
+		blop.setCurrent( null, frontend.getSetting( false ) );
+		XElement element = new XElement( "frontend" );
+		frontend.writeBlopXML( blop, element );
+		return element.toString().replaceAll( "nodeId=\"-?[0-9]+\"", "" );
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.frontend;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.station.split.SplitDockGrid;
+
+/**
+ * Measures how long it takes to switch between two layouts of a {@link DockFrontend} that
+ * differ only in the location of one {@link Dockable}, and checks that the stations which
+ * did not change are reused.
+ * @author Benjamin Sigg
+ */
+public class LayoutChangeBenchmark {
+	public static void main( String[] args ){
+		int count = args.length > 0 ? Integer.parseInt( args[0] ) : 1000;
+		measure( count, false );
+		measure( count, true );
+	}
+	
+	private static void measure( int count, boolean reuse ){
+		int stacks = 20;
+		
+		DockFrontend frontend = new DockFrontend();
+		DefaultLayoutChangeStrategy strategy = new DefaultLayoutChangeStrategy();
+		strategy.setReuseUnchangedElements( reuse );
+		frontend.setLayoutChangeStrategy( strategy );
+		SplitDockStation root = new SplitDockStation();
+		frontend.addRoot( "root", root );
+		
+		StackDockStation[] stations = new StackDockStation[ stacks ];
+		for( int i = 0; i < stacks; i++ ){
+			stations[i] = new StackDockStation();
+		}
+		for( int i = 0; i < count; i++ ){
+			DefaultDockable dockable = new DefaultDockable( "Dockable " + i );
+			stations[ i % stacks ].drop( dockable );
+			frontend.addDockable( "dockable" + i, dockable );
+		}
+		
+		SplitDockGrid grid = new SplitDockGrid();
+		for( int i = 0; i < stacks; i++ ){
+			grid.addDockable( i % 5, i / 5, 1, 1, stations[i] );
+		}
+		root.dropTree( grid.toTree() );
+		frontend.save( "a" );
+		
+		Dockable moving = stations[0].getDockable( 0 );
+		stations[0].drag( moving );
+		stations[1].drop( moving );
+		frontend.save( "b" );
+		
+		for( int round = 0; round < 10; round++ ){
+			long start = System.nanoTime();
+			frontend.load( round % 2 == 0 ? "a" : "b" );
+			long done = System.nanoTime();
+			
+			int reused = 0;
+			int dockables = 0;
+			for( int i = 0; i < root.getDockableCount(); i++ ){
+				DockStation child = root.getDockable( i ).asDockStation();
+				dockables += child.getDockableCount();
+				for( StackDockStation station : stations ){
+					if( station == child ){
+						reused++;
+					}
+				}
+			}
+			
+			if( dockables != count ){
+				throw new IllegalStateException( "expected " + count + " dockables, but found " + dockables );
+			}
+			
+			System.out.println( (reuse ? "reuse, " : "rebuild, ") + "round " + round + ": load " + ((done - start) / 1000000) + " ms, reused stations: " + reused + " of " + root.getDockableCount() );
+		}
+		
+		frontend.getController().kill();
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.layout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.station.split.SplitDockGrid;
+
+/**
+ * Measures how long it takes to write and read a {@link DockLayoutComposition} describing
+ * a large layout with the binary format of {@link DockSituation}. Also measures how
+ * long it takes to read the same layout with {@link DockSituation#readLazyComposition(DataInputStream)}.
+ * @author Benjamin Sigg
+ */
+public class DockSituationBenchmark {
+	public static void main( String[] args ) throws IOException{
+		int count = args.length > 0 ? Integer.parseInt( args[0] ) : 5000;
+		int stacks = 50;
+		
+		DockController controller = new DockController();
+		SplitDockStation root = new SplitDockStation();
+		controller.add( root );
+		
+		SplitDockGrid grid = new SplitDockGrid();
+		for( int i = 0; i < stacks; i++ ){
+			StackDockStation stack = new StackDockStation();
+			for( int j = i; j < count; j += stacks ){
+				stack.drop( new DefaultDockable( "Dockable " + j ) );
+			}
+			grid.addDockable( i % 10, i / 10, 1, 1, stack );
+		}
+		root.dropTree( grid.toTree() );
+		
+		DockSituation situation = new DockSituation( controller );
+		DockLayoutComposition composition = situation.convert( root );
+		
+		for( int round = 0; round < 10; round++ ){
+			long start = System.nanoTime();
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream( bytes );
+			situation.writeComposition( composition, out );
+			out.close();
+			long written = System.nanoTime();
+			
+			DataInputStream in = new DataInputStream( new ByteArrayInputStream( bytes.toByteArray() ));
+			DockLayoutComposition read = situation.readComposition( in );
+			in.close();
+			long done = System.nanoTime();
+			
+			in = new DataInputStream( new ByteArrayInputStream( bytes.toByteArray() ));
+			DockLayoutComposition lazy = situation.readLazyComposition( in );
+			in.close();
+			long scanned = System.nanoTime();
+			
+			if( read.getChildren().size() != composition.getChildren().size() ){
+				throw new IllegalStateException( "layout changed during round trip" );
+			}
+			if( lazy.getChildren().size() != composition.getChildren().size() ){
+				throw new IllegalStateException( "lazy layout changed during round trip" );
+			}
+			
+			System.out.println( "round " + round + ": " + bytes.size() + " bytes, write: " + ((written - start) / 1000000) + " ms, read: " + ((done - written) / 1000000) + " ms, lazy read: " + ((scanned - done) / 1000000) + " ms" );
+		}
+		
+		controller.kill();
+	}
+}
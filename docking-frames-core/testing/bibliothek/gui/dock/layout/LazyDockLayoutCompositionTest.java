@@ -0,0 +1,254 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.layout;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.dockable.DefaultDockableFactory;
+import bibliothek.gui.dock.station.split.SplitDockStationFactory;
+import bibliothek.gui.dock.station.support.PlaceholderStrategy;
+import bibliothek.util.Version;
+
+/**
+ * Tests how {@link LazyDockLayoutComposition}s and the {@link DockSituation} handle corrupt data.
+ * @author Benjamin Sigg
+ */
+public class LazyDockLayoutCompositionTest {
+	@Test
+	public void testTruncatedStreamFailsWhileReading() throws IOException{
+		DockSituation situation = createSituation();
+		SplitDockStation station = new SplitDockStation();
+		for( int i = 0; i < 3; i++ ){
+			station.drop( new DefaultDockable( "Dockable " + i ) );
+		}
+		byte[] data = write( situation, situation.convert( station ) );
+
+		assertNotNull( read( situation, data ) );
+		for( int length = 0; length < data.length; length++ ){
+			try{
+				read( situation, Arrays.copyOf( data, length ) );
+				fail( "read " + length + " of " + data.length + " bytes" );
+			}
+			catch( IOException e ){
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testTruncatedEntryIsIgnored() throws IOException{
+		DockSituation situation = createSituation();
+		byte[] data = truncateEntry( write( situation, situation.convert( new DefaultDockable( "a" ) ) ) );
+
+		try{
+			situation.readComposition( new DataInputStream( new ByteArrayInputStream( data ) ) );
+			fail( "eager reading accepts the truncated entry" );
+		}
+		catch( IOException e ){
+			// expected
+		}
+
+		DockLayoutComposition composition = read( situation, data );
+		assertTrue( LazyDockLayoutComposition.isCorrupt( composition ) );
+		assertNull( composition.getLayout() );
+		assertTrue( composition.getChildren().isEmpty() );
+
+		assertNull( situation.convert( composition ) );
+		situation.estimateLocations( composition );
+		DockLayoutComposition filled = situation.fillMissing( composition );
+		assertTrue( LazyDockLayoutComposition.isCorrupt( filled ) );
+
+		// the corrupt data is neither lost nor modified
+		assertArrayEquals( data, write( situation, composition ) );
+		assertArrayEquals( data, write( situation, filled ) );
+
+		try{
+			((LazyDockLayoutComposition)composition).decode();
+			fail( "decoding the truncated entry succeeded" );
+		}
+		catch( IllegalStateException e ){
+			// expected
+		}
+	}
+
+	@Test
+	public void testTruncatedEntryIsIgnoredByFrontend() throws IOException{
+		byte[] data;
+
+		DockFrontend frontend = createFrontend( false );
+		try{
+			SplitDockStation a = (SplitDockStation)frontend.getRoot( "a" );
+			SplitDockStation b = (SplitDockStation)frontend.getRoot( "b" );
+			a.drop( new TestDockable() );
+			b.drop( frontend.getDockable( "one" ) );
+			b.drop( frontend.getDockable( "two" ) );
+			frontend.save( "layout" );
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			DataOutputStream dout = new DataOutputStream( out );
+			frontend.write( dout );
+			dout.close();
+			data = out.toByteArray();
+		}
+		finally{
+			frontend.getController().kill();
+		}
+
+		frontend = createFrontend( true );
+		try{
+			frontend.read( new DataInputStream( new ByteArrayInputStream( data ) ) );
+
+			SplitDockStation a = (SplitDockStation)frontend.getRoot( "a" );
+			SplitDockStation b = (SplitDockStation)frontend.getRoot( "b" );
+			assertEquals( 0, a.getDockableCount() );
+			assertEquals( 2, b.getDockableCount() );
+			assertSame( b, frontend.getDockable( "one" ).getDockParent() );
+			assertSame( b, frontend.getDockable( "two" ).getDockParent() );
+
+			frontend.load( "layout" );
+			assertEquals( 0, a.getDockableCount() );
+			assertEquals( 2, b.getDockableCount() );
+		}
+		finally{
+			frontend.getController().kill();
+		}
+	}
+
+	private DockSituation createSituation(){
+		return new DockSituation( new DefaultDockableFactory(), new SplitDockStationFactory() );
+	}
+
+	private DockFrontend createFrontend( boolean expectMore ){
+		DockFrontend frontend = new DockFrontend();
+		frontend.registerFactory( new TestFactory( expectMore ) );
+		frontend.addRoot( "a", new SplitDockStation() );
+		frontend.addRoot( "b", new SplitDockStation() );
+		frontend.addDockable( "one", new DefaultDockable( "one" ) );
+		frontend.addDockable( "two", new DefaultDockable( "two" ) );
+		return frontend;
+	}
+
+	private byte[] write( DockSituation situation, DockLayoutComposition composition ) throws IOException{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dout = new DataOutputStream( out );
+		situation.writeComposition( composition, dout );
+		dout.close();
+		return out.toByteArray();
+	}
+
+	private DockLayoutComposition read( DockSituation situation, byte[] data ) throws IOException{
+		return situation.readLazyComposition( new DataInputStream( new ByteArrayInputStream( data ) ) );
+	}
+
+	/**
+	 * Removes the last byte from the data of the first entry of <code>data</code> and updates the
+	 * size of the entry, the framing of the result is still valid.
+	 * @param data a composition as written by {@link DockSituation#writeComposition(DockLayoutComposition, DataOutputStream)}
+	 * @return the modified composition
+	 */
+	private byte[] truncateEntry( byte[] data ) throws IOException{
+		DataInputStream in = new DataInputStream( new ByteArrayInputStream( data ) );
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream( result );
+
+		Version.write( out, Version.read( in ) );
+		boolean placeholder = in.readBoolean();
+		out.writeBoolean( placeholder );
+		if( placeholder ){
+			out.writeUTF( in.readUTF() );
+		}
+		out.writeUTF( in.readUTF() );
+
+		int count = in.readInt();
+		byte[] entry = new byte[ count ];
+		in.readFully( entry );
+		out.writeInt( count-1 );
+		out.write( entry, 0, count-1 );
+
+		byte[] remaining = new byte[ in.available() ];
+		in.readFully( remaining );
+		out.write( remaining );
+		out.close();
+		return result.toByteArray();
+	}
+
+	/**
+	 * A {@link Dockable} that is stored by a {@link TestFactory}.
+	 */
+	private static class TestDockable extends DefaultDockable{
+		@Override
+		public String getFactoryID(){
+			return TestFactory.ID;
+		}
+	}
+
+	/**
+	 * A factory that writes one integer but may read two of them, simulating
+	 * an entry which was cut short.
+	 */
+	private static class TestFactory extends DefaultDockableFactory{
+		public static final String ID = "test";
+
+		private boolean expectMore;
+
+		public TestFactory( boolean expectMore ){
+			super( ID );
+			this.expectMore = expectMore;
+		}
+
+		@Override
+		public Object read( DataInputStream in, PlaceholderStrategy placeholders ) throws IOException{
+			in.readInt();
+			if( expectMore ){
+				in.readInt();
+			}
+			return new Object();
+		}
+
+		@Override
+		public void write( Object layout, DataOutputStream out ) throws IOException{
+			out.writeInt( 42 );
+		}
+
+		@Override
+		public DefaultDockable layout( Object layout, PlaceholderStrategy placeholders ){
+			return new TestDockable();
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+
+/**
+ * Compares the trees built by {@link AbstractSplitDockGrid#tree()} with the trees built by
+ * comparing all pairs of nodes after each merge, on random grids.
+ * @author Benjamin Sigg
+ */
+public class AbstractSplitDockGridTest {
+	@Test
+	public void testRegularGrids(){
+		for( long seed = 0; seed < 100; seed++ ){
+			Random random = new Random( seed );
+			OracleGrid grid = new OracleGrid();
+			int columns = 1 + random.nextInt( 12 );
+			int rows = 1 + random.nextInt( 10 );
+			for( int x = 0; x < columns; x++ ){
+				for( int y = 0; y < rows; y++ ){
+					// leave some holes
+					if( random.nextInt( 6 ) != 0 ){
+						grid.addDockable( x, y, 1, 1, new DefaultDockable( x + "/" + y ) );
+					}
+				}
+			}
+			addDividers( random, grid );
+			check( grid, "seed " + seed );
+		}
+	}
+
+	@Test
+	public void testOverlappingCells(){
+		for( long seed = 0; seed < 100; seed++ ){
+			Random random = new Random( seed );
+			OracleGrid grid = new OracleGrid();
+			int count = 1 + random.nextInt( 40 );
+			for( int i = 0; i < count; i++ ){
+				grid.addDockable( random.nextInt( 8 ), random.nextInt( 8 ), 1 + random.nextInt( 3 ), 1 + random.nextInt( 3 ),
+						new DefaultDockable( "Dockable " + i ) );
+			}
+			addDividers( random, grid );
+			check( grid, "seed " + seed );
+		}
+	}
+
+	@Test
+	public void testIrregularCells(){
+		for( long seed = 0; seed < 100; seed++ ){
+			Random random = new Random( seed );
+			OracleGrid grid = new OracleGrid();
+			int count = 1 + random.nextInt( 40 );
+			for( int i = 0; i < count; i++ ){
+				// some cells without any height
+				double height = random.nextInt( 10 ) == 0 ? 0 : random.nextDouble() * 4;
+				grid.addDockable( random.nextDouble() * 10, random.nextDouble() * 10, random.nextDouble() * 4, height,
+						new DefaultDockable( "Dockable " + i ) );
+			}
+			addDividers( random, grid );
+			check( grid, "seed " + seed );
+		}
+	}
+
+	@Test
+	public void testEmptyGrid(){
+		assertNull( new OracleGrid().tree() );
+	}
+
+	private void addDividers( Random random, OracleGrid grid ){
+		int lines = random.nextInt( 4 );
+		for( int i = 0; i < lines; i++ ){
+			if( random.nextBoolean() ){
+				grid.addVerticalDivider( random.nextInt( 10 ), random.nextInt( 5 ), 5 + random.nextInt( 5 ) );
+			}
+			else{
+				grid.addHorizontalDivider( random.nextInt( 5 ), 5 + random.nextInt( 5 ), random.nextInt( 10 ) );
+			}
+		}
+	}
+
+	private void check( OracleGrid grid, String message ){
+		assertSameTree( message, grid.allPairsTree(), grid.tree() );
+	}
+
+	private void assertSameTree( String message, AbstractSplitDockGrid.Node<Dockable> expected, AbstractSplitDockGrid.Node<Dockable> actual ){
+		if( expected == null ){
+			assertNull( message, actual );
+			return;
+		}
+		assertNotNull( message, actual );
+		assertArrayEquals( message, expected.dockables, actual.dockables );
+		assertEquals( message, expected.horizontal, actual.horizontal );
+		assertEquals( message, expected.divider, actual.divider, 0 );
+		assertEquals( message, expected.x, actual.x, 0 );
+		assertEquals( message, expected.y, actual.y, 0 );
+		assertEquals( message, expected.width, actual.width, 0 );
+		assertEquals( message, expected.height, actual.height, 0 );
+		assertSameTree( message, expected.childA, actual.childA );
+		assertSameTree( message, expected.childB, actual.childB );
+	}
+
+	/**
+	 * A grid that can also build its tree by comparing all pairs of nodes again after each merge,
+	 * which is how {@link AbstractSplitDockGrid#tree()} used to work.
+	 */
+	private static class OracleGrid extends SplitDockGrid{
+		public Node<Dockable> allPairsTree(){
+			List<Node<Dockable>> nodes = new ArrayList<Node<Dockable>>( getNodes() );
+
+			if( nodes.isEmpty() )
+				return null;
+
+			while( nodes.size() > 1 ){
+				int size = nodes.size();
+
+				int bestA = 0, bestB = 0;
+				double bestDiff = Double.MAX_VALUE;
+
+				for( int i = 0; i < size; i++ ){
+					for( int j = i+1; j < size; j++ ){
+						double diff = diff( nodes.get( i ), nodes.get( j ) );
+						if( diff < bestDiff ){
+							bestDiff = diff;
+							bestA = i;
+							bestB = j;
+						}
+					}
+				}
+
+				Node<Dockable> node = combine( nodes.remove( bestB ), nodes.remove( bestA ));
+				nodes.add( node );
+			}
+
+			return nodes.get( 0 );
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+
+/**
+ * Measures how expensive it is to move a divider of a {@link SplitDockStation} with many
+ * children, as it happens when the user drags a divider with {@link SplitDockStation#setContinousDisplay(boolean) continuous display}.
+ * The benchmark counts how many components get revalidated by every step.
+ * @author Benjamin Sigg
+ */
+public class DividerDragBenchmark {
+	private static int revalidations = 0;
+	
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 256;
+		final int steps = args.length > 1 ? Integer.parseInt( args[1] ) : 2000;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				RepaintManager.setCurrentManager( new RepaintManager(){
+					@Override
+					public synchronized void addInvalidComponent( JComponent invalidComponent ){
+						revalidations++;
+						super.addInvalidComponent( invalidComponent );
+					}
+				});
+				
+				DockController controller = new DockController();
+				SplitDockStation station = new SplitDockStation();
+				controller.add( station );
+				
+				Dockable[] dockables = new Dockable[ count ];
+				for( int i = 0; i < count; i++ ){
+					dockables[i] = new DefaultDockable( "Dockable " + i );
+				}
+				DockableSplitDockTree tree = new DockableSplitDockTree();
+				tree.root( build( tree, dockables, 0, count, true ) );
+				station.dropTree( tree );
+				station.setSize( 3000, 2000 );
+				layout( station );
+				station.updateBounds();
+				
+				Node root = (Node)station.getRoot().getChild();
+				Node quarter = (Node)((Node)root.getLeft()).getLeft();
+				
+				for( int round = 0; round < 3; round++ ){
+					measure( "whole tree, root divider", station, root, false, steps );
+					measure( "whole tree, inner divider", station, quarter, false, steps );
+					measure( "subtree, root divider", station, root, true, steps );
+					measure( "subtree, inner divider", station, quarter, true, steps );
+				}
+				controller.kill();
+			}
+		});
+		System.exit( 0 );
+	}
+	
+	private static void measure( String name, SplitDockStation station, Node node, boolean subtree, int steps ){
+		revalidations = 0;
+		long start = System.nanoTime();
+		for( int i = 0; i < steps; i++ ){
+			node.setDivider( 0.3 + (i % 100) / 250.0 );
+			if( subtree ){
+				station.updateBounds( node );
+			}
+			else{
+				station.updateBounds();
+			}
+		}
+		long time = System.nanoTime() - start;
+		System.out.println( name + ": " + (time / steps / 1000) + " us per step, " + (revalidations / steps) + " revalidations per step" );
+	}
+	
+	private static void layout( Container container ){
+		container.doLayout();
+		for( Component child : container.getComponents() ){
+			if( child instanceof Container ){
+				layout( (Container)child );
+			}
+		}
+	}
+	
+	private static SplitDockTree<Dockable>.Key build( DockableSplitDockTree tree, Dockable[] dockables, int from, int to, boolean horizontal ){
+		if( to - from == 1 ){
+			return tree.put( dockables[ from ] );
+		}
+		int middle = (from + to) / 2;
+		SplitDockTree<Dockable>.Key left = build( tree, dockables, from, middle, !horizontal );
+		SplitDockTree<Dockable>.Key right = build( tree, dockables, middle, to, !horizontal );
+		if( horizontal ){
+			return tree.horizontal( left, right );
+		}
+		return tree.vertical( left, right );
+	}
+}
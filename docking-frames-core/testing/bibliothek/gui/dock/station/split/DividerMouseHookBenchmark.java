@@ -0,0 +1,114 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Cursor;
+import java.awt.EventQueue;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.event.MouseEvent;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+
+/**
+ * Measures how expensive a mouse movement is if many {@link SplitDockStation}s are nested
+ * into each other. Every station has a {@link DefaultSplitDividerStrategy} observing the mouse.
+ * @author Benjamin Sigg
+ */
+public class DividerMouseHookBenchmark {
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 40;
+		final int events = args.length > 1 ? Integer.parseInt( args[1] ) : 200000;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				int before = Toolkit.getDefaultToolkit().getAWTEventListeners().length;
+				
+				SplitDockStation station = new SplitDockStation();
+				DefaultDockable leaf = new DefaultDockable( "leaf" );
+				station.drop( leaf );
+				station.drop( new DefaultDockable( "dockable" ) );
+				
+				for( int i = 1; i < count; i++ ){
+					SplitDockStation parent = new SplitDockStation();
+					parent.drop( new DefaultDockable( "dockable " + i ) );
+					parent.drop( station );
+					station = parent;
+				}
+				
+				DockController controller = new DockController();
+				controller.add( station );
+				
+				int after = Toolkit.getDefaultToolkit().getAWTEventListeners().length;
+				System.out.println( count + " stations, " + (after - before) + " new AWTEventListeners" );
+				
+				Component target = leaf.getComponent();
+				
+				// move the mouse over the divider of the outermost station and then onto a dockable
+				station.setSize( 4000, 3000 );
+				layout( station );
+				Node node = (Node)station.getRoot().getChild();
+				Rectangle divider = node.getDividerBounds( node.getDivider(), null );
+				Container content = station.getContentPane();
+				content.dispatchEvent( new MouseEvent( content, MouseEvent.MOUSE_MOVED, 0, 0, divider.x + divider.width/2, divider.y + divider.height/2, 0, false ) );
+				boolean resizeCursor = content.getCursor().getType() != Cursor.DEFAULT_CURSOR;
+				target.dispatchEvent( new MouseEvent( target, MouseEvent.MOUSE_MOVED, 0, 0, 5, 5, 0, false ) );
+				boolean resetCursor = content.getCursor().getType() == Cursor.DEFAULT_CURSOR;
+				System.out.println( "cursor on divider: " + resizeCursor + ", reset when leaving: " + resetCursor );
+				
+				// creating a MouseEvent is more expensive than dispatching it, hence the same events are reused
+				MouseEvent[] moves = new MouseEvent[ 50 ];
+				for( int i = 0; i < moves.length; i++ ){
+					moves[i] = new MouseEvent( target, MouseEvent.MOUSE_MOVED, 0, 0, i, i, 0, false );
+				}
+				for( int round = 0; round < 5; round++ ){
+					long start = System.nanoTime();
+					for( int i = 0; i < events; i++ ){
+						target.dispatchEvent( moves[ i % moves.length ] );
+					}
+					long time = System.nanoTime() - start;
+					System.out.println( events + " mouse movements: " + (time / 1000000) + " ms, " + (time / events) + " ns per event" );
+				}
+				controller.kill();
+			}
+		});
+		System.exit( 0 );
+	}
+	
+	private static void layout( Component component ){
+		if( component instanceof Container ){
+			Container container = (Container)component;
+			container.doLayout();
+			for( Component child : container.getComponents() ){
+				layout( child );
+			}
+		}
+	}
+}
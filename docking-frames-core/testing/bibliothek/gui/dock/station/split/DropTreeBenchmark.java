@@ -0,0 +1,108 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import java.awt.EventQueue;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.event.DockStationAdapter;
+import bibliothek.gui.dock.station.support.PlaceholderStrategy;
+import bibliothek.gui.dock.station.support.PlaceholderStrategyListener;
+import bibliothek.util.Path;
+
+/**
+ * Measures how long it takes to apply a {@link SplitDockGrid} with many children to a 
+ * {@link SplitDockStation}, as it happens when an application builds its initial layout. Like
+ * in <code>CControl</code> every {@link Dockable} has a placeholder.
+ * @author Benjamin Sigg
+ */
+public class DropTreeBenchmark {
+	private static int events = 0;
+	
+	public static void main( String[] args ) throws Exception{
+		final int columns = args.length > 0 ? Integer.parseInt( args[0] ) : 25;
+		final int rows = args.length > 1 ? Integer.parseInt( args[1] ) : 20;
+		final int repeat = args.length > 2 ? Integer.parseInt( args[2] ) : 5;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				DockController controller = new DockController();
+				SplitDockStation station = new SplitDockStation();
+				controller.getProperties().set( PlaceholderStrategy.PLACEHOLDER_STRATEGY, new PlaceholderStrategy(){
+					public void install( DockStation station ){
+						// ignore
+					}
+					public void uninstall( DockStation station ){
+						// ignore
+					}
+					public void addListener( PlaceholderStrategyListener listener ){
+						// ignore
+					}
+					public void removeListener( PlaceholderStrategyListener listener ){
+						// ignore
+					}
+					public Path getPlaceholderFor( Dockable dockable ){
+						return new Path( "benchmark", dockable.getTitleText() );
+					}
+					public boolean isValidPlaceholder( Path placeholder ){
+						return true;
+					}
+				});
+				controller.add( station );
+				station.setSize( 3000, 2000 );
+				station.addDockStationListener( new DockStationAdapter(){
+					@Override
+					public void dockableAdded( DockStation station, Dockable dockable ){
+						events++;
+					}
+				});
+				
+				for( int round = 0; round < repeat; round++ ){
+					SplitDockGrid grid = new SplitDockGrid();
+					for( int x = 0; x < columns; x++ ){
+						for( int y = 0; y < rows; y++ ){
+							grid.addDockable( x, y, 1, 1, new DefaultDockable( "Dockable " + x + "/" + y ) );
+						}
+					}
+					events = 0;
+					long start = System.nanoTime();
+					SplitDockTree<Dockable> tree = grid.toTree();
+					long converted = System.nanoTime();
+					station.dropTree( tree );
+					long end = System.nanoTime();
+					System.out.println( (columns * rows) + " dockables: toTree " + ((converted - start) / 1000000) + " ms, dropTree " + 
+							((end - converted) / 1000000) + " ms, " + events + " dockableAdded events" );
+				}
+				controller.kill();
+			}
+		});
+		System.exit( 0 );
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+
+/**
+ * Measures how long it takes to find the divider and the drop location under the mouse on a
+ * {@link SplitDockStation} with many children. These searches happen on every mouse movement
+ * over the station and on every step of a drag and drop operation.
+ * @author Benjamin Sigg
+ */
+public class HitTestBenchmark {
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 512;
+		final int steps = args.length > 1 ? Integer.parseInt( args[1] ) : 200000;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				for( int round = 0; round < 3; round++ ){
+					measure( "balanced", count, steps, true );
+					measure( "chain", count, steps, false );
+				}
+			}
+		});
+		System.exit( 0 );
+	}
+	
+	private static void measure( String name, int count, int steps, boolean balanced ){
+		DockController controller = new DockController();
+		SplitDockStation station = new SplitDockStation();
+		controller.add( station );
+		
+		Dockable[] dockables = new Dockable[ count ];
+		for( int i = 0; i < count; i++ ){
+			dockables[i] = new DefaultDockable( "Dockable " + i );
+		}
+		DockableSplitDockTree tree = new DockableSplitDockTree();
+		if( balanced ){
+			tree.root( build( tree, dockables, 0, count, true ) );
+		}
+		else{
+			SplitDockTree<Dockable>.Key key = tree.put( dockables[ count-1 ] );
+			for( int i = count-2; i >= 0; i-- ){
+				double divider = 1.0 / (count - i);
+				if( i % 2 == 0 ){
+					key = tree.horizontal( tree.put( dockables[i] ), key, divider );
+				}
+				else{
+					key = tree.vertical( tree.put( dockables[i] ), key, divider );
+				}
+			}
+			tree.root( key );
+		}
+		station.dropTree( tree );
+		station.setSize( 6000, 6000 );
+		layout( station );
+		station.updateBounds();
+		
+		Root root = station.getRoot();
+		Dockable drop = new DefaultDockable( "drop" );
+		int width = station.getWidth();
+		int height = station.getHeight();
+		
+		int hits = 0;
+		long start = System.nanoTime();
+		for( int i = 0; i < steps; i++ ){
+			int x = (int)((i * 7919L) % width);
+			int y = (int)((i * 104729L) % height);
+			if( root.getDividerNode( x, y ) != null ){
+				hits++;
+			}
+		}
+		long dividerTime = System.nanoTime() - start;
+		
+		start = System.nanoTime();
+		for( int i = 0; i < steps; i++ ){
+			int x = (int)((i * 7919L) % width);
+			int y = (int)((i * 104729L) % height);
+			root.getPut( x, y, drop );
+		}
+		long putTime = System.nanoTime() - start;
+		
+		System.out.println( name + ": getDividerNode " + (dividerTime / steps) + " ns, getPut " + (putTime / steps) + " ns (" + hits + " dividers hit)" );
+		controller.kill();
+	}
+	
+	private static void layout( Container container ){
+		container.doLayout();
+		for( Component child : container.getComponents() ){
+			if( child instanceof Container ){
+				layout( (Container)child );
+			}
+		}
+	}
+	
+	private static SplitDockTree<Dockable>.Key build( DockableSplitDockTree tree, Dockable[] dockables, int from, int to, boolean horizontal ){
+		if( to - from == 1 ){
+			return tree.put( dockables[ from ] );
+		}
+		int middle = (from + to) / 2;
+		SplitDockTree<Dockable>.Key left = build( tree, dockables, from, middle, !horizontal );
+		SplitDockTree<Dockable>.Key right = build( tree, dockables, middle, to, !horizontal );
+		if( horizontal ){
+			return tree.horizontal( left, right );
+		}
+		return tree.vertical( left, right );
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+
+/**
+ * Tests {@link SplitDockStation#updateBounds(SplitNode)}, which updates only a subtree when possible.
+ * @author Benjamin Sigg
+ */
+public class SplitDockStationUpdateBoundsTest {
+	@Test
+	public void testDefaultManagerUpdatesSubtree(){
+		check( null );
+	}
+
+	@Test
+	public void testCustomManagerUpdatesWholeTree(){
+		CountingManager manager = new CountingManager();
+		check( manager );
+		assertEquals( 1, manager.updates );
+	}
+
+	/**
+	 * Moves the divider of a station with two children and updates the boundaries of the node.
+	 * @param manager the manager to install, <code>null</code> to use the default manager
+	 */
+	private void check( CountingManager manager ){
+		DockController controller = new DockController();
+		try{
+			SplitDockStation station = new SplitDockStation();
+			controller.add( station );
+			station.setSize( 400, 300 );
+			station.drop( new DefaultDockable( "a" ) );
+			station.drop( new DefaultDockable( "b" ), SplitDockProperty.EAST );
+			station.updateBounds();
+
+			if( manager != null ){
+				station.setSplitLayoutManager( manager );
+				manager.updates = 0;
+			}
+			Node node = (Node)station.getRoot().getChild();
+			node.setDivider( 0.25 );
+			station.updateBounds( node );
+			assertEquals( 0.25, node.getDivider(), 0 );
+			assertEquals( 0.25, node.getLeft().getWidth(), 0.01 );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+
+	/**
+	 * A {@link SplitLayoutManager} that counts how often the whole tree is updated.
+	 */
+	private static class CountingManager extends DefaultSplitLayoutManager{
+		private int updates;
+
+		@Override
+		public void updateBounds( Root root, double x, double y, double factorW, double factorH ){
+			updates++;
+			super.updateBounds( root, x, y, factorW, factorH );
+		}
+	}
+}
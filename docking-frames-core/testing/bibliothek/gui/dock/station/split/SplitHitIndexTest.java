@@ -0,0 +1,253 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import static org.junit.Assert.*;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.SplitDockStation.Orientation;
+import bibliothek.util.Path;
+
+/**
+ * Compares the answers of {@link Root#getPut(int, int, double, double, Dockable)}, {@link Root#isInOverrideZone(int, int, double, double)}
+ * and {@link Root#getDividerNode(int, int)}, which use the {@link SplitHitIndex}, with the answers of descending the tree.
+ * @author Benjamin Sigg
+ */
+public class SplitHitIndexTest {
+	private static final int TRIALS = 12;
+
+	@Test
+	public void testRandomTrees() throws Throwable{
+		run( new Change(){
+			public void apply( Random random, SplitDockStation station, List<Node> nodes ){
+				// nothing
+			}
+		});
+	}
+
+	@Test
+	public void testDividerMoved() throws Throwable{
+		run( new Change(){
+			public void apply( Random random, SplitDockStation station, List<Node> nodes ){
+				for( Node node : nodes ){
+					if( random.nextBoolean() ){
+						node.setDivider( random.nextDouble() );
+					}
+				}
+				if( random.nextBoolean() ){
+					station.updateBounds();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testOrientationChanged() throws Throwable{
+		run( new Change(){
+			public void apply( Random random, SplitDockStation station, List<Node> nodes ){
+				for( Node node : nodes ){
+					if( random.nextInt( 3 ) == 0 ){
+						node.setOrientation( node.getOrientation() == Orientation.HORIZONTAL ? Orientation.VERTICAL : Orientation.HORIZONTAL );
+					}
+				}
+				station.updateBounds();
+			}
+		});
+	}
+
+	@Test
+	public void testSubtreeUpdated() throws Throwable{
+		run( new Change(){
+			public void apply( Random random, SplitDockStation station, List<Node> nodes ){
+				Node node = nodes.get( random.nextInt( nodes.size() ) );
+				node.setDivider( random.nextDouble() );
+				station.updateBounds( node );
+			}
+		});
+	}
+
+	private void run( final Change change ) throws Throwable{
+		onEventQueue( new Runnable(){
+			public void run(){
+				Random random = new Random( 7 );
+				for( int trial = 0; trial < TRIALS; trial++ ){
+					DockController controller = new DockController();
+					try{
+						SplitDockStation station = new SplitDockStation();
+						controller.add( station );
+						station.dropTree( createTree( random ) );
+
+						int width = 200 + random.nextInt( 900 );
+						int height = 200 + random.nextInt( 700 );
+						station.setSize( width, height );
+						layout( station );
+						station.updateBounds();
+
+						List<Node> nodes = nodes( station.getRoot() );
+						for( int round = 0; round < 3; round++ ){
+							compare( random, station, width, height, "trial " + trial + ", round " + round );
+							if( !nodes.isEmpty() ){
+								change.apply( random, station, nodes );
+							}
+						}
+						compare( random, station, width, height, "trial " + trial );
+					}
+					finally{
+						controller.kill();
+					}
+				}
+			}
+		});
+	}
+
+	private DockableSplitDockTree createTree( Random random ){
+		DockableSplitDockTree tree = new DockableSplitDockTree();
+		List<SplitDockTree<Dockable>.Key> keys = new ArrayList<SplitDockTree<Dockable>.Key>();
+		int count = 1 + random.nextInt( 40 );
+		for( int i = 0; i < count; i++ ){
+			if( random.nextInt( 4 ) == 0 ){
+				keys.add( tree.put( new Path[]{ new Path( "placeholder" + i ) }, null ) );
+			}
+			else{
+				keys.add( tree.put( new DefaultDockable( "Dockable " + i ) ) );
+			}
+		}
+		while( keys.size() > 1 ){
+			int index = random.nextInt( keys.size()-1 );
+			SplitDockTree<Dockable>.Key left = keys.remove( index );
+			SplitDockTree<Dockable>.Key right = keys.remove( index );
+			double divider = 0.1 + random.nextDouble() * 0.8;
+			if( random.nextBoolean() ){
+				keys.add( index, tree.horizontal( left, right, divider ) );
+			}
+			else{
+				keys.add( index, tree.vertical( left, right, divider ) );
+			}
+		}
+		tree.root( keys.get( 0 ) );
+		return tree;
+	}
+
+	private void compare( Random random, SplitDockStation station, int width, int height, String message ){
+		Root root = station.getRoot();
+		SplitNode child = root.getChild();
+		double factorW = root.getWidthFactor();
+		double factorH = root.getHeightFactor();
+		Dockable drop = new DefaultDockable( "drop" );
+
+		for( int y = -5; y < height+5; y += 2 + random.nextInt( 5 ) ){
+			for( int x = -5; x < width+5; x += 2 + random.nextInt( 5 ) ){
+				String at = message + ", at " + x + "/" + y;
+				boolean inside = child != null && root.getBounds().contains( x, y );
+
+				PutInfo expected = inside ? child.getPut( x, y, factorW, factorH, drop ) : null;
+				PutInfo actual = root.getPut( x, y, factorW, factorH, drop );
+				if( expected == null ){
+					assertNull( at, actual );
+				}
+				else{
+					assertNotNull( at, actual );
+					assertSame( at, expected.getNode(), actual.getNode() );
+					assertSame( at, expected.getPut(), actual.getPut() );
+				}
+
+				boolean override = inside && child.isInOverrideZone( x, y, factorW, factorH );
+				assertEquals( at, override, root.isInOverrideZone( x, y, factorW, factorH ) );
+
+				Node divider = child == null ? null : child.getDividerNode( x, y );
+				assertSame( at, divider, root.getDividerNode( x, y ) );
+			}
+		}
+	}
+
+	private List<Node> nodes( Root root ){
+		final List<Node> nodes = new ArrayList<Node>();
+		root.visit( new SplitNodeAdapter(){
+			@Override
+			public void handleNode( Node node ){
+				nodes.add( node );
+			}
+		});
+		return nodes;
+	}
+
+	private void layout( Container container ){
+		container.doLayout();
+		for( Component child : container.getComponents() ){
+			if( child instanceof Container ){
+				layout( (Container)child );
+			}
+		}
+	}
+
+	private void onEventQueue( final Runnable run ) throws Throwable{
+		final Throwable[] failure = new Throwable[1];
+		try{
+			EventQueue.invokeAndWait( new Runnable(){
+				public void run(){
+					try{
+						run.run();
+					}
+					catch( Throwable t ){
+						failure[0] = t;
+					}
+				}
+			});
+		}
+		catch( InvocationTargetException e ){
+			throw e.getCause();
+		}
+		if( failure[0] != null ){
+			throw failure[0];
+		}
+	}
+
+	/**
+	 * Some modification of the tree of a {@link SplitDockStation}.
+	 */
+	private static interface Change{
+		/**
+		 * Applies this modification.
+		 * @param random the source of randomness
+		 * @param station the modified station
+		 * @param nodes all the {@link Node}s of <code>station</code>, not empty
+		 */
+		public void apply( Random random, SplitDockStation station, List<Node> nodes );
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import java.awt.EventQueue;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.util.Path;
+
+/**
+ * Measures how long it takes to find nodes, leafs and placeholders in the tree of
+ * a {@link SplitDockStation} with many children. These lookups happen on every drop
+ * and whenever a layout is stored or applied.
+ * @author Benjamin Sigg
+ */
+public class SplitTreeLookupBenchmark {
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 1024;
+		final int repeat = args.length > 1 ? Integer.parseInt( args[1] ) : 20;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				DockController controller = new DockController();
+				SplitDockStation station = new SplitDockStation();
+				controller.add( station );
+				
+				Dockable[] dockables = new Dockable[ count ];
+				for( int i = 0; i < count; i++ ){
+					dockables[i] = new DefaultDockable( "Dockable " + i );
+				}
+				DockableSplitDockTree tree = new DockableSplitDockTree();
+				tree.root( build( tree, dockables, 0, count, true ) );
+				station.dropTree( tree );
+				station.setSize( 3000, 2000 );
+				
+				long[] ids = new long[ count ];
+				Path[] placeholders = new Path[ count ];
+				for( int i = 0; i < count; i++ ){
+					Leaf leaf = station.getRoot().getLeaf( dockables[i] );
+					ids[i] = leaf.getId();
+					placeholders[i] = new Path( "placeholder", String.valueOf( i ) );
+					leaf.addPlaceholder( placeholders[i] );
+				}
+				
+				for( int round = 0; round < 3; round++ ){
+					long start = System.nanoTime();
+					for( int r = 0; r < repeat; r++ ){
+						for( int i = 0; i < count; i++ ){
+							station.getRoot().getLeaf( dockables[i] );
+						}
+					}
+					print( "getLeaf", start, repeat * count );
+					
+					start = System.nanoTime();
+					for( int r = 0; r < repeat; r++ ){
+						for( int i = 0; i < count; i++ ){
+							station.getNode( ids[i] );
+						}
+					}
+					print( "getNode", start, repeat * count );
+					
+					start = System.nanoTime();
+					for( int r = 0; r < repeat; r++ ){
+						for( int i = 0; i < count; i++ ){
+							station.getRoot().getPlaceholderNode( placeholders[i] );
+						}
+					}
+					print( "getPlaceholderNode", start, repeat * count );
+					
+					start = System.nanoTime();
+					for( int r = 0; r < repeat; r++ ){
+						for( int i = 0; i < count; i++ ){
+							station.indexOfDockable( dockables[i] );
+						}
+					}
+					print( "indexOfDockable", start, repeat * count );
+				}
+				controller.kill();
+			}
+		});
+		System.exit( 0 );
+	}
+	
+	private static void print( String name, long start, int operations ){
+		long time = System.nanoTime() - start;
+		System.out.println( name + ": " + (time / operations) + " ns per operation" );
+	}
+	
+	private static SplitDockTree<Dockable>.Key build( DockableSplitDockTree tree, Dockable[] dockables, int from, int to, boolean horizontal ){
+		if( to - from == 1 ){
+			return tree.put( dockables[ from ] );
+		}
+		int middle = (from + to) / 2;
+		SplitDockTree<Dockable>.Key left = build( tree, dockables, from, middle, !horizontal );
+		SplitDockTree<Dockable>.Key right = build( tree, dockables, middle, to, !horizontal );
+		if( horizontal ){
+			return tree.horizontal( left, right );
+		}
+		return tree.vertical( left, right );
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.stack;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.awt.GridLayout;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+import bibliothek.extension.gui.dock.theme.FlatTheme;
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+
+/**
+ * Compares validating, measuring and switching tabs of a {@link StackDockStation} with many children, once
+ * with and once without the property {@link StackDockStation#VIRTUALIZED}.
+ * @author Benjamin Sigg
+ */
+public class VirtualizedStackBenchmark {
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 300;
+		final int repeat = args.length > 1 ? Integer.parseInt( args[1] ) : 200;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				for( int round = 0; round < 3; round++ ){
+					measure( count, repeat, false );
+					measure( count, repeat, true );
+				}
+			}
+		});
+		System.exit( 0 );
+	}
+	
+	private static void measure( int count, int repeat, boolean virtualized ){
+		DockController controller = new DockController();
+		controller.setTheme( new FlatTheme() );
+		controller.getProperties().set( StackDockStation.VIRTUALIZED, virtualized );
+		
+		SplitDockStation root = new SplitDockStation();
+		controller.add( root );
+		StackDockStation stack = new StackDockStation();
+		
+		for( int i = 0; i < count; i++ ){
+			JPanel content = new JPanel( new GridLayout( 0, 4 ) );
+			for( int j = 0; j < 20; j++ ){
+				content.add( new JLabel( "label " + j ) );
+			}
+			DefaultDockable dockable = new DefaultDockable( content, "Dockable " + i );
+			stack.drop( dockable );
+		}
+		root.drop( stack );
+		root.setSize( 800, 600 );
+		layout( root );
+		
+		Container panel = (Container)stack.getStackComponent().getComponent();
+		int components = countComponents( panel );
+		
+		long start = System.nanoTime();
+		for( int i = 0; i < repeat; i++ ){
+			panel.invalidate();
+			layout( root );
+		}
+		long layout = (System.nanoTime() - start) / 1000000;
+		
+		start = System.nanoTime();
+		for( int i = 0; i < repeat; i++ ){
+			panel.invalidate();
+			stack.getComponent().getPreferredSize();
+		}
+		long preferred = (System.nanoTime() - start) / 1000000;
+		
+		start = System.nanoTime();
+		for( int i = 0; i < repeat; i++ ){
+			stack.getStackComponent().setSelectedIndex( i % count );
+			layout( root );
+		}
+		long select = (System.nanoTime() - start) / 1000000;
+		
+		System.out.println( (virtualized ? "virtualized" : "default    ") + ": " + count + " children, " + components + " components in the stack, " 
+				+ repeat + "x layout " + layout + " ms, preferred size " + preferred + " ms, select and layout " + select + " ms" );
+		
+		controller.kill();
+	}
+	
+	/**
+	 * Lays out <code>component</code> and all its children, like {@link Container#validate()} would do
+	 * if there was a screen.
+	 * @param component the root of the tree to lay out
+	 */
+	private static void layout( Component component ){
+		if( component instanceof Container ){
+			Container container = (Container)component;
+			container.doLayout();
+			for( Component child : container.getComponents() ){
+				layout( child );
+			}
+		}
+	}
+	
+	private static int countComponents( Component component ){
+		int result = 1;
+		if( component instanceof Container ){
+			for( Component child : ((Container)component).getComponents() ){
+				result += countComponents( child );
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.stack.tab;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+
+import bibliothek.extension.gui.dock.theme.EclipseTheme;
+import bibliothek.extension.gui.dock.theme.FlatTheme;
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockTheme;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+
+/**
+ * Measures how long the {@link MenuLineLayout} needs to lay out a {@link StackDockStation} with many tabs
+ * while the station is resized, as it happens when the user drags a divider.
+ * @author Benjamin Sigg
+ */
+public class MenuLineLayoutBenchmark {
+	public static void main( String[] args ) throws Exception{
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 100;
+		final int frames = args.length > 1 ? Integer.parseInt( args[1] ) : 500;
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				for( int round = 0; round < 5; round++ ){
+					measure( "flat", new FlatTheme(), count, frames );
+					measure( "eclipse", new EclipseTheme(), count, frames );
+				}
+			}
+		});
+		System.exit( 0 );
+	}
+	
+	private static void measure( String name, DockTheme theme, int count, int frames ){
+		DockController controller = new DockController();
+		controller.setTheme( theme );
+		
+		SplitDockStation root = new SplitDockStation();
+		controller.add( root );
+		StackDockStation stack = new StackDockStation();
+		for( int i = 0; i < count; i++ ){
+			stack.drop( new DefaultDockable( "Dockable " + i ) );
+		}
+		root.drop( stack );
+		
+		Container pane = (Container)stack.getStackComponent().getComponent();
+		root.setSize( 1000, 600 );
+		layout( root );
+		
+		// resizing, each frame has a new size
+		long start = System.nanoTime();
+		for( int i = 0; i < frames; i++ ){
+			root.setSize( 400 + (i * 7) % 1200, 600 );
+			pane.invalidate();
+			layout( root );
+		}
+		long resize = (System.nanoTime() - start) / 1000000;
+		
+		// repeated layouts without any change, as they happen during repaints and validations
+		start = System.nanoTime();
+		for( int i = 0; i < frames; i++ ){
+			pane.invalidate();
+			pane.getPreferredSize();
+			pane.getMinimumSize();
+			layout( root );
+		}
+		long stable = (System.nanoTime() - start) / 1000000;
+		
+		System.out.println( name + ": " + count + " tabs, " + frames + " resized frames " + resize + " ms (" + 
+				(resize * 1000 / frames) + " us/frame), " + frames + " unchanged frames " + stable + " ms (" + (stable * 1000 / frames) + " us/frame)" );
+		
+		controller.kill();
+	}
+	
+	/**
+	 * Lays out <code>component</code> and all its children, like {@link Container#validate()} would do
+	 * if there was a screen.
+	 * @param component the root of the tree to lay out
+	 */
+	private static void layout( Component component ){
+		if( component instanceof Container ){
+			Container container = (Container)component;
+			container.doLayout();
+			for( Component child : container.getComponents() ){
+				layout( child );
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.stack.tab.layouting;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import bibliothek.gui.dock.station.stack.tab.Tab;
+
+/**
+ * Measures how long {@link LineTabsLayoutBlock.ZOrder} needs to order many overlapping
+ * tabs, as they are created by the eclipse theme. Each tab is put in front of or behind its
+ * neighbours, like {@link LineTabsLayoutBlock#doLayout()} does.
+ * @author Benjamin Sigg
+ */
+public class ZOrderBenchmark {
+	public static void main( String[] args ){
+		int[] counts = { 10, 100, 1000, 5000 };
+		LineTabsLayoutBlock block = new LineTabsLayoutBlock();
+		
+		for( int round = 0; round < 3; round++ ){
+			for( int count : counts ){
+				Tab[] tabs = createTabs( count );
+				int repeat = Math.max( 50, 200000 / count );
+				
+				long start = System.nanoTime();
+				int errors = 0;
+				for( int i = 0; i < repeat; i++ ){
+					LineTabsLayoutBlock.ZOrder order = block.new ZOrder( tabs );
+					int selected = (i * 7) % count;
+					for( int t = 0; t+1 < count; t++ ){
+						if( t < selected ){
+							order.putOrder( tabs[t+1], tabs[t] );
+						}
+						else{
+							order.putOrder( tabs[t], tabs[t+1] );
+						}
+					}
+					errors += check( order.getOrderedByZ(), tabs[selected] );
+				}
+				long time = System.nanoTime() - start;
+				System.out.println( count + " tabs: " + (time / repeat / 1000) + " us per order, " + errors + " wrong orders" );
+			}
+		}
+	}
+	
+	private static int check( Tab[] ordered, Tab selected ){
+		return ordered.length == 0 || ordered[0] == selected ? 0 : 1;
+	}
+	
+	private static Tab[] createTabs( int count ){
+		Tab[] tabs = new Tab[ count ];
+		InvocationHandler handler = new InvocationHandler(){
+			public Object invoke( Object proxy, Method method, Object[] args ){
+				return null;
+			}
+		};
+		for( int i = 0; i < count; i++ ){
+			tabs[i] = (Tab)Proxy.newProxyInstance( Tab.class.getClassLoader(), new Class<?>[]{ Tab.class }, handler );
+		}
+		return tabs;
+	}
+}
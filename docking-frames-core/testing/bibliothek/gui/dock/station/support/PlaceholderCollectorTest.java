@@ -0,0 +1,183 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.support;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.frontend.SettingsBlop;
+import bibliothek.gui.dock.station.split.SplitDockProperty;
+import bibliothek.util.Path;
+import bibliothek.util.xml.XElement;
+
+/**
+ * Tests that the {@link PlaceholderCollector} removes invalid placeholders from stations and
+ * from the stored settings of a {@link DockFrontend}, but keeps the valid placeholders.
+ * @author Benjamin Sigg
+ */
+public class PlaceholderCollectorTest {
+	@Test
+	public void testCollect() throws IOException{
+		TestStrategy strategy = new TestStrategy();
+		DockFrontend frontend = new DockFrontend();
+		try{
+			frontend.getController().getProperties().set( PlaceholderStrategy.PLACEHOLDER_STRATEGY, strategy );
+
+			SplitDockStation split = new SplitDockStation();
+			StackDockStation stack = new StackDockStation();
+			frontend.addRoot( "split", split );
+			frontend.addRoot( "stack", stack );
+
+			Dockable[] dockables = new Dockable[6];
+			for( int i = 0; i < dockables.length; i++ ){
+				dockables[i] = new DefaultDockable( "d" + i );
+				frontend.addDockable( "d" + i, dockables[i] );
+			}
+			split.drop( dockables[0] );
+			split.drop( dockables[1], SplitDockProperty.EAST );
+			split.drop( dockables[2], SplitDockProperty.SOUTH );
+			stack.drop( dockables[3] );
+			stack.drop( dockables[4] );
+			stack.drop( dockables[5] );
+
+			// d1, d2, d4 and d5 leave placeholders behind
+			for( int i : new int[]{ 1, 2, 4, 5 } ){
+				dockables[i].getDockParent().drag( dockables[i] );
+			}
+			frontend.save( "setting" );
+
+			assertTrue( contains( split, 1 ) );
+			assertTrue( contains( split, 2 ) );
+			assertTrue( contains( stack, 4 ) );
+			assertTrue( contains( stack, 5 ) );
+			String before = setting( frontend );
+			for( int i : new int[]{ 1, 2, 4, 5 } ){
+				assertTrue( "setting misses d" + i, before.contains( placeholder( i ).toString() ) );
+			}
+
+			// d2 and d5 no longer exist
+			strategy.dead.add( placeholder( 2 ) );
+			strategy.dead.add( placeholder( 5 ) );
+
+			PlaceholderCollector collector = new PlaceholderCollector( strategy );
+			collector.collect( frontend );
+
+			assertEquals( 2, collector.getRemovedPlaceholders() );
+			assertTrue( collector.getReclaimedBytes() > 0 );
+
+			assertTrue( contains( split, 1 ) );
+			assertFalse( contains( split, 2 ) );
+			assertTrue( contains( stack, 4 ) );
+			assertFalse( contains( stack, 5 ) );
+
+			// dockables that are still shown keep their placeholders
+			assertTrue( contains( split, 0 ) );
+			assertTrue( contains( stack, 3 ) );
+			assertSame( split, dockables[0].getDockParent() );
+			assertSame( stack, dockables[3].getDockParent() );
+
+			String after = setting( frontend );
+			for( int i : new int[]{ 0, 1, 3, 4 } ){
+				assertTrue( "setting misses d" + i, after.contains( placeholder( i ).toString() ) );
+			}
+			for( int i : new int[]{ 2, 5 } ){
+				assertFalse( "setting still contains d" + i, after.contains( placeholder( i ).toString() ) );
+			}
+
+			// collecting again does not change anything
+			collector.reset();
+			collector.collect( frontend );
+			assertEquals( 0, collector.getRemovedPlaceholders() );
+			assertEquals( after, setting( frontend ) );
+		}
+		finally{
+			frontend.getController().kill();
+		}
+	}
+
+	private boolean contains( DockStation station, int dockable ){
+		PlaceholderMap map = station.getPlaceholders();
+		return map != null && map.listPlaceholders( true ).contains( placeholder( dockable ) );
+	}
+
+	/**
+	 * Writes the stored setting of <code>frontend</code> as xml.
+	 */
+	private String setting( DockFrontend frontend ){
+		SettingsBlop blop = new SettingsBlop();
+		blop.setCurrent( null, frontend.getSetting( "setting" ) );
+		XElement element = new XElement( "frontend" );
+		frontend.writeBlopXML( blop, element );
+		return element.toString();
+	}
+
+	private static Path placeholder( int dockable ){
+		return new Path( "test", "d" + dockable );
+	}
+
+	/**
+	 * Assigns the placeholder "test.&lt;title&gt;" to each {@link Dockable}, the placeholders in
+	 * {@link #dead} are invalid.
+	 */
+	private static class TestStrategy implements PlaceholderStrategy{
+		public Set<Path> dead = new HashSet<Path>();
+
+		public void install( DockStation station ){
+			// ignore
+		}
+
+		public void uninstall( DockStation station ){
+			// ignore
+		}
+
+		public void addListener( PlaceholderStrategyListener listener ){
+			// ignore
+		}
+
+		public void removeListener( PlaceholderStrategyListener listener ){
+			// ignore
+		}
+
+		public Path getPlaceholderFor( Dockable dockable ){
+			return new Path( "test", dockable.getTitleText() );
+		}
+
+		public boolean isValidPlaceholder( Path placeholder ){
+			return !dead.contains( placeholder );
+		}
+	}
+}
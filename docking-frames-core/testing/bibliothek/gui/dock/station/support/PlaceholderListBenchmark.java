@@ -0,0 +1,100 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.station.support.PlaceholderList.Level;
+import bibliothek.util.Path;
+
+/**
+ * Measures the time the lookup methods of {@link PlaceholderList} need if the list contains
+ * many {@link Dockable}s and even more placeholders, as it happens with a stack that was used
+ * for a long time.
+ * @author Benjamin Sigg
+ */
+public class PlaceholderListBenchmark {
+	public static void main( String[] args ){
+		int dockables = args.length > 0 ? Integer.parseInt( args[0] ) : 200;
+		int placeholders = args.length > 1 ? Integer.parseInt( args[1] ) : 1000;
+		
+		DockablePlaceholderList<Item> list = new DockablePlaceholderList<Item>();
+		List<Item> items = new ArrayList<Item>();
+		for( int i = 0; i < dockables; i++ ){
+			Item item = new Item( new DefaultDockable( "Dockable " + i ) );
+			items.add( item );
+			list.dockables().add( item );
+			list.dockables().addPlaceholder( i, new Path( "dockable", String.valueOf( i ) ) );
+		}
+		for( int i = 0; i < placeholders; i++ ){
+			list.list().insertPlaceholder( (i * 7) % list.list().size(), new Path( "placeholder", String.valueOf( i ) ) );
+		}
+		
+		for( int round = 0; round < 10; round++ ){
+			long start = System.nanoTime();
+			long sum = 0;
+			for( int i = 0; i < placeholders; i++ ){
+				Path placeholder = new Path( "placeholder", String.valueOf( i ) );
+				sum += list.getDockableIndex( placeholder );
+				sum += list.getListIndex( placeholder );
+			}
+			long searched = System.nanoTime();
+			
+			for( Item item : items ){
+				sum += list.dockables().indexOf( item );
+			}
+			for( int i = 0; i < dockables; i++ ){
+				sum += list.levelToBase( i, Level.DOCKABLE );
+			}
+			for( int i = 0, n = list.list().size(); i < n; i++ ){
+				sum += list.baseToLevel( i, Level.DOCKABLE );
+			}
+			long indexed = System.nanoTime();
+			
+			for( int i = 0; i < dockables; i++ ){
+				list.dockables().move( i, dockables - 1 - i );
+			}
+			long moved = System.nanoTime();
+			
+			System.out.println( "round " + round + ": search " + ((searched - start) / 1000) + " us, index conversion " + ((indexed - searched) / 1000) + " us, move " + ((moved - indexed) / 1000) + " us (" + sum + ")" );
+		}
+	}
+	
+	private static class Item implements PlaceholderListItem<Dockable>{
+		private Dockable dockable;
+		
+		public Item( Dockable dockable ){
+			this.dockable = dockable;
+		}
+		
+		public Dockable asDockable(){
+			return dockable;
+		}
+	}
+}
@@ -0,0 +1,435 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.support;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.station.support.PlaceholderList.Level;
+import bibliothek.util.Path;
+
+/**
+ * Applies random modifications to a {@link PlaceholderList} and compares the answers of the indexed
+ * lookups with the answers found by walking through the linked entries of the list. The order of
+ * the {@link Dockable}s is additionally compared with a plain {@link List}.
+ * @author Benjamin Sigg
+ */
+public class PlaceholderListTest {
+	private static final int STEPS = 1500;
+	private static final int PLACEHOLDERS = 25;
+
+	@Test
+	public void testRandomModifications(){
+		for( long seed = 0; seed < 10; seed++ ){
+			new Run( new Random( seed ), "seed " + seed ).run();
+		}
+	}
+
+	@Test
+	public void testLevelConversions(){
+		DockablePlaceholderList<Item> list = new DockablePlaceholderList<Item>();
+		Item a = new Item( "a" );
+		Item b = new Item( "b" );
+		list.dockables().add( a );
+		list.dockables().add( b );
+		list.list().insertPlaceholder( 0, placeholder( 0 ) );
+		list.list().insertPlaceholder( 2, placeholder( 1 ) );
+		list.list().insertPlaceholder( 4, placeholder( 2 ) );
+
+		// p0, a, p1, b, p2
+		assertEquals( 5, list.size( Level.BASE ) );
+		assertEquals( 2, list.size( Level.DOCKABLE ) );
+		assertEquals( 3, list.size( Level.PLACEHOLDER ) );
+
+		assertEquals( -1, list.baseToLevel( 0, Level.DOCKABLE ) );
+		assertEquals( 0, list.baseToLevel( 1, Level.DOCKABLE ) );
+		assertEquals( 1, list.baseToLevel( 3, Level.DOCKABLE ) );
+		assertEquals( 1, list.baseToLevel( 2, Level.PLACEHOLDER ) );
+		assertEquals( 2, list.baseToLevel( 4, Level.PLACEHOLDER ) );
+		assertEquals( 3, list.levelToBase( 1, Level.DOCKABLE ) );
+		assertEquals( 4, list.levelToBase( 2, Level.PLACEHOLDER ) );
+
+		assertEquals( 0, list.getDockableIndex( placeholder( 0 ) ) );
+		assertEquals( 1, list.getDockableIndex( placeholder( 1 ) ) );
+		assertEquals( 2, list.getDockableIndex( placeholder( 2 ) ) );
+		assertEquals( 4, list.getListIndex( placeholder( 2 ) ) );
+
+		list.dockables().move( 0, 1 );
+		assertSame( b, list.dockables().get( 0 ) );
+		assertSame( a, list.dockables().get( 1 ) );
+		assertEquals( 1, list.dockables().indexOf( a ) );
+
+		try{
+			list.baseToLevel( 5, Level.DOCKABLE );
+			fail( "index out of bounds accepted" );
+		}
+		catch( IndexOutOfBoundsException e ){
+			// expected
+		}
+	}
+
+	private static Path placeholder( int index ){
+		return new Path( "placeholder", String.valueOf( index ) );
+	}
+
+	/**
+	 * One sequence of random modifications.
+	 */
+	private static class Run{
+		private Random random;
+		private String message;
+
+		private DockablePlaceholderList<Item> list = new DockablePlaceholderList<Item>();
+		private TestStrategy strategy = new TestStrategy();
+
+		/** the expected order of the dockables */
+		private List<Item> model = new ArrayList<Item>();
+		/** all the placeholders that may be in the list */
+		private Set<Path> placeholders = new LinkedHashSet<Path>();
+
+		private int nextDockable = 0;
+
+		public Run( Random random, String message ){
+			this.random = random;
+			this.message = message;
+			for( int i = 0; i < PLACEHOLDERS; i++ ){
+				placeholders.add( placeholder( i ) );
+			}
+			list.setStrategy( strategy );
+			list.bind();
+		}
+
+		public void run(){
+			for( int step = 0; step < STEPS; step++ ){
+				String operation = modify();
+				check( message + ", step " + step + ", " + operation );
+			}
+		}
+
+		private Item newItem(){
+			Item item = new Item( "d" + (nextDockable++) );
+			placeholders.add( strategy.getPlaceholderFor( item.asDockable() ) );
+			return item;
+		}
+
+		private Path anyPlaceholder(){
+			List<Path> all = new ArrayList<Path>( placeholders );
+			return all.get( random.nextInt( all.size() ) );
+		}
+
+		private String modify(){
+			int base = list.list().size();
+			int dockables = model.size();
+			int pure = list.purePlaceholders().size();
+
+			switch( random.nextInt( 18 ) ){
+				case 0:
+				case 1: {
+					int index = random.nextInt( dockables+1 );
+					Item item = newItem();
+					list.dockables().add( index, item );
+					model.add( index, item );
+					return "add dockable";
+				}
+				case 2:
+					if( dockables > 0 ){
+						int index = random.nextInt( dockables );
+						list.dockables().remove( index );
+						model.remove( index );
+					}
+					return "remove dockable at index";
+				case 3:
+					if( dockables > 0 ){
+						Item item = model.remove( random.nextInt( dockables ) );
+						assertEquals( strategy.getPlaceholderFor( item.asDockable() ), list.remove( item ) );
+					}
+					return "replace dockable by placeholder";
+				case 4:
+					if( dockables > 0 ){
+						int index = random.nextInt( dockables );
+						list.remove( index );
+						model.remove( index );
+					}
+					return "replace dockable at index by placeholder";
+				case 5:
+				case 6:
+					if( dockables > 0 ){
+						int source = random.nextInt( dockables );
+						int destination = random.nextInt( dockables );
+						list.dockables().move( source, destination );
+						model.add( destination, model.remove( source ) );
+					}
+					return "move dockable";
+				case 7:
+				case 8:
+					list.list().insertPlaceholder( random.nextInt( base+1 ), anyPlaceholder() );
+					return "insert placeholder";
+				case 9:
+					if( base > 0 ){
+						int source = random.nextInt( base );
+						int destination = random.nextInt( base );
+						List<PlaceholderList<Dockable, DockStation, Item>.Item> items = new ArrayList<PlaceholderList<Dockable, DockStation, Item>.Item>();
+						for( PlaceholderList<Dockable, DockStation, Item>.Item item : list.list() ){
+							items.add( item );
+						}
+						items.add( destination, items.remove( source ) );
+						list.list().move( source, destination );
+
+						model.clear();
+						for( PlaceholderList<Dockable, DockStation, Item>.Item item : items ){
+							if( !item.isPlaceholder() ){
+								model.add( item.getDockable() );
+							}
+						}
+					}
+					return "move entry";
+				case 10:
+					if( pure > 0 ){
+						list.purePlaceholders().move( random.nextInt( pure ), random.nextInt( pure ) );
+					}
+					return "move placeholder";
+				case 11: {
+					Path placeholder = anyPlaceholder();
+					Item prior = list.getDockableAt( placeholder );
+					Item item = newItem();
+					int index = list.put( placeholder, item );
+					if( index == -1 ){
+						assertNull( prior );
+					}
+					else if( prior != null ){
+						model.set( model.indexOf( prior ), item );
+						assertEquals( model.indexOf( item ), index );
+					}
+					else{
+						model.add( index, item );
+					}
+					return "put dockable on " + placeholder;
+				}
+				case 12:
+					if( dockables > 0 ){
+						assertTrue( list.put( model.get( random.nextInt( dockables ) ), anyPlaceholder() ) );
+					}
+					return "put placeholder on dockable";
+				case 13:
+					if( dockables > 0 ){
+						list.addPlaceholder( model.get( random.nextInt( dockables ) ).asDockable(), anyPlaceholder() );
+					}
+					return "add placeholder to dockable";
+				case 14:
+					if( random.nextBoolean() ){
+						list.removeAll( anyPlaceholder() );
+					}
+					else{
+						Set<Path> set = new HashSet<Path>();
+						for( int i = 0, n = random.nextInt( 5 ); i < n; i++ ){
+							set.add( anyPlaceholder() );
+						}
+						list.removeAll( set );
+					}
+					return "remove all";
+				case 15:
+					if( base > 0 ){
+						PlaceholderList<Dockable, DockStation, Item>.Item item = list.list().get( random.nextInt( base ) );
+						switch( random.nextInt( 3 ) ){
+							case 0:
+								item.add( anyPlaceholder() );
+								break;
+							case 1:
+								item.remove( anyPlaceholder() );
+								break;
+							case 2:
+								Set<Path> set = new HashSet<Path>();
+								set.add( anyPlaceholder() );
+								set.add( anyPlaceholder() );
+								item.setPlaceholderSet( set );
+								break;
+						}
+					}
+					return "modify item";
+				case 16:
+					if( dockables > 0 ){
+						int index = random.nextInt( dockables );
+						Item item = newItem();
+						list.dockables().set( index, item );
+						model.set( index, item );
+					}
+					return "replace dockable";
+				case 17:
+					if( random.nextInt( 20 ) == 0 ){
+						list.clear();
+						model.clear();
+						return "clear";
+					}
+					else{
+						strategy.invalid = anyPlaceholder();
+						list.setStrategy( strategy );
+						strategy.invalid = null;
+						return "invalidate placeholder";
+					}
+				default:
+					throw new IllegalStateException();
+			}
+		}
+
+		private void check( String message ){
+			List<PlaceholderList<Dockable, DockStation, Item>.Item> base = new ArrayList<PlaceholderList<Dockable, DockStation, Item>.Item>();
+			for( PlaceholderList<Dockable, DockStation, Item>.Item item : list.list() ){
+				base.add( item );
+			}
+			List<Item> dockables = new ArrayList<Item>();
+			for( Item item : list.dockables() ){
+				dockables.add( item );
+			}
+			List<Set<Path>> pure = new ArrayList<Set<Path>>();
+			for( Set<Path> set : list.purePlaceholders() ){
+				pure.add( set );
+			}
+
+			assertEquals( message, model, dockables );
+			assertEquals( message, base.size(), list.size( Level.BASE ) );
+			assertEquals( message, dockables.size(), list.size( Level.DOCKABLE ) );
+			assertEquals( message, pure.size(), list.size( Level.PLACEHOLDER ) );
+
+			int dockableIndex = 0;
+			int placeholderIndex = 0;
+			for( int i = 0; i < base.size(); i++ ){
+				PlaceholderList<Dockable, DockStation, Item>.Item item = base.get( i );
+				assertSame( message, item, list.list().get( i ) );
+				assertEquals( message, i, list.baseToLevel( i, Level.BASE ) );
+				if( item.isPlaceholder() ){
+					assertSame( message, item.getPlaceholderSet(), pure.get( placeholderIndex ) );
+					assertSame( message, item.getPlaceholderSet(), list.purePlaceholders().get( placeholderIndex ) );
+					assertEquals( message, placeholderIndex, list.baseToLevel( i, Level.PLACEHOLDER ) );
+					assertEquals( message, -1, list.baseToLevel( i, Level.DOCKABLE ) );
+					assertEquals( message, i, list.levelToBase( placeholderIndex, Level.PLACEHOLDER ) );
+					placeholderIndex++;
+				}
+				else{
+					Item dockable = item.getDockable();
+					assertSame( message, dockable, dockables.get( dockableIndex ) );
+					assertSame( message, dockable, list.dockables().get( dockableIndex ) );
+					assertEquals( message, dockableIndex, list.dockables().indexOf( dockable ) );
+					assertSame( message, item, list.getItem( dockable.asDockable() ) );
+					assertEquals( message, dockableIndex, list.baseToLevel( i, Level.DOCKABLE ) );
+					assertEquals( message, -1, list.baseToLevel( i, Level.PLACEHOLDER ) );
+					assertEquals( message, i, list.levelToBase( dockableIndex, Level.DOCKABLE ) );
+					dockableIndex++;
+				}
+			}
+			assertEquals( message, dockables.size(), dockableIndex );
+			assertEquals( message, pure.size(), placeholderIndex );
+
+			for( Path placeholder : placeholders ){
+				int expected = -1;
+				int expectedDockableIndex = 0;
+				for( int i = 0; i < base.size() && expected == -1; i++ ){
+					if( !base.get( i ).isPlaceholder() ){
+						expectedDockableIndex++;
+					}
+					if( base.get( i ).hasPlaceholder( placeholder ) ){
+						expected = i;
+					}
+				}
+
+				String at = message + ", " + placeholder;
+				assertEquals( at, expected, list.getListIndex( placeholder ) );
+				assertEquals( at, expected != -1, list.hasPlaceholder( placeholder ) );
+				if( expected == -1 ){
+					assertEquals( at, -1, list.getDockableIndex( placeholder ) );
+					assertNull( at, list.getDockableAt( placeholder ) );
+				}
+				else{
+					assertEquals( at, expectedDockableIndex, list.getDockableIndex( placeholder ) );
+					assertSame( at, base.get( expected ).getDockable(), list.getDockableAt( placeholder ) );
+					assertSame( at, base.get( expected ), list.getMetaMap( placeholder ) );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Assigns the placeholder "dockable.&lt;title&gt;" to each {@link Dockable}, and can
+	 * declare one placeholder to be invalid.
+	 */
+	private static class TestStrategy implements PlaceholderStrategy{
+		public Path invalid;
+
+		public void install( DockStation station ){
+			// ignore
+		}
+
+		public void uninstall( DockStation station ){
+			// ignore
+		}
+
+		public void addListener( PlaceholderStrategyListener listener ){
+			// ignore
+		}
+
+		public void removeListener( PlaceholderStrategyListener listener ){
+			// ignore
+		}
+
+		public Path getPlaceholderFor( Dockable dockable ){
+			return new Path( "dockable", dockable.getTitleText() );
+		}
+
+		public boolean isValidPlaceholder( Path placeholder ){
+			return !placeholder.equals( invalid );
+		}
+	}
+
+	/**
+	 * A simple wrapper around a {@link Dockable}.
+	 */
+	private static class Item implements PlaceholderListItem<Dockable>{
+		private Dockable dockable;
+
+		public Item( String title ){
+			dockable = new DefaultDockable( title );
+		}
+
+		public Dockable asDockable(){
+			return dockable;
+		}
+
+		@Override
+		public String toString(){
+			return dockable.getTitleText();
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2026 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util.xml;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the search for attributes of an {@link XElement}, especially for elements with
+ * enough attributes to be indexed.
+ * @author Benjamin Sigg
+ */
+public class XElementTest {
+	private static final int ATTRIBUTES = 20;
+
+	@Test
+	public void testGetAttribute(){
+		XElement element = create( "element" );
+		for( int i = 0; i < ATTRIBUTES; i++ ){
+			assertEquals( i, element.getInt( "a" + i ) );
+		}
+		assertNull( element.getAttribute( "missing" ) );
+	}
+
+	@Test
+	public void testRename(){
+		XElement element = create( "element" );
+		assertNotNull( element.getAttribute( "a3" ) );
+
+		element.getAttribute( "a3" ).setName( "renamed" );
+		assertNull( element.getAttribute( "a3" ) );
+		assertEquals( 3, element.getInt( "renamed" ) );
+
+		element.getAttribute( "renamed" ).setName( "a3" );
+		assertNull( element.getAttribute( "renamed" ) );
+		assertEquals( 3, element.getInt( "a3" ) );
+	}
+
+	@Test
+	public void testRenameOtherElement(){
+		XElement element = create( "element" );
+		XElement other = create( "other" );
+		assertNotNull( element.getAttribute( "a5" ) );
+
+		other.getAttribute( "a5" ).setName( "renamed" );
+		assertEquals( 5, element.getInt( "a5" ) );
+		assertNull( element.getAttribute( "renamed" ) );
+		assertEquals( 5, other.getInt( "renamed" ) );
+	}
+
+	@Test
+	public void testSharedAttribute(){
+		XElement element = create( "element" );
+		XElement other = create( "other" );
+		XAttribute shared = new XAttribute( "shared" );
+		shared.setInt( 42 );
+		element.addAttribute( shared );
+		other.addAttribute( shared );
+		assertSame( shared, element.getAttribute( "shared" ) );
+		assertSame( shared, other.getAttribute( "shared" ) );
+
+		shared.setName( "renamed" );
+		assertSame( shared, element.getAttribute( "renamed" ) );
+		assertSame( shared, other.getAttribute( "renamed" ) );
+		assertNull( element.getAttribute( "shared" ) );
+		assertNull( other.getAttribute( "shared" ) );
+	}
+
+	@Test
+	public void testRemovedAttribute(){
+		XElement element = create( "element" );
+		XAttribute attribute = element.getAttribute( "a7" );
+		assertTrue( element.removeAttribute( attribute ) );
+		assertNull( element.getAttribute( "a7" ) );
+
+		attribute.setName( "a8" );
+		assertEquals( 8, element.getInt( "a8" ) );
+	}
+
+	@Test
+	public void testCopy(){
+		XElement element = create( "element" );
+		XElement copy = element.copy();
+		assertEquals( 9, copy.getInt( "a9" ) );
+
+		copy.getAttribute( "a9" ).setName( "renamed" );
+		assertNull( copy.getAttribute( "a9" ) );
+		assertEquals( 9, copy.getInt( "renamed" ) );
+		assertEquals( 9, element.getInt( "a9" ) );
+	}
+
+	private XElement create( String name ){
+		XElement element = new XElement( name );
+		for( int i = 0; i < ATTRIBUTES; i++ ){
+			element.addInt( "a" + i, i );
+		}
+		return element;
+	}
+}
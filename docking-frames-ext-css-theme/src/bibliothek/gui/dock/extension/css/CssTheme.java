@@ -34,8 +34,12 @@ import java.util.List;
 import bibliothek.gui.DockController;
 import bibliothek.gui.dock.extension.css.intern.CssParser;
 import bibliothek.gui.dock.extension.css.theme.CssDockTitleFactory;
+import bibliothek.gui.dock.extension.css.transition.scheduler.CssScheduler;
+import bibliothek.gui.dock.extension.css.transition.scheduler.DefaultCssScheduler;
 import bibliothek.gui.dock.extension.css.tree.CssTree;
 import bibliothek.gui.dock.themes.BasicTheme;
+import bibliothek.gui.dock.util.PropertyValue;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 
 /**
  * The {@link CssTheme} makes use of files with a CSS-like syntax for defining how the different
@@ -46,6 +50,14 @@ public class CssTheme extends BasicTheme{
 	private CssTree tree;
 	private CssScheme scheme = new CssScheme();
 	
+	/** the clock of the controller, used to run the transitions */
+	private PropertyValue<AnimationScheduler> animationScheduler = new PropertyValue<AnimationScheduler>( AnimationScheduler.ANIMATION_SCHEDULER ){
+		@Override
+		protected void valueChanged( AnimationScheduler oldValue, AnimationScheduler newValue ){
+			updateAnimationScheduler();
+		}
+	};
+	
 	/**
 	 * Sets up a new theme
 	 */
@@ -69,12 +81,27 @@ public class CssTheme extends BasicTheme{
 		tree = new CssTree( controller );
 		scheme.setTree( tree );
 		super.install( controller );
+		animationScheduler.setProperties( controller );
+		updateAnimationScheduler();
 	}
 	
 	@Override
 	public void uninstall( DockController controller ){
 		super.uninstall( controller );
 		scheme.setTree( null );
+		animationScheduler.setProperties( (DockController)null );
+		updateAnimationScheduler();
+	}
+	
+	/**
+	 * Lets the {@link CssScheduler} of the {@link #getScheme() scheme} use the same
+	 * {@link AnimationScheduler} as all the other animations of the controller.
+	 */
+	private void updateAnimationScheduler(){
+		CssScheduler scheduler = scheme.getScheduler();
+		if( scheduler instanceof DefaultCssScheduler ){
+			((DefaultCssScheduler)scheduler).setAnimationScheduler( animationScheduler.getValue() );
+		}
 	}
 	
 	/**
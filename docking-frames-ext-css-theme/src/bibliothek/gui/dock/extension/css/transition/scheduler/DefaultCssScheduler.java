@@ -25,6 +25,7 @@
  */
 package bibliothek.gui.dock.extension.css.transition.scheduler;
 
+import java.awt.Component;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.HashMap;
@@ -33,9 +34,15 @@ import java.util.PriorityQueue;
 
 import javax.swing.Timer;
 
+import bibliothek.gui.dock.util.animation.Animation;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
+
 /**
  * This {@link CssScheduler} ignores multiple calls to its <code>step</code> methods,
- * and executes all <code>steps</code> in the <code>EventDispatcherThread</code>. 
+ * and executes all <code>steps</code> in the <code>EventDispatcherThread</code>. If an
+ * {@link #setAnimationScheduler(AnimationScheduler) animation scheduler} is set, then the
+ * <code>steps</code> are executed at the frames of that scheduler, together with all the
+ * other animations of the framework. Otherwise a {@link Timer} is used.
  * @author Benjamin Sigg
  */
 public class DefaultCssScheduler implements CssScheduler{
@@ -54,6 +61,63 @@ public class DefaultCssScheduler implements CssScheduler{
 		}
 	};
 	
+	/** the clock used to execute the calls, can be <code>null</code> */
+	private AnimationScheduler animationScheduler;
+	
+	/** executes the calls at the frames of {@link #animationScheduler} */
+	private Animation animation = new Animation(){
+		@Override
+		public boolean step( int delta ){
+			synchronized( LOCK ){
+				pendingCalls++;
+			}
+			DefaultCssScheduler.this.step();
+			synchronized( LOCK ){
+				return !queue.isEmpty();
+			}
+		}
+		
+		@Override
+		public void finish(){
+			// nothing to do
+		}
+		
+		@Override
+		public Component getComponent(){
+			return null;
+		}
+	};
+	
+	/**
+	 * Sets the clock which is used to execute the calls. Using the {@link AnimationScheduler} of the
+	 * {@link bibliothek.gui.DockController} allows transitions to be painted together with all the other
+	 * animations.
+	 * @param animationScheduler the new clock, can be <code>null</code> in which case a {@link Timer}
+	 * is used
+	 */
+	public void setAnimationScheduler( AnimationScheduler animationScheduler ){
+		synchronized( LOCK ){
+			if( this.animationScheduler != animationScheduler ){
+				if( this.animationScheduler != null ){
+					this.animationScheduler.stop( animation );
+				}
+				this.animationScheduler = animationScheduler;
+				if( !queue.isEmpty() ){
+					schedule( 0 );
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Gets the clock which is used to execute the calls.
+	 * @return the clock, can be <code>null</code>
+	 * @see #setAnimationScheduler(AnimationScheduler)
+	 */
+	public AnimationScheduler getAnimationScheduler(){
+		return animationScheduler;
+	}
+	
 	@Override
 	public void step( CssSchedulable job ){
 		step( job, 20 );
@@ -84,6 +148,10 @@ public class DefaultCssScheduler implements CssScheduler{
 	
 	private void schedule( int delay ){
 		synchronized( LOCK ){
+			if( animationScheduler != null ){
+				animationScheduler.start( animation );
+				return;
+			}
 			pendingCalls++;
 			Timer timer = new Timer( delay, callback );
 			timer.setRepeats( false );
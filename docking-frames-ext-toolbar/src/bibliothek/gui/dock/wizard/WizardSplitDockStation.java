@@ -872,6 +872,11 @@ public class WizardSplitDockStation extends SplitDockStation implements Scrollab
 				layoutManager.setDivider( node, dividier );
 			}
 			
+			@Override
+			protected void updateBounds( Divideable node ){
+				getStation().updateBounds();
+			}
+			
 			@Override
 			protected Divideable getDividerNode( int x, int y ){
 				Divideable node = super.getDividerNode( x, y );